@@ -4,6 +4,7 @@ plugins {
     id("maven-publish")
     id("io.papermc.paperweight.userdev") version "1.7.1" apply false
     id("io.ktor.plugin") version "3.1.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "fr.mrbaguette07"
@@ -70,6 +71,33 @@ dependencies {
     // Tests
     testImplementation("org.junit.jupiter:junit-jupiter-engine:5.7.1")
     testImplementation("org.junit.jupiter:junit-jupiter-params:5.7.1")
+    
+    // Benchmarks (src/jmh) - l'API Paper et PlaceholderAPI sont fournies par le serveur, elles sont ajoutées pour tourner sans serveur
+    jmhImplementation("io.papermc.paper:paper-api:1.21.4-R0.1-SNAPSHOT")
+    jmhImplementation(files("libs/PlaceholderAPI-2.11.6.jar"))
+    // Serveur simulé pour le harnais de rejeu des listeners (tâche replay)
+    jmhImplementation("org.mockbukkit.mockbukkit:mockbukkit-v1.21:4.21.0")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Le registre de 1M chunks tient en mémoire avec les stubs Bukkit
+    jvmArgs.set(listOf("-Xms2g", "-Xmx4g"))
+    resultFormat.set("JSON")
+}
+
+// Rejeu d'une trace (/scs record-events) ou d'événements synthétiques dans les listeners de protection
+// Exemple : ./gradlew replay -PreplayArgs="--trace=trace.sltrace --speed=2"
+tasks.register<JavaExec>("replay") {
+    group = "benchmark"
+    description = "Replays recorded or synthetic events through the protection listeners"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("fr.mrbaguette07.SLclaim.Benchmarks.Replay.ReplayHarness")
+    jvmArgs("-Xms2g", "-Xmx4g")
+    args((findProperty("replayArgs") as String? ?: "").split(" ").filter { it.isNotBlank() })
 }
 
 tasks.withType<JavaCompile> {
@@ -0,0 +1,246 @@
+package fr.mrbaguette07.SLclaim.Benchmarks;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+import fr.mrbaguette07.SLclaim.SLclaim;
+import fr.mrbaguette07.SLclaim.Config.ClaimLanguage;
+import fr.mrbaguette07.SLclaim.MultiServer.MultiServerManager;
+
+/**
+ * Lightweight Bukkit stand-ins, so the benchmarks run headless without a server.
+ * Worlds, chunks and players are dynamic proxies answering only the methods used by the
+ * benchmarked code; chunks are equal by world and coordinates, like CraftChunk.
+ * The proxy dispatch adds a constant cost to each call, compare runs with each other
+ * rather than with the timings of a live server.
+ */
+public final class BukkitStubs {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Minimum height of the stub worlds */
+	public static final int MIN_HEIGHT = -64;
+
+	/** Maximum height of the stub worlds */
+	public static final int MAX_HEIGHT = 320;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Private constructor, static helpers only.
+	 */
+	private BukkitStubs() {}
+
+
+    // ************
+    // *  Worlds  *
+    // ************
+
+
+	/**
+	 * Creates a world.
+	 *
+	 * @param name The name of the world
+	 * @return The world
+	 */
+	public static World world(String name) {
+		return (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class<?>[] { World.class },
+				new WorldHandler(name, UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	/**
+	 * Handler of the stub worlds.
+	 */
+	private static final class WorldHandler implements InvocationHandler {
+
+		private final String name;
+		private final UUID uid;
+
+		WorldHandler(String name, UUID uid) {
+			this.name = name;
+			this.uid = uid;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			switch (method.getName()) {
+				case "getName": return name;
+				case "getUID": return uid;
+				case "getMinHeight": return MIN_HEIGHT;
+				case "getMaxHeight": return MAX_HEIGHT;
+				case "getChunkAt":
+					if (args.length == 2 && args[0] instanceof Integer x && args[1] instanceof Integer z) {
+						return chunk((World) proxy, x, z);
+					}
+					break;
+				case "hashCode": return uid.hashCode();
+				case "equals": return proxy == args[0];
+				case "toString": return "StubWorld{" + name + "}";
+			}
+			throw new UnsupportedOperationException("World#" + method.getName() + " is not stubbed");
+		}
+	}
+
+
+    // ************
+    // *  Chunks  *
+    // ************
+
+
+	/**
+	 * Creates a chunk. Each call returns a new instance, like World#getChunkAt on Paper.
+	 *
+	 * @param world The world
+	 * @param x The chunk X
+	 * @param z The chunk Z
+	 * @return The chunk
+	 */
+	public static Chunk chunk(World world, int x, int z) {
+		return (Chunk) Proxy.newProxyInstance(Chunk.class.getClassLoader(), new Class<?>[] { Chunk.class },
+				new ChunkHandler(world, x, z));
+	}
+
+	/**
+	 * Handler of the stub chunks.
+	 */
+	private static final class ChunkHandler implements InvocationHandler {
+
+		private final World world;
+		private final int x;
+		private final int z;
+
+		ChunkHandler(World world, int x, int z) {
+			this.world = world;
+			this.x = x;
+			this.z = z;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			switch (method.getName()) {
+				case "getWorld": return world;
+				case "getX": return x;
+				case "getZ": return z;
+				case "getChunkKey": return ClaimMain.chunkKey(x, z);
+				case "isLoaded": return true;
+				case "hashCode": return 31 * (31 * world.hashCode() + x) + z;
+				case "equals": {
+					Object other = args[0];
+					if (other == proxy) return true;
+					if (other == null || !Proxy.isProxyClass(other.getClass())) return false;
+					return Proxy.getInvocationHandler(other) instanceof ChunkHandler handler
+							&& handler.x == x && handler.z == z && handler.world == world;
+				}
+				case "toString": return "StubChunk{" + world.getName() + "," + x + "," + z + "}";
+			}
+			throw new UnsupportedOperationException("Chunk#" + method.getName() + " is not stubbed");
+		}
+	}
+
+
+    // *************
+    // *  Players  *
+    // *************
+
+
+	/**
+	 * Creates a player, answering only its name and uuid.
+	 *
+	 * @param name The name of the player
+	 * @param uuid The uuid of the player
+	 * @return The player
+	 */
+	public static Player player(String name, UUID uuid) {
+		return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] { Player.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getName": return name;
+				case "getUniqueId": return uuid;
+				case "hashCode": return uuid.hashCode();
+				case "equals": return proxy == args[0];
+				case "toString": return "StubPlayer{" + name + "}";
+			}
+			throw new UnsupportedOperationException("Player#" + method.getName() + " is not stubbed");
+		});
+	}
+
+
+    // ************
+    // *  Plugin  *
+    // ************
+
+
+	/**
+	 * Creates a plugin instance without running the JavaPlugin constructor (which needs a server).
+	 * Only the fields read by the benchmarked code are set: the claim main, the english language,
+	 * the multi-server manager (default config) and the non-Folia mode.
+	 *
+	 * @return The plugin
+	 */
+	public static SLclaim plugin() {
+		try {
+			Field unsafeField = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+			unsafeField.setAccessible(true);
+			Object unsafe = unsafeField.get(null);
+			SLclaim plugin = (SLclaim) unsafe.getClass().getMethod("allocateInstance", Class.class).invoke(unsafe, SLclaim.class);
+
+			ClaimLanguage language = new ClaimLanguage(plugin);
+			language.setLanguage(loadLanguage("/langs/en_US.yml"));
+
+			set(plugin, "claimInstance", new ClaimMain(plugin));
+			set(plugin, "claimLanguageInstance", language);
+			set(plugin, "multiServerManager", new MultiServerManager(plugin));
+			set(plugin, "isFolia", false);
+			return plugin;
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to create the plugin stub", e);
+		}
+	}
+
+	/**
+	 * Loads a language file of the plugin resources.
+	 */
+	private static Map<String, String> loadLanguage(String path) {
+		Map<String, String> messages = new HashMap<>();
+		InputStream stream = SLclaim.class.getResourceAsStream(path);
+		if (stream == null) return messages;
+		YamlConfiguration yaml = YamlConfiguration.loadConfiguration(new InputStreamReader(stream, StandardCharsets.UTF_8));
+		yaml.getKeys(false).forEach(key -> messages.put(key, yaml.getString(key)));
+		return messages;
+	}
+
+	/**
+	 * Sets a private field.
+	 *
+	 * @param target The object
+	 * @param name The name of the field, declared by the class of the object
+	 * @param value The value
+	 * @throws ReflectiveOperationException If the field does not exist
+	 */
+	public static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+}
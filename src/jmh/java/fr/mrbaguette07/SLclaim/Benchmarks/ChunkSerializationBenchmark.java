@@ -0,0 +1,79 @@
+package fr.mrbaguette07.SLclaim.Benchmarks;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+
+/**
+ * Serialization of the chunks of a claim (ClaimMain#serializeChunks) and the matching
+ * decoding (ClaimMain#decodeChunks) done by ClaimMain#loadClaims, for claims of 16 to 4096 chunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkSerializationBenchmark {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Side of the claim, in chunks */
+	@Param({ "4", "16", "64" })
+	public int side;
+
+	private World world;
+	private Set<Chunk> chunks;
+	private String serialized;
+
+
+    // ***********
+    // *  Setup  *
+    // ***********
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		world = BukkitStubs.world("world");
+		chunks = SyntheticClaims.square(world, 100, -100, side);
+		serialized = ClaimMain.serializeChunks(chunks);
+	}
+
+
+    // ****************
+    // *  Benchmarks  *
+    // ****************
+
+
+	@Benchmark
+	public String serializeChunks() {
+		return ClaimMain.serializeChunks(chunks);
+	}
+
+	@Benchmark
+	public Set<Chunk> deserializeChunks() throws IOException {
+		// Decoding and chunk lookup of ClaimMain#loadClaims (non Folia)
+		int[] coords = ClaimMain.decodeChunks(serialized);
+		Set<Chunk> result = new HashSet<>();
+		for (int i = 0; i < coords.length; i += 2) {
+			result.add(world.getChunkAt(coords[i], coords[i + 1]));
+		}
+		return result;
+	}
+}
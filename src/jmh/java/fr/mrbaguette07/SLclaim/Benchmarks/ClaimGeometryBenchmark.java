@@ -0,0 +1,89 @@
+package fr.mrbaguette07.SLclaim.Benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+
+/**
+ * Shape computations on the chunks of a claim: the connectivity check done on each
+ * chunk removal and the border particles (ClaimMain#getParticleLocations, non-Folia path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClaimGeometryBenchmark {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The private ClaimMain#getParticleLocations(Set) */
+	private static final MethodHandle PARTICLE_LOCATIONS;
+
+	static {
+		try {
+			PARTICLE_LOCATIONS = MethodHandles.privateLookupIn(ClaimMain.class, MethodHandles.lookup())
+					.findVirtual(ClaimMain.class, "getParticleLocations", MethodType.methodType(CompletableFuture.class, Set.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** Side of the claim, in chunks */
+	@Param({ "4", "16", "64" })
+	public int side;
+
+	private ClaimMain main;
+	private Set<Chunk> chunks;
+
+
+    // ***********
+    // *  Setup  *
+    // ***********
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		main = BukkitStubs.plugin().getMain();
+		World world = BukkitStubs.world("world");
+		chunks = SyntheticClaims.square(world, -side / 2, -side / 2, side);
+	}
+
+
+    // ****************
+    // *  Benchmarks  *
+    // ****************
+
+
+	@Benchmark
+	public boolean areChunksConnected() {
+		return main.areChunksConnected(chunks);
+	}
+
+	@Benchmark
+	@SuppressWarnings("unchecked")
+	public Set<Location> getParticleLocations() throws Throwable {
+		CompletableFuture<Set<Location>> future = (CompletableFuture<Set<Location>>) (CompletableFuture<?>) PARTICLE_LOCATIONS.invokeExact(main, chunks);
+		return future.join();
+	}
+}
@@ -0,0 +1,128 @@
+package fr.mrbaguette07.SLclaim.Benchmarks;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+import fr.mrbaguette07.SLclaim.Types.Claim;
+
+/**
+ * Chunk lookups of ClaimMain (getClaim, checkIfClaimExists, getClaimAt) and the
+ * isAreaClaimFree scan, for registries of 10k to 1M claimed chunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClaimLookupBenchmark {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Number of probes, a power of two */
+	private static final int PROBES = 4096;
+
+	/** Number of claimed chunks */
+	@Param({ "10000", "100000", "1000000" })
+	public int chunks;
+
+	/** Side of each claim, in chunks */
+	@Param({ "4" })
+	public int side;
+
+	private ClaimMain main;
+	private UUID worldUid;
+	private Chunk[] claimed;
+	private Chunk[] free;
+	private int[] claimedX;
+	private int[] claimedZ;
+	private String[] names;
+	private int cursor;
+
+
+    // ***********
+    // *  Setup  *
+    // ***********
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		World world = BukkitStubs.world("world");
+		main = new ClaimMain(null);
+		SyntheticClaims registry = SyntheticClaims.generate(main, world, chunks, side, 42L);
+		worldUid = world.getUID();
+
+		Random random = new Random(7L);
+		claimed = new Chunk[PROBES];
+		free = new Chunk[PROBES];
+		claimedX = new int[PROBES];
+		claimedZ = new int[PROBES];
+		names = new String[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			claimed[i] = registry.randomClaimedChunk(random);
+			free[i] = registry.randomFreeChunk(random);
+			claimedX[i] = claimed[i].getX();
+			claimedZ[i] = claimed[i].getZ();
+			Claim claim = registry.randomClaim(random);
+			names[i] = claim.getOwner();
+		}
+	}
+
+	private int next() {
+		return cursor++ & (PROBES - 1);
+	}
+
+
+    // ****************
+    // *  Benchmarks  *
+    // ****************
+
+
+	@Benchmark
+	public Claim getClaimHit() {
+		return main.getClaim(claimed[next()]);
+	}
+
+	@Benchmark
+	public Claim getClaimMiss() {
+		return main.getClaim(free[next()]);
+	}
+
+	@Benchmark
+	public boolean checkIfClaimExistsHit() {
+		return main.checkIfClaimExists(claimed[next()]);
+	}
+
+	@Benchmark
+	public boolean checkIfClaimExistsMiss() {
+		return main.checkIfClaimExists(free[next()]);
+	}
+
+	@Benchmark
+	public Claim getClaimAtHit() {
+		int i = next();
+		return main.getClaimAt(worldUid, claimedX[i], claimedZ[i]);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public boolean isAreaClaimFree() {
+		int i = next();
+		return main.isAreaClaimFree(free[i], 3, names[i]).join();
+	}
+}
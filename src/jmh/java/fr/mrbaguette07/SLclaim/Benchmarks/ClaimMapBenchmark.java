@@ -0,0 +1,88 @@
+package fr.mrbaguette07.SLclaim.Benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+import fr.mrbaguette07.SLclaim.SLclaim;
+import fr.mrbaguette07.SLclaim.Types.Claim;
+
+/**
+ * Rendering of the claim map (ClaimMain#renderMapLines, used by ClaimMain#getMap): the
+ * 21x9 chunk grid with the relation of each claimed chunk, and the legend. The scheduling
+ * and the sending of the message need a live server and are not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClaimMapBenchmark {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Number of probes, a power of two */
+	private static final int PROBES = 256;
+
+	/** Number of claimed chunks */
+	@Param({ "10000", "1000000" })
+	public int chunks;
+
+	private ClaimMain main;
+	private String north;
+	private Chunk[] centers;
+	private Player[] players;
+	private int cursor;
+
+
+    // ***********
+    // *  Setup  *
+    // ***********
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SLclaim plugin = BukkitStubs.plugin();
+		main = plugin.getMain();
+		north = plugin.getLanguage().getMessage("map-direction-north");
+		World world = BukkitStubs.world("world");
+		SyntheticClaims registry = SyntheticClaims.generate(main, world, chunks, 4, 42L);
+
+		Random random = new Random(7L);
+		centers = new Chunk[PROBES];
+		players = new Player[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			Claim claim = registry.randomClaim(random);
+			centers[i] = registry.randomClaimedChunk(random);
+			players[i] = BukkitStubs.player(claim.getOwner(), claim.getUUID());
+		}
+	}
+
+
+    // ****************
+    // *  Benchmarks  *
+    // ****************
+
+
+	@Benchmark
+	public List<String> renderMap() {
+		int i = cursor++ & (PROBES - 1);
+		return main.renderMapLines(players[i], centers[i], north);
+	}
+}
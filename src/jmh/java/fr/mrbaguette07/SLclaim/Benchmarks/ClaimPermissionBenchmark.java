@@ -0,0 +1,94 @@
+package fr.mrbaguette07.SLclaim.Benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
+import fr.mrbaguette07.SLclaim.Types.Claim;
+
+/**
+ * Permission checks of Claim for owners, members and visitors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClaimPermissionBenchmark {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Number of probes, a power of two */
+	private static final int PROBES = 4096;
+
+	private Claim[] claims;
+	private Player[] players;
+	private String[] permissions;
+	private int cursor;
+
+
+    // ***********
+    // *  Setup  *
+    // ***********
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SyntheticClaims registry = SyntheticClaims.generate(new ClaimMain(null), BukkitStubs.world("world"), 100_000, 4, 42L);
+		ProtectionEngine.Action[] actions = ProtectionEngine.Action.values();
+		int owners = Math.max(1, registry.getClaims().size() / 4);
+
+		Random random = new Random(7L);
+		claims = new Claim[PROBES];
+		players = new Player[PROBES];
+		permissions = new String[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			Claim claim = registry.randomClaim(random);
+			claims[i] = claim;
+			permissions[i] = actions[random.nextInt(actions.length)].getPermission();
+			switch (i % 3) {
+				case 0 -> players[i] = BukkitStubs.player(claim.getOwner(), claim.getUUID());
+				case 1 -> {
+					List<UUID> members = List.copyOf(claim.getMembers());
+					players[i] = members.isEmpty()
+							? BukkitStubs.player("visitor", SyntheticClaims.playerUUID(owners + i))
+							: BukkitStubs.player("member", members.get(random.nextInt(members.size())));
+				}
+				default -> players[i] = BukkitStubs.player("visitor", SyntheticClaims.playerUUID(owners + i));
+			}
+		}
+	}
+
+
+    // ****************
+    // *  Benchmarks  *
+    // ****************
+
+
+	@Benchmark
+	public boolean getPermissionForPlayer() {
+		int i = cursor++ & (PROBES - 1);
+		return claims[i].getPermissionForPlayer(permissions[i], players[i]);
+	}
+
+	@Benchmark
+	public boolean getPermission() {
+		int i = cursor++ & (PROBES - 1);
+		return claims[i].getPermission(permissions[i], "visitors");
+	}
+}
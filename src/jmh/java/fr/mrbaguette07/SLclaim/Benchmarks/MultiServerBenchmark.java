@@ -0,0 +1,113 @@
+package fr.mrbaguette07.SLclaim.Benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import fr.mrbaguette07.SLclaim.SLclaim;
+import fr.mrbaguette07.SLclaim.MultiServer.MongoDBManager;
+import fr.mrbaguette07.SLclaim.MultiServer.RedisMessage;
+import fr.mrbaguette07.SLclaim.Types.Claim;
+
+/**
+ * Encoding done for the multi-server synchronization: the Redis messages (Gson, configured
+ * like RedisManager) and the Mongo documents of the claims (MongoDBManager#claimToDocument).
+ * No connection is opened.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MultiServerBenchmark {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The private MongoDBManager#claimToDocument(Claim, UUID) */
+	private static final MethodHandle CLAIM_TO_DOCUMENT;
+
+	static {
+		try {
+			CLAIM_TO_DOCUMENT = MethodHandles.privateLookupIn(MongoDBManager.class, MethodHandles.lookup())
+					.findVirtual(MongoDBManager.class, "claimToDocument", MethodType.methodType(Document.class, Claim.class, UUID.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** Side of the claims, in chunks */
+	@Param({ "4", "16" })
+	public int side;
+
+	private Gson gson;
+	private RedisMessage message;
+	private String json;
+	private MongoDBManager mongo;
+	private Claim claim;
+
+
+    // ***********
+    // *  Setup  *
+    // ***********
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		gson = new GsonBuilder().create();
+		SLclaim plugin = BukkitStubs.plugin();
+		SyntheticClaims registry = SyntheticClaims.generate(plugin.getMain(), BukkitStubs.world("world"), side * side * 64, side, 42L);
+		claim = registry.randomClaim(new Random(7L));
+
+		message = new RedisMessage(RedisMessage.MessageType.CLAIM_UPDATE, "survival-1")
+				.playerUUID(claim.getUUID())
+				.claimName(claim.getName())
+				.addData("owner", claim.getOwner())
+				.addData("description", claim.getDescription())
+				.addData("price", claim.getPrice())
+				.addData("sale", claim.getSale())
+				.addData("permissions", plugin.getMain().serializePermissions(claim.getPermissions()));
+		json = gson.toJson(message);
+		mongo = new MongoDBManager(plugin);
+	}
+
+
+    // ****************
+    // *  Benchmarks  *
+    // ****************
+
+
+	@Benchmark
+	public String redisMessageToJson() {
+		return gson.toJson(message);
+	}
+
+	@Benchmark
+	public RedisMessage redisMessageFromJson() {
+		return gson.fromJson(json, RedisMessage.class);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public Document claimToDocument() throws Throwable {
+		return (Document) CLAIM_TO_DOCUMENT.invokeExact(mongo, claim, claim.getUUID());
+	}
+}
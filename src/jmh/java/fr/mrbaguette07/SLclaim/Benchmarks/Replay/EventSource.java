@@ -0,0 +1,32 @@
+package fr.mrbaguette07.SLclaim.Benchmarks.Replay;
+
+import java.io.IOException;
+
+import org.bukkit.event.Event;
+
+/**
+ * A stream of timed events to replay.
+ */
+interface EventSource {
+
+	/**
+	 * Builds the next event. Called outside of the measured handler calls.
+	 *
+	 * @return The event, or null at the end of the stream
+	 */
+	TimedEvent next() throws IOException;
+
+	/**
+	 * An event and its time.
+	 */
+	final class TimedEvent {
+
+		final long nanos;
+		final Event event;
+
+		TimedEvent(long nanos, Event event) {
+			this.nanos = nanos;
+			this.event = event;
+		}
+	}
+}
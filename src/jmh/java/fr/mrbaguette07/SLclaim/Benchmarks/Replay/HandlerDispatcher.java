@@ -0,0 +1,170 @@
+package fr.mrbaguette07.SLclaim.Benchmarks.Replay;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+/**
+ * Calls the event handlers of the real listener classes directly, in priority order like the
+ * plugin manager, and measures each handler: latency, allocated bytes and failures.
+ */
+final class HandlerDispatcher {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Allocated bytes of the current thread */
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/** All the handlers */
+	private final List<Handler> handlers = new ArrayList<>();
+
+	/** The handlers by event class, in priority order */
+	private final Map<Class<?>, Handler[]> byEvent = new HashMap<>();
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Scans the {@link EventHandler} methods of listeners.
+	 *
+	 * @param listeners The listeners
+	 */
+	HandlerDispatcher(Listener... listeners) {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		for (Listener listener : listeners) {
+			for (Method method : listener.getClass().getMethods()) {
+				EventHandler annotation = method.getAnnotation(EventHandler.class);
+				if (annotation == null || method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) continue;
+				try {
+					MethodHandle handle = lookup.unreflect(method).bindTo(listener)
+							.asType(MethodType.methodType(void.class, Event.class));
+					handlers.add(new Handler(listener.getClass().getSimpleName() + "#" + method.getName(),
+							method.getParameterTypes()[0], annotation, handle));
+				} catch (IllegalAccessException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Dispatches an event to its handlers.
+	 *
+	 * @param event The event
+	 * @return The total time spent in the handlers, in nanoseconds
+	 */
+	long dispatch(Event event) {
+		long total = 0;
+		for (Handler handler : handlersFor(event.getClass())) {
+			if (handler.ignoreCancelled && event instanceof Cancellable cancellable && cancellable.isCancelled()) continue;
+			long bytes = THREADS.getCurrentThreadAllocatedBytes();
+			long start = System.nanoTime();
+			try {
+				handler.handle.invokeExact(event);
+			} catch (Throwable e) {
+				if (handler.errors++ == 0) {
+					System.err.println("First failure of " + handler.name + ":");
+					e.printStackTrace();
+				}
+			}
+			long elapsed = System.nanoTime() - start;
+			handler.allocated += THREADS.getCurrentThreadAllocatedBytes() - bytes;
+			handler.nanos += elapsed;
+			handler.histogram.record(elapsed);
+			total += elapsed;
+		}
+		return total;
+	}
+
+	/**
+	 * Clears the measures (after the warmup).
+	 */
+	void reset() {
+		for (Handler handler : handlers) {
+			handler.histogram.reset();
+			handler.nanos = 0;
+			handler.allocated = 0;
+			handler.errors = 0;
+		}
+	}
+
+	/**
+	 * Gets the handlers which received at least one event.
+	 *
+	 * @return The handlers, by decreasing total time
+	 */
+	List<Handler> getCalledHandlers() {
+		List<Handler> called = new ArrayList<>();
+		for (Handler handler : handlers) {
+			if (handler.histogram.getCount() > 0) called.add(handler);
+		}
+		called.sort(Comparator.comparingLong((Handler h) -> h.nanos).reversed());
+		return called;
+	}
+
+	private Handler[] handlersFor(Class<?> eventClass) {
+		Handler[] result = byEvent.get(eventClass);
+		if (result != null) return result;
+		result = handlers.stream()
+				.filter(h -> h.eventClass.isAssignableFrom(eventClass))
+				.sorted(Comparator.comparingInt(h -> h.priority))
+				.toArray(Handler[]::new);
+		byEvent.put(eventClass, result);
+		return result;
+	}
+
+
+    // *************
+    // *  Handler  *
+    // *************
+
+
+	/**
+	 * An event handler and its measures.
+	 */
+	static final class Handler {
+
+		final String name;
+		final Class<?> eventClass;
+		final int priority;
+		final boolean ignoreCancelled;
+		final MethodHandle handle;
+		final LatencyHistogram histogram = new LatencyHistogram();
+		long nanos;
+		long allocated;
+		long errors;
+
+		Handler(String name, Class<?> eventClass, EventHandler annotation, MethodHandle handle) {
+			this.name = name;
+			this.eventClass = eventClass;
+			this.priority = annotation.priority().getSlot();
+			this.ignoreCancelled = annotation.ignoreCancelled();
+			this.handle = handle;
+		}
+	}
+}
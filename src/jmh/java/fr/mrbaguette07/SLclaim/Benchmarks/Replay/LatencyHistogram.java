@@ -0,0 +1,88 @@
+package fr.mrbaguette07.SLclaim.Benchmarks.Replay;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear latency histogram in nanoseconds: exact below 64 ns, then 32 buckets per
+ * power of two (about 3% precision). Recording does not allocate.
+ */
+final class LatencyHistogram {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Number of sub-buckets per power of two, as a shift */
+	private static final int SUB_BITS = 5;
+
+	/** Values below this limit have their own bucket */
+	private static final int LINEAR = 64;
+
+	/** The counts */
+	private final long[] counts = new long[LINEAR + (63 - 6) * (1 << SUB_BITS)];
+
+	/** Number of values, and the maximum value */
+	private long count;
+	private long max;
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Records a value.
+	 *
+	 * @param nanos The value, in nanoseconds
+	 */
+	void record(long nanos) {
+		if (nanos < 0) nanos = 0;
+		counts[index(nanos)]++;
+		count++;
+		if (nanos > max) max = nanos;
+	}
+
+	/**
+	 * Gets a percentile.
+	 *
+	 * @param percentile The percentile, between 0 and 100
+	 * @return The value, in nanoseconds (upper bound of its bucket)
+	 */
+	long percentile(double percentile) {
+		if (count == 0) return 0;
+		long rank = (long) Math.ceil(percentile / 100.0 * count);
+		if (rank < 1) rank = 1;
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) return Math.min(upperBound(i), max);
+		}
+		return max;
+	}
+
+	long getCount() { return count; }
+	long getMax() { return max; }
+
+	void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		max = 0;
+	}
+
+	private static int index(long value) {
+		if (value < LINEAR) return (int) value;
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+		return LINEAR + (exponent - 6) * (1 << SUB_BITS) + sub;
+	}
+
+	private static long upperBound(int index) {
+		if (index < LINEAR) return index;
+		int exponent = (index - LINEAR) / (1 << SUB_BITS) + 6;
+		int sub = (index - LINEAR) % (1 << SUB_BITS);
+		return ((long) ((1 << SUB_BITS) + sub + 1) << (exponent - SUB_BITS)) - 1;
+	}
+}
@@ -0,0 +1,182 @@
+package fr.mrbaguette07.SLclaim.Benchmarks.Replay;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import fr.mrbaguette07.SLclaim.Benchmarks.SyntheticClaims;
+import fr.mrbaguette07.SLclaim.Listeners.ClaimEvents;
+import fr.mrbaguette07.SLclaim.Listeners.ClaimEventsEnterLeave;
+import fr.mrbaguette07.SLclaim.Types.WorldMode;
+
+/**
+ * Headless load harness for the protection listeners: replays a recorded trace, or a
+ * synthetic event stream, through the real ClaimEvents and ClaimEventsEnterLeave handlers
+ * on a MockBukkit server, and reports the latency percentiles, the throughput and the
+ * allocations of each handler.
+ * <p>
+ * Options, as {@code --key=value}:
+ * <ul>
+ * <li>trace: a .sltrace file recorded with /scs record-events (default: synthetic events)</li>
+ * <li>chunks, side: claimed chunks and claim side of the synthetic claims (100000, 4)</li>
+ * <li>events, players: synthetic events and players (1000000, 100)</li>
+ * <li>rate: events per second, 0 to replay as fast as possible (0)</li>
+ * <li>speed: speed factor of the trace timestamps, 0 to replay as fast as possible (1.0)</li>
+ * <li>warmup: events replayed before the measures (100000)</li>
+ * <li>world-mode: SURVIVAL, SURVIVAL_REQUIRING_CLAIMS or DISABLED (SURVIVAL)</li>
+ * <li>protection-message: CHAT, TITLE, SUBTITLE or BOSSBAR (CHAT)</li>
+ * <li>seed: the random seed (42)</li>
+ * </ul>
+ * The scheduler of the mock server ticks every 50 ms of wall time between two events.
+ * The allocations are those of the replay thread, tasks run asynchronously are not counted.
+ */
+public final class ReplayHarness {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Duration of a tick */
+	private static final long TICK_NANOS = 50_000_000L;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Private constructor, entry point only.
+	 */
+	private ReplayHarness() {}
+
+
+    // **********
+    // *  Main  *
+    // **********
+
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parse(args);
+		String trace = options.get("trace");
+		long warmup = Long.parseLong(options.getOrDefault("warmup", "100000"));
+		double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+		double speed = Double.parseDouble(options.getOrDefault("speed", "1.0"));
+		WorldMode worldMode = WorldMode.valueOf(options.getOrDefault("world-mode", "SURVIVAL").toUpperCase(Locale.ROOT));
+
+		try (ReplayServer server = new ReplayServer(worldMode, options.getOrDefault("protection-message", "CHAT").toUpperCase(Locale.ROOT))) {
+			EventSource source;
+			boolean paced;
+			if (trace != null) {
+				TraceSource traceSource = new TraceSource(new File(trace), server);
+				System.out.println("Trace " + trace + ": " + traceSource.getClaimCount() + " claims");
+				source = traceSource;
+				paced = speed > 0;
+			} else {
+				int chunks = Integer.parseInt(options.getOrDefault("chunks", "100000"));
+				int side = Integer.parseInt(options.getOrDefault("side", "4"));
+				long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+				SyntheticClaims claims = SyntheticClaims.generate(server.getPlugin().getMain(), server.world("world"), chunks, side, seed);
+				System.out.println("Synthetic: " + claims.getClaims().size() + " claims of " + side + "x" + side + " chunks");
+				source = new SyntheticSource(server, claims, Integer.parseInt(options.getOrDefault("players", "100")),
+						warmup + Long.parseLong(options.getOrDefault("events", "1000000")), rate, seed);
+				paced = rate > 0;
+				speed = 1.0;
+			}
+			server.publishSettings();
+
+			HandlerDispatcher dispatcher = new HandlerDispatcher(new ClaimEvents(server.getPlugin()), new ClaimEventsEnterLeave(server.getPlugin()));
+			replay(server, source, dispatcher, warmup, paced, speed);
+			if (source instanceof Closeable closeable) closeable.close();
+		}
+	}
+
+	/**
+	 * Replays the events and prints the report.
+	 */
+	private static void replay(ReplayServer server, EventSource source, HandlerDispatcher dispatcher, long warmup, boolean paced, double speed) throws Exception {
+		long start = System.nanoTime();
+		long nextTick = start + TICK_NANOS;
+		long measureStart = start;
+		long measured = 0;
+		long busy = 0;
+		long late = 0;
+		long count = 0;
+		long offset = -1;
+
+		EventSource.TimedEvent timed;
+		while ((timed = source.next()) != null) {
+			if (paced) {
+				if (offset < 0) offset = timed.nanos;
+				long due = start + (long) ((timed.nanos - offset) / speed);
+				long now;
+				while ((now = System.nanoTime()) < due) {
+					if (now >= nextTick) {
+						server.tick();
+						nextTick += TICK_NANOS;
+					} else {
+						LockSupport.parkNanos(Math.min(due, nextTick) - now);
+					}
+				}
+				if (now - due > TICK_NANOS) late++;
+			}
+			long now = System.nanoTime();
+			if (now >= nextTick) {
+				server.tick();
+				nextTick = now + TICK_NANOS;
+			}
+			if (count++ == warmup) {
+				dispatcher.reset();
+				measureStart = System.nanoTime();
+				measured = 0;
+				busy = 0;
+				late = 0;
+			}
+			busy += dispatcher.dispatch(timed.event);
+			measured++;
+		}
+		report(dispatcher, measured, System.nanoTime() - measureStart, busy, paced ? late : -1);
+	}
+
+	/**
+	 * Prints the measures of each handler, then the totals.
+	 */
+	private static void report(HandlerDispatcher dispatcher, long events, long wallNanos, long busyNanos, long late) {
+		double wallSeconds = wallNanos / 1e9;
+		System.out.printf(Locale.ROOT, "%-48s %10s %12s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+				"Handler", "calls", "calls/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "B/call", "MB/s", "errors");
+		long allocated = 0;
+		for (HandlerDispatcher.Handler h : dispatcher.getCalledHandlers()) {
+			LatencyHistogram histogram = h.histogram;
+			long calls = histogram.getCount();
+			allocated += h.allocated;
+			System.out.printf(Locale.ROOT, "%-48s %10d %12.0f %9.2f %9.2f %9.2f %9.2f %9.2f %9d %9.2f %7d%n",
+					h.name, calls, calls / (h.nanos / 1e9), micros(histogram.percentile(50)), micros(histogram.percentile(90)),
+					micros(histogram.percentile(99)), micros(histogram.percentile(99.9)), micros(histogram.getMax()),
+					h.allocated / calls, h.allocated / wallSeconds / 1e6, h.errors);
+		}
+		System.out.printf(Locale.ROOT, "%nEvents: %d in %.2f s (%.0f events/s), %.1f%% of the time in the handlers, %.2f MB/s allocated by the handlers%n",
+				events, wallSeconds, events / wallSeconds, 100.0 * busyNanos / wallNanos, allocated / wallSeconds / 1e6);
+		if (late >= 0) System.out.println("Events replayed more than a tick late: " + late);
+	}
+
+	private static double micros(long nanos) {
+		return nanos / 1000.0;
+	}
+
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--")) throw new IllegalArgumentException("Unknown argument " + arg + ", expected --key=value");
+			int equals = arg.indexOf('=');
+			if (equals < 0) options.put(arg.substring(2), "true");
+			else options.put(arg.substring(2, equals), arg.substring(equals + 1));
+		}
+		return options;
+	}
+}
@@ -0,0 +1,361 @@
+package fr.mrbaguette07.SLclaim.Benchmarks.Replay;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Chunk;
+import org.bukkit.ExplosionResult;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import fr.mrbaguette07.SLclaim.ClaimBossBar;
+import fr.mrbaguette07.SLclaim.CPlayerMain;
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
+import fr.mrbaguette07.SLclaim.SLclaim;
+import fr.mrbaguette07.SLclaim.Benchmarks.BukkitStubs;
+import fr.mrbaguette07.SLclaim.Benchmarks.SyntheticClaims;
+import fr.mrbaguette07.SLclaim.Config.ClaimSettings;
+import fr.mrbaguette07.SLclaim.Types.CPlayer;
+import fr.mrbaguette07.SLclaim.Types.Claim;
+import fr.mrbaguette07.SLclaim.Types.EventTrace;
+import fr.mrbaguette07.SLclaim.Types.WorldMode;
+
+/**
+ * A MockBukkit server with the plugin state needed by the protection listeners: the
+ * settings of the default config.yml, the claims, the players and their CPlayer.
+ * Also builds the Bukkit events of the trace records. Everything here runs outside of
+ * the measured handler calls.
+ */
+final class ReplayServer implements AutoCloseable {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The mock server */
+	private final ServerMock server;
+
+	/** The plugin */
+	private final SLclaim plugin;
+
+	/** The settings of the plugin */
+	private final ClaimSettings settings;
+
+	/** The mode of all the worlds */
+	private final WorldMode worldMode;
+
+	/** The worlds, by name */
+	private final Map<String, World> worlds = new HashMap<>();
+
+	/** The players, by uuid */
+	private final Map<UUID, PlayerMock> players = new HashMap<>();
+
+	/** The CPlayer map of the CPlayerMain */
+	private final Map<UUID, CPlayer> cPlayers;
+
+	/** The source entities of the explosions, by world and type */
+	private final Map<String, Entity> explosionSources = new HashMap<>();
+
+	/** True once the settings snapshot is published */
+	private boolean published;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Starts the mock server and sets up the plugin.
+	 *
+	 * @param worldMode The mode of all the worlds
+	 * @param protectionMessage The type of the protection messages (CHAT by default, the action bar is not mocked)
+	 */
+	@SuppressWarnings("unchecked")
+	ReplayServer(WorldMode worldMode, String protectionMessage) throws ReflectiveOperationException {
+		this.server = MockBukkit.mock();
+		this.plugin = BukkitStubs.plugin();
+		this.worldMode = worldMode;
+		this.settings = new ClaimSettings(plugin);
+		loadSettings(protectionMessage);
+
+		CPlayerMain playerMain = new CPlayerMain(plugin);
+		Field field = CPlayerMain.class.getDeclaredField("players");
+		field.setAccessible(true);
+		this.cPlayers = (Map<UUID, CPlayer>) field.get(playerMain);
+
+		BukkitStubs.set(plugin, "claimSettingsInstance", settings);
+		BukkitStubs.set(plugin, "cPlayerMainInstance", playerMain);
+		BukkitStubs.set(plugin, "claimBossBarInstance", new ClaimBossBar(plugin));
+		BukkitStubs.set(plugin, "protectionEngine", new ProtectionEngine(plugin));
+		BukkitStubs.set(plugin, "minecraftVersion", "1.21.4");
+	}
+
+	/**
+	 * Loads the settings read by the listeners from the default config.yml, like SLclaim#loadConfig.
+	 */
+	private void loadSettings(String protectionMessage) {
+		InputStream stream = SLclaim.class.getResourceAsStream("/config.yml");
+		if (stream == null) throw new IllegalStateException("config.yml not found in the plugin resources");
+		YamlConfiguration config = YamlConfiguration.loadConfiguration(new InputStreamReader(stream, StandardCharsets.UTF_8));
+
+		for (String key : config.getKeys(false)) {
+			if (!config.isConfigurationSection(key) && !config.isList(key)) settings.addSetting(key, config.getString(key));
+		}
+		settings.addSetting("protection-message", protectionMessage);
+		settings.setEnabledSettings(booleans(config.getConfigurationSection("status-settings")));
+		settings.setSurvivalRequiringClaimsSettings(booleans(config.getConfigurationSection("permissions-on-SurvivalRequiringClaims")));
+		settings.setRestrictedItems(config.getStringList("blocked-items"));
+		settings.setRestrictedContainers(config.getStringList("blocked-interact-blocks"));
+		settings.setRestrictedEntityType(config.getStringList("blocked-entities"));
+		settings.setSpecialBlocks(config.getStringList("special-blocks"));
+		settings.setBreakBlocksIgnore(config.getStringList("ignored-break-blocks"));
+		settings.setPlaceBlocksIgnore(config.getStringList("ignored-place-blocks"));
+	}
+
+	private static Map<String, Boolean> booleans(ConfigurationSection section) {
+		Map<String, Boolean> values = new LinkedHashMap<>();
+		if (section != null) section.getKeys(false).forEach(key -> values.put(key, section.getBoolean(key)));
+		return values;
+	}
+
+
+    // *************
+    // *  Getters  *
+    // *************
+
+
+	SLclaim getPlugin() { return plugin; }
+
+	/**
+	 * Gets a world, created on first use (the settings are published again if needed).
+	 *
+	 * @param name The name of the world
+	 * @return The world
+	 */
+	World world(String name) {
+		World world = worlds.get(name);
+		if (world != null) return world;
+		world = server.addSimpleWorld(name);
+		worlds.put(name, world);
+		if (published) publishSettings();
+		return world;
+	}
+
+	/**
+	 * Publishes the settings snapshot, once the worlds of the claims exist.
+	 */
+	void publishSettings() {
+		Map<String, WorldMode> modes = new HashMap<>();
+		worlds.keySet().forEach(name -> modes.put(name, worldMode));
+		settings.setWorlds(modes);
+		settings.publishSnapshot();
+		published = true;
+	}
+
+	/**
+	 * Gets a player, connected on first use with its CPlayer.
+	 *
+	 * @param uuid The uuid of the player
+	 * @param name The name of the player, may be empty
+	 * @return The player
+	 */
+	Player player(UUID uuid, String name) {
+		PlayerMock player = players.get(uuid);
+		if (player != null) return player;
+		player = new PlayerMock(server, name == null || name.isEmpty() ? "p-" + uuid.toString().substring(0, 8) : name, uuid);
+		server.addPlayer(player);
+		players.put(uuid, player);
+		cPlayers.put(uuid, new CPlayer(player, uuid, 0, plugin));
+		return player;
+	}
+
+	/**
+	 * Runs one scheduler tick and drops the messages sent to the players.
+	 */
+	void tick() {
+		server.getScheduler().performOneTick();
+		for (PlayerMock player : players.values()) {
+			while (player.nextMessage() != null) {}
+		}
+	}
+
+	@Override
+	public void close() {
+		MockBukkit.unmock();
+	}
+
+
+    // ************
+    // *  Claims  *
+    // ************
+
+
+	/**
+	 * Creates and indexes the claim of a CLAIM record.
+	 *
+	 * @param record The record
+	 * @return The claim
+	 */
+	Claim addClaim(EventTrace.Record record) {
+		World world = world(record.getWorld());
+		Set<Chunk> chunks = new HashSet<>();
+		for (long key : record.getChunkKeys()) {
+			chunks.add(world.getChunkAt((int) (key >> 32), (int) key));
+		}
+		Chunk first = chunks.iterator().next();
+		Location location = new Location(world, (first.getX() << 4) + 8, 64, (first.getZ() << 4) + 8);
+		Claim claim = new Claim(record.getPlayerUUID(), chunks, record.getPlayerName(), record.getMembers(), location,
+				record.getClaimName(), "", record.getPermissions(), record.getSale(), record.getPrice(), new HashSet<>(), record.getClaimId());
+		for (Chunk chunk : chunks) {
+			SyntheticClaims.index(plugin.getMain(), chunk, claim);
+		}
+		return claim;
+	}
+
+
+    // ************
+    // *  Events  *
+    // ************
+
+
+	/**
+	 * Builds the Bukkit event of a record, and applies its state to the mock world.
+	 *
+	 * @param record The record
+	 * @return The event, or null for a record without event
+	 */
+	Event toEvent(EventTrace.Record record) {
+		switch (record.getType()) {
+			case EventTrace.BLOCK_BREAK: {
+				Block block = block(record.getWorld(), record.getX(), record.getY(), record.getZ(), record.getMaterial());
+				return new BlockBreakEvent(block, player(record.getPlayerUUID(), record.getPlayerName()));
+			}
+			case EventTrace.BLOCK_PLACE: {
+				Block block = world(record.getWorld()).getBlockAt(record.getX(), record.getY(), record.getZ());
+				BlockState replaced = block.getState();
+				Material material = material(record.getMaterial());
+				block.setType(material);
+				ItemStack item = new ItemStack(material.isItem() ? material : Material.STONE);
+				return new BlockPlaceEvent(block, replaced, block.getRelative(BlockFace.DOWN), item,
+						player(record.getPlayerUUID(), record.getPlayerName()), true, EquipmentSlot.HAND);
+			}
+			case EventTrace.PLAYER_MOVE: {
+				World world = world(record.getWorld());
+				Player player = player(record.getPlayerUUID(), record.getPlayerName());
+				Location from = new Location(world, record.getX() + 0.5, record.getY(), record.getZ() + 0.5);
+				Location to = new Location(world, record.getToX() + 0.5, record.getToY(), record.getToZ() + 0.5);
+				player.teleport(from);
+				return new PlayerMoveEvent(player, from, to);
+			}
+			case EventTrace.BLOCK_FROM_TO: {
+				Block block = block(record.getWorld(), record.getX(), record.getY(), record.getZ(), record.getMaterial());
+				return new BlockFromToEvent(block, BlockFace.values()[record.getA()]);
+			}
+			case EventTrace.BLOCK_REDSTONE: {
+				Block block = block(record.getWorld(), record.getX(), record.getY(), record.getZ(), "REDSTONE_WIRE");
+				return new BlockRedstoneEvent(block, record.getA(), record.getB());
+			}
+			case EventTrace.ENTITY_EXPLODE: {
+				World world = world(record.getWorld());
+				Location location = new Location(world, record.getX(), record.getY(), record.getZ());
+				return new EntityExplodeEvent(explosionSource(world, record.getMaterial()), location,
+						explodedBlocks(world, record), 1.0f, ExplosionResult.DESTROY);
+			}
+			case EventTrace.BLOCK_EXPLODE: {
+				Block block = block(record.getWorld(), record.getX(), record.getY(), record.getZ(), record.getMaterial());
+				return new BlockExplodeEvent(block, block.getState(), explodedBlocks(block.getWorld(), record), 1.0f, ExplosionResult.DESTROY);
+			}
+			case EventTrace.PLAYER_INTERACT: {
+				Player player = player(record.getPlayerUUID(), record.getPlayerName());
+				Block clicked = record.getB() == 1 ? block(record.getWorld(), record.getX(), record.getY(), record.getZ(), record.getMaterial()) : null;
+				Material material = material(record.getItem());
+				ItemStack item = material.isAir() || !material.isItem() ? null : new ItemStack(material);
+				return new PlayerInteractEvent(player, Action.values()[record.getA()], item, clicked, BlockFace.UP);
+			}
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Gets a block and sets its type.
+	 *
+	 * @return The block
+	 */
+	Block block(String world, int x, int y, int z, String material) {
+		Block block = world(world).getBlockAt(x, y, z);
+		Material type = material(material);
+		if (block.getType() != type) block.setType(type);
+		return block;
+	}
+
+	private static Material material(String name) {
+		Material material = name == null ? null : Material.matchMaterial(name);
+		return material == null ? Material.STONE : material;
+	}
+
+	private List<Block> explodedBlocks(World world, EventTrace.Record record) {
+		int[] offsets = record.getOffsets();
+		List<Block> blocks = new ArrayList<>(offsets.length / 3);
+		for (int i = 0; i + 2 < offsets.length; i += 3) {
+			blocks.add(world.getBlockAt(record.getX() + offsets[i], record.getY() + offsets[i + 1], record.getZ() + offsets[i + 2]));
+		}
+		return blocks;
+	}
+
+	/**
+	 * Gets the source entity of an explosion, one per world and type.
+	 * Falls back to a primed TNT, then to a player, for the types MockBukkit cannot spawn.
+	 */
+	Entity explosionSource(World world, String type) {
+		return explosionSources.computeIfAbsent(world.getName() + ":" + type, k -> {
+			Location location = new Location(world, 0, 64, 0);
+			try {
+				return world.spawnEntity(location, EntityType.valueOf(type));
+			} catch (RuntimeException e) {
+				try {
+					return world.spawnEntity(location, EntityType.TNT);
+				} catch (RuntimeException e2) {
+					return player(UUID.nameUUIDFromBytes(k.getBytes(StandardCharsets.UTF_8)), "explosion");
+				}
+			}
+		});
+	}
+}
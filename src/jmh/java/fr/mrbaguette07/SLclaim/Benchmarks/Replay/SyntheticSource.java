@@ -0,0 +1,217 @@
+package fr.mrbaguette07.SLclaim.Benchmarks.Replay;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.bukkit.Chunk;
+import org.bukkit.ExplosionResult;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+
+import fr.mrbaguette07.SLclaim.Benchmarks.SyntheticClaims;
+
+/**
+ * Seeded synthetic events over a {@link SyntheticClaims} registry, with a mix close to a
+ * survival server: mostly moves, then block breaks, placements and interactions, some
+ * fluids and redstone at chunk borders, and a few explosions. Half of the block events
+ * happen in claims, half outside.
+ */
+final class SyntheticSource implements EventSource {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Cumulative weights of the event types, in percent */
+	private static final int MOVE = 60, BREAK = 70, PLACE = 80, INTERACT = 90, FROM_TO = 95, REDSTONE = 99;
+
+	/** Blocks clicked by the interactions */
+	private static final Material[] INTERACTED = { Material.OAK_DOOR, Material.LEVER, Material.STONE_BUTTON,
+			Material.CHEST, Material.OAK_TRAPDOOR, Material.REPEATER };
+
+	/** Height of the synthetic events */
+	private static final int Y = 64;
+
+	/** Radius of the explosions */
+	private static final int RADIUS = 3;
+
+	/** The server building the events */
+	private final ReplayServer server;
+
+	/** The claims */
+	private final SyntheticClaims claims;
+
+	/** The players and their block position */
+	private final Player[] players;
+	private final int[] px;
+	private final int[] pz;
+
+	/** The random source */
+	private final Random random;
+
+	/** Remaining events, and interval between two events in nanoseconds */
+	private long remaining;
+	private final long interval;
+
+	/** Index of the next event */
+	private long index;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Creates the source, and connects the players in random claims.
+	 *
+	 * @param server The server
+	 * @param claims The claims
+	 * @param playerCount Number of players (the first ones own claims)
+	 * @param events Number of events
+	 * @param rate Events per second, or 0 for no timestamps
+	 * @param seed The random seed
+	 */
+	SyntheticSource(ReplayServer server, SyntheticClaims claims, int playerCount, long events, double rate, long seed) {
+		this.server = server;
+		this.claims = claims;
+		this.random = new Random(seed);
+		this.remaining = events;
+		this.interval = rate > 0 ? (long) (1_000_000_000L / rate) : 0;
+		this.players = new Player[playerCount];
+		this.px = new int[playerCount];
+		this.pz = new int[playerCount];
+		for (int i = 0; i < playerCount; i++) {
+			players[i] = server.player(SyntheticClaims.playerUUID(i), SyntheticClaims.playerName(i));
+			Chunk chunk = claims.randomClaimedChunk(random);
+			px[i] = (chunk.getX() << 4) + random.nextInt(16);
+			pz[i] = (chunk.getZ() << 4) + random.nextInt(16);
+		}
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	@Override
+	public TimedEvent next() {
+		if (remaining-- <= 0) return null;
+		int roll = random.nextInt(100);
+		Event event;
+		if (roll < MOVE) event = move();
+		else if (roll < BREAK) event = breakBlock();
+		else if (roll < PLACE) event = placeBlock();
+		else if (roll < INTERACT) event = interact();
+		else if (roll < FROM_TO) event = fromTo();
+		else if (roll < REDSTONE) event = redstone();
+		else event = explode();
+		return new TimedEvent(interval * index++, event);
+	}
+
+	/**
+	 * A player walks one block, crossing chunk borders from time to time.
+	 */
+	private Event move() {
+		int i = random.nextInt(players.length);
+		World world = claims.getWorld();
+		Location from = new Location(world, px[i] + 0.5, Y, pz[i] + 0.5);
+		if (random.nextBoolean()) px[i] += random.nextBoolean() ? 1 : -1;
+		else pz[i] += random.nextBoolean() ? 1 : -1;
+		Location to = new Location(world, px[i] + 0.5, Y, pz[i] + 0.5);
+		players[i].teleport(from);
+		return new PlayerMoveEvent(players[i], from, to);
+	}
+
+	private Event breakBlock() {
+		Block block = randomBlock("STONE");
+		return new BlockBreakEvent(block, randomPlayer());
+	}
+
+	private Event placeBlock() {
+		Block block = randomBlock("AIR");
+		BlockState replaced = block.getState();
+		block.setType(Material.STONE);
+		return new BlockPlaceEvent(block, replaced, block.getRelative(BlockFace.DOWN), new ItemStack(Material.STONE),
+				randomPlayer(), true, EquipmentSlot.HAND);
+	}
+
+	private Event interact() {
+		Block block = randomBlock(INTERACTED[random.nextInt(INTERACTED.length)].name());
+		return new PlayerInteractEvent(randomPlayer(), Action.RIGHT_CLICK_BLOCK, null, block, BlockFace.UP);
+	}
+
+	/**
+	 * Water flowing east from the last column of a chunk, into the next chunk.
+	 */
+	private Event fromTo() {
+		Chunk chunk = randomChunk();
+		Block block = server.block(claims.getWorld().getName(), (chunk.getX() << 4) + 15, Y, (chunk.getZ() << 4) + random.nextInt(16), "WATER");
+		return new BlockFromToEvent(block, BlockFace.EAST);
+	}
+
+	/**
+	 * A redstone wire on the last column of a chunk, powering a wire of the next chunk.
+	 */
+	private Event redstone() {
+		Chunk chunk = randomChunk();
+		String world = claims.getWorld().getName();
+		int x = (chunk.getX() << 4) + 15;
+		int z = (chunk.getZ() << 4) + random.nextInt(16);
+		server.block(world, x + 1, Y, z, "REDSTONE_WIRE");
+		Block block = server.block(world, x, Y, z, "REDSTONE_WIRE");
+		return new BlockRedstoneEvent(block, 0, 15);
+	}
+
+	/**
+	 * A TNT explosion in a sphere of blocks.
+	 */
+	private Event explode() {
+		Block center = randomBlock("AIR");
+		World world = center.getWorld();
+		List<Block> blocks = new ArrayList<>();
+		for (int dx = -RADIUS; dx <= RADIUS; dx++) {
+			for (int dy = -RADIUS; dy <= RADIUS; dy++) {
+				for (int dz = -RADIUS; dz <= RADIUS; dz++) {
+					if (dx * dx + dy * dy + dz * dz <= RADIUS * RADIUS) {
+						blocks.add(world.getBlockAt(center.getX() + dx, center.getY() + dy, center.getZ() + dz));
+					}
+				}
+			}
+		}
+		return new EntityExplodeEvent(server.explosionSource(world, "TNT"), center.getLocation(), blocks, 4.0f, ExplosionResult.DESTROY);
+	}
+
+	private Player randomPlayer() {
+		return players[random.nextInt(players.length)];
+	}
+
+	private Chunk randomChunk() {
+		return random.nextBoolean() ? claims.randomClaimedChunk(random) : claims.randomFreeChunk(random);
+	}
+
+	private Block randomBlock(String material) {
+		Chunk chunk = randomChunk();
+		return server.block(claims.getWorld().getName(), (chunk.getX() << 4) + random.nextInt(16), Y, (chunk.getZ() << 4) + random.nextInt(16), material);
+	}
+}
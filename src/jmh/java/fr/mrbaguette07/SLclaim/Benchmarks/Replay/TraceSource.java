@@ -0,0 +1,90 @@
+package fr.mrbaguette07.SLclaim.Benchmarks.Replay;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.bukkit.event.Event;
+
+import fr.mrbaguette07.SLclaim.Types.EventTrace;
+
+/**
+ * Events of a trace recorded with /scs record-events. The claims exported at the start
+ * of the trace are created when the source is opened.
+ */
+final class TraceSource implements EventSource, Closeable {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The trace reader */
+	private final EventTrace.Reader reader;
+
+	/** The server building the events */
+	private final ReplayServer server;
+
+	/** The first event record, read while loading the claims */
+	private EventTrace.Record pending;
+
+	/** Number of claims of the trace */
+	private final int claimCount;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Opens a trace and loads its claims.
+	 *
+	 * @param file The trace file (gzipped)
+	 * @param server The server
+	 */
+	TraceSource(File file, ReplayServer server) throws IOException {
+		this.reader = new EventTrace.Reader(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16), 1 << 16));
+		this.server = server;
+		int claims = 0;
+		EventTrace.Record record;
+		while ((record = reader.next()) != null && record.getType() == EventTrace.CLAIM) {
+			server.addClaim(record);
+			claims++;
+		}
+		this.pending = record;
+		this.claimCount = claims;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	int getClaimCount() { return claimCount; }
+
+	@Override
+	public TimedEvent next() throws IOException {
+		while (true) {
+			EventTrace.Record record = pending != null ? pending : reader.next();
+			pending = null;
+			if (record == null) return null;
+			if (record.getType() == EventTrace.CLAIM) {
+				server.addClaim(record);
+				continue;
+			}
+			Event event = server.toEvent(record);
+			if (event != null) return new TimedEvent(record.getNanos(), event);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,223 @@
+package fr.mrbaguette07.SLclaim.Benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
+import fr.mrbaguette07.SLclaim.Types.Claim;
+
+/**
+ * Synthetic claim registry for the benchmarks.
+ * Claims are squares of chunks laid out on a grid, separated by one free chunk, so
+ * lookups can pick claimed or free chunks without searching. The generation is seeded.
+ */
+public final class SyntheticClaims {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Number of claims per owner */
+	private static final int CLAIMS_PER_OWNER = 4;
+
+	/** The private ClaimMain#indexChunk(Chunk, Claim) */
+	private static final MethodHandle INDEX_CHUNK;
+
+	static {
+		try {
+			INDEX_CHUNK = MethodHandles.privateLookupIn(ClaimMain.class, MethodHandles.lookup())
+					.findVirtual(ClaimMain.class, "indexChunk", MethodType.methodType(void.class, Chunk.class, Claim.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** The world of the claims */
+	private final World world;
+
+	/** The generated claims */
+	private final List<Claim> claims;
+
+	/** The side of a claim, in chunks */
+	private final int side;
+
+	/** The number of claims per grid row */
+	private final int columns;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	private SyntheticClaims(World world, List<Claim> claims, int side, int columns) {
+		this.world = world;
+		this.claims = claims;
+		this.side = side;
+		this.columns = columns;
+	}
+
+	/**
+	 * Generates claims covering a number of chunks and registers them in the chunk indexes of a ClaimMain.
+	 *
+	 * @param main The claim main to fill
+	 * @param world The world of the claims
+	 * @param chunkCount The total number of claimed chunks
+	 * @param side The side of each claim, in chunks
+	 * @param seed The random seed
+	 * @return The generated registry
+	 */
+	public static SyntheticClaims generate(ClaimMain main, World world, int chunkCount, int side, long seed) {
+		Random random = new Random(seed);
+		int claimCount = Math.max(1, chunkCount / (side * side));
+		int columns = (int) Math.ceil(Math.sqrt(claimCount));
+		int owners = Math.max(1, claimCount / CLAIMS_PER_OWNER);
+		List<Claim> claims = new ArrayList<>(claimCount);
+
+		for (int i = 0; i < claimCount; i++) {
+			int ownerIndex = i / CLAIMS_PER_OWNER;
+			String ownerName = playerName(ownerIndex);
+			int x0 = (i % columns) * (side + 1);
+			int z0 = (i / columns) * (side + 1);
+
+			Set<UUID> members = new HashSet<>();
+			int memberCount = random.nextInt(4);
+			for (int m = 0; m < memberCount; m++) {
+				members.add(playerUUID(random.nextInt(owners)));
+			}
+
+			Set<Chunk> chunks = square(world, x0, z0, side);
+			Location location = new Location(world, (x0 << 4) + 8, 64, (z0 << 4) + 8);
+			Claim claim = new Claim(playerUUID(ownerIndex), chunks, ownerName, members, location, "claim-" + (i % CLAIMS_PER_OWNER),
+					"Synthetic claim " + i, permissions(random), random.nextInt(20) == 0, random.nextInt(10_000), new HashSet<>(), i % CLAIMS_PER_OWNER);
+			for (Chunk chunk : chunks) {
+				index(main, chunk, claim);
+			}
+			claims.add(claim);
+		}
+		return new SyntheticClaims(world, claims, side, columns);
+	}
+
+	/**
+	 * Creates a square of chunks.
+	 *
+	 * @param world The world
+	 * @param x0 The minimum chunk X
+	 * @param z0 The minimum chunk Z
+	 * @param side The side, in chunks
+	 * @return The chunks
+	 */
+	public static Set<Chunk> square(World world, int x0, int z0, int side) {
+		Set<Chunk> chunks = new HashSet<>(side * side * 2);
+		for (int dx = 0; dx < side; dx++) {
+			for (int dz = 0; dz < side; dz++) {
+				chunks.add(world.getChunkAt(x0 + dx, z0 + dz));
+			}
+		}
+		return chunks;
+	}
+
+	/**
+	 * Creates random permissions for the three roles, with all the protection keys.
+	 *
+	 * @param random The random source
+	 * @return The permissions
+	 */
+	public static Map<String, LinkedHashMap<String, Boolean>> permissions(Random random) {
+		Map<String, LinkedHashMap<String, Boolean>> permissions = new LinkedHashMap<>();
+		for (String role : new String[] { "natural", "members", "visitors" }) {
+			LinkedHashMap<String, Boolean> values = new LinkedHashMap<>();
+			for (ProtectionEngine.Action action : ProtectionEngine.Action.values()) {
+				values.putIfAbsent(action.getPermission(), random.nextBoolean());
+			}
+			permissions.put(role, values);
+		}
+		return permissions;
+	}
+
+	/**
+	 * Registers a chunk through the private ClaimMain#indexChunk.
+	 *
+	 * @param main The claim main
+	 * @param chunk The chunk
+	 * @param claim The claim owning the chunk
+	 */
+	public static void index(ClaimMain main, Chunk chunk, Claim claim) {
+		try {
+			INDEX_CHUNK.invokeExact(main, chunk, claim);
+		} catch (Throwable e) {
+			throw new IllegalStateException("Unable to index a chunk", e);
+		}
+	}
+
+	public static String playerName(int index) {
+		return "player-" + index;
+	}
+
+	public static UUID playerUUID(int index) {
+		return UUID.nameUUIDFromBytes(("OfflinePlayer:" + playerName(index)).getBytes(StandardCharsets.UTF_8));
+	}
+
+
+    // *************
+    // *  Getters  *
+    // *************
+
+
+	public World getWorld() { return world; }
+	public List<Claim> getClaims() { return claims; }
+	public int getSide() { return side; }
+
+	/**
+	 * Gets a random claim.
+	 *
+	 * @param random The random source
+	 * @return The claim
+	 */
+	public Claim randomClaim(Random random) {
+		return claims.get(random.nextInt(claims.size()));
+	}
+
+	/**
+	 * Gets a random claimed chunk.
+	 *
+	 * @param random The random source
+	 * @return The chunk
+	 */
+	public Chunk randomClaimedChunk(Random random) {
+		int i = random.nextInt(claims.size());
+		int x = (i % columns) * (side + 1) + random.nextInt(side);
+		int z = (i / columns) * (side + 1) + random.nextInt(side);
+		return world.getChunkAt(x, z);
+	}
+
+	/**
+	 * Gets a random free chunk (in the gaps between the claims).
+	 *
+	 * @param random The random source
+	 * @return The chunk
+	 */
+	public Chunk randomFreeChunk(Random random) {
+		int i = random.nextInt(claims.size());
+		int x = (i % columns) * (side + 1) + side;
+		int z = (i / columns) * (side + 1) + random.nextInt(side);
+		return world.getChunkAt(x, z);
+	}
+}
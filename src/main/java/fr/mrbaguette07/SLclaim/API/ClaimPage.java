@@ -0,0 +1,67 @@
+package fr.mrbaguette07.SLclaim.API;
+
+import java.util.List;
+
+/**
+ * Immutable page of claim summaries (see {@link SLclaimAPI#getClaimSummaries(String, boolean, ClaimSummary.Sort, int, int)}).
+ */
+public final class ClaimPage {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The summaries of the page, in order */
+	private final List<ClaimSummary> claims;
+
+	/** The position of the first summary in the whole list */
+	private final int offset;
+
+	/** Whether other claims follow this page */
+	private final boolean hasMore;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Main constructor for ClaimPage.
+	 *
+	 * @param claims The summaries of the page
+	 * @param offset The position of the first summary
+	 * @param hasMore Whether other claims follow
+	 */
+	public ClaimPage(List<ClaimSummary> claims, int offset, boolean hasMore) {
+		this.claims = List.copyOf(claims);
+		this.offset = offset;
+		this.hasMore = hasMore;
+	}
+
+	/**
+	 * Builds a page from up to limit + 1 sorted summaries: the extra one only tells that
+	 * other claims follow, so no count is needed.
+	 *
+	 * @param claims The summaries, at most limit + 1
+	 * @param offset The position of the first summary
+	 * @param limit The size of the page
+	 * @return The page
+	 */
+	public static ClaimPage of(List<ClaimSummary> claims, int offset, int limit) {
+		boolean hasMore = claims.size() > limit;
+		return new ClaimPage(hasMore ? claims.subList(0, limit) : claims, offset, hasMore);
+	}
+
+
+    // *************
+    // *  Getters  *
+    // *************
+
+
+	public List<ClaimSummary> getClaims() { return claims; }
+	public int getOffset() { return offset; }
+	public boolean hasMore() { return hasMore; }
+}
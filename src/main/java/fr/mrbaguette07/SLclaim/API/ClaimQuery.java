@@ -0,0 +1,207 @@
+package fr.mrbaguette07.SLclaim.API;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.bukkit.World;
+
+import fr.mrbaguette07.SLclaim.Types.Claim;
+
+/**
+ * Criteria of a claim query (see {@link SLclaimAPI#queryClaims(ClaimQuery)}).
+ * The owner, world and bounding box criteria select the index to iterate, the other
+ * criteria are checked on the live claims before any view is created.
+ */
+public final class ClaimQuery {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The uuid of the owner, or null */
+	private UUID ownerUUID;
+
+	/** The uuid of a member, or null */
+	private UUID memberUUID;
+
+	/** The uuid of the world, or null */
+	private UUID worldUID;
+
+	/** Whether a bounding box is set */
+	private boolean bounded;
+
+	/** The bounding box, in chunk coordinates (inclusive) */
+	private int minChunkX, minChunkZ, maxChunkX, maxChunkZ;
+
+	/** The sale state, or null */
+	private Boolean forSale;
+
+	/** Whether the protected areas are included */
+	private boolean includeProtectedAreas = true;
+
+	/** A predicate on the live claims, or null */
+	private Predicate<Claim> filter;
+
+	/** The number of matching claims to skip */
+	private int offset;
+
+	/** The maximum number of claims returned */
+	private int limit = Integer.MAX_VALUE;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Private constructor, use {@link #create()}.
+	 */
+	private ClaimQuery() {}
+
+	/**
+	 * Creates a query matching all the claims.
+	 *
+	 * @return The query
+	 */
+	public static ClaimQuery create() {
+		return new ClaimQuery();
+	}
+
+
+    // *************
+    // *  Builder  *
+    // *************
+
+
+	/**
+	 * Restricts the query to the claims of an owner (iterates the owner index).
+	 *
+	 * @param ownerUUID The uuid of the owner
+	 * @return The query
+	 */
+	public ClaimQuery owner(UUID ownerUUID) {
+		this.ownerUUID = ownerUUID;
+		return this;
+	}
+
+	/**
+	 * Restricts the query to the claims having a member.
+	 *
+	 * @param memberUUID The uuid of the member
+	 * @return The query
+	 */
+	public ClaimQuery member(UUID memberUUID) {
+		this.memberUUID = memberUUID;
+		return this;
+	}
+
+	/**
+	 * Restricts the query to the claims whose chunks are in a world.
+	 *
+	 * @param world The world
+	 * @return The query
+	 */
+	public ClaimQuery world(World world) {
+		this.worldUID = world.getUID();
+		return this;
+	}
+
+	/**
+	 * Restricts the query to the claims having a chunk in a box (chunk coordinates, inclusive).
+	 *
+	 * @param world The world
+	 * @param minChunkX The minimum chunk X
+	 * @param minChunkZ The minimum chunk Z
+	 * @param maxChunkX The maximum chunk X
+	 * @param maxChunkZ The maximum chunk Z
+	 * @return The query
+	 */
+	public ClaimQuery within(World world, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+		this.worldUID = world.getUID();
+		this.bounded = true;
+		this.minChunkX = Math.min(minChunkX, maxChunkX);
+		this.minChunkZ = Math.min(minChunkZ, maxChunkZ);
+		this.maxChunkX = Math.max(minChunkX, maxChunkX);
+		this.maxChunkZ = Math.max(minChunkZ, maxChunkZ);
+		return this;
+	}
+
+	/**
+	 * Restricts the query to the claims for sale, or not for sale.
+	 *
+	 * @param forSale The sale state
+	 * @return The query
+	 */
+	public ClaimQuery forSale(boolean forSale) {
+		this.forSale = forSale;
+		return this;
+	}
+
+	/**
+	 * Sets whether the protected areas are returned (true by default).
+	 *
+	 * @param includeProtectedAreas Whether the protected areas are included
+	 * @return The query
+	 */
+	public ClaimQuery includeProtectedAreas(boolean includeProtectedAreas) {
+		this.includeProtectedAreas = includeProtectedAreas;
+		return this;
+	}
+
+	/**
+	 * Adds a predicate checked on the live claims after the other criteria, before
+	 * the views are created. It must only read the claim.
+	 *
+	 * @param filter The predicate
+	 * @return The query
+	 */
+	public ClaimQuery filter(Predicate<Claim> filter) {
+		this.filter = this.filter == null ? filter : this.filter.and(filter);
+		return this;
+	}
+
+	/**
+	 * Sets the number of matching claims to skip (negative values count as 0).
+	 *
+	 * @param offset The offset
+	 * @return The query
+	 */
+	public ClaimQuery offset(int offset) {
+		this.offset = Math.max(0, offset);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of claims returned (negative values count as 0).
+	 *
+	 * @param limit The limit
+	 * @return The query
+	 */
+	public ClaimQuery limit(int limit) {
+		this.limit = Math.max(0, limit);
+		return this;
+	}
+
+
+    // *************
+    // *  Getters  *
+    // *************
+
+
+	public UUID getOwnerUUID() { return ownerUUID; }
+	public UUID getMemberUUID() { return memberUUID; }
+	public UUID getWorldUID() { return worldUID; }
+	public boolean isBounded() { return bounded; }
+	public int getMinChunkX() { return minChunkX; }
+	public int getMinChunkZ() { return minChunkZ; }
+	public int getMaxChunkX() { return maxChunkX; }
+	public int getMaxChunkZ() { return maxChunkZ; }
+	public Boolean getForSale() { return forSale; }
+	public boolean isIncludeProtectedAreas() { return includeProtectedAreas; }
+	public Predicate<Claim> getFilter() { return filter; }
+	public int getOffset() { return offset; }
+	public int getLimit() { return limit; }
+}
@@ -0,0 +1,165 @@
+package fr.mrbaguette07.SLclaim.API;
+
+import java.util.Comparator;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import fr.mrbaguette07.SLclaim.Types.Claim;
+
+/**
+ * Immutable summary of a claim, as listed by the claim browsers: only the fields shown
+ * in a list, so a page of summaries stays small even when it comes from another server.
+ */
+public final class ClaimSummary {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Sort keys of the summaries, the same order as the MongoDB indexes (ties are broken by claim id) */
+	public enum Sort {
+		NAME(Comparator.comparing(ClaimSummary::getName)),
+		ID(Comparator.comparingInt(ClaimSummary::getId));
+
+		private final Comparator<ClaimSummary> comparator;
+
+		Sort(Comparator<ClaimSummary> comparator) {
+			this.comparator = comparator.thenComparingInt(ClaimSummary::getId);
+		}
+
+		public Comparator<ClaimSummary> comparator() {
+			return comparator;
+		}
+
+		/**
+		 * Gets the same order on live claims.
+		 *
+		 * @return The comparator
+		 */
+		public Comparator<Claim> claimComparator() {
+			Comparator<Claim> byKey = this == NAME
+					? Comparator.comparing(Claim::getName)
+					: Comparator.comparingInt(Claim::getId);
+			return byKey.thenComparingInt(Claim::getId);
+		}
+	}
+
+	/** The id of the claim */
+	private final int id;
+
+	/** The name of the owner */
+	private final String ownerName;
+
+	/** The name of the claim */
+	private final String name;
+
+	/** The description of the claim */
+	private final String description;
+
+	/** The name of the world */
+	private final String worldName;
+
+	/** The spawn of the claim (x, y, z, yaw, pitch) */
+	private final double x, y, z;
+	private final float yaw, pitch;
+
+	/** Whether the claim is for sale */
+	private final boolean sale;
+
+	/** The price of the claim */
+	private final long price;
+
+	/** The server holding the claim */
+	private final String serverOrigin;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Main constructor for ClaimSummary.
+	 *
+	 * @param id The id of the claim
+	 * @param ownerName The name of the owner
+	 * @param name The name of the claim
+	 * @param description The description of the claim
+	 * @param worldName The name of the world of the spawn
+	 * @param x The spawn X
+	 * @param y The spawn Y
+	 * @param z The spawn Z
+	 * @param yaw The spawn yaw
+	 * @param pitch The spawn pitch
+	 * @param sale Whether the claim is for sale
+	 * @param price The price of the claim
+	 * @param serverOrigin The server holding the claim
+	 */
+	public ClaimSummary(int id, String ownerName, String name, String description, String worldName,
+			double x, double y, double z, float yaw, float pitch, boolean sale, long price, String serverOrigin) {
+		this.id = id;
+		this.ownerName = ownerName;
+		this.name = name;
+		this.description = description == null ? "" : description;
+		this.worldName = worldName;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.yaw = yaw;
+		this.pitch = pitch;
+		this.sale = sale;
+		this.price = price;
+		this.serverOrigin = serverOrigin;
+	}
+
+	/**
+	 * Creates the summary of a local claim.
+	 *
+	 * @param claim The claim
+	 * @param serverOrigin The name of this server
+	 * @return The summary
+	 */
+	public static ClaimSummary of(Claim claim, String serverOrigin) {
+		Location loc = claim.getLocation();
+		World world = loc == null ? null : loc.getWorld();
+		return new ClaimSummary(claim.getId(), claim.getOwner(), claim.getName(), claim.getDescription(),
+				world == null ? null : world.getName(),
+				loc == null ? 0 : loc.getX(), loc == null ? 0 : loc.getY(), loc == null ? 0 : loc.getZ(),
+				loc == null ? 0 : loc.getYaw(), loc == null ? 0 : loc.getPitch(),
+				claim.getSale(), claim.getPrice(), serverOrigin);
+	}
+
+
+    // *************
+    // *  Getters  *
+    // *************
+
+
+	public int getId() { return id; }
+	public String getOwnerName() { return ownerName; }
+	public String getName() { return name; }
+	public String getDescription() { return description; }
+	public String getWorldName() { return worldName; }
+	public double getX() { return x; }
+	public double getY() { return y; }
+	public double getZ() { return z; }
+	public float getYaw() { return yaw; }
+	public float getPitch() { return pitch; }
+	public boolean isForSale() { return sale; }
+	public long getPrice() { return price; }
+	public String getServerOrigin() { return serverOrigin; }
+
+	/**
+	 * Gets a new location of the claim spawn on this server.
+	 *
+	 * @return The location, or null if the world is not loaded here
+	 */
+	public Location getLocation() {
+		World world = worldName == null ? null : Bukkit.getWorld(worldName);
+		return world == null ? null : new Location(world, x, y, z, yaw, pitch);
+	}
+}
@@ -0,0 +1,238 @@
+package fr.mrbaguette07.SLclaim.API;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+import fr.mrbaguette07.SLclaim.Types.Claim;
+
+/**
+ * Immutable snapshot of a claim, safe to keep and to read from any thread.
+ * Changing the claim afterwards does not change the view.
+ */
+public final class ClaimView {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The id of the claim */
+	private final int id;
+
+	/** The uuid of the owner */
+	private final UUID ownerUUID;
+
+	/** The name of the owner */
+	private final String ownerName;
+
+	/** The name of the claim */
+	private final String name;
+
+	/** The description of the claim */
+	private final String description;
+
+	/** The uuid of the world of the chunks */
+	private final UUID worldUID;
+
+	/** The name of the world of the chunks */
+	private final String worldName;
+
+	/** The uuid of the world of the spawn */
+	private final UUID spawnWorldUID;
+
+	/** The spawn of the claim (x, y, z, yaw, pitch) */
+	private final double x, y, z;
+	private final float yaw, pitch;
+
+	/** The sorted packed keys of the chunks (see {@link ClaimMain#chunkKey(int, int)}) */
+	private final long[] chunkKeys;
+
+	/** The members */
+	private final Set<UUID> members;
+
+	/** The banned players */
+	private final Set<UUID> bans;
+
+	/** The permissions by role */
+	private final Map<String, Map<String, Boolean>> permissions;
+
+	/** Whether the claim is for sale */
+	private final boolean sale;
+
+	/** The price of the claim */
+	private final long price;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Private constructor, use {@link #of(Claim)}.
+	 */
+	private ClaimView(Claim claim) {
+		this.id = claim.getId();
+		this.ownerUUID = claim.getUUID();
+		this.ownerName = claim.getOwner();
+		this.name = claim.getName();
+		this.description = claim.getDescription();
+
+		// The world of the chunks, as matched by ClaimQuery#world
+		Location loc = claim.getLocation();
+		World spawnWorld = loc == null ? null : loc.getWorld();
+		World world = claim.getChunks().isEmpty() ? spawnWorld : claim.getChunks().iterator().next().getWorld();
+		this.worldUID = world == null ? null : world.getUID();
+		this.worldName = world == null ? null : world.getName();
+		this.spawnWorldUID = spawnWorld == null ? null : spawnWorld.getUID();
+		this.x = loc == null ? 0 : loc.getX();
+		this.y = loc == null ? 0 : loc.getY();
+		this.z = loc == null ? 0 : loc.getZ();
+		this.yaw = loc == null ? 0 : loc.getYaw();
+		this.pitch = loc == null ? 0 : loc.getPitch();
+
+		this.chunkKeys = claim.getChunks().stream()
+				.mapToLong(chunk -> ClaimMain.chunkKey(chunk.getX(), chunk.getZ()))
+				.sorted()
+				.toArray();
+		this.members = Set.copyOf(claim.getMembers());
+		this.bans = Set.copyOf(claim.getBans());
+
+		Map<String, Map<String, Boolean>> perms = new LinkedHashMap<>();
+		claim.getPermissions().forEach((role, values) -> perms.put(role, Collections.unmodifiableMap(new LinkedHashMap<>(values))));
+		this.permissions = Collections.unmodifiableMap(perms);
+
+		this.sale = claim.getSale();
+		this.price = claim.getPrice();
+	}
+
+	/**
+	 * Creates the view of a claim.
+	 *
+	 * @param claim The claim
+	 * @return The view, or null if the claim is null
+	 */
+	public static ClaimView of(Claim claim) {
+		return claim == null ? null : new ClaimView(claim);
+	}
+
+
+    // *************
+    // *  Getters  *
+    // *************
+
+
+	public int getId() { return id; }
+	public UUID getOwnerUUID() { return ownerUUID; }
+	public String getOwnerName() { return ownerName; }
+	public String getName() { return name; }
+	public String getDescription() { return description; }
+	public UUID getWorldUID() { return worldUID; }
+	public String getWorldName() { return worldName; }
+	public Set<UUID> getMembers() { return members; }
+	public Set<UUID> getBans() { return bans; }
+	public Map<String, Map<String, Boolean>> getPermissions() { return permissions; }
+	public boolean isForSale() { return sale; }
+	public long getPrice() { return price; }
+
+	/**
+	 * Checks if the claim is a protected area.
+	 *
+	 * @return True if the claim is a protected area
+	 */
+	public boolean isProtectedArea() {
+		return ClaimMain.SERVER_UUID.equals(ownerUUID);
+	}
+
+	/**
+	 * Gets a new location of the claim spawn.
+	 *
+	 * @return The location, or null if the world is not loaded
+	 */
+	public Location getLocation() {
+		World world = spawnWorldUID == null ? null : Bukkit.getWorld(spawnWorldUID);
+		return world == null ? null : new Location(world, x, y, z, yaw, pitch);
+	}
+
+	/**
+	 * Gets the number of chunks.
+	 *
+	 * @return The number of chunks
+	 */
+	public int getChunkCount() {
+		return chunkKeys.length;
+	}
+
+	/**
+	 * Gets a copy of the sorted packed keys of the chunks.
+	 *
+	 * @return The chunk keys
+	 */
+	public long[] getChunkKeys() {
+		return chunkKeys.clone();
+	}
+
+	/**
+	 * Checks if the claim contains a chunk.
+	 *
+	 * @param chunkX The chunk X
+	 * @param chunkZ The chunk Z
+	 * @return True if the claim contains the chunk
+	 */
+	public boolean containsChunk(int chunkX, int chunkZ) {
+		return Arrays.binarySearch(chunkKeys, ClaimMain.chunkKey(chunkX, chunkZ)) >= 0;
+	}
+
+	/**
+	 * Checks if the claim contains a chunk.
+	 *
+	 * @param chunk The chunk
+	 * @return True if the claim contains the chunk
+	 */
+	public boolean containsChunk(Chunk chunk) {
+		return chunk.getWorld().getUID().equals(worldUID) && containsChunk(chunk.getX(), chunk.getZ());
+	}
+
+	/**
+	 * Checks if a player is a member of the claim.
+	 *
+	 * @param uuid The uuid of the player
+	 * @return True if the player is a member
+	 */
+	public boolean isMember(UUID uuid) {
+		return members.contains(uuid);
+	}
+
+	/**
+	 * Checks if a player is banned from the claim.
+	 *
+	 * @param uuid The uuid of the player
+	 * @return True if the player is banned
+	 */
+	public boolean isBanned(UUID uuid) {
+		return bans.contains(uuid);
+	}
+
+	/**
+	 * Gets a permission of the claim.
+	 *
+	 * @param permission The permission
+	 * @param role The role ("natural", "members", "visitors")
+	 * @return The value of the permission, false if unknown
+	 */
+	public boolean getPermission(String permission, String role) {
+		Map<String, Boolean> values = permissions.get(role == null ? "natural" : role.toLowerCase());
+		return values != null && values.getOrDefault(permission, false);
+	}
+}
@@ -0,0 +1,87 @@
+package fr.mrbaguette07.SLclaim.API.Listeners;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Event that is triggered when another server of the network comes up or goes down
+ * (multi-server mode), from the heartbeats relayed by Velocity.
+ * A server goes down when reported offline, or when its heartbeat expires.
+ */
+public class ServerStatusChangeEvent extends Event {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Handlers list */
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    /** The server name */
+    private final String serverName;
+
+    /** Whether the server is now online */
+    private final boolean online;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Constructor for ServerStatusChangeEvent.
+     *
+     * @param serverName The name of the server.
+     * @param online Whether the server is now online.
+     */
+    public ServerStatusChangeEvent(String serverName, boolean online) {
+        this.serverName = serverName;
+        this.online = online;
+    }
+
+
+    // *******************
+    // *  Other methods  *
+    // *******************
+
+
+    /**
+     * Gets the name of the server.
+     *
+     * @return The server name.
+     */
+    public String getServerName() {
+        return serverName;
+    }
+
+    /**
+     * Checks if the server is now online.
+     *
+     * @return true if the server came up, false if it went down.
+     */
+    public boolean isOnline() {
+        return online;
+    }
+
+    /**
+     * Gets the list of handlers for this event.
+     *
+     * @return The handler list.
+     */
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    /**
+     * Gets the static handler list for this event.
+     *
+     * @return The static handler list.
+     */
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
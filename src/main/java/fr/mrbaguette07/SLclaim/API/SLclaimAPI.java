@@ -1,10 +1,12 @@
 package fr.mrbaguette07.SLclaim.API;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.bukkit.Chunk;
 import org.bukkit.Location;
@@ -78,7 +80,9 @@ public interface SLclaimAPI {
      *
      * @param claim the claim to unclaim
      * @return true if the claim was successfully unclaimed, false otherwise
+     * @deprecated blocks the calling thread, use {@link #unclaimAsync(Claim)}
      */
+    @Deprecated
     boolean unclaim(Claim claim);
 
     /**
@@ -86,7 +90,9 @@ public interface SLclaimAPI {
      *
      * @param owner the name of the owner
      * @return true if the claims were successfully unclaimed, false otherwise
+     * @deprecated blocks the calling thread, use {@link #unclaimAllAsync(String)}
      */
+    @Deprecated
     boolean unclaimAll(String owner);
 
     /**
@@ -107,12 +113,14 @@ public interface SLclaimAPI {
     
     /**
      * Gets all the claims
+     * <p>The returned set is a copy of live claims, prefer {@link #queryClaims(ClaimQuery)}.
      * @return A set of all the claims
      */
     Set<Claim> getAllClaims();
     
     /**
      * Gets the claims in a target world
+     * <p>The returned set is a copy of live claims, prefer {@link #queryClaims(ClaimQuery)}.
      * @return A set of all the claims in a specific world
      */
     Set<Claim> getClaims(World targetWorld);
@@ -122,7 +130,9 @@ public interface SLclaimAPI {
      *
      * @param claim the claim with settings to apply
      * @return true if the settings were successfully applied, false otherwise
+     * @deprecated blocks the calling thread, use {@link #applySettingsToAllClaimsAsync(Claim)}
      */
+    @Deprecated
     boolean applySettingsToAllClaims(Claim claim);
 
     /**
@@ -130,14 +140,18 @@ public interface SLclaimAPI {
      *
      * @param owner the name of the owner
      * @return true if the settings were successfully reset, false otherwise
+     * @deprecated blocks the calling thread, use {@link #resetClaimsSettingsAsync(String)}
      */
+    @Deprecated
     boolean resetClaimsSettings(String owner);
 
     /**
      * Resets settings for all claims.
      *
      * @return true if the settings were successfully reset, false otherwise
+     * @deprecated blocks the calling thread, use {@link #resetAllClaimsSettingsAsync()}
      */
+    @Deprecated
     boolean resetAllClaimsSettings();
 
     /**
@@ -146,7 +160,9 @@ public interface SLclaimAPI {
      * @param mainClaim the main claim
      * @param claimsToMerge the set of claims to merge
      * @return true if the claims were successfully merged, false otherwise
+     * @deprecated blocks the calling thread, use {@link #mergeMultipleClaimsAsync(Claim, CustomSet)}
      */
+    @Deprecated
     boolean mergeMultipleClaims(Claim mainClaim, CustomSet<Claim> claimsToMerge);
     
     /**
@@ -171,7 +187,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param targetPlayer the target player
      * @return true if the player was successfully banned, false otherwise
+     * @deprecated blocks the calling thread, use {@link #banPlayerFromClaimAsync(Claim, String)}
      */
+    @Deprecated
     boolean banPlayerFromClaim(Claim claim, String targetPlayer);
 
     /**
@@ -180,7 +198,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param targetPlayer the target player
      * @return true if the player was successfully unbanned, false otherwise
+     * @deprecated blocks the calling thread, use {@link #unbanPlayerFromClaimAsync(Claim, String)}
      */
+    @Deprecated
     boolean unbanPlayerFromClaim(Claim claim, String targetPlayer);
 
     /**
@@ -189,7 +209,9 @@ public interface SLclaimAPI {
      * @param owner the name of the owner
      * @param targetPlayer the target player
      * @return true if the player was successfully banned, false otherwise
+     * @deprecated blocks the calling thread, use {@link #banPlayerFromAllClaimsAsync(String, String)}
      */
+    @Deprecated
     boolean banPlayerFromAllClaims(String owner, String targetPlayer);
 
     /**
@@ -198,7 +220,9 @@ public interface SLclaimAPI {
      * @param owner the name of the owner
      * @param targetPlayer the target player
      * @return true if the player was successfully unbanned, false otherwise
+     * @deprecated blocks the calling thread, use {@link #unbanPlayerFromAllClaimsAsync(String, String)}
      */
+    @Deprecated
     boolean unbanPlayerFromAllClaims(String owner, String targetPlayer);
 
     /**
@@ -207,7 +231,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param targetPlayer the target player
      * @return true if the player was successfully added, false otherwise
+     * @deprecated blocks the calling thread, use {@link #addPlayerToClaimAsync(Claim, String)}
      */
+    @Deprecated
     boolean addPlayerToClaim(Claim claim, String targetPlayer);
 
     /**
@@ -216,7 +242,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param targetPlayer the target player
      * @return true if the player was successfully removed, false otherwise
+     * @deprecated blocks the calling thread, use {@link #removePlayerFromClaimAsync(Claim, String)}
      */
+    @Deprecated
     boolean removePlayerFromClaim(Claim claim, String targetPlayer);
 
     /**
@@ -225,7 +253,9 @@ public interface SLclaimAPI {
      * @param owner the name of the owner
      * @param targetPlayer the target player
      * @return true if the player was successfully added, false otherwise
+     * @deprecated blocks the calling thread, use {@link #addPlayerToAllClaimsAsync(String, String)}
      */
+    @Deprecated
     boolean addPlayerToAllClaims(String owner, String targetPlayer);
 
     /**
@@ -234,7 +264,9 @@ public interface SLclaimAPI {
      * @param owner the name of the owner
      * @param targetPlayer the target player
      * @return true if the player was successfully removed, false otherwise
+     * @deprecated blocks the calling thread, use {@link #removePlayerFromAllClaimsAsync(String, String)}
      */
+    @Deprecated
     boolean removePlayerFromAllClaims(String owner, String targetPlayer);
 
     /**
@@ -242,7 +274,9 @@ public interface SLclaimAPI {
      *
      * @param claim the claim
      * @return true if the permissions were successfully reset, false otherwise
+     * @deprecated blocks the calling thread, use {@link #resetClaimPermAsync(Claim)}
      */
+    @Deprecated
     boolean resetClaimPerm(Claim claim);
 
     /**
@@ -253,7 +287,9 @@ public interface SLclaimAPI {
      * @param value the value of the permission
      * @param role the role to update permission for
      * @return true if the permission was successfully set, false otherwise
+     * @deprecated blocks the calling thread, use {@link #setClaimPermAsync(Claim, String, boolean, String)}
      */
+    @Deprecated
     boolean setClaimPerm(Claim claim, String permission, boolean value, String role);
 
     /**
@@ -262,7 +298,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param newName the new name
      * @return true if the name was successfully set, false otherwise
+     * @deprecated blocks the calling thread, use {@link #setClaimNameAsync(Claim, String)}
      */
+    @Deprecated
     boolean setClaimName(Claim claim, String newName);
 
     /**
@@ -271,7 +309,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param newLoc the new location
      * @return true if the location was successfully set, false otherwise
+     * @deprecated blocks the calling thread, use {@link #setClaimLocationAsync(Claim, Location)}
      */
+    @Deprecated
     boolean setClaimLocation(Claim claim, Location newLoc);
 
     /**
@@ -280,7 +320,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param newDesc the new description
      * @return true if the description was successfully set, false otherwise
+     * @deprecated blocks the calling thread, use {@link #setClaimDescriptionAsync(Claim, String)}
      */
+    @Deprecated
     boolean setClaimDescription(Claim claim, String newDesc);
 
     /**
@@ -289,7 +331,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param claimPrice the price of the claim
      * @return true if the claim was successfully added for sale, false otherwise
+     * @deprecated blocks the calling thread, use {@link #addClaimSaleAsync(Claim, long)}
      */
+    @Deprecated
     boolean addClaimSale(Claim claim, long claimPrice);
 
     /**
@@ -297,7 +341,9 @@ public interface SLclaimAPI {
      *
      * @param claim the claim
      * @return true if the claim was successfully removed from sale, false otherwise
+     * @deprecated blocks the calling thread, use {@link #removeClaimSaleAsync(Claim)}
      */
+    @Deprecated
     boolean removeClaimSale(Claim claim);
 
     /**
@@ -306,7 +352,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param newOwner the new owner
      * @return true if the owner was successfully set, false otherwise
+     * @deprecated blocks the calling thread, use {@link #setClaimOwnerAsync(Claim, String)}
      */
+    @Deprecated
     boolean setClaimOwner(Claim claim, String newOwner);
 
     /**
@@ -315,7 +363,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param chunk the chunk to add
      * @return true if the chunk was successfully added, false otherwise
+     * @deprecated blocks the calling thread, use {@link #addClaimChunkAsync(Claim, Chunk)}
      */
+    @Deprecated
     boolean addClaimChunk(Claim claim, Chunk chunk);
 
     /**
@@ -324,7 +374,9 @@ public interface SLclaimAPI {
      * @param claim the claim
      * @param chunk the chunk to remove
      * @return true if the chunk was successfully removed, false otherwise
+     * @deprecated blocks the calling thread, use {@link #removeClaimChunkAsync(Claim, Chunk)}
      */
+    @Deprecated
     boolean removeClaimChunk(Claim claim, Chunk chunk);
     
     
@@ -372,7 +424,9 @@ public interface SLclaimAPI {
      * @param location The location of the claim.
      * @param price The price of the claim.
      * @return The created Claim, or null if the claim could not be created.
+     * @deprecated blocks the calling thread, use {@link #createClaimAsync(World, String, String, String, Location, long)}
      */
+    @Deprecated
     Claim createClaim(World world, String owner, String name, String description, Location location, long price);
 
     /**
@@ -420,10 +474,266 @@ public interface SLclaimAPI {
      *
      * @param claim The claim to delete data for.
      * @return True if the data was successfully deleted, false otherwise.
+     * @deprecated blocks the calling thread, use {@link #unclaimAsync(Claim)}
      */
+    @Deprecated
     boolean deleteClaimData(Claim claim);
     
     
+    // ********************
+    // *  Async Methods   *
+    // ********************
+    
+    
+    /**
+     * Gets the executor running tasks on the main thread (global region on Folia).
+     * The futures of the async methods complete on a worker thread, use this executor
+     * (for example with thenAcceptAsync) to touch the Bukkit API in a callback.
+     *
+     * @return the main thread executor
+     */
+    Executor getSyncExecutor();
+    
+    /**
+     * Gets the executor running tasks on the thread owning a player (entity scheduler on Folia).
+     *
+     * @param player the player
+     * @return the player executor
+     */
+    Executor getEntityExecutor(Player player);
+    
+    /**
+     * Unclaims the specified claim asynchronously.
+     *
+     * @param claim the claim to unclaim
+     * @return a future completed with true if the claim was successfully unclaimed, false otherwise
+     */
+    CompletableFuture<Boolean> unclaimAsync(Claim claim);
+
+    /**
+     * Unclaims all claims owned by the specified owner asynchronously.
+     *
+     * @param owner the name of the owner
+     * @return a future completed with true if the claims were successfully unclaimed, false otherwise
+     */
+    CompletableFuture<Boolean> unclaimAllAsync(String owner);
+
+    /**
+     * Applies settings from the specified claim to all claims asynchronously.
+     *
+     * @param claim the claim with settings to apply
+     * @return a future completed with true if the settings were successfully applied, false otherwise
+     */
+    CompletableFuture<Boolean> applySettingsToAllClaimsAsync(Claim claim);
+
+    /**
+     * Resets settings for all claims owned by the specified owner asynchronously.
+     *
+     * @param owner the name of the owner
+     * @return a future completed with true if the settings were successfully reset, false otherwise
+     */
+    CompletableFuture<Boolean> resetClaimsSettingsAsync(String owner);
+
+    /**
+     * Resets settings for all claims asynchronously.
+     *
+     * @return a future completed with true if the settings were successfully reset, false otherwise
+     */
+    CompletableFuture<Boolean> resetAllClaimsSettingsAsync();
+
+    /**
+     * Merges multiple claims into the main claim asynchronously.
+     *
+     * @param mainClaim the main claim
+     * @param claimsToMerge the set of claims to merge
+     * @return a future completed with true if the claims were successfully merged, false otherwise
+     */
+    CompletableFuture<Boolean> mergeMultipleClaimsAsync(Claim mainClaim, CustomSet<Claim> claimsToMerge);
+
+    /**
+     * Bans a player from a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was successfully banned, false otherwise
+     */
+    CompletableFuture<Boolean> banPlayerFromClaimAsync(Claim claim, String targetPlayer);
+
+    /**
+     * Unbans a player from a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was successfully unbanned, false otherwise
+     */
+    CompletableFuture<Boolean> unbanPlayerFromClaimAsync(Claim claim, String targetPlayer);
+
+    /**
+     * Bans a player from all claims owned by the specified owner asynchronously.
+     *
+     * @param owner the name of the owner
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was successfully banned, false otherwise
+     */
+    CompletableFuture<Boolean> banPlayerFromAllClaimsAsync(String owner, String targetPlayer);
+
+    /**
+     * Unbans a player from all claims owned by the specified owner asynchronously.
+     *
+     * @param owner the name of the owner
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was successfully unbanned, false otherwise
+     */
+    CompletableFuture<Boolean> unbanPlayerFromAllClaimsAsync(String owner, String targetPlayer);
+
+    /**
+     * Adds a player to a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was successfully added, false otherwise
+     */
+    CompletableFuture<Boolean> addPlayerToClaimAsync(Claim claim, String targetPlayer);
+
+    /**
+     * Removes a player from a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was successfully removed, false otherwise
+     */
+    CompletableFuture<Boolean> removePlayerFromClaimAsync(Claim claim, String targetPlayer);
+
+    /**
+     * Adds a player to all claims owned by the specified owner asynchronously.
+     *
+     * @param owner the name of the owner
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was successfully added, false otherwise
+     */
+    CompletableFuture<Boolean> addPlayerToAllClaimsAsync(String owner, String targetPlayer);
+
+    /**
+     * Removes a player from all claims owned by the specified owner asynchronously.
+     *
+     * @param owner the name of the owner
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was successfully removed, false otherwise
+     */
+    CompletableFuture<Boolean> removePlayerFromAllClaimsAsync(String owner, String targetPlayer);
+
+    /**
+     * Resets the permissions of a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @return a future completed with true if the permissions were successfully reset, false otherwise
+     */
+    CompletableFuture<Boolean> resetClaimPermAsync(Claim claim);
+
+    /**
+     * Sets a permission for a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param permission the permission to set
+     * @param value the value of the permission
+     * @param role the role to update permission for
+     * @return a future completed with true if the permission was successfully set, false otherwise
+     */
+    CompletableFuture<Boolean> setClaimPermAsync(Claim claim, String permission, boolean value, String role);
+
+    /**
+     * Sets the name of a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param newName the new name
+     * @return a future completed with true if the name was successfully set, false otherwise
+     */
+    CompletableFuture<Boolean> setClaimNameAsync(Claim claim, String newName);
+
+    /**
+     * Sets the location of a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param newLoc the new location
+     * @return a future completed with true if the location was successfully set, false otherwise
+     */
+    CompletableFuture<Boolean> setClaimLocationAsync(Claim claim, Location newLoc);
+
+    /**
+     * Sets the description of a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param newDesc the new description
+     * @return a future completed with true if the description was successfully set, false otherwise
+     */
+    CompletableFuture<Boolean> setClaimDescriptionAsync(Claim claim, String newDesc);
+
+    /**
+     * Adds a claim for sale asynchronously.
+     *
+     * @param claim the claim
+     * @param claimPrice the price of the claim
+     * @return a future completed with true if the claim was successfully added for sale, false otherwise
+     */
+    CompletableFuture<Boolean> addClaimSaleAsync(Claim claim, long claimPrice);
+
+    /**
+     * Removes a claim from sale asynchronously.
+     *
+     * @param claim the claim
+     * @return a future completed with true if the claim was successfully removed from sale, false otherwise
+     */
+    CompletableFuture<Boolean> removeClaimSaleAsync(Claim claim);
+
+    /**
+     * Sets the owner of a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param newOwner the new owner
+     * @return a future completed with true if the owner was successfully set, false otherwise
+     */
+    CompletableFuture<Boolean> setClaimOwnerAsync(Claim claim, String newOwner);
+
+    /**
+     * Adds a chunk to a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param chunk the chunk to add
+     * @return a future completed with true if the chunk was successfully added, false otherwise
+     */
+    CompletableFuture<Boolean> addClaimChunkAsync(Claim claim, Chunk chunk);
+
+    /**
+     * Removes a chunk from a specific claim asynchronously.
+     *
+     * @param claim the claim
+     * @param chunk the chunk to remove
+     * @return a future completed with true if the chunk was successfully removed, false otherwise
+     */
+    CompletableFuture<Boolean> removeClaimChunkAsync(Claim claim, Chunk chunk);
+
+    /**
+     * Adds a player to several claims asynchronously, in one transaction.
+     * The claims may belong to different owners.
+     *
+     * @param claims the claims
+     * @param targetPlayer the target player
+     * @return a future completed with true if the player was added to all the claims, false otherwise (nothing is changed)
+     */
+    CompletableFuture<Boolean> addPlayerToClaimsAsync(Collection<Claim> claims, String targetPlayer);
+    
+    /**
+     * Sets a permission on all the claims owned by the specified owner asynchronously, in one transaction.
+     *
+     * @param owner the name of the owner
+     * @param permission the permission to set
+     * @param value the value of the permission
+     * @param role the role to update permission for
+     * @return a future completed with true if the permission was set on all the claims, false otherwise (nothing is changed)
+     */
+    CompletableFuture<Boolean> setAllClaimsPermAsync(String owner, String permission, boolean value, String role);
+    
+    
     // ***************************
     // *  Multi-Server Methods   *
     // ***************************
@@ -465,6 +775,22 @@ public interface SLclaimAPI {
      */
     boolean isServerOnline(String serverName);
     
+    /**
+     * Gets the server a player is on (multi-server mode).
+     *
+     * @param playerUUID The player's UUID.
+     * @return The server name, or null if the player is offline or multi-server is disabled.
+     */
+    String getPlayerServer(UUID playerUUID);
+    
+    /**
+     * Checks if a player is online on any server of the network (this server only if multi-server is disabled).
+     *
+     * @param playerUUID The player's UUID.
+     * @return true if the player is online.
+     */
+    boolean isPlayerOnlineOnNetwork(UUID playerUUID);
+    
     /**
      * Gets a list of all online survival servers.
      *
@@ -497,6 +823,19 @@ public interface SLclaimAPI {
      */
     CompletableFuture<Map<String, Object>> getClaimFromMongo(String ownerName, String claimName);
     
+    /**
+     * Gets a page of the claim summaries of an owner, from MongoDB in multi-server mode
+     * (claims of every server) or from the local claims otherwise.
+     *
+     * @param ownerName The name of the owner.
+     * @param forSaleOnly Whether only the claims for sale are listed.
+     * @param sort The sort key.
+     * @param offset The number of claims to skip.
+     * @param limit The size of the page.
+     * @return A CompletableFuture with the page.
+     */
+    CompletableFuture<ClaimPage> getClaimSummaries(String ownerName, boolean forSaleOnly, ClaimSummary.Sort sort, int offset, int limit);
+    
     /**
      * Gets all claim owners with their claim counts from MongoDB.
      *
@@ -557,6 +896,7 @@ public interface SLclaimAPI {
     
     /**
      * Gets a player's claims by their name.
+     * <p>The returned set is a copy of live claims, prefer {@link #queryClaims(ClaimQuery)}.
      *
      * @param ownerName The player's name.
      * @return A set of claims belonging to the player.
@@ -588,6 +928,7 @@ public interface SLclaimAPI {
     
     /**
      * Gets all claims that are for sale.
+     * <p>The returned set is a copy of live claims, prefer {@link #queryClaims(ClaimQuery)}.
      *
      * @return A set of claims that are for sale.
      */
@@ -613,4 +954,31 @@ public interface SLclaimAPI {
      * @return A map of offline owner names to claim counts.
      */
     Map<String, Integer> getOfflineClaimOwners();
+    
+    /**
+     * Queries the claims without copying the registry: the most selective index
+     * (owner, bounding box, world) is iterated and views are only created for the returned page.
+     *
+     * @param query The query criteria, offset and limit.
+     * @return The immutable views of the matching claims.
+     */
+    List<ClaimView> queryClaims(ClaimQuery query);
+    
+    /**
+     * Counts the claims matching a query (offset and limit are ignored).
+     *
+     * @param query The query criteria.
+     * @return The number of matching claims.
+     */
+    long countClaims(ClaimQuery query);
+    
+    /**
+     * Gets the immutable view of the claim at the specified chunk coordinates, without loading the chunk.
+     *
+     * @param world The world.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @return The view of the claim, or null if the chunk is not claimed.
+     */
+    ClaimView getClaimView(World world, int chunkX, int chunkZ);
 }
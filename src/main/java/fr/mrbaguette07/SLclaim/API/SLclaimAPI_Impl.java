@@ -1,6 +1,7 @@
 package fr.mrbaguette07.SLclaim.API;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -88,13 +90,25 @@ public class SLclaimAPI_Impl implements SLclaimAPI {
 	// Claim methods
 
 	@Override
+	@Deprecated
 	public boolean unclaim(Claim claim) {
-		return instance.getMain().deleteClaim(claim).join();
+		return unclaimAsync(claim).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> unclaimAsync(Claim claim) {
+		return instance.getMain().deleteClaim(claim);
+	}
+
+	@Override
+	@Deprecated
 	public boolean unclaimAll(String owner) {
-		return instance.getMain().deleteAllClaims(owner).join();
+		return unclaimAllAsync(owner).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> unclaimAllAsync(String owner) {
+		return instance.getMain().deleteAllClaims(owner);
 	}
 
 	@Override
@@ -120,23 +134,47 @@ public class SLclaimAPI_Impl implements SLclaimAPI {
 	}
 
 	@Override
+	@Deprecated
 	public boolean applySettingsToAllClaims(Claim claim) {
-		return instance.getMain().applyAllSettings(claim).join();
+		return applySettingsToAllClaimsAsync(claim).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> applySettingsToAllClaimsAsync(Claim claim) {
+		return instance.getMain().applyAllSettings(claim);
 	}
 
 	@Override
+	@Deprecated
 	public boolean resetClaimsSettings(String owner) {
-		return instance.getMain().resetAllOwnerClaimsSettings(owner).join();
+		return resetClaimsSettingsAsync(owner).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> resetClaimsSettingsAsync(String owner) {
+		return instance.getMain().resetAllOwnerClaimsSettings(owner);
+	}
+
+	@Override
+	@Deprecated
 	public boolean resetAllClaimsSettings() {
-		return instance.getMain().resetAllPlayerClaimsSettings().join();
+		return resetAllClaimsSettingsAsync().join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> resetAllClaimsSettingsAsync() {
+		return instance.getMain().resetAllPlayerClaimsSettings();
 	}
 
 	@Override
+	@Deprecated
 	public boolean mergeMultipleClaims(Claim mainClaim, CustomSet<Claim> claimsToMerge) {
-		return instance.getMain().mergeClaims(mainClaim, claimsToMerge).join();
+		return mergeMultipleClaimsAsync(mainClaim, claimsToMerge).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> mergeMultipleClaimsAsync(Claim mainClaim, CustomSet<Claim> claimsToMerge) {
+		return instance.getMain().mergeClaims(mainClaim, claimsToMerge);
 	}
 	
 	@Override
@@ -161,93 +199,223 @@ public class SLclaimAPI_Impl implements SLclaimAPI {
 	}
 
 	@Override
+	@Deprecated
 	public boolean banPlayerFromClaim(Claim claim, String targetPlayerName) {
-		return instance.getMain().addClaimBan(claim, targetPlayerName).join();
+		return banPlayerFromClaimAsync(claim, targetPlayerName).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> banPlayerFromClaimAsync(Claim claim, String targetPlayerName) {
+		return instance.getMain().addClaimBan(claim, targetPlayerName);
 	}
 
 	@Override
+	@Deprecated
 	public boolean unbanPlayerFromClaim(Claim claim, String targetPlayerName) {
-		return instance.getMain().removeClaimBan(claim, targetPlayerName).join();
+		return unbanPlayerFromClaimAsync(claim, targetPlayerName).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> unbanPlayerFromClaimAsync(Claim claim, String targetPlayerName) {
+		return instance.getMain().removeClaimBan(claim, targetPlayerName);
+	}
+
+	@Override
+	@Deprecated
 	public boolean banPlayerFromAllClaims(String owner, String targetPlayerName) {
-		return instance.getMain().addAllClaimBan(owner, targetPlayerName).join();
+		return banPlayerFromAllClaimsAsync(owner, targetPlayerName).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> banPlayerFromAllClaimsAsync(String owner, String targetPlayerName) {
+		return instance.getMain().addAllClaimBan(owner, targetPlayerName);
+	}
+
+	@Override
+	@Deprecated
 	public boolean unbanPlayerFromAllClaims(String owner, String targetPlayerName) {
-		return instance.getMain().removeAllClaimBan(owner, targetPlayerName).join();
+		return unbanPlayerFromAllClaimsAsync(owner, targetPlayerName).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> unbanPlayerFromAllClaimsAsync(String owner, String targetPlayerName) {
+		return instance.getMain().removeAllClaimBan(owner, targetPlayerName);
 	}
 
 	@Override
+	@Deprecated
 	public boolean addPlayerToClaim(Claim claim, String targetPlayerName) {
-		return instance.getMain().addClaimMember(claim, targetPlayerName).join();
+		return addPlayerToClaimAsync(claim, targetPlayerName).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> addPlayerToClaimAsync(Claim claim, String targetPlayerName) {
+		return instance.getMain().addClaimMember(claim, targetPlayerName);
+	}
+
+	@Override
+	@Deprecated
 	public boolean removePlayerFromClaim(Claim claim, String targetPlayerName) {
-		return instance.getMain().removeClaimMember(claim, targetPlayerName).join();
+		return removePlayerFromClaimAsync(claim, targetPlayerName).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> removePlayerFromClaimAsync(Claim claim, String targetPlayerName) {
+		return instance.getMain().removeClaimMember(claim, targetPlayerName);
 	}
 
 	@Override
+	@Deprecated
 	public boolean addPlayerToAllClaims(String owner, String targetPlayerName) {
-		return instance.getMain().addAllClaimsMember(owner, targetPlayerName).join();
+		return addPlayerToAllClaimsAsync(owner, targetPlayerName).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> addPlayerToAllClaimsAsync(String owner, String targetPlayerName) {
+		return instance.getMain().addAllClaimsMember(owner, targetPlayerName);
 	}
 
 	@Override
+	@Deprecated
 	public boolean removePlayerFromAllClaims(String owner, String targetPlayerName) {
-		return instance.getMain().removeAllClaimsMember(owner, targetPlayerName).join();
+		return removePlayerFromAllClaimsAsync(owner, targetPlayerName).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> removePlayerFromAllClaimsAsync(String owner, String targetPlayerName) {
+		return instance.getMain().removeAllClaimsMember(owner, targetPlayerName);
 	}
 
 	@Override
+	@Deprecated
 	public boolean resetClaimPerm(Claim claim) {
-		return instance.getMain().resetClaimSettings(claim).join();
+		return resetClaimPermAsync(claim).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> resetClaimPermAsync(Claim claim) {
+		return instance.getMain().resetClaimSettings(claim);
+	}
+
+	@Override
+	@Deprecated
 	public boolean setClaimPerm(Claim claim, String permission, boolean value, String role) {
-		return instance.getMain().updatePerm(claim, permission, value, role).join();
+		return setClaimPermAsync(claim, permission, value, role).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> setClaimPermAsync(Claim claim, String permission, boolean value, String role) {
+		return instance.getMain().updatePerm(claim, permission, value, role);
+	}
+
+	@Override
+	@Deprecated
 	public boolean setClaimName(Claim claim, String newName) {
-		return instance.getMain().setClaimName(claim, newName).join();
+		return setClaimNameAsync(claim, newName).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> setClaimNameAsync(Claim claim, String newName) {
+		return instance.getMain().setClaimName(claim, newName);
 	}
 
 	@Override
+	@Deprecated
 	public boolean setClaimLocation(Claim claim, Location newLoc) {
-		return instance.getMain().setClaimLocation(claim, newLoc).join();
+		return setClaimLocationAsync(claim, newLoc).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> setClaimLocationAsync(Claim claim, Location newLoc) {
+		return instance.getMain().setClaimLocation(claim, newLoc);
+	}
+
+	@Override
+	@Deprecated
 	public boolean setClaimDescription(Claim claim, String newDesc) {
-		return instance.getMain().setClaimDescription(claim, newDesc).join();
+		return setClaimDescriptionAsync(claim, newDesc).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> setClaimDescriptionAsync(Claim claim, String newDesc) {
+		return instance.getMain().setClaimDescription(claim, newDesc);
+	}
+
+	@Override
+	@Deprecated
 	public boolean addClaimSale(Claim claim, long claimPrice) {
-		return instance.getMain().setChunkSale(claim, claimPrice).join();
+		return addClaimSaleAsync(claim, claimPrice).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> addClaimSaleAsync(Claim claim, long claimPrice) {
+		return instance.getMain().setChunkSale(claim, claimPrice);
 	}
 
 	@Override
+	@Deprecated
 	public boolean removeClaimSale(Claim claim) {
-		return instance.getMain().delChunkSale(claim).join();
+		return removeClaimSaleAsync(claim).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> removeClaimSaleAsync(Claim claim) {
+		return instance.getMain().delChunkSale(claim);
 	}
 
 	@Override
+	@Deprecated
 	public boolean setClaimOwner(Claim claim, String newOwner) {
-		return instance.getMain().setOwner(newOwner, claim).join();
+		return setClaimOwnerAsync(claim, newOwner).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> setClaimOwnerAsync(Claim claim, String newOwner) {
+		return instance.getMain().setOwner(newOwner, claim);
+	}
+
+	@Override
+	@Deprecated
 	public boolean addClaimChunk(Claim claim, Chunk chunk) {
-		return instance.getMain().addClaimChunk(claim, chunk).join();
+		return addClaimChunkAsync(claim, chunk).join();
 	}
 
 	@Override
+	public CompletableFuture<Boolean> addClaimChunkAsync(Claim claim, Chunk chunk) {
+		return instance.getMain().addClaimChunk(claim, chunk);
+	}
+
+	@Override
+	@Deprecated
 	public boolean removeClaimChunk(Claim claim, Chunk chunk) {
-		return instance.getMain().removeClaimChunk(claim, String.valueOf(chunk.getWorld().getName()+";"+chunk.getX()+";"+chunk.getZ())).join();
+		return removeClaimChunkAsync(claim, chunk).join();
+	}
+
+	@Override
+	public CompletableFuture<Boolean> removeClaimChunkAsync(Claim claim, Chunk chunk) {
+		return instance.getMain().removeClaimChunk(claim, String.valueOf(chunk.getWorld().getName()+";"+chunk.getX()+";"+chunk.getZ()));
+	}
+	
+	// Async methods
+	
+	@Override
+	public Executor getSyncExecutor() {
+		return instance::executeSync;
+	}
+	
+	@Override
+	public Executor getEntityExecutor(Player player) {
+		return task -> instance.executeEntitySync(player, task);
+	}
+	
+	@Override
+	public CompletableFuture<Boolean> addPlayerToClaimsAsync(Collection<Claim> claims, String targetPlayerName) {
+		return instance.getMain().addClaimsMember(claims, targetPlayerName);
+	}
+	
+	@Override
+	public CompletableFuture<Boolean> setAllClaimsPermAsync(String owner, String permission, boolean value, String role) {
+		return instance.getMain().updateAllClaimsPerm(owner, permission, value, role);
 	}
 	
 	// Other methods
@@ -268,6 +436,7 @@ public class SLclaimAPI_Impl implements SLclaimAPI {
 	}
 	
 	@Override
+	@Deprecated
 	public Claim createClaim(World world, String owner, String name, String description, Location location, long price) {
 		return createClaimAsync(world, owner, name, description, location, price).join();
 	}
@@ -311,8 +480,9 @@ public class SLclaimAPI_Impl implements SLclaimAPI {
 	}
 	
 	@Override
+	@Deprecated
 	public boolean deleteClaimData(Claim claim) {
-		return unclaim(claim);
+		return unclaimAsync(claim).join();
 	}
 
 	@Override
@@ -354,6 +524,27 @@ public class SLclaimAPI_Impl implements SLclaimAPI {
 		return msm.isServerOnline(serverName);
 	}
 	
+	@Override
+	public String getPlayerServer(UUID playerUUID) {
+		MultiServerManager msm = instance.getMultiServerManager();
+		if (msm == null || !msm.isEnabled()) {
+			return null;
+		}
+		if (Bukkit.getPlayer(playerUUID) != null) {
+			return msm.getConfig().getServerName();
+		}
+		return msm.getPresence().getServer(playerUUID);
+	}
+	
+	@Override
+	public boolean isPlayerOnlineOnNetwork(UUID playerUUID) {
+		MultiServerManager msm = instance.getMultiServerManager();
+		if (msm == null || !msm.isEnabled()) {
+			return Bukkit.getPlayer(playerUUID) != null;
+		}
+		return msm.isPlayerOnline(playerUUID);
+	}
+	
 	@Override
 	public List<String> getOnlineSurvivalServers() {
 		MultiServerManager msm = instance.getMultiServerManager();
@@ -386,6 +577,11 @@ public class SLclaimAPI_Impl implements SLclaimAPI {
 		return instance.getMain().getClaimFromMongoByName(ownerName, claimName);
 	}
 	
+	@Override
+	public CompletableFuture<ClaimPage> getClaimSummaries(String ownerName, boolean forSaleOnly, ClaimSummary.Sort sort, int offset, int limit) {
+		return instance.getMain().getClaimSummaries(ownerName, forSaleOnly, sort, offset, limit);
+	}
+	
 	@Override
 	public CompletableFuture<Map<String, Integer>> getClaimOwnersFromMongo() {
 		return instance.getMain().getClaimsOwnersGuiFromMongo();
@@ -462,4 +658,19 @@ public class SLclaimAPI_Impl implements SLclaimAPI {
 		return instance.getMain().getClaimsOfflineOwners();
 	}
 	
+	@Override
+	public List<ClaimView> queryClaims(ClaimQuery query) {
+		return instance.getMain().queryClaims(query);
+	}
+	
+	@Override
+	public long countClaims(ClaimQuery query) {
+		return instance.getMain().countClaims(query);
+	}
+	
+	@Override
+	public ClaimView getClaimView(World world, int chunkX, int chunkZ) {
+		return ClaimView.of(instance.getMain().getClaimAt(world.getUID(), chunkX, chunkZ));
+	}
+	
 }
@@ -1,15 +1,14 @@
 package fr.mrbaguette07.SLclaim;
 
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Base64;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -18,26 +17,27 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.profile.PlayerProfile;
 import org.bukkit.profile.PlayerTextures;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-
+import fr.mrbaguette07.SLclaim.MultiServer.MongoDBManager;
+import fr.mrbaguette07.SLclaim.MultiServer.MultiServerManager;
+import fr.mrbaguette07.SLclaim.Support.MojangProfileResolver;
 import fr.mrbaguette07.SLclaim.Types.CPlayer;
 import fr.mrbaguette07.SLclaim.Types.Claim;
 import fr.mrbaguette07.SLclaim.Types.CustomSet;
+import fr.mrbaguette07.SLclaim.Types.ExpiringLruCache;
+import fr.mrbaguette07.SLclaim.Types.PlayerDirectory;
 
 /**
  * This class handles CPlayer management and methods
@@ -53,41 +53,46 @@ public class CPlayerMain {
     /** A map of player uuid to CPlayer instances */
     private Map<UUID, CPlayer> players = new HashMap<>();
     
-    /** A map of player uuid to players name instances */
-    private Map<UUID, String> playersName = new HashMap<>();
-    
-    /** A map of players name to players uuid instances */
-    private Map<String, UUID> playersUUID = new HashMap<>();
+    /** The directory of known players (case-insensitive name <-> uuid) */
+    private final PlayerDirectory playerDirectory = new PlayerDirectory();
     
     /** A set of players in DB */
     private Set<UUID> playersRegistered = new HashSet<>();
     
-    /** A map of player names to their configuration settings */
-    private Map<UUID, Map<String, Double>> playersConfigSettings = new HashMap<>();
+    /** A map of player uuid to their configuration settings (overrides of the groups) */
+    private Map<UUID, Map<String, Double>> playersConfigSettings = new ConcurrentHashMap<>();
+    
+    /** The player settings not pushed to MongoDB yet (multi-server mode still starting) */
+    private final Map<UUID, Map<String, Double>> unsyncedSettings = new ConcurrentHashMap<>();
+    
+    /** The keys of the player settings */
+    public static final List<String> PLAYER_SETTING_KEYS = List.of("max-claims", "max-radius-claims", "teleportation-delay",
+    		"max-members", "claim-cost", "claim-cost-multiplier", "max-chunks-per-claim", "claim-distance",
+    		"max-chunks-total", "chunk-cost", "chunk-cost-multiplier");
     
-    /** Map of ItemStacks for players head */
-    private ConcurrentHashMap<String,ItemStack> playersHead = new ConcurrentHashMap<>();
+    /** Map of players head texture URL ("none" if unknown) */
+    private ConcurrentHashMap<UUID,String> playersTextures = new ConcurrentHashMap<>();
     
-    /** Map of players head hashed texture */
-    private ConcurrentHashMap<String,String> playersHashedTexture = new ConcurrentHashMap<>();
+    /** Maximum number of player head templates kept in memory */
+    private static final int HEAD_CACHE_SIZE = 512;
+    
+    /** Time to live of a player head template, in milliseconds */
+    private static final long HEAD_CACHE_TTL = TimeUnit.MINUTES.toMillis(15);
+    
+    /** Player head templates, built lazily on first GUI use */
+    private final ExpiringLruCache<UUID,ItemStack> playersHead = new ExpiringLruCache<>(HEAD_CACHE_SIZE, HEAD_CACHE_TTL);
     
     /** Instance of SLclaim */
     private SLclaim instance;
     
-    /** Link of the mojang API */
-    private final String MOJANG_API_URL = "https://api.mojang.com/users/profiles/minecraft/";
+    /** Default URL of the Mojang bulk name to uuid API */
+    private static final String MOJANG_BULK_API_URL = "https://api.minecraftservices.com/minecraft/profile/lookup/bulk/byname";
     
-    /** Link of the mojang profile API */
-    private final String MOJANG_PROFILE_API_URL = "https://sessionserver.mojang.com/session/minecraft/profile/";
+    /** Default URL of the Mojang profile API */
+    private static final String MOJANG_PROFILE_API_URL = "https://sessionserver.mojang.com/session/minecraft/profile/";
     
-    /** Defines the rate limit for requests in milliseconds */
-    private static final int RATE_LIMIT = 50;
-
-    /** Schedules tasks to run after a specified delay using a single-threaded executor */
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-
-    /** Tracks the number of requests sent to calculate the scheduling delay for the next request */
-    private int requestCount = 0;
+    /** Resolver of Mojang profiles (uuid and textures) */
+    private MojangProfileResolver profileResolver;
     
     /** Pattern for matching claim permissions */
     public static final Pattern CLAIM_PATTERN = Pattern.compile("scs\\.claim\\.(\\d+)");
@@ -149,6 +154,7 @@ public class CPlayerMain {
     public void clearAll() {
         players.clear();
         playersConfigSettings.clear();
+        playersHead.clear();
     }
     
     /**
@@ -160,50 +166,13 @@ public class CPlayerMain {
         instance.executeAsync(() -> {
             UUID uuid = player.getUniqueId();
             String playerName = player.getName();
-            String oldName = playersName.get(uuid);
+            String oldName = playerDirectory.getName(uuid);
 
             // Check if the player is registered
             if (!playersRegistered.contains(uuid) || oldName == null) {
             	playersRegistered.add(uuid);
-                playersName.put(uuid, playerName);
-                playersUUID.put(playerName, uuid);
-
-                String uuid_mojang = getUUIDFromMojang(playerName);
-
-                String textures = getSkinURLWithoutDelay(uuid_mojang);
-                ItemStack playerHead = createPlayerHeadWithTexture(uuid_mojang, textures);
-                playersHead.put(playerName, playerHead);
-                playersHashedTexture.put(playerName, textures == null ? "none" : textures);
-
-                // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String dbProductName = connection.getMetaData().getDatabaseProductName().toLowerCase();
-                    String updateQuery;
-
-                    if (dbProductName.contains("sqlite")) {
-                        updateQuery = "INSERT INTO scs_players(uuid_server, uuid_mojang, player_name, player_head, player_textures) VALUES(?, ?, ?, ?, ?) ON CONFLICT(uuid_server) DO UPDATE SET player_name = excluded.player_name";
-                    } else if (dbProductName.contains("mysql")) {
-                        updateQuery = "INSERT INTO scs_players(uuid_server, uuid_mojang, player_name, player_head, player_textures) VALUES(?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE player_name = VALUES(player_name)";
-                    } else {
-                        throw new UnsupportedOperationException("Unsupported database: " + dbProductName);
-                    }
-
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, uuid.toString());
-                        preparedStatement.setString(2, uuid_mojang == null ? "none" : uuid_mojang);
-                        preparedStatement.setString(3, playerName);
-                        preparedStatement.setString(4, "");
-                        preparedStatement.setString(5, textures == null ? "none" : textures);
-                        preparedStatement.executeUpdate();
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                    }
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-
-                // Log this
-                instance.getLogger().info(playerName + " is now registered (" + uuid.toString() + ").");
+                playerDirectory.put(uuid, playerName);
+                profileResolver.resolve(playerName).thenAccept(profile -> registerPlayer(uuid, playerName, profile));
                 return;
             }
 
@@ -212,9 +181,8 @@ public class CPlayerMain {
             	
                 // Log this
                 instance.getLogger().info(oldName + " changed their name to " + playerName + " (" + uuid.toString() + "), new name saved.");
-                playersUUID.remove(oldName);
-                playersName.put(uuid, playerName);
-                playersUUID.put(playerName, uuid);
+                playerDirectory.put(uuid, playerName);
+                playersHead.invalidate(uuid);
 
                 CustomSet<Claim> claims = instance.getMain().getPlayerClaims(uuid);
                 claims.forEach(c -> {
@@ -250,43 +218,90 @@ public class CPlayerMain {
                 }
             }
 
-            // Refresh player head texture
-            String uuid_mojang = getUUIDFromMojang(playerName);
-            if (uuid_mojang != null) {
-                String textures = getSkinURLWithoutDelay(uuid_mojang);
-                if (textures == null) return;
-                
-                // Check if the texture is the same
-                if (textures.equals(playersHashedTexture.getOrDefault(playerName, ""))) return;
+            // Refresh player head texture (served from the profile cache most of the time)
+            profileResolver.resolve(playerName).thenAccept(profile -> updatePlayerTextures(uuid, playerName, profile));
+        });
+    }
+    
+    /**
+     * Registers a new player in the database.
+     *
+     * @param uuid The server uuid of the player.
+     * @param playerName The name of the player.
+     * @param profile The resolved Mojang profile.
+     */
+    private void registerPlayer(UUID uuid, String playerName, MojangProfileResolver.Profile profile) {
+        String uuid_mojang = profile.getUuid();
+        String textures = profile.getTextures();
+        playersTextures.put(uuid, textures == null ? "none" : textures);
+        playersHead.invalidate(uuid);
 
-                // Log this
-                instance.getLogger().info(playerName + " changed their skin (" + uuid.toString() + "), new textures saved.");
+        // Update database
+        try (Connection connection = instance.getDataSource().getConnection()) {
+            String dbProductName = connection.getMetaData().getDatabaseProductName().toLowerCase();
+            String updateQuery;
+
+            if (dbProductName.contains("sqlite")) {
+                updateQuery = "INSERT INTO scs_players(uuid_server, uuid_mojang, player_name, player_head, player_textures) VALUES(?, ?, ?, ?, ?) ON CONFLICT(uuid_server) DO UPDATE SET player_name = excluded.player_name";
+            } else if (dbProductName.contains("mysql")) {
+                updateQuery = "INSERT INTO scs_players(uuid_server, uuid_mojang, player_name, player_head, player_textures) VALUES(?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE player_name = VALUES(player_name)";
+            } else {
+                throw new UnsupportedOperationException("Unsupported database: " + dbProductName);
+            }
 
-                ItemStack head = createPlayerHeadWithTexture(uuid_mojang, textures);
-                playersHead.put(playerName, head);
-                playersHashedTexture.put(playerName, textures);
-                
-                try (Connection connection = instance.getDataSource().getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
+                preparedStatement.setString(1, uuid.toString());
+                preparedStatement.setString(2, uuid_mojang == null ? "none" : uuid_mojang);
+                preparedStatement.setString(3, playerName);
+                preparedStatement.setString(4, "");
+                preparedStatement.setString(5, textures == null ? "none" : textures);
+                preparedStatement.executeUpdate();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-                    // Update database
-                    String updateQuery = "UPDATE scs_players SET player_textures = ? WHERE uuid_server = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, textures);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.executeUpdate();
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                    }
-                    
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
+        // Log this
+        instance.getLogger().info(playerName + " is now registered (" + uuid.toString() + ").");
+    }
+    
+    /**
+     * Saves the new textures of a player if their skin changed.
+     *
+     * @param uuid The server uuid of the player.
+     * @param playerName The name of the player.
+     * @param profile The resolved Mojang profile.
+     */
+    private void updatePlayerTextures(UUID uuid, String playerName, MojangProfileResolver.Profile profile) {
+        String textures = profile.getTextures();
+        if (textures == null) return;
+        
+        // Check if the texture is the same
+        if (textures.equals(playersTextures.getOrDefault(uuid, ""))) return;
 
-            } else if (!playersHead.containsKey(playerName)) {
-                playersHead.put(playerName, new ItemStack(Material.PLAYER_HEAD));
-            }
+        // Log this
+        instance.getLogger().info(playerName + " changed their skin (" + uuid.toString() + "), new textures saved.");
 
-        });
+        playersTextures.put(uuid, textures);
+        playersHead.invalidate(uuid);
+        
+        try (Connection connection = instance.getDataSource().getConnection()) {
+
+            // Update database
+            String updateQuery = "UPDATE scs_players SET player_textures = ? WHERE uuid_server = ?";
+            try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
+                preparedStatement.setString(1, textures);
+                preparedStatement.setString(2, uuid.toString());
+                preparedStatement.executeUpdate();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
     }
     
     /**
@@ -297,22 +312,28 @@ public class CPlayerMain {
         instance.info(" ");
         instance.info(net.md_5.bungee.api.ChatColor.DARK_GREEN + "Loading players..");
         int i = 0;
+        
+        // (Re)create the Mojang profile resolver with the current settings
+        if (profileResolver != null) {
+        	profileResolver.shutdown();
+        }
+        profileResolver = new MojangProfileResolver(instance,
+        		instance.getConfig().getString("mojang-api.bulk-url", MOJANG_BULK_API_URL),
+        		instance.getConfig().getString("mojang-api.session-url", MOJANG_PROFILE_API_URL),
+        		instance.getConfig().getDouble("mojang-api.requests-per-second", 5),
+        		TimeUnit.HOURS.toMillis(instance.getConfig().getLong("mojang-api.cache-ttl-hours", 24)));
 
         try (Connection connection = instance.getDataSource().getConnection()) {
         	
-            String getQuery = "SELECT * FROM scs_players";
+            String getQuery = "SELECT uuid_server, player_name, player_textures FROM scs_players";
             try (PreparedStatement preparedStatement = connection.prepareStatement(getQuery)) {
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
                     while (resultSet.next()) {
                     	UUID uuid = UUID.fromString(resultSet.getString("uuid_server"));
-                    	String uuid_mojang = resultSet.getString("uuid_mojang");
                     	String playerName = resultSet.getString("player_name");
                     	String textures = resultSet.getString("player_textures");
-                        ItemStack playerHead = createPlayerHeadWithTexture(uuid_mojang,textures);
-                        playersHead.put(playerName, playerHead);
-                    	playersHashedTexture.put(playerName, textures);
-                    	playersName.put(uuid, playerName);
-                    	playersUUID.put(playerName, uuid);
+                    	playersTextures.put(uuid, textures == null ? "none" : textures);
+                    	playerDirectory.put(uuid, playerName);
                     	playersRegistered.add(uuid);
                     	i++;
                     }
@@ -330,57 +351,57 @@ public class CPlayerMain {
     }
 
     /**
-     * Get or create a player head with the correct texture.
+     * Gets a copy of the player head with the correct texture.
+     * The head is built on first use and kept in a bounded LRU cache.
      *
-     * @param player The OfflinePlayer object.
+     * @param playerName The name of the player.
      * @return The ItemStack representing the player's head.
      */
     public ItemStack getPlayerHead(String playerName) {
-        ItemStack player_head = playersHead.computeIfAbsent(playerName, p -> {
-        	
-        	ItemStack head = new ItemStack(Material.PLAYER_HEAD);
-        	SkullMeta meta = (SkullMeta) head.getItemMeta();
-        	if(meta != null) {
-        		PlayerProfile profile = Bukkit.createPlayerProfile(playerName);
-        		if(profile != null) {
-        			meta.setOwnerProfile(profile);
-        		}
-        		head.setItemMeta(meta);
+        UUID uuid = playerDirectory.getUUID(playerName);
+        if (uuid == null) {
+        	// Unknown player : use the offline uuid as cache key
+        	uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + playerName).getBytes(StandardCharsets.UTF_8));
+        }
+        return getPlayerHead(uuid, playerName);
+    }
+    
+    /**
+     * Gets a copy of the player head with the correct texture.
+     *
+     * @param uuid The uuid of the player.
+     * @return The ItemStack representing the player's head.
+     */
+    public ItemStack getPlayerHead(UUID uuid) {
+        return getPlayerHead(uuid, playerDirectory.getName(uuid));
+    }
+    
+    /**
+     * Gets a copy of the cached head template, materializing it if needed.
+     *
+     * @param uuid The uuid of the player.
+     * @param playerName The name of the player, used when no texture is known.
+     * @return The ItemStack representing the player's head.
+     */
+    private ItemStack getPlayerHead(UUID uuid, String playerName) {
+        ItemStack template = playersHead.get(uuid, k -> {
+        	String textures = playersTextures.get(k);
+        	if (textures != null && !textures.equals("none")) {
+        		return createPlayerHeadWithTexture(k.toString(), textures);
         	}
-        	return head;
-        	
-        });
-        
-        if(player_head == null) {
         	ItemStack head = new ItemStack(Material.PLAYER_HEAD);
         	SkullMeta meta = (SkullMeta) head.getItemMeta();
-        	if(meta != null) {
-        		PlayerProfile profile = Bukkit.createPlayerProfile(playerName);
+        	if(meta != null && playerName != null && !playerName.isBlank()) {
+        		PlayerProfile profile = Bukkit.createPlayerProfile(k, playerName);
         		if(profile != null) {
         			meta.setOwnerProfile(profile);
         		}
         		head.setItemMeta(meta);
         	}
         	return head;
-        } else {
-        	return player_head;
-        }
-    }
-    
-    /**
-     * Adds dashes to a UUID string if they are missing.
-     *
-     * @param uuid The UUID string without dashes.
-     * @return The UUID string with dashes.
-     */
-    private String addDashesToUUID(String uuid) {
-        if (uuid.length() == 32) {
-            return uuid.replaceFirst(
-                    "([0-9a-fA-F]{8})([0-9a-fA-F]{4})([0-9a-fA-F]{4})([0-9a-fA-F]{4})([0-9a-fA-F]{12})",
-                    "$1-$2-$3-$4-$5"
-            );
-        }
-        return uuid;
+        });
+        // Callers modify the meta, never hand out the shared template
+        return template.clone();
     }
     
     /**
@@ -451,85 +472,25 @@ public class CPlayerMain {
      * @return A CompletableFuture that resolves to a string representing the URL of the player's skin texture, or null if an error occurs or the texture is not found.
      */
     public CompletableFuture<String> getSkinURL(String uuid) {
-        CompletableFuture<String> future = new CompletableFuture<>();
-        scheduler.schedule(() -> {
-            try {
-            	URI uri = URI.create(MOJANG_PROFILE_API_URL + uuid);
-                URL url = uri.toURL();
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-
-                if (connection.getResponseCode() == 200) {
-                    InputStreamReader reader = new InputStreamReader(connection.getInputStream());
-                    JsonObject response = JsonParser.parseReader(reader).getAsJsonObject();
-                    JsonObject properties = response.getAsJsonArray("properties").get(0).getAsJsonObject();
-                    String value = properties.get("value").getAsString();
-                    String decodedValue = new String(Base64.getDecoder().decode(value));
-                    JsonObject textureProperty = JsonParser.parseString(decodedValue).getAsJsonObject();
-                    future.complete(textureProperty.getAsJsonObject("textures").getAsJsonObject("SKIN").get("url").getAsString());
-                }
-                
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }, requestCount++ * RATE_LIMIT, TimeUnit.MILLISECONDS);
-        return future;
+        return profileResolver.fetchTextures(uuid);
     }
     
     /**
-     * Retrieves the URL of a Minecraft player's skin texture from Mojang using the player's UUID.
+     * Gets the Mojang profile resolver.
      *
-     * @param uuid The UUID of the player whose skin texture URL is to be retrieved.
-     * @return A String representing the URL of the player's skin texture, or null if an error occurs or the texture is not found.
-     */
-    public String getSkinURLWithoutDelay(String uuid) {
-        try {
-        	URI uri = URI.create(MOJANG_PROFILE_API_URL + uuid);
-            URL url = uri.toURL();
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-
-            if (connection.getResponseCode() == 200) {
-                InputStreamReader reader = new InputStreamReader(connection.getInputStream());
-                JsonObject response = JsonParser.parseReader(reader).getAsJsonObject();
-                JsonObject properties = response.getAsJsonArray("properties").get(0).getAsJsonObject();
-                String value = properties.get("value").getAsString();
-                String decodedValue = new String(Base64.getDecoder().decode(value));
-                JsonObject textureProperty = JsonParser.parseString(decodedValue).getAsJsonObject();
-                return textureProperty.getAsJsonObject("textures").getAsJsonObject("SKIN").get("url").getAsString();
-            }
-            
-            return null;
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+     * @return The profile resolver
+     */
+    public MojangProfileResolver getProfileResolver() {
+        return profileResolver;
     }
-
+    
     /**
-     * Retrieves the UUID of a player from Mojang's API using the player's name.
-     *
-     * @param playerName The name of the player.
-     * @return The UUID of the player as a string, or null if an error occurs.
-     */
-    private String getUUIDFromMojang(String playerName) {
-        try {
-        	URI uri = URI.create(MOJANG_API_URL + playerName);
-            URL url = uri.toURL();
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-
-            if (connection.getResponseCode() == 200) {
-                try (InputStreamReader reader = new InputStreamReader(connection.getInputStream())) {
-                    JsonObject responseJson = JsonParser.parseReader(reader).getAsJsonObject();
-                    return addDashesToUUID(responseJson.get("id").getAsString());
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+     * Stops the background services.
+     */
+    public void shutdown() {
+        if (profileResolver != null) {
+        	profileResolver.shutdown();
         }
-        return null;
     }
     
     /**
@@ -558,7 +519,7 @@ public class CPlayerMain {
      * @return The player name
      */
     public String getPlayerName(UUID targetUUID) {
-        String name = playersName.get(targetUUID);
+        String name = playerDirectory.getName(targetUUID);
         return name == null ? Bukkit.getOfflinePlayer(targetUUID).getName() : name;
     }
     
@@ -571,35 +532,260 @@ public class CPlayerMain {
     public UUID getPlayerUUID(String targetName) {
         if (targetName == null) return null;
 
-        // Use a case-insensitive lookup in playersUUID
-        UUID uuid = playersUUID.entrySet().stream()
-                .filter(entry -> entry.getKey().equalsIgnoreCase(targetName))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .orElse(null);
+        // Use the case-insensitive directory
+        UUID uuid = playerDirectory.getUUID(targetName);
 
         // Fallback to Bukkit's offline player search if no match is found
         return uuid != null ? uuid : Bukkit.getOfflinePlayer(targetName).getUniqueId();
     }
     
+    /**
+     * Gets the player UUID associated with the given player name, case-insensitively,
+     * without falling back to Bukkit.
+     *
+     * @param targetName The name of the player.
+     * @return The player's UUID, or null if the player is unknown.
+     */
+    public UUID findPlayerUUID(String targetName) {
+        return playerDirectory.getUUID(targetName);
+    }
+    
+    /**
+     * Gets the names of the known players starting with the given prefix, case-insensitively.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum number of names.
+     * @return The names, in alphabetical order.
+     */
+    public List<String> completePlayerNames(String prefix, int limit) {
+        return playerDirectory.complete(prefix, limit);
+    }
+    
+    /**
+     * Gets the directory of known players.
+     *
+     * @return The player directory.
+     */
+    public PlayerDirectory getPlayerDirectory() {
+        return playerDirectory;
+    }
+    
     /**
      * Sets the configuration settings for all players.
      * 
      * @param p A map of player names to their configuration settings
      */
     public void setPlayersConfigSettings(Map<UUID, Map<String, Double>> p) {
-        playersConfigSettings = p;
+        playersConfigSettings = new ConcurrentHashMap<>();
+        p.forEach((uuid, settings) -> playersConfigSettings.put(uuid, new ConcurrentHashMap<>(settings)));
+    }
+    
+    /**
+     * Loads the players settings from the database.
+     * The settings of the known players of the legacy "players" section of config.yml are imported
+     * once, then removed from the section; the unknown players are left for a later load.
+     * In multi-server mode, the settings stored in MongoDB are merged asynchronously once
+     * the multi-server system is ready (see {@link #syncPlayersSettingsWithMongo()}).
+     * 
+     * @param legacySection The "players" section of config.yml (may be null)
+     */
+    public void loadPlayersSettings(ConfigurationSection legacySection) {
+    	Map<UUID, Map<String, Double>> settings = new ConcurrentHashMap<>();
+    	
+        try (Connection connection = instance.getDataSource().getConnection()) {
+            String getQuery = "SELECT uuid_server, setting_key, setting_value FROM scs_player_settings";
+            try (PreparedStatement preparedStatement = connection.prepareStatement(getQuery);
+            		ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                	UUID uuid = UUID.fromString(resultSet.getString("uuid_server"));
+                	settings.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>())
+                		.put(resultSet.getString("setting_key"), resultSet.getDouble("setting_value"));
+                }
+            }
+            
+            // Import the legacy section
+            if (legacySection != null && !legacySection.getKeys(false).isEmpty()) {
+            	Map<UUID, Map<String, Double>> imported = new HashMap<>();
+            	List<String> importedNames = new ArrayList<>();
+            	for (String name : legacySection.getKeys(false)) {
+            		Map<String, Double> playerSettings = new HashMap<>();
+            		for (String key : PLAYER_SETTING_KEYS) {
+            			if (legacySection.isSet(name + "." + key)) {
+            				playerSettings.put(key, legacySection.getDouble(name + "." + key));
+            			}
+            		}
+            		// Only the known players are imported, the others are kept for a later load
+            		UUID uuid = findPlayerUUID(name);
+            		if (!playerSettings.isEmpty() && uuid != null) {
+            			imported.put(uuid, playerSettings);
+            			importedNames.add(name);
+            		}
+            	}
+            	
+            	connection.setAutoCommit(false);
+            	try (PreparedStatement preparedStatement = connection.prepareStatement(getPlayerSettingUpsert(connection))) {
+            		for (Map.Entry<UUID, Map<String, Double>> entry : imported.entrySet()) {
+            			for (Map.Entry<String, Double> setting : entry.getValue().entrySet()) {
+            				preparedStatement.setString(1, entry.getKey().toString());
+            				preparedStatement.setString(2, setting.getKey());
+            				preparedStatement.setDouble(3, setting.getValue());
+            				preparedStatement.addBatch();
+            			}
+            			settings.computeIfAbsent(entry.getKey(), k -> new ConcurrentHashMap<>()).putAll(entry.getValue());
+            		}
+            		preparedStatement.executeBatch();
+            		connection.commit();
+            	} catch (SQLException e) {
+            		connection.rollback();
+            		throw e;
+            	} finally {
+            		connection.setAutoCommit(true);
+            	}
+            	
+            	if (!importedNames.isEmpty()) {
+            		importedNames.forEach(name -> instance.getConfig().set("players." + name, null));
+            		instance.saveConfig();
+            	}
+            	instance.info(instance.getMain().getNumberSeparate(String.valueOf(imported.size())) + " player settings imported from config.yml.");
+            	
+            	// Push the imported settings to MongoDB as well
+            	imported.forEach((uuid, playerSettings) -> playerSettings.forEach((key, value) -> saveSettingToMongo(uuid, key, value)));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        playersConfigSettings = settings;
+        
+        // Merge the settings shared by the other servers (on startup, done by the ready callback)
+        MultiServerManager multiServerManager = instance.getMultiServerManager();
+        if (multiServerManager != null && multiServerManager.isEnabled()) {
+        	syncPlayersSettingsWithMongo();
+        }
     }
     
     /**
-     * Update a player setting ("players" in config.yml)
+     * Synchronizes the players settings with MongoDB, once the multi-server system is ready:
+     * the settings changed before (legacy import, commands) are pushed, then the settings
+     * shared by the other servers are merged into the cache.
+     * The settings whose push failed are kept for the next synchronization.
+     */
+    public void syncPlayersSettingsWithMongo() {
+        MultiServerManager multiServerManager = instance.getMultiServerManager();
+        if (multiServerManager == null || !multiServerManager.isEnabled() || multiServerManager.getMongoDBManager() == null) return;
+        MongoDBManager mongoDBManager = multiServerManager.getMongoDBManager();
+        
+        // Drain the pending settings
+        List<CompletableFuture<Boolean>> pushes = new ArrayList<>();
+        for (UUID uuid : new ArrayList<>(unsyncedSettings.keySet())) {
+        	Map<String, Double> playerSettings = unsyncedSettings.remove(uuid);
+        	if (playerSettings == null) continue;
+        	playerSettings.forEach((key, value) -> pushes.add(mongoDBManager.savePlayerSetting(uuid, key, value)
+        		.thenApply(success -> {
+        			if (!success) queueUnsyncedSetting(uuid, key, value);
+        			return success;
+        		})));
+        }
+        
+        // Merge after the pushes, so the remote values include them
+        CompletableFuture.allOf(pushes.toArray(new CompletableFuture[0]))
+        	.thenCompose(v -> mongoDBManager.getAllPlayerSettings())
+        	.thenAccept(remote -> remote.forEach((uuid, playerSettings) ->
+        		playersConfigSettings.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>()).putAll(playerSettings)))
+        	.exceptionally(ex -> {
+        		ex.printStackTrace();
+        		return null;
+        	});
+    }
+    
+    /**
+     * Update a player setting in memory only.
      * 
      * @param playerId The UUID of player
      * @param key The key of the setting
      * @param value The value of the setting
      */
     public void updatePlayerConfigSettings(UUID playerId, String key, Double value) {
-    	playersConfigSettings.computeIfAbsent(playerId, k -> new HashMap<>()).put(key, value);
+    	playersConfigSettings.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>()).put(key, value);
+    }
+    
+    /**
+     * Sets a player setting : the cache is updated immediately, the database
+     * (and MongoDB in multi-server mode) asynchronously.
+     * 
+     * @param playerId The UUID of player
+     * @param key The key of the setting
+     * @param value The value of the setting
+     * @return CompletableFuture that completes with true if the setting has been saved
+     */
+    public CompletableFuture<Boolean> setPlayerSetting(UUID playerId, String key, Double value) {
+    	updatePlayerConfigSettings(playerId, key, value);
+    	
+    	CompletableFuture<Boolean> future = new CompletableFuture<>();
+    	instance.executeAsync(() -> {
+            try (Connection connection = instance.getDataSource().getConnection();
+            		PreparedStatement preparedStatement = connection.prepareStatement(getPlayerSettingUpsert(connection))) {
+                preparedStatement.setString(1, playerId.toString());
+                preparedStatement.setString(2, key);
+                preparedStatement.setDouble(3, value);
+                preparedStatement.executeUpdate();
+                future.complete(true);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                future.complete(false);
+            }
+    	});
+    	saveSettingToMongo(playerId, key, value);
+    	return future;
+    }
+    
+    /**
+     * Gets the upsert query of a player setting for the current database.
+     * 
+     * @param connection The connection
+     * @return The query
+     * @throws SQLException If the metadata cannot be read
+     */
+    private String getPlayerSettingUpsert(Connection connection) throws SQLException {
+        String dbProductName = connection.getMetaData().getDatabaseProductName().toLowerCase();
+        if (dbProductName.contains("sqlite")) {
+            return "INSERT INTO scs_player_settings(uuid_server, setting_key, setting_value) VALUES(?, ?, ?) ON CONFLICT(uuid_server, setting_key) DO UPDATE SET setting_value = excluded.setting_value";
+        } else if (dbProductName.contains("mysql")) {
+            return "INSERT INTO scs_player_settings(uuid_server, setting_key, setting_value) VALUES(?, ?, ?) ON DUPLICATE KEY UPDATE setting_value = VALUES(setting_value)";
+        }
+        throw new UnsupportedOperationException("Unsupported database: " + dbProductName);
+    }
+    
+    /**
+     * Saves a player setting to MongoDB if multi-server mode is enabled.
+     * While the multi-server system is starting, the setting is kept for
+     * {@link #syncPlayersSettingsWithMongo()}.
+     * 
+     * @param playerId The UUID of player
+     * @param key The key of the setting
+     * @param value The value of the setting
+     */
+    private void saveSettingToMongo(UUID playerId, String key, Double value) {
+        MultiServerManager multiServerManager = instance.getMultiServerManager();
+        if (multiServerManager == null || !multiServerManager.getConfig().isEnabled()) return;
+        if (!multiServerManager.isEnabled() || multiServerManager.getMongoDBManager() == null) {
+        	queueUnsyncedSetting(playerId, key, value);
+        	return;
+        }
+        multiServerManager.getMongoDBManager().savePlayerSetting(playerId, key, value).thenAccept(success -> {
+        	if (!success) queueUnsyncedSetting(playerId, key, value);
+        });
+    }
+    
+    /**
+     * Keeps a player setting to push to MongoDB on the next synchronization.
+     * 
+     * @param playerId The UUID of player
+     * @param key The key of the setting
+     * @param value The value of the setting
+     */
+    private void queueUnsyncedSetting(UUID playerId, String key, Double value) {
+    	unsyncedSettings.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>()).put(key, value);
     }
     
     /**
@@ -660,7 +846,7 @@ public class CPlayerMain {
     }
     
     /**
-     * Returns the player config from "players" section in config.yml
+     * Returns the player config (overrides stored in the database)
      * 
      * @param uuid The target uuid
      * @return The player config
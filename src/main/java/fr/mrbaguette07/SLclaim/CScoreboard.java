@@ -1,18 +1,20 @@
 package fr.mrbaguette07.SLclaim;
 
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
-import org.bukkit.scoreboard.Score;
 import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
 
 /**
- * Class to manage scoreboard
+ * Class to manage scoreboard.
+ * Each sidebar line is a fixed invisible entry with its own team, the text of the line
+ * is the team prefix: updating a line only changes its prefix, no score is reset.
  */
 public class CScoreboard {
 	
@@ -28,6 +30,15 @@ public class CScoreboard {
     /* The objective instance */
     private Objective objective;
     
+    /* The teams of the lines, from top to bottom */
+    private final List<Team> lineTeams = new ArrayList<>();
+    
+    /* The lines currently displayed, from top to bottom */
+    private String[] currentLines = new String[0];
+    
+    /* The maximum number of lines in the sidebar */
+    private static final int MAX_LINES = 15;
+    
     
     // ******************
     // *  Constructors  *
@@ -51,17 +62,6 @@ public class CScoreboard {
     // *******************
     
 
-    /**
-     * Adds a line to the scoreboard with a specific score.
-     *
-     * @param line  The text to display on the scoreboard line.
-     * @param score The score to display next to the line.
-     */
-    public void addLine(String line, int score) {
-        Score s = objective.getScore(line);
-        s.setScore(score);
-    }
-
     /**
      * Sets the scoreboard to a specific player, showing it in their sidebar.
      *
@@ -81,44 +81,76 @@ public class CScoreboard {
     }
 
     /**
-     * Updates a specific line on the scoreboard with a new score.
-     * Removes the old line and adds a new one with the updated score.
+     * Sets the lines of the sidebar, from top to bottom.
+     * Only the lines which changed since the last call are sent, nothing is sent if all the lines are identical.
+     * Must be called on the thread owning the player.
      *
-     * @param oldLine The old line to replace.
-     * @param newLine The new line to set.
-     * @param score   The new score for the updated line.
+     * @param lines The lines to display (the first 15 lines are used).
      */
-    public void updateLine(String oldLine, String newLine, int score) {
-        scoreboard.resetScores(oldLine);
-        addLine(newLine, score);
+    public synchronized void setLines(List<String> lines) {
+        int size = Math.min(lines.size(), MAX_LINES);
+        String[] newLines = lines.subList(0, size).toArray(new String[0]);
+        
+        // Hide the lines which are no longer used
+        for (int i = size; i < currentLines.length; i++) {
+            scoreboard.resetScores(lineEntry(i));
+        }
+        
+        for (int i = 0; i < size; i++) {
+            boolean known = i < currentLines.length;
+            if (known && newLines[i].equals(currentLines[i])) continue;
+            lineTeam(i).setPrefix(newLines[i]);
+            if (!known) {
+                objective.getScore(lineEntry(i)).setScore(size - i);
+            }
+        }
+        
+        // The scores give the order, they must be shifted if the number of lines changed
+        if (size != currentLines.length) {
+            for (int i = 0; i < size; i++) {
+                objective.getScore(lineEntry(i)).setScore(size - i);
+            }
+        }
+        currentLines = newLines;
     }
     
     /**
-     * Updates specific lines on the scoreboard based on a map of scores and lines.
-     * Removes the old line associated with each score and adds the new line from the map.
+     * Gets (or creates) the team of a line.
      *
-     * @param linesMap The map where keys are scores and values are the new lines to set.
+     * @param index The index of the line.
+     * @return The team.
      */
-    public void updateLines(Map<Integer, String> linesMap) {
-        Set<String> existingEntries = new HashSet<>(scoreboard.getEntries());
-        for (Map.Entry<Integer, String> entry : linesMap.entrySet()) {
-            int score = entry.getKey();
-            String newLine = entry.getValue();
-            existingEntries.stream()
-                .filter(line -> objective.getScore(line).getScore() == score)
-                .findFirst()
-                .ifPresent(scoreboard::resetScores);
-            addLine(newLine, score);
+    private Team lineTeam(int index) {
+        while (lineTeams.size() <= index) {
+            int i = lineTeams.size();
+            Team team = scoreboard.getTeam("scs_line_" + i);
+            if (team == null) {
+                team = scoreboard.registerNewTeam("scs_line_" + i);
+            }
+            team.addEntry(lineEntry(i));
+            lineTeams.add(team);
         }
+        return lineTeams.get(index);
+    }
+    
+    /**
+     * Gets the invisible entry of a line (a unique color code).
+     *
+     * @param index The index of the line.
+     * @return The entry.
+     */
+    private static String lineEntry(int index) {
+        return ChatColor.values()[index].toString() + ChatColor.RESET;
     }
 
     /**
      * Clears all lines from the scoreboard.
      */
-    public void clear() {
+    public synchronized void clear() {
     	if(scoreboard != null) {
     		scoreboard.getEntries().forEach(scoreboard::resetScores);
     	}
+    	currentLines = new String[0];
     }
 	
 }
@@ -94,7 +94,7 @@ public class ClaimBossBar {
         instance.executeAsync(() -> {
         	BossBar b = checkBossBar(player);
 
-            if (!instance.getSettings().getBooleanSetting("bossbar")) {
+            if (!instance.getSettings().getSnapshot().isBossbar()) {
                 b.setVisible(false);
                 return;
             }
@@ -109,53 +109,18 @@ public class ClaimBossBar {
             String chunkName = claim.getName();
             String title;
 
-            if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.bossbar")) {
+            if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.bossbar")) {
             	b.setColor(saleColor);
             	b.setStyle(saleStyle);
-                if (owner.equals("*")) {
-                    title = instance.getLanguage().getMessage("bossbar-protected-area-for-sale-message",player)
-                    		.replace("%name%", chunkName)
-                    		.replace("%price%", instance.getMain().getPrice(String.valueOf(claim.getPrice())))
-                      		.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
-                } else if (owner.equals(player.getName())) {
-                    title = instance.getLanguage().getMessage("bossbar-owner-for-sale-message",player)
-                    		.replace("%owner%", owner)
-                    		.replace("%name%", chunkName)
-                    		.replace("%price%", instance.getMain().getPrice(String.valueOf(claim.getPrice())))
-                      		.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
-                } else if (instance.getMain().checkMembre(claim, player)) {
-                    title = instance.getLanguage().getMessage("bossbar-member-for-sale-message",player)
-                            .replace("%player%", player.getName())
-                            .replace("%owner%", owner)
-                            .replace("%name%", chunkName)
-                    		.replace("%price%", instance.getMain().getPrice(String.valueOf(claim.getPrice())))
-                      		.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
-                } else {
-                    title = instance.getLanguage().getMessage("bossbar-visitor-for-sale-message",player)
-                            .replace("%player%", player.getName())
-                            .replace("%owner%", owner)
-                            .replace("%name%", chunkName)
-                    		.replace("%price%", instance.getMain().getPrice(String.valueOf(claim.getPrice())))
-                      		.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"));
-                }
+            	String price = instance.getMain().getPrice(String.valueOf(claim.getPrice()));
+            	String moneySymbol = instance.getLanguage().getMessage("money-symbol");
+                title = instance.getLanguage().render(getMessageKey(claim, player, owner, "-for-sale-message"), player,
+                		"player", player.getName(), "owner", owner, "name", chunkName, "price", price, "money-symbol", moneySymbol);
             } else {
             	b.setColor(defaultColor);
             	b.setStyle(defaultStyle);
-                if (owner.equals("*")) {
-                    title = instance.getLanguage().getMessage("bossbar-protected-area-message",player).replace("%name%", chunkName);
-                } else if (owner.equals(player.getName())) {
-                    title = instance.getLanguage().getMessage("bossbar-owner-message",player).replace("%owner%", owner).replace("%name%", chunkName);
-                } else if (instance.getMain().checkMembre(claim, player)) {
-                    title = instance.getLanguage().getMessage("bossbar-member-message",player)
-                            .replace("%player%", player.getName())
-                            .replace("%owner%", owner)
-                            .replace("%name%", chunkName);
-                } else {
-                    title = instance.getLanguage().getMessage("bossbar-visitor-message",player)
-                            .replace("%player%", player.getName())
-                            .replace("%owner%", owner)
-                            .replace("%name%", chunkName);
-                }
+                title = instance.getLanguage().render(getMessageKey(claim, player, owner, "-message"), player,
+                		"player", player.getName(), "owner", owner, "name", chunkName);
             }
 
             b.setTitle(title);
@@ -163,6 +128,22 @@ public class ClaimBossBar {
         });
     }
     
+    /**
+     * Gets the bossbar message key for the relation between a player and a claim.
+     *
+     * @param claim the claim.
+     * @param player the player.
+     * @param owner the owner of the claim.
+     * @param suffix the suffix of the key.
+     * @return the message key.
+     */
+    private String getMessageKey(Claim claim, Player player, String owner, String suffix) {
+        if (owner.equals("*")) return "bossbar-protected-area" + suffix;
+        if (owner.equals(player.getName())) return "bossbar-owner" + suffix;
+        if (instance.getMain().checkMembre(claim, player)) return "bossbar-member" + suffix;
+        return "bossbar-visitor" + suffix;
+    }
+    
     /**
      * Updates the color of all BossBars.
      *
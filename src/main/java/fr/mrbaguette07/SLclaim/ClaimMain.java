@@ -4,6 +4,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.sql.Connection;
@@ -16,9 +17,10 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.bukkit.*;
 import org.bukkit.boss.BarColor;
@@ -35,6 +37,10 @@ import org.bukkit.scheduler.BukkitTask;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
+import fr.mrbaguette07.SLclaim.API.ClaimPage;
+import fr.mrbaguette07.SLclaim.API.ClaimQuery;
+import fr.mrbaguette07.SLclaim.API.ClaimSummary;
+import fr.mrbaguette07.SLclaim.API.ClaimView;
 import fr.mrbaguette07.SLclaim.API.Listeners.ClaimCreateEvent;
 import fr.mrbaguette07.SLclaim.API.Listeners.UnclaimEvent;
 import fr.mrbaguette07.SLclaim.API.Listeners.UnclaimallEvent;
@@ -58,6 +64,9 @@ public class ClaimMain {
     /** List of claims by chunk. */
     private Map<Chunk, Claim> listClaims = new HashMap<>();
 
+    /** Claims by world UID and packed chunk key, readable without loading the chunk. */
+    private final Map<UUID, Map<Long, Claim>> claimsByChunkKey = new ConcurrentHashMap<>();
+
     /** Mapping of player uuid to their claims. */
     private Map<UUID, CustomSet<Claim>> playerClaims = new ConcurrentHashMap<>();
     
@@ -123,6 +132,7 @@ public class ClaimMain {
         playerClaims.clear();
         playerLocations.clear();
         listClaims.clear();
+        claimsByChunkKey.clear();
         activeTasks.values().stream().forEach(t -> t.cancel());
         activeTasks.clear();
         if(instance.isFolia()) {
@@ -383,6 +393,177 @@ public class ClaimMain {
         return listClaims.get(chunk);
     }
     
+    /**
+     * Gets a claim by chunk coordinates, without loading the chunk.
+     *
+     * @param worldUID The UID of the world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The claim associated with the coordinates, or null if none exists
+     */
+    public Claim getClaimAt(UUID worldUID, int chunkX, int chunkZ) {
+        Map<Long, Claim> worldClaims = claimsByChunkKey.get(worldUID);
+        return worldClaims == null ? null : worldClaims.get(chunkKey(chunkX, chunkZ));
+    }
+    
+    /**
+     * Queries the claims, iterating the most selective index (owner, bounding box, world)
+     * and creating views only for the returned page.
+     *
+     * @param query The query
+     * @return The views of the matching claims, in index order
+     */
+    public List<ClaimView> queryClaims(ClaimQuery query) {
+        if (query.getLimit() == 0) return new ArrayList<>();
+        return matchingClaims(query)
+                .skip(query.getOffset())
+                .limit(query.getLimit())
+                .map(ClaimView::of)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Counts the claims matching a query (offset and limit are ignored).
+     *
+     * @param query The query
+     * @return The number of matching claims
+     */
+    public long countClaims(ClaimQuery query) {
+        return matchingClaims(query).count();
+    }
+    
+    /**
+     * Gets a lazy stream of the live claims matching a query, filter included.
+     *
+     * @param query The query
+     * @return The matching claims
+     */
+    private Stream<Claim> matchingClaims(ClaimQuery query) {
+        Stream<Claim> claims = candidateClaims(query).filter(claim -> matches(claim, query));
+        Predicate<Claim> filter = query.getFilter();
+        return filter == null ? claims : claims.filter(filter);
+    }
+    
+    /**
+     * Gets a lazy stream of the distinct claims possibly matching a query.
+     *
+     * @param query The query
+     * @return The candidate claims
+     */
+    private Stream<Claim> candidateClaims(ClaimQuery query) {
+        if (query.getOwnerUUID() != null) {
+            return new ArrayList<>(playerClaims.getOrDefault(query.getOwnerUUID(), new CustomSet<>())).stream();
+        }
+        if (query.getWorldUID() != null) {
+            Map<Long, Claim> worldClaims = claimsByChunkKey.getOrDefault(query.getWorldUID(), Collections.emptyMap());
+            if (query.isBounded()) {
+                long area = (long) (query.getMaxChunkX() - query.getMinChunkX() + 1) * (query.getMaxChunkZ() - query.getMinChunkZ() + 1);
+                if (area <= worldClaims.size()) {
+                    return IntStream.rangeClosed(query.getMinChunkX(), query.getMaxChunkX()).boxed()
+                            .flatMap(x -> IntStream.rangeClosed(query.getMinChunkZ(), query.getMaxChunkZ())
+                                    .mapToObj(z -> worldClaims.get(chunkKey(x, z))))
+                            .filter(Objects::nonNull)
+                            .distinct();
+                }
+            }
+            return worldClaims.values().stream().distinct();
+        }
+        return playerClaims.values().stream().flatMap(claims -> new ArrayList<>(claims).stream());
+    }
+    
+    /**
+     * Checks the criteria of a query on a live claim.
+     *
+     * @param claim The claim
+     * @param query The query
+     * @return True if the claim matches
+     */
+    private boolean matches(Claim claim, ClaimQuery query) {
+        if (!query.isIncludeProtectedAreas() && SERVER_UUID.equals(claim.getUUID())) return false;
+        if (query.getForSale() != null && claim.getSale() != query.getForSale()) return false;
+        if (query.getMemberUUID() != null && !claim.getMembers().contains(query.getMemberUUID())) return false;
+        if (query.getWorldUID() != null) {
+            Iterator<Chunk> chunks = claim.getChunks().iterator();
+            if (!chunks.hasNext() || !chunks.next().getWorld().getUID().equals(query.getWorldUID())) return false;
+        }
+        if (query.isBounded()) {
+            return claim.getChunks().stream().anyMatch(chunk -> chunk.getX() >= query.getMinChunkX() && chunk.getX() <= query.getMaxChunkX()
+                    && chunk.getZ() >= query.getMinChunkZ() && chunk.getZ() <= query.getMaxChunkZ());
+        }
+        return true;
+    }
+    
+    /**
+     * Packs chunk coordinates into a single long key.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The packed key
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Registers a chunk of a claim in the chunk indexes.
+     *
+     * @param chunk The chunk
+     * @param claim The claim owning the chunk
+     */
+    private void indexChunk(Chunk chunk, Claim claim) {
+        listClaims.put(chunk, claim);
+        claimsByChunkKey.computeIfAbsent(chunk.getWorld().getUID(), k -> new ConcurrentHashMap<>())
+                .put(chunkKey(chunk.getX(), chunk.getZ()), claim);
+    }
+    
+    /**
+     * Removes a chunk from the chunk indexes.
+     *
+     * @param chunk The chunk
+     */
+    private void unindexChunk(Chunk chunk) {
+        listClaims.remove(chunk);
+        Map<Long, Claim> worldClaims = claimsByChunkKey.get(chunk.getWorld().getUID());
+        if (worldClaims != null) {
+            worldClaims.remove(chunkKey(chunk.getX(), chunk.getZ()));
+        }
+    }
+    
+    /**
+     * Gets a chunk without loading it when possible. A loaded chunk is returned as is; on Paper,
+     * an unloaded chunk is returned as a reference to its coordinates, loaded only when its
+     * content is used. Spigot has no such reference, the chunk is loaded.
+     *
+     * @param world The world
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The chunk
+     */
+    public Chunk getChunkReference(World world, int chunkX, int chunkZ) {
+        if (!instance.isPaper() || world.isChunkLoaded(chunkX, chunkZ)) {
+            return world.getChunkAt(chunkX, chunkZ);
+        }
+        return world.getChunkAt(chunkX, chunkZ, false);
+    }
+    
+    /**
+     * Replaces the chunks of a claim, in the claim and in the chunk indexes.
+     *
+     * @param claim The claim
+     * @param chunks The new chunks
+     */
+    public void setClaimChunks(Claim claim, Set<Chunk> chunks) {
+        for (Chunk chunk : claim.getChunks()) {
+            if (listClaims.get(chunk) == claim) {
+                unindexChunk(chunk);
+            }
+        }
+        claim.setChunks(chunks);
+        for (Chunk chunk : chunks) {
+            indexChunk(chunk, claim);
+        }
+    }
+    
     /**
      * Gets a claim by its name.
      *
@@ -594,6 +775,21 @@ public class ClaimMain {
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
+    /**
+     * Checks if a player owns at least one claim (excluding admin).
+     *
+     * @param ownerName the name of the player, case-insensitive
+     * @return true if the player owns a claim
+     */
+    public boolean hasClaims(String ownerName) {
+        UUID ownerUUID = instance.getPlayerMain().findPlayerUUID(ownerName);
+        if (ownerUUID == null) {
+            // Unknown in the directory (owner never joined this server)
+            return getClaimsOwners().contains(ownerName);
+        }
+        return !SERVER_UUID.equals(ownerUUID) && !playerClaims.getOrDefault(ownerUUID, new CustomSet<>()).isEmpty();
+    }
+
     /**
      * Gets all claimed chunks.
      *
@@ -654,10 +850,7 @@ public class ClaimMain {
     public Map<String, Integer> getClaimsOnlineOwners() {
         return playerClaims.values().stream()
                 .flatMap(Set::stream) 
-                .filter(claim -> {
-                    Player player = Bukkit.getPlayer(claim.getOwner());
-                    return player != null && player.isOnline() && !claim.getUUID().equals(SERVER_UUID);
-                })
+                .filter(claim -> !claim.getUUID().equals(SERVER_UUID) && isOwnerOnline(claim))
                 .collect(Collectors.toConcurrentMap(
                         Claim::getOwner, 
                         claim -> 1, 
@@ -666,6 +859,19 @@ public class ClaimMain {
                 ));
     }
     
+    /**
+     * Checks if the owner of a claim is online, on any server of the network in multi-server mode.
+     *
+     * @param claim the claim
+     * @return true if the owner is online
+     */
+    private boolean isOwnerOnline(Claim claim) {
+        if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+            return instance.getMultiServerManager().isPlayerOnline(claim.getUUID());
+        }
+        return Bukkit.getPlayer(claim.getOwner()) != null;
+    }
+    
     /**
      * Gets all claim owners with claims in sale and their claim counts.
      *
@@ -694,10 +900,7 @@ public class ClaimMain {
     public Map<String, Integer> getClaimsOfflineOwners() {
         return playerClaims.values().stream()
                 .flatMap(Set::stream)
-                .filter(claim -> {
-                    Player player = Bukkit.getPlayer(claim.getOwner());
-                    return player == null && !claim.getUUID().equals(SERVER_UUID);
-                })
+                .filter(claim -> !claim.getUUID().equals(SERVER_UUID) && !isOwnerOnline(claim))
                 .collect(Collectors.toConcurrentMap(
                         Claim::getOwner,
                         claim -> 1,
@@ -754,8 +957,9 @@ public class ClaimMain {
      * @return a list of all members in claim chat mode for the player
      */
     public List<String> getAllMembersWithPlayerParallel(String playerName) {
+        UUID playerUUID = instance.getPlayerMain().getPlayerUUID(playerName);
         return listClaims.values().stream()
-                .filter(claim -> claim.getMembers().contains(instance.getPlayerMain().getPlayerUUID(playerName)))
+                .filter(claim -> claim.getMembers().contains(playerUUID))
                 .flatMap(claim -> claim.getMembers().stream())
                 .map(uuid -> instance.getPlayerMain().getPlayerName(uuid))
                 .filter(member -> !member.equals(playerName))
@@ -987,51 +1191,51 @@ public class ClaimMain {
             return;
         }
         
-        // Query MongoDB for the claim
-        instance.getMultiServerManager().getMongoDBManager().getClaimByOwnerAndName(ownerName, claimName)
-            .thenAccept(claimDoc -> {
-                if (claimDoc == null) {
-                    instance.executeEntitySync(player, () -> 
-                        player.sendMessage(instance.getLanguage().getMessage("claim-player-not-found")));
-                    return;
-                }
-                
-                // Get the server where the claim is located
-                String serverOrigin = claimDoc.getString("server_origin");
-                if (serverOrigin == null || serverOrigin.equals(instance.getMultiServerManager().getConfig().getServerName())) {
-                    // The claim should be local but wasn't found, or no server info
-                    instance.executeEntitySync(player, () -> 
-                        player.sendMessage(instance.getLanguage().getMessage("claim-player-not-found")));
-                    return;
-                }
-                
-                // Check if the target server is online
-                if (!instance.getMultiServerManager().isServerOnline(serverOrigin)) {
+        // Ask the proxy claim directory first, query MongoDB if the proxy does not know the claim
+        instance.getMultiServerManager().routeClaimTp(player, ownerName, claimName, () -> {
+            // Query MongoDB for the claim
+            instance.getMultiServerManager().getMongoDBManager().getClaimByOwnerAndName(ownerName, claimName)
+                .thenAccept(claimDoc -> {
+                    if (claimDoc == null) {
+                        instance.executeEntitySync(player, () -> 
+                            player.sendMessage(instance.getLanguage().getMessage("claim-player-not-found")));
+                        return;
+                    }
+                    
+                    // Get the server where the claim is located
+                    String serverOrigin = claimDoc.getString("server_origin");
+                    if (serverOrigin == null || serverOrigin.equals(instance.getMultiServerManager().getConfig().getServerName())) {
+                        // The claim should be local but wasn't found, or no server info
+                        instance.executeEntitySync(player, () -> 
+                            player.sendMessage(instance.getLanguage().getMessage("claim-player-not-found")));
+                        return;
+                    }
+                    
+                    // Send pending claim teleport (refused if the target server is offline) and transfer player
+                    if (!instance.getMultiServerManager().sendPendingClaimTp(
+                        player.getUniqueId(), 
+                        serverOrigin, 
+                        ownerName, 
+                        claimName
+                    )) {
+                        instance.executeEntitySync(player, () -> 
+                            player.sendMessage(instance.getLanguage().getMessage("server-offline")));
+                        return;
+                    }
+                    
+                    instance.executeEntitySync(player, () -> {
+                        player.sendMessage(instance.getLanguage().getMessage("teleportation-to-other-server")
+                            .replace("%server%", serverOrigin));
+                        transferPlayerToServer(player, serverOrigin);
+                    });
+                })
+                .exceptionally(ex -> {
+                    ex.printStackTrace();
                     instance.executeEntitySync(player, () -> 
-                        player.sendMessage(instance.getLanguage().getMessage("server-offline")));
-                    return;
-                }
-                
-                // Send pending claim teleport and transfer player
-                instance.getMultiServerManager().sendPendingClaimTp(
-                    player.getUniqueId(), 
-                    serverOrigin, 
-                    ownerName, 
-                    claimName
-                );
-                
-                instance.executeEntitySync(player, () -> {
-                    player.sendMessage(instance.getLanguage().getMessage("teleportation-to-other-server")
-                        .replace("%server%", serverOrigin));
-                    transferPlayerToServer(player, serverOrigin);
+                        player.sendMessage(instance.getLanguage().getMessage("error")));
+                    return null;
                 });
-            })
-            .exceptionally(ex -> {
-                ex.printStackTrace();
-                instance.executeEntitySync(player, () -> 
-                    player.sendMessage(instance.getLanguage().getMessage("error")));
-                return null;
-            });
+        });
     }
     
     /**
@@ -1849,7 +2053,7 @@ public class ClaimMain {
      * @param chunks The set of chunks to serialize.
      * @return A Base64 encoded string representing the serialized chunks, or null if an error occurs.
      */
-    private String serializeChunks(Set<Chunk> chunks) {
+    public static String serializeChunks(Set<Chunk> chunks) {
         try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
                 ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
             for (Chunk chunk : chunks) {
@@ -1864,6 +2068,32 @@ public class ClaimMain {
             return null;
         }
     }
+    
+    /**
+     * Decodes the chunks serialized by {@link #serializeChunks(Set)}.
+     *
+     * @param chunksData The Base64 encoded string.
+     * @return The chunk coordinates, X and Z of each chunk one after the other.
+     * @throws IOException If the data is corrupted.
+     */
+    public static int[] decodeChunks(String chunksData) throws IOException {
+        byte[] data = Base64.getDecoder().decode(chunksData);
+        // Each chunk takes 8 bytes, the stream headers aside
+        int[] coords = new int[data.length / 8 * 2];
+        int size = 0;
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            while (size < coords.length) {
+                try {
+                    coords[size] = objectInputStream.readInt();
+                    coords[size + 1] = objectInputStream.readInt();
+                    size += 2;
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        }
+        return size == coords.length ? coords : Arrays.copyOf(coords, size);
+    }
 
     /**
      * Loads claims from the database.
@@ -2166,7 +2396,7 @@ public class ClaimMain {
                             Claim claim = new Claim(uuid_owner, new CustomSet<>(chunks), owner, new CustomSet<>(members), location, name, description, new LinkedHashMap<>(perms), sale, price, new CustomSet<>(bans), id);
 
                             // Add chunks
-                            chunks.forEach(c -> listClaims.put(c, claim));
+                            chunks.forEach(c -> indexChunk(c, claim));
 
                             
                             // Keep chunks loaded
@@ -2200,32 +2430,26 @@ public class ClaimMain {
 
                         List<CompletableFuture<Void>> futures = new ArrayList<>();
                         try {
-                            byte[] data = Base64.getDecoder().decode(chunksData);
-                            try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
-                                while (true) {
-                                    try {
-                                        int x = objectInputStream.readInt();
-                                        int z = objectInputStream.readInt();
-                                        CompletableFuture<Void> future;
-                                        if (instance.isFolia()) {
-                                            future = world.getChunkAtAsync(x, z).thenAccept(chunk -> {
-                                                synchronized (chunks) {
-                                                    chunks.add(chunk);
-                                                }
-                                            }).exceptionally(ex -> {
-                                                ex.printStackTrace();
-                                                return null;
-                                            });
-                                        } else {
-                                            Chunk chunk = world.getChunkAt(x, z);
+                            int[] coords = decodeChunks(chunksData);
+                            for (int i = 0; i < coords.length; i += 2) {
+                                int x = coords[i];
+                                int z = coords[i + 1];
+                                CompletableFuture<Void> future;
+                                if (instance.isFolia()) {
+                                    future = world.getChunkAtAsync(x, z).thenAccept(chunk -> {
+                                        synchronized (chunks) {
                                             chunks.add(chunk);
-                                            future = CompletableFuture.completedFuture(null);
                                         }
-                                        futures.add(future);
-                                    } catch (EOFException e) {
-                                        break;
-                                    }
+                                    }).exceptionally(ex -> {
+                                        ex.printStackTrace();
+                                        return null;
+                                    });
+                                } else {
+                                    Chunk chunk = world.getChunkAt(x, z);
+                                    chunks.add(chunk);
+                                    future = CompletableFuture.completedFuture(null);
                                 }
+                                futures.add(future);
                             }
                         } catch (Exception e) {
                             e.printStackTrace();
@@ -2293,7 +2517,7 @@ public class ClaimMain {
 		        Claim newClaim = new Claim(playerId, new CustomSet<>(Set.of(chunk)), playerName, new CustomSet<>(Set.of(playerId)), player.getLocation(), claimName, description, new HashMap<>(perms), false, 0, new CustomSet<>(),id);
 		
 		        // Add claim to claims list and player claims list
-		        listClaims.put(chunk, newClaim);
+		        indexChunk(chunk, newClaim);
 		        playerClaims.computeIfAbsent(player.getUniqueId(), k -> new CustomSet<>()).add(newClaim);
 		        
 		        // Create bossbars and maps
@@ -2380,7 +2604,7 @@ public class ClaimMain {
 		        Claim newClaim = new Claim(SERVER_UUID, new CustomSet<>(Set.of(chunk)), "*", new CustomSet<>(), player.getLocation(), claimName, description, new HashMap<>(perms), false, 0, new CustomSet<>(),id);
 		
 		        // Add claim to claims list and protected areas list ("*" in playerClaims)
-		        listClaims.put(chunk, newClaim);
+		        indexChunk(chunk, newClaim);
 		        playerClaims.computeIfAbsent(SERVER_UUID, k -> new CustomSet<>()).add(newClaim);
 		
 		        // Create bossbars and maps
@@ -2500,7 +2724,7 @@ public class ClaimMain {
 	            List<Integer> Z = Collections.synchronizedList(new ArrayList<>());
 	            instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
 	            chunks.forEach(c -> {
-	                listClaims.put(c, newClaim);
+	                indexChunk(c, newClaim);
 	                X.add(c.getX());
 	                Z.add(c.getZ());
 	            });
@@ -2585,7 +2809,7 @@ public class ClaimMain {
 		        List<Integer> Z = Collections.synchronizedList(new ArrayList<>());
 		        instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
 		        chunks.stream().forEach(c -> {
-		            listClaims.put(c, newClaim);
+		            indexChunk(c, newClaim);
 		            X.add(c.getX());
 		            Z.add(c.getZ());
 		        });
@@ -2716,9 +2940,7 @@ public class ClaimMain {
      * @return true if the player name is a member of the claim, false otherwise
      */
     public boolean checkMembre(Claim claim, String targetName) {
-        return claim != null && claim.getMembers().stream()
-                .map(member -> instance.getPlayerMain().getPlayerName(member))
-                .anyMatch(playerName -> playerName != null && playerName.equalsIgnoreCase(targetName));
+        return claim != null && findByName(claim.getMembers(), targetName) != null;
     }
     
     /**
@@ -2740,9 +2962,7 @@ public class ClaimMain {
      * @return true if the player name is banned from the claim, false otherwise
      */
     public boolean checkBan(Claim claim, String targetName) {
-        return claim != null && claim.getBans().stream()
-            .map(ban -> instance.getPlayerMain().getPlayerName(ban))
-            .anyMatch(playerName -> playerName != null && playerName.equalsIgnoreCase(targetName));
+        return claim != null && findByName(claim.getBans(), targetName) != null;
     }
 
     /**
@@ -2754,11 +2974,10 @@ public class ClaimMain {
      */
     public String getRealNameFromClaimMembers(Claim claim, String targetName) {
         if (claim != null) {
-            return claim.getMembers().stream()
-                    .map(member -> instance.getPlayerMain().getPlayerName(member))
-                    .filter(playerName -> playerName.equalsIgnoreCase(targetName))
-                    .findFirst()
-                    .orElse(targetName);
+            UUID targetUUID = findByName(claim.getMembers(), targetName);
+            if (targetUUID != null) {
+                return instance.getPlayerMain().getPlayerName(targetUUID);
+            }
         }
         return targetName;
     }
@@ -2772,15 +2991,35 @@ public class ClaimMain {
      */
     public String getRealNameFromClaimBans(Claim claim, String targetName) {
         if (claim != null) {
-            return claim.getBans().stream()
-                    .map(ban -> instance.getPlayerMain().getPlayerName(ban))
-                    .filter(playerName -> playerName.equalsIgnoreCase(targetName))
-                    .findFirst()
-                    .orElse(targetName);
+            UUID targetUUID = findByName(claim.getBans(), targetName);
+            if (targetUUID != null) {
+                return instance.getPlayerMain().getPlayerName(targetUUID);
+            }
         }
         return targetName;
     }
 
+    /**
+     * Finds a player of a set of UUIDs by name, case-insensitively.
+     * The name is looked up in the player directory; if the player never joined this server,
+     * the names of the players of the set are compared (Bukkit names).
+     *
+     * @param uuids      the UUIDs of the players
+     * @param targetName the name of the player to find
+     * @return the UUID of the player, or null if not in the set
+     */
+    private UUID findByName(Set<UUID> uuids, String targetName) {
+        if (targetName == null) return null;
+        UUID targetUUID = instance.getPlayerMain().findPlayerUUID(targetName);
+        if (targetUUID != null) {
+            return uuids.contains(targetUUID) ? targetUUID : null;
+        }
+        return uuids.stream()
+                .filter(uuid -> targetName.equalsIgnoreCase(instance.getPlayerMain().getPlayerName(uuid)))
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * Converts a set of UUIDs to a single string where each UUID is separated by a semicolon.
      *
@@ -2939,6 +3178,79 @@ public class ClaimMain {
         });
     }
     
+    /**
+     * Updates a permission on all the claims of an owner in one transaction.
+     * If the transaction fails, the previous permissions are restored.
+     *
+     * @param owner        the owner of the claims
+     * @param permission   the permission to update
+     * @param value 	   the new value of the permission
+     * @param role         the role for which the permission is updated
+     * @return true if the permission was updated successfully, false otherwise
+     */
+    public CompletableFuture<Boolean> updateAllClaimsPerm(String owner, String permission, boolean value, String role) {
+        return CompletableFuture.supplyAsync(() -> {
+        	UUID ownerUUID = owner.equals("*") ? SERVER_UUID : instance.getPlayerMain().getPlayerUUID(owner);
+        	String roleKey = (role == null ? "natural" : role.toLowerCase());
+        	Map<Claim, LinkedHashMap<String, Boolean>> previous = new HashMap<>();
+            try {
+            	CustomSet<Claim> claims = playerClaims.getOrDefault(ownerUUID, new CustomSet<>());
+            	
+            	// Update the permissions maps (cloned to avoid affecting other claims)
+            	for (Claim claim : claims) {
+            		LinkedHashMap<String, Boolean> currentPermissions = claim.getPermissions().get(roleKey);
+            		if (currentPermissions == null) continue;
+            		LinkedHashMap<String, Boolean> newPermissions = new LinkedHashMap<>(currentPermissions);
+            		newPermissions.put(permission, value);
+            		previous.put(claim, currentPermissions);
+            		claim.getPermissions().put(roleKey, newPermissions);
+            	}
+            	if (previous.isEmpty()) return true;
+            	
+                // Update the database
+                String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ? AND claim_name = ?";
+                try (Connection connection = instance.getDataSource().getConnection()) {
+                	connection.setAutoCommit(false);
+                	try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
+                		for (Claim claim : previous.keySet()) {
+                			String permissions = claim.getPermissions().entrySet().stream()
+                                    .map(entry -> entry.getKey() + ":" + entry.getValue().entrySet().stream()
+                                            .map(subEntry -> subEntry.getValue() ? "1" : "0")
+                                            .collect(Collectors.joining()))
+                                    .collect(Collectors.joining(";"));
+                			preparedStatement.setString(1, permissions);
+                			preparedStatement.setString(2, ownerUUID.toString());
+                			preparedStatement.setString(3, claim.getName());
+                			preparedStatement.addBatch();
+                		}
+                		preparedStatement.executeBatch();
+                		connection.commit();
+                	} catch (SQLException e) {
+                		connection.rollback();
+                		throw e;
+                	} finally {
+                		connection.setAutoCommit(true);
+                	}
+                }
+                
+                for (Claim claim : previous.keySet()) {
+                	// Check if permission is Weather or Fly, then update players in the chunks
+                	if (permission.equals("Weather")) updateWeatherChunk(claim);
+                	if (permission.equals("Fly")) updateFlyChunk(claim);
+                	if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+                		instance.getMultiServerManager().broadcastSettingUpdate(claim, ownerUUID, permission, roleKey, value);
+                	}
+                }
+                
+                return true;
+            } catch (Exception e) {
+                e.printStackTrace();
+                previous.forEach((claim, permissions) -> claim.getPermissions().put(roleKey, permissions));
+                return false;
+            }
+        });
+    }
+    
     /**
      * Method to apply current settings to all owner's claims.
      *
@@ -3287,6 +3599,65 @@ public class ClaimMain {
         });
     }
     
+    /**
+     * Method to add a member to several claims (of any owners) in one transaction.
+     * If the transaction fails, the member is removed again from the claims it was added to.
+     *
+     * @param claims the claims
+     * @param name the name of the member to be added
+     * @return true if the operation was successful, false otherwise
+     */
+    public CompletableFuture<Boolean> addClaimsMember(Collection<Claim> claims, String name) {
+        return CompletableFuture.supplyAsync(() -> {
+            UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
+            List<Claim> added = new ArrayList<>();
+            try {
+            	
+            	// Add member
+            	for (Claim claim : claims) {
+            		if (!claim.getMembers().contains(targetUUID)) {
+            			claim.addMember(targetUUID);
+            			added.add(claim);
+            		}
+            	}
+            	if (added.isEmpty()) return true;
+	
+	            // Update database
+	            try (Connection connection = instance.getDataSource().getConnection()) {
+	            	connection.setAutoCommit(false);
+	                String updateQuery = "UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?";
+	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
+	                	for (Claim claim : added) {
+	                        preparedStatement.setString(1, getMemberString(claim));
+	                        preparedStatement.setString(2, claim.getUUID().toString());
+	                        preparedStatement.setString(3, claim.getName());
+	                        preparedStatement.addBatch();
+	                    }
+	                    preparedStatement.executeBatch();
+	                    connection.commit();
+	                } catch (SQLException e) {
+	                	connection.rollback();
+	                	throw e;
+	                } finally {
+	                	connection.setAutoCommit(true);
+	                }
+
+	                if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+	                    for (Claim claim : added) {
+	                        instance.getMultiServerManager().broadcastMemberAdd(claim, claim.getUUID(), targetUUID);
+	                    }
+	                }
+	                
+	                return true;
+	            }
+            } catch (Exception e) {
+                e.printStackTrace();
+                added.forEach(claim -> claim.removeMember(targetUUID));
+                return false;
+            }
+        });
+    }
+    
     /**
      * Method to remove a member from a claim.
      *
@@ -3484,7 +3855,7 @@ public class ClaimMain {
 	        	Set<Chunk> chunks = claim.getChunks();
 	        	instance.executeSync(() -> instance.getBossBars().deactivateBossBar(chunks));
 	        	if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(chunks);
-	        	chunks.stream().forEach(c -> listClaims.remove(c));
+	        	chunks.stream().forEach(c -> unindexChunk(c));
                 resetWeatherChunk(claim);
                 resetFlyChunk(claim);
                 getMapAutoForChunks(chunks);
@@ -3556,7 +3927,7 @@ public class ClaimMain {
                     Set<Chunk> chunks = claim.getChunks();
                     instance.executeSync(() -> instance.getBossBars().deactivateBossBar(chunks));
                     if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(chunks);
-                    chunks.stream().forEach(c -> listClaims.remove(c));
+                    chunks.stream().forEach(c -> unindexChunk(c));
                     updateWeatherChunk(claim);
                     updateFlyChunk(claim);
                     getMapAutoForChunks(chunks);
@@ -3746,6 +4117,10 @@ public class ClaimMain {
 	                    preparedStatement.setString(2, uuid.toString());
 	                    preparedStatement.executeUpdate();
 	                }
+	                
+	                if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+	                    instance.getMultiServerManager().broadcastOwnerClaimsUpdate(uuid, playerClaims.getOrDefault(uuid, new CustomSet<>()));
+	                }
 	                return true;
 	            } catch (SQLException e) {
 	                e.printStackTrace();
@@ -3831,6 +4206,12 @@ public class ClaimMain {
 	                    preparedStatement.setString(2, SERVER_UUID.toString());
 	                    preparedStatement.executeUpdate();
 	                }
+	                
+	                if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+	                    instance.getMultiServerManager().broadcastAllClaimsUpdate(listClaims.values().stream()
+	                            .filter(c -> !c.getUUID().equals(SERVER_UUID))
+	                            .collect(Collectors.toSet()));
+	                }
 	                return true;
 	            } catch (SQLException e) {
 	                e.printStackTrace();
@@ -3856,6 +4237,7 @@ public class ClaimMain {
             	String playerName = player.getName();
             	UUID playerId = player.getUniqueId();
 	        	String old_name = claim.getName();
+	        	int old_id = claim.getId();
 	            String owner = claim.getOwner();
 	            double price = claim.getPrice();
 	            
@@ -3928,6 +4310,10 @@ public class ClaimMain {
 	                    preparedStatement.setString(7, old_name);
 	                    preparedStatement.executeUpdate();
 	                }
+	                
+	                if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+	                    instance.getMultiServerManager().broadcastClaimTransfer(uuid, old_id, claim);
+	                }
 	                return true;
 	            } catch (SQLException e) {
 	                e.printStackTrace();
@@ -3953,6 +4339,7 @@ public class ClaimMain {
             try {
 	        	// Get data
 	        	String old_name = claim.getName();
+	        	int old_id = claim.getId();
 	            String owner = claim.getOwner();
 	            
 	            // Set uuid of the old owner, and update their claims count if online
@@ -4023,6 +4410,10 @@ public class ClaimMain {
 	                    preparedStatement.setString(7, old_name);
 	                    preparedStatement.executeUpdate();
 	                }
+	                
+	                if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+	                    instance.getMultiServerManager().broadcastClaimTransfer(uuid, old_id, claim);
+	                }
 	                return true;
 	            } catch (SQLException e) {
 	                e.printStackTrace();
@@ -4077,10 +4468,12 @@ public class ClaimMain {
 	                String updateQuery = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
 	                try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
 	                	
+	                	Map<Claim, Integer> oldIds = new HashMap<>();
 	                	for(Claim claim : claims) {
 	                		
 	                		int id = findFreeId(uuidNewOwner);
 	                		String old_name = claim.getName();
+	                		oldIds.put(claim, claim.getId());
 	                		
 	                		// Set the new owner to him
 	        	            claim.setOwner(newOwner);
@@ -4122,6 +4515,11 @@ public class ClaimMain {
 	                	}
 	                	
 	                	int[] n = preparedStatement.executeBatch();
+	                	
+	                	if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+	                		UUID oldOwnerUUID = uuid_real;
+	                		oldIds.forEach((claim, oldId) -> instance.getMultiServerManager().broadcastClaimTransfer(oldOwnerUUID, oldId, claim));
+	                	}
 		                return n[0]>0;
 		            } catch (SQLException e) {
 		                e.printStackTrace();
@@ -4171,7 +4569,7 @@ public class ClaimMain {
             			if(!chunks.contains(chunk)) return false;
                     	chunks.remove(chunk);
                     	claim.setChunks(chunks);
-                    	listClaims.remove(chunk);
+                    	unindexChunk(chunk);
                     	
                     	// Remove bossbar and maps
                         if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(Set.of(chunk));
@@ -4208,7 +4606,7 @@ public class ClaimMain {
             		Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
                 	chunks.remove(chunk);
                 	claim.setChunks(chunks);
-                	listClaims.remove(chunk);
+                	unindexChunk(chunk);
                 	
                 	// Remove bossbar and maps
                     if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(Set.of(chunk));
@@ -4263,7 +4661,7 @@ public class ClaimMain {
         		Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
             	chunks.remove(chunk);
             	claim.setChunks(chunks);
-            	listClaims.remove(chunk);
+            	unindexChunk(chunk);
             	
             	// Remove bossbar and maps
                 if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(Set.of(chunk));
@@ -4326,7 +4724,7 @@ public class ClaimMain {
             	if(chunks.contains(chunk)) return false;
             	chunks.add(chunk);
             	claim.setChunks(chunks);
-            	listClaims.put(chunk,claim);
+            	indexChunk(chunk, claim);
             	
             	// Add bossbar and maps
                 if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().createClaimZone(claim);
@@ -4382,7 +4780,7 @@ public class ClaimMain {
 	            // Collect chunks from claims and update listClaims map and add new chunks
 	            claims.stream().forEach(claim -> {
 	            	Set<Chunk> chunks = claim.getChunks();
-	            	chunks.stream().forEach(c -> listClaims.put(c, claim1));
+	            	chunks.stream().forEach(c -> indexChunk(c, claim1));
 	            	claim1.addChunks(chunks);
 	            	instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
 	                if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim1);
@@ -4917,71 +5315,25 @@ public class ClaimMain {
             
             // List of map lines
             List<String> lines = new ArrayList<>();
+            StringBuilder mapMessage = new StringBuilder();
             
             if (scoreboard && cScoreboard != null) {
                 lines.add("§e  ");
             }
 
             String direction = getDirection(player.getLocation().getYaw());
-            Chunk centerChunk = to;
-            int centerX = centerChunk.getX();
-            int centerZ = centerChunk.getZ();
-            boolean isClaimed = checkIfClaimExists(centerChunk);
-
-            String name = isClaimed 
-                ? instance.getLanguage().getMessage("map-actual-claim-name-message").replace("%name%", getClaimNameByChunk(centerChunk))
-                : instance.getLanguage().getMessage("map-no-claim-name-message");
-            String coords = instance.getLanguage().getMessage("map-coords-message")
-                .replace("%coords%", centerX + "," + centerZ)
-                .replace("%direction%", direction);
-            String colorRelationNoClaim = instance.getLanguage().getMessage("map-no-claim-color");
-            String colorCursor = instance.getLanguage().getMessage("map-cursor-color");
-            String symbolNoClaim = instance.getLanguage().getMessage("map-symbol-no-claim");
-            String symbolClaim = instance.getLanguage().getMessage("map-symbol-claim");
-            String mapCursor = instance.getLanguage().getMessage("map-cursor");
-            World world = player.getWorld();
-
-            // Function to get chunk symbols
-            Function<Chunk, String> getChunkSymbol = chunk -> chunk.equals(centerChunk)
-                ? colorCursor + mapCursor + colorRelationNoClaim
-                : checkIfClaimExists(chunk) 
-                    ? getRelation(player, chunk) + symbolClaim + colorRelationNoClaim
-                    : colorRelationNoClaim + symbolNoClaim;
-
-            Map<Integer, String> legendMap = new HashMap<>();
-            legendMap.put(-3, "  " + name + (isClaimed ? " " + instance.getLanguage().getMessage("map-actual-claim-name-message-owner")
-                .replace("%owner%", listClaims.get(centerChunk).getOwner()) : ""));
-            legendMap.put(-2, "  " + coords);
-            legendMap.put(0, "  " + instance.getLanguage().getMessage("map-legend-you").replace("%cursor-color%", colorCursor));
-            legendMap.put(1, "  " + instance.getLanguage().getMessage("map-legend-free").replace("%no-claim-color%", colorRelationNoClaim));
-            legendMap.put(2, "  " + instance.getLanguage().getMessage("map-legend-yours").replace("%claim-relation-member%", instance.getLanguage().getMessage("map-claim-relation-member")));
-            legendMap.put(3, "  " + instance.getLanguage().getMessage("map-legend-other").replace("%claim-relation-visitor%", instance.getLanguage().getMessage("map-claim-relation-visitor")));
-
-            StringBuilder mapMessage = new StringBuilder("\n").append(colorRelationNoClaim);
-
-            Runnable mapLogic = () -> IntStream.rangeClosed(-4, 4).forEach(dz -> {
-                StringBuilder line = new StringBuilder(colorRelationNoClaim);
-                IntStream.rangeClosed(-10, 10).forEach(dx -> {
-                    int[] offset = adjustDirection(dx, dz, direction);
-                    Chunk chunk = world.getChunkAt(centerX + offset[0], centerZ + offset[1]);
-                    String symbol = getChunkSymbol.apply(chunk);
-                    mapMessage.append(symbol);
-                    line.append(symbol);
-                });
-                if (legendMap.containsKey(dz)) {
-                    String legend = legendMap.get(dz);
-                    mapMessage.append(legend);
-                    line.append(legend);
-                }
-                mapMessage.append("\n");
-                lines.add(line.toString());
-            });
+
+            Runnable mapLogic = () -> {
+                List<String> mapLines = renderMapLines(player, to, direction);
+                lines.addAll(mapLines);
+                mapMessage.append("\n").append(String.join("\n", mapLines)).append("\n");
+            };
 
             if (instance.isFolia()) {
                 Bukkit.getRegionScheduler().run(instance, player.getLocation(), task -> {
                     mapLogic.run();
                     if (scoreboard) {
-                        updateScoreboard(cScoreboard, lines);
+                        updateScoreboard(player, cScoreboard, lines);
                     } else {
                         instance.executeEntitySync(player, () -> player.sendMessage(mapMessage.toString()));
                     }
@@ -4989,7 +5341,7 @@ public class ClaimMain {
             } else {
                 mapLogic.run();
                 if (scoreboard) {
-                    updateScoreboard(cScoreboard, lines);
+                    updateScoreboard(player, cScoreboard, lines);
                 } else {
                     instance.executeEntitySync(player, () -> player.sendMessage(mapMessage.toString()));
                 }
@@ -4998,46 +5350,71 @@ public class ClaimMain {
     }
 
     /**
-     * Updates the scoreboard for automap
+     * Renders the map around a chunk: 9 lines of 21 chunks with the relation of each
+     * claimed chunk, and the legend on the right. The chunks are read from the world,
+     * so this runs on the thread owning the region on Folia.
+     *
+     * @param player The player viewing the map.
+     * @param centerChunk The chunk at the center of the map.
+     * @param direction The direction the player is facing (map-direction-* message).
+     * @return The lines of the map, without line breaks.
+     */
+    public List<String> renderMapLines(Player player, Chunk centerChunk, String direction) {
+        int centerX = centerChunk.getX();
+        int centerZ = centerChunk.getZ();
+        Claim centerClaim = listClaims.get(centerChunk);
+
+        String name = centerClaim != null
+            ? instance.getLanguage().render("map-actual-claim-name-message", "name", centerClaim.getName())
+            : instance.getLanguage().getMessage("map-no-claim-name-message");
+        String coords = instance.getLanguage().render("map-coords-message",
+            "coords", centerX + "," + centerZ, "direction", direction);
+        String colorRelationNoClaim = instance.getLanguage().getMessage("map-no-claim-color");
+        String colorCursor = instance.getLanguage().getMessage("map-cursor-color");
+        String symbolNoClaim = instance.getLanguage().getMessage("map-symbol-no-claim");
+        String symbolClaim = instance.getLanguage().getMessage("map-symbol-claim");
+        String mapCursor = instance.getLanguage().getMessage("map-cursor");
+        World world = centerChunk.getWorld();
+
+        // Legend, by line of the map
+        String[] legend = new String[9];
+        legend[1] = "  " + name + (centerClaim != null ? " " + instance.getLanguage().render("map-actual-claim-name-message-owner",
+            "owner", centerClaim.getOwner()) : "");
+        legend[2] = "  " + coords;
+        legend[4] = "  " + instance.getLanguage().render("map-legend-you", "cursor-color", colorCursor);
+        legend[5] = "  " + instance.getLanguage().render("map-legend-free", "no-claim-color", colorRelationNoClaim);
+        legend[6] = "  " + instance.getLanguage().render("map-legend-yours", "claim-relation-member", instance.getLanguage().getMessage("map-claim-relation-member"));
+        legend[7] = "  " + instance.getLanguage().render("map-legend-other", "claim-relation-visitor", instance.getLanguage().getMessage("map-claim-relation-visitor"));
+
+        List<String> lines = new ArrayList<>(9);
+        for (int dz = -4; dz <= 4; dz++) {
+            StringBuilder line = new StringBuilder(colorRelationNoClaim);
+            for (int dx = -10; dx <= 10; dx++) {
+                int[] offset = adjustDirection(dx, dz, direction);
+                Chunk chunk = world.getChunkAt(centerX + offset[0], centerZ + offset[1]);
+                line.append(chunk.equals(centerChunk)
+                    ? colorCursor + mapCursor + colorRelationNoClaim
+                    : checkIfClaimExists(chunk)
+                        ? getRelation(player, chunk) + symbolClaim + colorRelationNoClaim
+                        : colorRelationNoClaim + symbolNoClaim);
+            }
+            if (legend[dz + 4] != null) line.append(legend[dz + 4]);
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Updates the scoreboard for automap.
+     * The sidebar only sends the lines which changed, on the player's thread.
      * 
+     * @param player The player.
      * @param cScoreboard The scoreboard to update.
      * @param lines The lines to update.
      */
-    private void updateScoreboard(CScoreboard cScoreboard, List<String> lines) {
+    private void updateScoreboard(Player player, CScoreboard cScoreboard, List<String> lines) {
     	lines.add("§f ");
-        int score = 11;
-        Map<Integer,String> toRend = new LinkedHashMap<>();
-        for (String line : differentiateDuplicates(lines)) {
-        	toRend.put(score--, line);
-        }
-        cScoreboard.updateLines(toRend);
-    }
-    
-    /**
-     * Optimized method to check if the list contains duplicate strings and adds spaces to differentiate them.
-     *
-     * @param list the list of strings to check for duplicates
-     * @return the updated list with differentiated strings
-     */
-    private List<String> differentiateDuplicates(List<String> list) {
-        // Map to store how many times each string has been seen
-        Map<String, Integer> stringCount = new HashMap<>();
-
-        // Iterate over the list to count occurrences and differentiate duplicates
-        for (int i = 0; i < list.size(); i++) {
-            String original = list.get(i);
-            int count = stringCount.getOrDefault(original, 0);
-
-            if (count > 0) {
-                // Create a new string with the required number of spaces
-                list.set(i, original + " ".repeat(count));
-            }
-
-            // Update the map to increment the count for the current string
-            stringCount.put(original, count + 1);
-        }
-
-        return list;
+    	instance.executeEntitySync(player, () -> cScoreboard.setLines(lines));
     }
 
     /**
@@ -5272,7 +5649,7 @@ public class ClaimMain {
         
         // Add to listClaims (by chunk)
         for (Chunk chunk : claim.getChunks()) {
-            listClaims.put(chunk, claim);
+            indexChunk(chunk, claim);
         }
     }
     
@@ -5295,7 +5672,7 @@ public class ClaimMain {
         
         // Remove from listClaims (by chunk)
         for (Chunk chunk : claim.getChunks()) {
-            listClaims.remove(chunk);
+            unindexChunk(chunk);
         }
     }
     
@@ -5410,9 +5787,43 @@ public class ClaimMain {
         }
     }
     
+    /**
+     * Gets a page of the claim summaries of an owner.
+     * In multi-server mode, the page is read from MongoDB with an indexed and projected query.
+     * Otherwise the local claims of the owner are sorted and only the page is summarized.
+     *
+     * @param ownerName The owner's name
+     * @param forSaleOnly Whether only the claims for sale are listed
+     * @param sort The sort key
+     * @param offset The number of claims to skip
+     * @param limit The size of the page
+     * @return CompletableFuture with the page
+     */
+    public CompletableFuture<ClaimPage> getClaimSummaries(String ownerName, boolean forSaleOnly, ClaimSummary.Sort sort, int offset, int limit) {
+        int from = Math.max(0, offset);
+        int size = Math.max(0, limit);
+        if (instance.getMultiServerManager() != null && instance.getMultiServerManager().isEnabled()) {
+            return instance.getMultiServerManager().getMongoDBManager().getClaimSummaries(ownerName, forSaleOnly, sort, from, size);
+        }
+        
+        return CompletableFuture.supplyAsync(() -> {
+            String serverName = instance.getMultiServerManager() != null ? 
+                    instance.getMultiServerManager().getConfig().getServerName() : "local";
+            List<ClaimSummary> claims = new ArrayList<>(getPlayerClaims(ownerName)).stream()
+                    .filter(claim -> !forSaleOnly || claim.getSale())
+                    .sorted(sort.claimComparator())
+                    .skip(from)
+                    .limit(size + 1L)
+                    .map(claim -> ClaimSummary.of(claim, serverName))
+                    .collect(Collectors.toList());
+            return ClaimPage.of(claims, from, size);
+        });
+    }
+    
     /**
      * Gets all claims for an owner from MongoDB (for multi-server).
      * Returns a CompletableFuture with a list of claim data maps.
+     * <p>Prefer {@link #getClaimSummaries(String, boolean, ClaimSummary.Sort, int, int)}, which only reads one page.
      *
      * @param ownerName The owner's name
      * @return CompletableFuture with list of claim data
@@ -5521,7 +5932,10 @@ public class ClaimMain {
             return;
         }
         
-        instance.getMultiServerManager().sendPendingClaimTp(player.getUniqueId(), targetServer, ownerName, claimName);
+        if (!instance.getMultiServerManager().sendPendingClaimTp(player.getUniqueId(), targetServer, ownerName, claimName)) {
+            player.sendMessage(instance.getLanguage().getMessage("server-offline"));
+            return;
+        }
 
         transferPlayerToServer(player, targetServer);
     }
@@ -85,6 +85,9 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             "chat", "map", "autoclaim", "automap", "see", "tp", "ban", "unban", "bans", "fly", "autofly", "owner", "merge", "sell", "cancel",
             "main", "delchunk", "addchunk", "chunks", "kick", "buy", "autounclaim", "autoaddchunk", "autodelchunk", "accept", "deny", "cancelinv");
     
+    /** The maximum number of known players proposed in tab completions */
+    private static final int MAX_PLAYER_COMPLETIONS = 50;
+    
     
     // ******************
     // *  Constructors  *
@@ -2970,7 +2973,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 break;
             case "add":
                 if (main.checkIfClaimExists(chunk) && main.getClaim(chunk).getOwner().equals(playerName)) {
-                    completions.addAll(Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList()));
+                    completions.addAll(getAddCompletions(partialInput));
                     completions.remove(playerName);
                 }
                 completions.add("*");
@@ -3058,6 +3061,9 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	}
                 break;
             case "add":
+                completions.addAll(getAddCompletions(partialInput));
+                completions.remove(playerName);
+                break;
             case "ban":
             case "owner":
             case "kick":
@@ -3079,6 +3085,20 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Gets the player names proposed for /claim add.
+     * Only online players can be invited, otherwise any known player can be added.
+     *
+     * @param partialInput the partial input of the player
+     * @return a list of player names
+     */
+    private List<String> getAddCompletions(String partialInput) {
+        if (instance.getSettings().getBooleanSetting("claim-invitations-system")) {
+            return Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList());
+        }
+        return instance.getPlayerMain().completePlayerNames(partialInput, MAX_PLAYER_COMPLETIONS);
+    }
+    
     /**
      * Gets the chunks in a radius around a center location.
      *
@@ -1,6 +1,5 @@
 package fr.mrbaguette07.SLclaim.Commands;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -11,13 +10,10 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Particle;
 import org.bukkit.Sound;
-import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -28,7 +24,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
-import fr.mrbaguette07.SLclaim.ClaimMain;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.Config.ClaimLanguage;
 import fr.mrbaguette07.SLclaim.MultiServer.MultiServerManager;
@@ -68,6 +63,9 @@ public class RtpCommand implements CommandExecutor, TabCompleter {
     
     /** Set des blocs dangereux */
     private Set<Material> unsafeBlocks = ConcurrentHashMap.newKeySet();
+    
+    /** Moteur de recherche d'emplacements */
+    private RtpEngine rtpEngine;
 
     // ******************
     // *  Constructors  *
@@ -80,6 +78,7 @@ public class RtpCommand implements CommandExecutor, TabCompleter {
      */
     public RtpCommand(SLclaim instance) {
         this.instance = instance;
+        this.rtpEngine = new RtpEngine(instance);
         loadConfig();
     }
 
@@ -113,6 +112,8 @@ public class RtpCommand implements CommandExecutor, TabCompleter {
                 instance.getLogger().warning("Bloc dangereux invalide dans rtp.yml: " + blockName);
             }
         }
+        
+        rtpEngine.configure(rtpConfig, unsafeBlocks);
     }
 
     /**
@@ -122,6 +123,15 @@ public class RtpCommand implements CommandExecutor, TabCompleter {
         loadConfig();
     }
 
+    /**
+     * Arrête le moteur RTP et annule les téléportations en cours
+     */
+    public void shutdown() {
+        rtpEngine.shutdown();
+        warmupTasks.values().forEach(BukkitTask::cancel);
+        warmupTasks.clear();
+    }
+
     // ******************
     // *  Commande      *
     // ******************
@@ -166,15 +176,19 @@ public class RtpCommand implements CommandExecutor, TabCompleter {
                 // Choisir un serveur survival aléatoire parmi ceux en ligne
                 String targetServer = onlineSurvivalServers.get(random.nextInt(onlineSurvivalServers.size()));
                 
+                // Envoyer le pending RTP via Redis pour que le serveur cible sache qu'il doit faire un RTP
+                // (refusé si le serveur cible vient de tomber)
+                if (!multiManager.sendPendingRtp(player.getUniqueId(), targetServer)) {
+                    player.sendMessage(lang.getMessage("rtp-no-survival-server-available"));
+                    return true;
+                }
+                
                 // Informer le joueur du transfert
                 player.sendMessage(lang.getMessage("rtp-transferring-to-server"));
                 
                 // Log pour debug
                 instance.info("RTP: Transfert du joueur " + player.getName() + " vers " + targetServer + " (serveurs en ligne: " + onlineSurvivalServers.size() + ")");
                 
-                // Envoyer le pending RTP via Redis pour que le serveur cible sache qu'il doit faire un RTP
-                multiManager.sendPendingRtp(player.getUniqueId(), targetServer);
-                
                 // Transférer le joueur vers le serveur survival via BungeeCord
                 instance.getMain().transferPlayerToServer(player, targetServer);
                 return true;
@@ -229,13 +243,13 @@ public class RtpCommand implements CommandExecutor, TabCompleter {
         
         findSafeLocation(player).thenAccept(location -> {
             if (location == null) {
-                Bukkit.getScheduler().runTask(instance, () -> {
+                instance.executeEntitySync(player, () -> {
                     player.sendMessage(lang.getMessage("rtp-no-location-found"));
                 });
                 return;
             }
 
-            Bukkit.getScheduler().runTask(instance, () -> {
+            instance.executeEntitySync(player, () -> {
                 startTeleportation(player, location);
             });
         });
@@ -406,74 +420,20 @@ public class RtpCommand implements CommandExecutor, TabCompleter {
     // **************************
 
     /**
-     * Recherche un emplacement sûr de manière asynchrone
+     * Recherche un emplacement sûr de manière asynchrone via le moteur RTP
      */
     private CompletableFuture<Location> findSafeLocation(Player player) {
-        return CompletableFuture.supplyAsync(() -> {
-            World world = player.getWorld();
-            int minX = rtpConfig.getInt("coordinates.min-x", -10000);
-            int maxX = rtpConfig.getInt("coordinates.max-x", 10000);
-            int minZ = rtpConfig.getInt("coordinates.min-z", -10000);
-            int maxZ = rtpConfig.getInt("coordinates.max-z", 10000);
-            int minY = rtpConfig.getInt("height.min-y", 60);
-            int maxY = rtpConfig.getInt("height.max-y", 320);
-            int maxAttempts = rtpConfig.getInt("max-attempts", 50);
-            boolean allowInClaims = rtpConfig.getBoolean("allow-tp-in-claims", false);
-
-            for (int attempt = 0; attempt < maxAttempts; attempt++) {
-                int x = minX + random.nextInt(maxX - minX + 1);
-                int z = minZ + random.nextInt(maxZ - minZ + 1);
-
-                // Trouver un emplacement sûr
-                Location safe = findSafeY(world, x, z, minY, maxY);
-                if (safe == null) continue;
-
-                // Vérifier si c'est dans un claim
-                if (!allowInClaims) {
-                    ClaimMain claimMain = instance.getMain();
-                    org.bukkit.Chunk chunk = world.getChunkAt(safe);
-                    if (claimMain.getClaim(chunk) != null) {
-                        continue;
-                    }
-                }
-
-                // Centrer sur le bloc
-                safe.setX(safe.getBlockX() + 0.5);
-                safe.setZ(safe.getBlockZ() + 0.5);
-                safe.setYaw(player.getLocation().getYaw());
-                safe.setPitch(player.getLocation().getPitch());
-
-                return safe;
-            }
-
-            return null;
+        Location origin = player.getLocation();
+        float yaw = origin.getYaw();
+        float pitch = origin.getPitch();
+        return rtpEngine.findLocation(origin.getWorld()).thenApply(safe -> {
+            if (safe == null) return null;
+            safe.setYaw(yaw);
+            safe.setPitch(pitch);
+            return safe;
         });
     }
 
-    /**
-     * Trouve une hauteur Y sûre pour les coordonnées données
-     */
-    private Location findSafeY(World world, int x, int z, int minY, int maxY) {
-        // Commencer par le haut et descendre
-        for (int y = maxY; y >= minY; y--) {
-            Block block = world.getBlockAt(x, y, z);
-            Block below = world.getBlockAt(x, y - 1, z);
-            Block above = world.getBlockAt(x, y + 1, z);
-
-            // Vérifier si le bloc du dessous est solide et sûr
-            if (below.getType().isSolid() && 
-                !unsafeBlocks.contains(below.getType()) &&
-                !unsafeBlocks.contains(block.getType()) &&
-                !unsafeBlocks.contains(above.getType()) &&
-                block.isPassable() && 
-                above.isPassable()) {
-                
-                return new Location(world, x, y, z);
-            }
-        }
-        return null;
-    }
-
     // ******************
     // *  Utilitaires   *
     // ******************
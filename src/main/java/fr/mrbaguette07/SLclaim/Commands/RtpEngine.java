@@ -0,0 +1,354 @@
+package fr.mrbaguette07.SLclaim.Commands;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import fr.mrbaguette07.SLclaim.SLclaim;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * Moteur de recherche d'emplacements sûrs pour /rtp.
+ * Les chunks candidats sont filtrés par l'index des claims avant tout chargement,
+ * chargés de manière asynchrone puis évalués depuis un ChunkSnapshot.
+ * Une réserve d'emplacements pré-validés est maintenue par monde.
+ */
+public class RtpEngine {
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+    /** Valeur renvoyée quand aucune hauteur sûre n'est trouvée */
+    private static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    /** Instance de SLclaim */
+    private final SLclaim instance;
+
+    /** Exécuteur asynchrone pour l'évaluation des snapshots */
+    private final Executor asyncExecutor;
+
+    /** Réserve d'emplacements sûrs par UID de monde */
+    private final Map<UUID, Deque<Location>> pools = new ConcurrentHashMap<>();
+
+    /** Mondes dont la réserve est en cours de remplissage */
+    private final Set<UUID> refilling = ConcurrentHashMap.newKeySet();
+
+    /** Blocs dangereux */
+    private volatile Set<Material> unsafeBlocks = Collections.emptySet();
+
+    /** Mondes autorisés */
+    private volatile List<String> allowedWorlds = Collections.emptyList();
+
+    /** Tâche de remplissage (Bukkit) */
+    private BukkitTask bukkitRefillTask;
+
+    /** Tâche de remplissage (Folia) */
+    private ScheduledTask foliaRefillTask;
+
+    private volatile int minX;
+    private volatile int maxX;
+    private volatile int minZ;
+    private volatile int maxZ;
+    private volatile int minY;
+    private volatile int maxY;
+    private volatile int maxAttempts;
+    private volatile int columnsPerChunk;
+    private volatile boolean allowInClaims;
+    private volatile boolean poolEnabled;
+    private volatile int poolSize;
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+    /**
+     * Constructeur de RtpEngine
+     *
+     * @param instance L'instance du plugin SLclaim
+     */
+    public RtpEngine(SLclaim instance) {
+        this.instance = instance;
+        this.asyncExecutor = instance::executeAsync;
+    }
+
+    // ******************
+    // *  Configuration *
+    // ******************
+
+    /**
+     * Applique la configuration RTP et (re)démarre le remplissage de la réserve.
+     *
+     * @param config La configuration rtp.yml
+     * @param unsafe Les blocs dangereux
+     */
+    public void configure(FileConfiguration config, Set<Material> unsafe) {
+        minX = config.getInt("coordinates.min-x", -10000);
+        maxX = config.getInt("coordinates.max-x", 10000);
+        minZ = config.getInt("coordinates.min-z", -10000);
+        maxZ = config.getInt("coordinates.max-z", 10000);
+        minY = config.getInt("height.min-y", 60);
+        maxY = config.getInt("height.max-y", 320);
+        maxAttempts = Math.max(1, config.getInt("max-attempts", 50));
+        columnsPerChunk = Math.max(1, config.getInt("columns-per-chunk", 8));
+        allowInClaims = config.getBoolean("allow-tp-in-claims", false);
+        poolEnabled = config.getBoolean("location-pool.enabled", true);
+        poolSize = Math.max(1, config.getInt("location-pool.size", 10));
+        allowedWorlds = List.copyOf(config.getStringList("allowed-worlds"));
+        unsafeBlocks = Set.copyOf(unsafe);
+
+        shutdown();
+        if (poolEnabled && config.getBoolean("enabled", true)) {
+            long seconds = Math.max(1, config.getLong("location-pool.refill-interval", 10));
+            if (instance.isFolia()) {
+                foliaRefillTask = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> refillPools(), seconds, seconds, TimeUnit.SECONDS);
+            } else {
+                bukkitRefillTask = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, this::refillPools, seconds * 20L, seconds * 20L);
+            }
+        }
+    }
+
+    /**
+     * Arrête le remplissage et vide les réserves.
+     */
+    public void shutdown() {
+        if (bukkitRefillTask != null) {
+            bukkitRefillTask.cancel();
+            bukkitRefillTask = null;
+        }
+        if (foliaRefillTask != null) {
+            foliaRefillTask.cancel();
+            foliaRefillTask = null;
+        }
+        pools.clear();
+    }
+
+    // **************************
+    // *  Recherche emplacement *
+    // **************************
+
+    /**
+     * Fournit un emplacement sûr, depuis la réserve si possible.
+     *
+     * @param world Le monde cible
+     * @return Un futur contenant l'emplacement, ou null si aucun n'a été trouvé
+     */
+    public CompletableFuture<Location> findLocation(World world) {
+        if (!poolEnabled) {
+            return search(world);
+        }
+        Deque<Location> pool = pools.computeIfAbsent(world.getUID(), k -> new ConcurrentLinkedDeque<>());
+        Location pooled;
+        while ((pooled = pool.pollFirst()) != null) {
+            // Un claim a pu être créé depuis la validation
+            if (allowInClaims || !isClaimed(world, pooled.getBlockX() >> 4, pooled.getBlockZ() >> 4)) {
+                refillWorld(world);
+                return CompletableFuture.completedFuture(pooled);
+            }
+        }
+        refillWorld(world);
+        return search(world);
+    }
+
+    /**
+     * Recherche un emplacement sûr sans passer par la réserve.
+     *
+     * @param world Le monde cible
+     * @return Un futur contenant l'emplacement, ou null si aucun n'a été trouvé
+     */
+    public CompletableFuture<Location> search(World world) {
+        return attempt(world, maxAttempts);
+    }
+
+    /**
+     * Tente de trouver un emplacement dans un chunk candidat, puis réessaie tant qu'il reste des tentatives.
+     */
+    private CompletableFuture<Location> attempt(World world, int attemptsLeft) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int left = attemptsLeft;
+        while (left > 0) {
+            left--;
+            int chunkX = (minX + random.nextInt(maxX - minX + 1)) >> 4;
+            int chunkZ = (minZ + random.nextInt(maxZ - minZ + 1)) >> 4;
+
+            // Ignorer les chunks claimés sans les charger
+            if (!allowInClaims && isClaimed(world, chunkX, chunkZ)) continue;
+
+            final int remaining = left;
+            return loadSnapshot(world, chunkX, chunkZ)
+                    .thenApplyAsync(snapshot -> findInSnapshot(world, snapshot, chunkX, chunkZ), asyncExecutor)
+                    .thenCompose(location -> location != null || remaining <= 0
+                            ? CompletableFuture.completedFuture(location)
+                            : attempt(world, remaining));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Charge un chunk de manière asynchrone et en prend un instantané sur le thread propriétaire.
+     */
+    private CompletableFuture<ChunkSnapshot> loadSnapshot(World world, int chunkX, int chunkZ) {
+        if (instance.isFolia() || instance.isPaper()) {
+            return world.getChunkAtAsync(chunkX, chunkZ, true)
+                    .thenApply(chunk -> chunk.getChunkSnapshot(true, false, false));
+        }
+        CompletableFuture<ChunkSnapshot> future = new CompletableFuture<>();
+        instance.executeSync(() -> {
+            try {
+                future.complete(world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(true, false, false));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Évalue quelques colonnes aléatoires d'un instantané de chunk.
+     *
+     * @return Un emplacement centré sur le bloc, ou null
+     */
+    private Location findInSnapshot(World world, ChunkSnapshot snapshot, int chunkX, int chunkZ) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < columnsPerChunk; i++) {
+            int localX = random.nextInt(16);
+            int localZ = random.nextInt(16);
+            int x = (chunkX << 4) + localX;
+            int z = (chunkZ << 4) + localZ;
+            if (x < minX || x > maxX || z < minZ || z > maxZ) continue;
+
+            int y = findSafeY(world, snapshot, localX, localZ);
+            if (y != NOT_FOUND) {
+                return new Location(world, x + 0.5, y, z + 0.5);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Trouve une hauteur sûre à partir de la heightmap de l'instantané.
+     * Depuis la heightmap MOTION_BLOCKING, on descend à travers le feuillage et les blocs
+     * non solides (air sous la canopée, herbes) jusqu'au premier bloc solide ou liquide,
+     * pour tester le sol sous les arbres.
+     */
+    private int findSafeY(World world, ChunkSnapshot snapshot, int x, int z) {
+        int worldMin = world.getMinHeight() + 1;
+        int worldMax = world.getMaxHeight() - 2;
+        int y = Math.min(snapshot.getHighestBlockYAt(x, z), worldMax + 1);
+        if (y < worldMin) return NOT_FOUND;
+        while (y > worldMin && isPassable(snapshot.getBlockType(x, y, z))) y--;
+
+        int feet = y + 1;
+        if (feet >= minY && feet <= maxY && feet <= worldMax) {
+            return isSafe(snapshot, x, feet, z) ? feet : NOT_FOUND;
+        }
+        if (feet > maxY) {
+            // Plafond (Nether) : balayage borné dans l'instantané, sans accès au monde
+            for (int scan = Math.min(maxY, worldMax); scan >= Math.max(minY, worldMin); scan--) {
+                if (isSafe(snapshot, x, scan, z)) return scan;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Vérifie si la descente vers le sol traverse un bloc (feuillage, ou non solide et non liquide).
+     */
+    private static boolean isPassable(Material material) {
+        if (Tag.LEAVES.isTagged(material)) return true;
+        return !material.isSolid() && material != Material.WATER && material != Material.LAVA;
+    }
+
+    /**
+     * Vérifie qu'un joueur peut se tenir en (x, y, z) dans l'instantané.
+     */
+    private boolean isSafe(ChunkSnapshot snapshot, int x, int y, int z) {
+        Material below = snapshot.getBlockType(x, y - 1, z);
+        Material feet = snapshot.getBlockType(x, y, z);
+        Material head = snapshot.getBlockType(x, y + 1, z);
+        Set<Material> unsafe = unsafeBlocks;
+        return below.isSolid()
+                && !Tag.LEAVES.isTagged(below)
+                && !unsafe.contains(below)
+                && !unsafe.contains(feet)
+                && !unsafe.contains(head)
+                && !feet.isSolid()
+                && !head.isSolid();
+    }
+
+    /**
+     * Vérifie via l'index des claims si un chunk est claimé.
+     */
+    private boolean isClaimed(World world, int chunkX, int chunkZ) {
+        return instance.getMain().getClaimAt(world.getUID(), chunkX, chunkZ) != null;
+    }
+
+    // ******************
+    // *  Réserve       *
+    // ******************
+
+    /**
+     * Remplit les réserves des mondes autorisés et des mondes déjà utilisés.
+     */
+    private void refillPools() {
+        List<World> worlds = new ArrayList<>();
+        for (String name : allowedWorlds) {
+            World world = Bukkit.getWorld(name);
+            if (world != null) worlds.add(world);
+        }
+        for (UUID uid : pools.keySet()) {
+            World world = Bukkit.getWorld(uid);
+            if (world != null && !worlds.contains(world)) worlds.add(world);
+        }
+        worlds.forEach(this::refillWorld);
+    }
+
+    /**
+     * Remplit la réserve d'un monde jusqu'à sa taille cible, une recherche à la fois.
+     */
+    private void refillWorld(World world) {
+        UUID uid = world.getUID();
+        Deque<Location> pool = pools.computeIfAbsent(uid, k -> new ConcurrentLinkedDeque<>());
+        if (pool.size() >= poolSize || !refilling.add(uid)) return;
+
+        search(world).whenComplete((location, ex) -> {
+            refilling.remove(uid);
+            if (ex != null) {
+                instance.getLogger().warning("RTP: échec du remplissage de la réserve pour " + world.getName() + ": " + ex.getMessage());
+                return;
+            }
+            if (location != null && pools.get(uid) == pool) {
+                pool.offerLast(location);
+                refillWorld(world);
+            }
+        });
+    }
+
+    /**
+     * @param world Le monde
+     * @return Le nombre d'emplacements en réserve pour ce monde
+     */
+    public int getPoolSize(World world) {
+        Deque<Location> pool = pools.get(world.getUID());
+        return pool == null ? 0 : pool.size();
+    }
+}
@@ -250,6 +250,16 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     	        });
     		return;
     	}
+    	if(args[0].equalsIgnoreCase("record-events")) {
+    		toggleEventRecording(sender, 0);
+    		return;
+    	}
+    	if(args[0].equalsIgnoreCase("multiserver-status")) {
+    		// État des phases de démarrage du mode multi-serveur
+    		sender.sendMessage("§6=== Démarrage multi-serveur ===");
+    		instance.getMultiServerManager().getStartupStatus().describe().forEach(sender::sendMessage);
+    		return;
+    	}
     	if(args[0].equalsIgnoreCase("list")) {
     		// Commande list pour afficher tous les propriétaires de claims
     		if(sender instanceof Player) {
@@ -310,6 +320,14 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
      * @param args The args for the command
      */
     private void handleArgTwo(CommandSender sender, String[] args) {
+    	if(args[0].equalsIgnoreCase("record-events")) {
+    		try {
+    			toggleEventRecording(sender, Integer.parseInt(args[1]));
+    		} catch (NumberFormatException e) {
+    			instance.getMain().getHelp(sender, args[0], "scs");
+    		}
+    		return;
+    	}
     	if(sender instanceof Player) {
     		Player player = (Player) sender;
     		if(args[0].equalsIgnoreCase("setowner")) {
@@ -371,7 +389,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     		Player player = (Player) sender;
     		if(args[0].equalsIgnoreCase("player")) {
     			if(args[1].equalsIgnoreCase("list")) {
-        			if(!instance.getMain().getClaimsOwners().contains(args[2])) {
+        			if(!instance.getMain().hasClaims(args[2])) {
         				player.sendMessage(instance.getLanguage().getMessage("player-does-not-have-claim"));
         				return;
         			}
@@ -400,7 +418,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                 // Create runnable
                 Runnable task = () -> {
                 	instance.executeSync(() -> {
-                		if(!instance.getMain().getClaimsOwners().contains(targetName[0])) {
+                		if(!instance.getMain().hasClaims(targetName[0])) {
             				player.sendMessage(instance.getLanguage().getMessage("player-does-not-have-claim"));
             				return;
             			}
@@ -505,7 +523,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     		}
     		if(args[0].equalsIgnoreCase("player")) {
     			if(args[1].equalsIgnoreCase("main")) {
-        			if(!instance.getMain().getClaimsOwners().contains(args[2])) {
+        			if(!instance.getMain().hasClaims(args[2])) {
         				player.sendMessage(instance.getLanguage().getMessage("player-does-not-have-claim"));
         				return;
         			}
@@ -522,7 +540,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
             		return;
     			}
     			if(args[1].equalsIgnoreCase("tp")) {
-        			if(!instance.getMain().getClaimsOwners().contains(args[2])) {
+        			if(!instance.getMain().hasClaims(args[2])) {
         				player.sendMessage(instance.getLanguage().getMessage("player-does-not-have-claim"));
         				return;
         			}
@@ -545,7 +563,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
             		return;
         		}
         		if(args[1].equalsIgnoreCase("unclaim")) {
-        			if(!instance.getMain().getClaimsOwners().contains(args[2])) {
+        			if(!instance.getMain().hasClaims(args[2])) {
         				player.sendMessage(instance.getLanguage().getMessage("player-does-not-have-claim"));
         				return;
         			}
@@ -618,19 +636,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".claim-distance", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "claim-distance", amount);
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-claim-distance-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "claim-distance", amount), instance.getLanguage().getMessage("set-player-claim-distance-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -655,19 +661,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".max-chunks-total", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-chunks-total", amount);
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-max-chunks-total-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "max-chunks-total", amount), instance.getLanguage().getMessage("set-player-max-chunks-total-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -692,19 +686,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".max-chunks-per-claim", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-chunks-per-claim", amount);
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-max-chunks-per-claim-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "max-chunks-per-claim", amount), instance.getLanguage().getMessage("set-player-max-chunks-per-claim-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -729,19 +711,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".claim-cost", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "claim-cost", amount);
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-claim-cost-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "claim-cost", amount), instance.getLanguage().getMessage("set-player-claim-cost-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -766,19 +736,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".chunk-cost", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "chunk-cost", amount);
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-chunk-cost-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "chunk-cost", amount), instance.getLanguage().getMessage("set-player-chunk-cost-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -803,19 +761,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".chunk-cost-multiplier", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "chunk-cost-multiplier", amount);
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-chunk-cost-multiplier-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "chunk-cost-multiplier", amount), instance.getLanguage().getMessage("set-player-chunk-cost-multiplier-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -840,19 +786,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".claim-cost-multiplier", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "claim-cost-multiplier", amount);
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-claim-cost-multiplier-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "claim-cost-multiplier", amount), instance.getLanguage().getMessage("set-player-claim-cost-multiplier-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -877,19 +811,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".max-members", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-members", Double.valueOf(amount));
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-member-limit-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "max-members", Double.valueOf(amount)), instance.getLanguage().getMessage("set-player-member-limit-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -914,19 +836,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".max-claims", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-claims", Double.valueOf(amount));
-                        }
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-max-claim-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "max-claims", Double.valueOf(amount)), instance.getLanguage().getMessage("set-player-max-claim-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -951,20 +861,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".max-radius-claims", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-radius-claims", Double.valueOf(amount));
-                        }
-                        
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-max-radius-claim-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "max-radius-claims", Double.valueOf(amount)), instance.getLanguage().getMessage("set-player-max-radius-claim-success").replace("%player%", targetName).replace("%amount%", instance.getMain().getNumberSeparate(args[3])));
     				});
     			});
                 return;
@@ -989,20 +886,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                             return;
                         }
                         
-                        File configFile = new File(instance.getDataFolder(), "config.yml");
-                        FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-                        config.set("players."+targetName+".teleportation-delay", amount);
-                        if(p.isOnline()) {
-                        	UUID targetId = p.getUniqueId();
-        	                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "teleportation-delay", Double.valueOf(amount));
-                        }
-                        
-                        try {
-                        	config.save(configFile);
-                        	sender.sendMessage(instance.getLanguage().getMessage("set-player-teleportation-delay-success").replace("%player%", targetName).replace("%amount%", String.valueOf(args[3])));
-        				} catch (IOException e) {
-        					e.printStackTrace();
-        				}
+                        replySaved(sender, instance.getPlayerMain().setPlayerSetting(p.getUniqueId(), "teleportation-delay", Double.valueOf(amount)), instance.getLanguage().getMessage("set-player-teleportation-delay-success").replace("%player%", targetName).replace("%amount%", String.valueOf(args[3])));
     				});
     			});
                 return;
@@ -1028,17 +912,8 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                     return;
                 }
                 
-                File configFile = new File(instance.getDataFolder(), "config.yml");
-                FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
                 int new_amount = cTarget.getMaxClaims()+amount;
-                config.set("players."+name+".max-claims", new_amount);
-                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-claims", Double.valueOf(new_amount));
-                try {
-                	config.save(configFile);
-                	sender.sendMessage(instance.getLanguage().getMessage("set-player-max-claim-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
+                replySaved(sender, instance.getPlayerMain().setPlayerSetting(targetId, "max-claims", Double.valueOf(new_amount)), instance.getLanguage().getMessage("set-player-max-claim-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
                 return;
         	}
         	if(args[1].equalsIgnoreCase("add-radius")) {
@@ -1062,17 +937,8 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                     return;
                 }
 
-                File configFile = new File(instance.getDataFolder(), "config.yml");
-                FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
                 int new_amount = cTarget.getMaxRadiusClaims()+amount;
-                config.set("players."+name+".max-radius-claims", new_amount);
-                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-radius-claims", Double.valueOf(new_amount));
-                try {
-                	config.save(configFile);
-                	sender.sendMessage(instance.getLanguage().getMessage("set-player-max-radius-claim-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
+                replySaved(sender, instance.getPlayerMain().setPlayerSetting(targetId, "max-radius-claims", Double.valueOf(new_amount)), instance.getLanguage().getMessage("set-player-max-radius-claim-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
                 return;
         	}
         	if(args[1].equalsIgnoreCase("add-members")) {
@@ -1096,17 +962,8 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                     return;
                 }
                 
-                File configFile = new File(instance.getDataFolder(), "config.yml");
-                FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
                 int new_amount = cTarget.getMaxMembers()+amount;
-                config.set("players."+name+".max-members", new_amount);
-                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-members", Double.valueOf(new_amount));
-                try {
-                	config.save(configFile);
-                	sender.sendMessage(instance.getLanguage().getMessage("set-player-member-limit-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
+                replySaved(sender, instance.getPlayerMain().setPlayerSetting(targetId, "max-members", Double.valueOf(new_amount)), instance.getLanguage().getMessage("set-player-member-limit-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
                 return;
         	}
         	if(args[1].equalsIgnoreCase("add-chunks-per-claim")) {
@@ -1130,17 +987,8 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                     return;
                 }
                 
-                File configFile = new File(instance.getDataFolder(), "config.yml");
-                FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
                 int new_amount = cTarget.getMaxChunksPerClaim()+amount;
-                config.set("players."+name+".max-chunks-per-claim", new_amount);
-                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-chunks-per-claim", Double.valueOf(new_amount));
-                try {
-                	config.save(configFile);
-                	sender.sendMessage(instance.getLanguage().getMessage("set-player-max-chunks-per-claim-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
+                replySaved(sender, instance.getPlayerMain().setPlayerSetting(targetId, "max-chunks-per-claim", Double.valueOf(new_amount)), instance.getLanguage().getMessage("set-player-max-chunks-per-claim-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
                 return;
         	}
         	if(args[1].equalsIgnoreCase("add-chunks-total")) {
@@ -1164,17 +1012,8 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
                     return;
                 }
                 
-                File configFile = new File(instance.getDataFolder(), "config.yml");
-                FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
                 int new_amount = cTarget.getMaxChunksTotal()+amount;
-                config.set("players."+name+".max-chunks-total", new_amount);
-                instance.getPlayerMain().updatePlayerConfigSettings(targetId, "max-chunks-total", Double.valueOf(new_amount));
-                try {
-                	config.save(configFile);
-                	sender.sendMessage(instance.getLanguage().getMessage("set-player-max-chunks-total-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
+                replySaved(sender, instance.getPlayerMain().setPlayerSetting(targetId, "max-chunks-total", Double.valueOf(new_amount)), instance.getLanguage().getMessage("set-player-max-chunks-total-success").replace("%player%", name).replace("%amount%", instance.getMain().getNumberSeparate(String.valueOf(new_amount))));
                 return;
         	}
         	return;
@@ -1465,6 +1304,38 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     	instance.getMain().getHelp(sender, args[0], "scs");
     }
     
+    /**
+     * Sends the success message once a player setting is saved, or the error message.
+     *
+     * @param sender the command sender
+     * @param saved the save of the setting
+     * @param successMessage the message sent if the setting is saved
+     */
+    private void replySaved(CommandSender sender, CompletableFuture<Boolean> saved, String successMessage) {
+    	saved.thenAccept(success -> sender.sendMessage(success ? successMessage : instance.getLanguage().getMessage("error")));
+    }
+    
+    /**
+     * Starts or stops the recording of the events (for the offline replay).
+     *
+     * @param sender the command sender
+     * @param maxSeconds the duration of the recording, or 0 for no limit
+     */
+    private void toggleEventRecording(CommandSender sender, int maxSeconds) {
+    	if(instance.getEventRecorder().isRecording()) {
+    		File file = instance.getEventRecorder().stop();
+    		sender.sendMessage("§aEnregistrement des événements terminé : §f" + file.getPath());
+    		return;
+    	}
+    	File file = instance.getEventRecorder().start(Math.max(0, maxSeconds));
+    	if(file == null) {
+    		sender.sendMessage(instance.getLanguage().getMessage("error"));
+    		return;
+    	}
+    	sender.sendMessage("§aEnregistrement des événements démarré : §f" + file.getPath()
+    		+ (maxSeconds > 0 ? " §7(" + maxSeconds + "s)" : ""));
+    }
+    
     /**
      * Provides primary completions for the first argument.
      *
@@ -1494,7 +1365,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
             case "admin":
                 // Sous-commandes admin
                 completions.addAll(List.of("transfer", "player", "group", "forceunclaim", "setowner", "set-lang",
-                        "reset-all-player-claims-settings", "reset-all-admin-claims-settings", "import-xclaims", "setexpulsionlocation", "list"));
+                        "reset-all-player-claims-settings", "reset-all-admin-claims-settings", "import-xclaims", "setexpulsionlocation", "list", "record-events", "multiserver-status"));
                 break;
             case "setowner":
                 completions.addAll(Bukkit.getOnlinePlayers().stream().map(Player::getName).collect(Collectors.toList()));
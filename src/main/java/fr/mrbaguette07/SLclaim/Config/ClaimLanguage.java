@@ -1,7 +1,12 @@
 package fr.mrbaguette07.SLclaim.Config;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.OfflinePlayer;
 
@@ -22,6 +27,18 @@ public class ClaimLanguage {
     /** A map to store language keys and their corresponding messages. */
     private Map<String, String> lang = new HashMap<>();
     
+    /** The compiled messages, rebuilt on each language load. */
+    private volatile Map<String, MessageTemplate> templates = new HashMap<>();
+    
+    /** The compiled lines of the multi-line messages (lores), rebuilt on each language load. */
+    private volatile Map<String, List<MessageTemplate>> loreTemplates = new HashMap<>();
+    
+    /** Lifetime of the PlaceholderAPI values in the cache. */
+    private static final long PAPI_CACHE_MILLIS = 1000L;
+    
+    /** Cache of the PlaceholderAPI values, by player and placeholder. */
+    private final Map<UUID, Map<String, CachedValue>> papiCache = new ConcurrentHashMap<>();
+    
     /** Instance of SLclaim. */
     private SLclaim instance;
     
@@ -53,7 +70,22 @@ public class ClaimLanguage {
      * @return true if the language map is successfully set.
      */
     public boolean setLanguage(Map<String, String> messagesMap) {
+        Map<String, MessageTemplate> compiled = new HashMap<>();
+        Map<String, List<MessageTemplate>> compiledLores = new HashMap<>();
+        messagesMap.forEach((key, value) -> {
+        	compiled.put(key, MessageTemplate.compile(value));
+        	if (value != null && value.indexOf('\n') >= 0) {
+        		List<MessageTemplate> lines = new ArrayList<>();
+        		for (String line : value.split("\n")) {
+        			lines.add(MessageTemplate.compile(line));
+        		}
+        		compiledLores.put(key, Collections.unmodifiableList(lines));
+        	}
+        });
         lang = messagesMap;
+        templates = compiled;
+        loreTemplates = compiledLores;
+        papiCache.clear();
         return true;
     }
 
@@ -75,10 +107,96 @@ public class ClaimLanguage {
      * @return The message with placeholders replaced, or an empty string if the key is not found.
      */
     public String getMessage(String key, OfflinePlayer target) {
-        if (!instance.getSettings().getBooleanSetting("placeholderapi") || !lang.containsKey(key)) {
-            return lang.get(key);
+        return render(key, target);
+    }
+    
+    /**
+     * Gets the compiled message corresponding to the provided key.
+     *
+     * @param key The key of the message.
+     * @return The template, or an empty template if the key is not found.
+     */
+    public MessageTemplate getTemplate(String key) {
+        MessageTemplate template = templates.get(key);
+        return template == null ? MessageTemplate.EMPTY : template;
+    }
+    
+    /**
+     * Gets the compiled lines of a message, split like {@link ClaimGuis#getLore(String)}.
+     *
+     * @param key The key of the message.
+     * @return The templates of the lines, or an empty list if the message is blank or not found.
+     */
+    public List<MessageTemplate> getLoreTemplates(String key) {
+        List<MessageTemplate> lines = loreTemplates.get(key);
+        if (lines != null) return lines;
+        MessageTemplate template = getTemplate(key);
+        return template.getRaw().isBlank() ? Collections.emptyList() : Collections.singletonList(template);
+    }
+    
+    /**
+     * Renders a message with the given placeholders.
+     *
+     * @param key The key of the message.
+     * @param placeholders Alternating placeholder names (without the % signs) and values.
+     * @return The rendered message, or an empty string if the key is not found.
+     */
+    public String render(String key, String... placeholders) {
+        return getTemplate(key).render(placeholders);
+    }
+    
+    /**
+     * Renders a message for the targeted player, with the given placeholders and PlaceholderAPI
+     * for the other ones. The PlaceholderAPI values are cached for a short time per player.
+     *
+     * @param key The key of the message.
+     * @param target The targeted player.
+     * @param placeholders Alternating placeholder names (without the % signs) and values.
+     * @return The rendered message, or an empty string if the key is not found.
+     */
+    public String render(String key, OfflinePlayer target, String... placeholders) {
+        MessageTemplate template = getTemplate(key);
+        if (target == null || !template.hasPlaceholderAPI() || !instance.getSettings().getSnapshot().getBoolean("placeholderapi")) {
+            return template.render(placeholders);
+        }
+        long now = System.currentTimeMillis();
+        Map<String, CachedValue> playerCache = papiCache.computeIfAbsent(target.getUniqueId(), k -> new ConcurrentHashMap<>());
+        return template.render(name -> {
+            // Only the PlaceholderAPI placeholders (%identifier_params%) not given locally
+            if (name.indexOf('_') < 0) return null;
+            CachedValue cached = playerCache.get(name);
+            if (cached == null || cached.expiry < now) {
+                cached = new CachedValue(PlaceholderAPI.setPlaceholders(target, "%" + name + "%"), now + PAPI_CACHE_MILLIS);
+                playerCache.put(name, cached);
+            }
+            return cached.value;
+        }, placeholders);
+    }
+    
+    /**
+     * Removes the cached PlaceholderAPI renderings of a player.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void clearPlayerCache(UUID uuid) {
+        papiCache.remove(uuid);
+    }
+    
+    /**
+     * A PlaceholderAPI value and its expiry time.
+     */
+    private static final class CachedValue {
+    	
+    	/** The value of the placeholder */
+        private final String value;
+        
+        /** The expiry time in milliseconds */
+        private final long expiry;
+        
+        private CachedValue(String value, long expiry) {
+            this.value = value;
+            this.expiry = expiry;
         }
-        return PlaceholderAPI.setPlaceholders(target, lang.get(key));
     }
 
 }
@@ -100,6 +100,9 @@ public class ClaimSettings {
     /** Default description pattern. Used if the user regex is not valid. */
     private static final Pattern DEFAULT_DESCRIPTION_PATTERN = Pattern.compile("^[a-zA-Z0-9\\s]+$");
 
+    /** Immutable snapshot read by the listeners, replaced by {@link #publishSnapshot()}. */
+    private volatile SettingsSnapshot snapshot = SettingsSnapshot.empty();
+
     
     // ********************
     // *  Others Methods  *
@@ -128,6 +131,24 @@ public class ClaimSettings {
         worldsAliases.clear();
     }
     
+    /**
+     * Compiles the current settings into a new immutable snapshot and publishes it.
+     * Must be called once the loading of the settings is complete.
+     */
+    public void publishSnapshot() {
+        snapshot = new SettingsSnapshot(settings, SurvivalRequiringClaimsSettings, worlds, restrictedItems,
+                restrictedInteractBlocks, specialBlocks, BreakBlocksIgnore, PlaceBlocksIgnore, restrictedEntityType);
+    }
+
+    /**
+     * Gets the current settings snapshot.
+     *
+     * @return The snapshot.
+     */
+    public SettingsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Gets the world aliase.
      * 
@@ -226,7 +247,7 @@ public class ClaimSettings {
      * @return true if the material is a restricted container, false otherwise.
      */
     public boolean isRestrictedContainer(Material item) {
-        return restrictedInteractBlocks.contains(item);
+        return snapshot.isRestrictedContainer(item);
     }
 
     /**
@@ -236,7 +257,7 @@ public class ClaimSettings {
      * @return true if the entity type is restricted, false otherwise.
      */
     public boolean isRestrictedEntityType(EntityType e) {
-        return restrictedEntityType.contains(e);
+        return snapshot.isRestrictedEntityType(e);
     }
 
     /**
@@ -246,7 +267,7 @@ public class ClaimSettings {
      * @return true if the material is a restricted item, false otherwise.
      */
     public boolean isRestrictedItem(Material item) {
-        return restrictedItems.contains(item);
+        return snapshot.isRestrictedItem(item);
     }
     
     /**
@@ -256,7 +277,7 @@ public class ClaimSettings {
      * @return true if the material is a ignored break block, false otherwise.
      */
     public boolean isBreakBlockIgnore(Material item) {
-        return BreakBlocksIgnore.contains(item);
+        return snapshot.isBreakBlockIgnore(item);
     }
     
     /**
@@ -266,7 +287,7 @@ public class ClaimSettings {
      * @return true if the material is a ignored place block, false otherwise.
      */
     public boolean isPlaceBlockIgnore(Material item) {
-        return PlaceBlocksIgnore.contains(item);
+        return snapshot.isPlaceBlockIgnore(item);
     }
     
     /**
@@ -276,7 +297,7 @@ public class ClaimSettings {
      * @return true if the material is a special block, false otherwise.
      */
     public boolean isSpecialBlock(Material item) {
-        return specialBlocks.contains(item);
+        return snapshot.isSpecialBlock(item);
     }
 
     /**
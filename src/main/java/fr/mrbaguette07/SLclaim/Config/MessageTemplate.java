@@ -0,0 +1,173 @@
+package fr.mrbaguette07.SLclaim.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A message compiled once into literal parts and indexed placeholder slots ({@code %name%}).
+ * Rendering fills a reusable per-thread buffer instead of chaining String.replace calls.
+ */
+public final class MessageTemplate {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The empty template */
+	public static final MessageTemplate EMPTY = compile("");
+
+	/** Maximum capacity kept by the per-thread buffer */
+	private static final int MAX_BUFFER_CAPACITY = 8192;
+
+	/** Per-thread rendering buffer */
+	private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+	/** The raw message */
+	private final String raw;
+
+	/** The literal parts, one more than the slots */
+	private final String[] literals;
+
+	/** The placeholder names of the slots (without the % signs) */
+	private final String[] slots;
+
+	/** Whether the message contains PlaceholderAPI placeholders (%identifier_params%) */
+	private final boolean placeholderAPI;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Private constructor, use {@link #compile(String)}.
+	 */
+	private MessageTemplate(String raw, String[] literals, String[] slots, boolean placeholderAPI) {
+		this.raw = raw;
+		this.literals = literals;
+		this.slots = slots;
+		this.placeholderAPI = placeholderAPI;
+	}
+
+	/**
+	 * Compiles a message.
+	 *
+	 * @param raw The raw message
+	 * @return The template
+	 */
+	public static MessageTemplate compile(String raw) {
+		if (raw == null) raw = "";
+		List<String> literals = new ArrayList<>();
+		List<String> slots = new ArrayList<>();
+		boolean papi = false;
+		int start = 0;
+		int i = raw.indexOf('%');
+		while (i >= 0) {
+			int end = raw.indexOf('%', i + 1);
+			if (end < 0) break;
+			if (end > i + 1 && isPlaceholder(raw, i + 1, end)) {
+				String name = raw.substring(i + 1, end);
+				if (name.indexOf('_') >= 0) papi = true;
+				literals.add(raw.substring(start, i));
+				slots.add(name);
+				start = end + 1;
+				i = raw.indexOf('%', start);
+			} else {
+				// Not a placeholder, the closing % may open the next one
+				i = end;
+			}
+		}
+		literals.add(raw.substring(start));
+		return new MessageTemplate(raw, literals.toArray(new String[0]), slots.toArray(new String[0]), papi);
+	}
+
+	/**
+	 * Checks if a part of a message is a valid placeholder name.
+	 */
+	private static boolean isPlaceholder(String s, int from, int to) {
+		for (int i = from; i < to; i++) {
+			char c = s.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') return false;
+		}
+		return true;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Renders the template.
+	 * Unknown placeholders are kept as they are.
+	 *
+	 * @param placeholders Alternating placeholder names (without the % signs) and values
+	 * @return The rendered message
+	 */
+	public String render(String... placeholders) {
+		return render(null, placeholders);
+	}
+
+	/**
+	 * Renders the template, resolving the placeholders not given with a resolver.
+	 * Unknown placeholders are kept as they are.
+	 *
+	 * @param resolver The resolver of the other placeholders (names without the % signs), returning null if unknown, or null
+	 * @param placeholders Alternating placeholder names (without the % signs) and values
+	 * @return The rendered message
+	 */
+	public String render(Function<String, String> resolver, String... placeholders) {
+		if (slots.length == 0) return raw;
+		StringBuilder sb = BUFFER.get();
+		if (sb.capacity() > MAX_BUFFER_CAPACITY) {
+			sb = new StringBuilder(256);
+			BUFFER.set(sb);
+		}
+		sb.setLength(0);
+		for (int i = 0; i < slots.length; i++) {
+			sb.append(literals[i]);
+			String value = lookup(slots[i], placeholders);
+			if (value == null && resolver != null) value = resolver.apply(slots[i]);
+			if (value == null) {
+				sb.append('%').append(slots[i]).append('%');
+			} else {
+				sb.append(value);
+			}
+		}
+		sb.append(literals[slots.length]);
+		return sb.toString();
+	}
+
+	/**
+	 * Finds the value of a placeholder.
+	 */
+	private static String lookup(String name, String[] placeholders) {
+		for (int i = 0; i + 1 < placeholders.length; i += 2) {
+			if (name.equals(placeholders[i])) return placeholders[i + 1];
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the raw message.
+	 *
+	 * @return The raw message
+	 */
+	public String getRaw() {
+		return raw;
+	}
+
+	/**
+	 * Checks if the message contains PlaceholderAPI placeholders.
+	 *
+	 * @return True if the message must go through PlaceholderAPI
+	 */
+	public boolean hasPlaceholderAPI() {
+		return placeholderAPI;
+	}
+}
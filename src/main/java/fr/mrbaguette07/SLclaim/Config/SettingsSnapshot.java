@@ -0,0 +1,238 @@
+package fr.mrbaguette07.SLclaim.Config;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+
+import fr.mrbaguette07.SLclaim.Types.WorldMode;
+
+/**
+ * Immutable, typed copy of the settings read by the listeners.
+ * A new snapshot is published by {@link ClaimSettings#publishSnapshot()} on each load and reload.
+ */
+public final class SettingsSnapshot {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Raw settings */
+	private final Map<String, String> settings;
+
+	/** Settings parsed as booleans */
+	private final Map<String, Boolean> booleans;
+
+	/** SurvivalRequiringClaims settings */
+	private final Map<String, Boolean> survivalRequiringClaims;
+
+	/** World modes by world UID (worlds loaded when the snapshot was published) */
+	private final Map<UUID, WorldMode> worldModesByUid;
+
+	/** World modes by world name (fallback for worlds loaded later) */
+	private final Map<String, WorldMode> worldModesByName;
+
+	/** Material sets */
+	private final EnumSet<Material> restrictedItems;
+	private final EnumSet<Material> restrictedContainers;
+	private final EnumSet<Material> specialBlocks;
+	private final EnumSet<Material> breakBlocksIgnore;
+	private final EnumSet<Material> placeBlocksIgnore;
+
+	/** Restricted entity types */
+	private final EnumSet<EntityType> restrictedEntityTypes;
+
+	/** Typed hot settings */
+	private final String protectionMessage;
+	private final boolean bossbar;
+	private final boolean economy;
+	private final boolean claimParticles;
+	private final boolean claimParticlesNotEnter;
+	private final boolean claimFlyMessageAutoFly;
+	private final boolean claimFlyDisabledOnDamage;
+	private final boolean enterLeaveMessages;
+	private final boolean enterLeaveTitleMessages;
+	private final boolean enterLeaveChatMessages;
+	private final boolean keepChunksLoaded;
+	private final boolean worldguard;
+	private final boolean bluemap;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Main constructor, copying all the given collections.
+	 */
+	SettingsSnapshot(Map<String, String> settings, Map<String, Boolean> survivalRequiringClaims, Map<String, WorldMode> worldModes,
+			Collection<Material> restrictedItems, Collection<Material> restrictedContainers, Collection<Material> specialBlocks,
+			Collection<Material> breakBlocksIgnore, Collection<Material> placeBlocksIgnore, Collection<EntityType> restrictedEntityTypes) {
+		this.settings = copy(settings);
+		Map<String, Boolean> parsed = new HashMap<>();
+		this.settings.forEach((key, value) -> parsed.put(key, Boolean.parseBoolean(value)));
+		this.booleans = Map.copyOf(parsed);
+		this.survivalRequiringClaims = copy(survivalRequiringClaims);
+
+		this.worldModesByName = copy(worldModes);
+		Map<UUID, WorldMode> byUid = new HashMap<>();
+		worldModes.forEach((name, mode) -> {
+			World world = Bukkit.getWorld(name);
+			if (world != null) byUid.put(world.getUID(), mode);
+		});
+		this.worldModesByUid = Map.copyOf(byUid);
+
+		this.restrictedItems = materials(restrictedItems);
+		this.restrictedContainers = materials(restrictedContainers);
+		this.specialBlocks = materials(specialBlocks);
+		this.breakBlocksIgnore = materials(breakBlocksIgnore);
+		this.placeBlocksIgnore = materials(placeBlocksIgnore);
+		this.restrictedEntityTypes = restrictedEntityTypes.isEmpty() ? EnumSet.noneOf(EntityType.class) : EnumSet.copyOf(restrictedEntityTypes);
+
+		this.protectionMessage = getString("protection-message");
+		this.bossbar = getBoolean("bossbar");
+		this.economy = getBoolean("economy");
+		this.claimParticles = getBoolean("claim-particles");
+		this.claimParticlesNotEnter = getBoolean("claim-particles-not-enter");
+		this.claimFlyMessageAutoFly = getBoolean("claim-fly-message-auto-fly");
+		this.claimFlyDisabledOnDamage = getBoolean("claim-fly-disabled-on-damage");
+		this.enterLeaveMessages = getBoolean("enter-leave-messages");
+		this.enterLeaveTitleMessages = getBoolean("enter-leave-title-messages");
+		this.enterLeaveChatMessages = getBoolean("enter-leave-chat-messages");
+		this.keepChunksLoaded = getBoolean("keep-chunks-loaded");
+		this.worldguard = getBoolean("worldguard");
+		this.bluemap = getBoolean("bluemap");
+	}
+
+	/**
+	 * Creates an empty snapshot (before the first load).
+	 *
+	 * @return The empty snapshot
+	 */
+	static SettingsSnapshot empty() {
+		return new SettingsSnapshot(Map.of(), Map.of(), Map.of(), EnumSet.noneOf(Material.class), EnumSet.noneOf(Material.class),
+				EnumSet.noneOf(Material.class), EnumSet.noneOf(Material.class), EnumSet.noneOf(Material.class), EnumSet.noneOf(EntityType.class));
+	}
+
+	/**
+	 * Copies a map into an immutable map, skipping the null keys and values.
+	 */
+	private static <K, V> Map<K, V> copy(Map<K, V> map) {
+		Map<K, V> copy = new HashMap<>();
+		map.forEach((key, value) -> {
+			if (key != null && value != null) copy.put(key, value);
+		});
+		return Map.copyOf(copy);
+	}
+
+	/**
+	 * Copies materials into an EnumSet.
+	 */
+	private static EnumSet<Material> materials(Collection<Material> materials) {
+		return materials.isEmpty() ? EnumSet.noneOf(Material.class) : EnumSet.copyOf(materials);
+	}
+
+
+    // *************
+    // *  Getters  *
+    // *************
+
+
+	/**
+	 * Gets the value of a setting.
+	 *
+	 * @param key The setting name
+	 * @return The value, or an empty string
+	 */
+	public String getString(String key) {
+		return settings.getOrDefault(key, "");
+	}
+
+	/**
+	 * Gets a setting as a boolean, parsed once when the snapshot was published.
+	 *
+	 * @param key The setting name
+	 * @return The boolean value, false if unknown
+	 */
+	public boolean getBoolean(String key) {
+		Boolean value = booleans.get(key);
+		return value != null && value;
+	}
+
+	/**
+	 * Gets a SurvivalRequiringClaims setting.
+	 *
+	 * @param setting The setting
+	 * @return True if enabled, false otherwise (or unknown)
+	 */
+	public boolean getSettingSRC(String setting) {
+		Boolean value = survivalRequiringClaims.get(setting);
+		return value != null && value;
+	}
+
+	/**
+	 * Gets the mode of a world.
+	 *
+	 * @param world The world
+	 * @return The world mode
+	 */
+	public WorldMode getWorldMode(World world) {
+		WorldMode mode = worldModesByUid.get(world.getUID());
+		if (mode == null) mode = worldModesByName.get(world.getName());
+		return mode == null ? WorldMode.SURVIVAL : mode;
+	}
+
+	/**
+	 * Gets the mode of a world by its uuid.
+	 *
+	 * @param worldUid The uuid of the world
+	 * @return The world mode
+	 */
+	public WorldMode getWorldMode(UUID worldUid) {
+		WorldMode mode = worldModesByUid.get(worldUid);
+		if (mode != null) return mode;
+		World world = Bukkit.getWorld(worldUid);
+		return world == null ? WorldMode.SURVIVAL : getWorldMode(world.getName());
+	}
+
+	/**
+	 * Gets the mode of a world by its name.
+	 *
+	 * @param world The world name
+	 * @return The world mode
+	 */
+	public WorldMode getWorldMode(String world) {
+		WorldMode mode = worldModesByName.get(world);
+		return mode == null ? WorldMode.SURVIVAL : mode;
+	}
+
+	public boolean isRestrictedItem(Material material) { return restrictedItems.contains(material); }
+	public boolean isRestrictedContainer(Material material) { return restrictedContainers.contains(material); }
+	public boolean isSpecialBlock(Material material) { return specialBlocks.contains(material); }
+	public boolean isBreakBlockIgnore(Material material) { return breakBlocksIgnore.contains(material); }
+	public boolean isPlaceBlockIgnore(Material material) { return placeBlocksIgnore.contains(material); }
+	public boolean isRestrictedEntityType(EntityType type) { return restrictedEntityTypes.contains(type); }
+
+	public String getProtectionMessage() { return protectionMessage; }
+	public boolean isBossbar() { return bossbar; }
+	public boolean isEconomy() { return economy; }
+	public boolean isClaimParticles() { return claimParticles; }
+	public boolean isClaimParticlesNotEnter() { return claimParticlesNotEnter; }
+	public boolean isClaimFlyMessageAutoFly() { return claimFlyMessageAutoFly; }
+	public boolean isClaimFlyDisabledOnDamage() { return claimFlyDisabledOnDamage; }
+	public boolean isEnterLeaveMessages() { return enterLeaveMessages; }
+	public boolean isEnterLeaveTitleMessages() { return enterLeaveTitleMessages; }
+	public boolean isEnterLeaveChatMessages() { return enterLeaveChatMessages; }
+	public boolean isKeepChunksLoaded() { return keepChunksLoaded; }
+	public boolean isWorldguard() { return worldguard; }
+	public boolean isBluemap() { return bluemap; }
+}
@@ -12,6 +12,7 @@ import org.bukkit.inventory.meta.SkullMeta;
 
 import fr.mrbaguette07.SLclaim.*;
 import fr.mrbaguette07.SLclaim.Config.ClaimGuis;
+import fr.mrbaguette07.SLclaim.Config.MessageTemplate;
 import fr.mrbaguette07.SLclaim.Types.CPlayer;
 import fr.mrbaguette07.SLclaim.Types.GuiSettings;
 import fr.mrbaguette07.SLclaim.Types.GuiSlot;
@@ -176,7 +177,7 @@ public class ClaimsGui implements InventoryHolder {
     		}
 	
 	        // Prepare lore
-	        List<String> loreTemplate = instance.getGuis().getLore(instance.getLanguage().getMessage("owner-claim-lore"));
+	        List<MessageTemplate> loreTemplate = instance.getLanguage().getLoreTemplates("owner-claim-lore");
 	        
 	        // Prepare count
 	        int startItem = (page - 1) * max;
@@ -204,10 +205,8 @@ public class ClaimsGui implements InventoryHolder {
 	            
 	            // Set lore for owner
 	            List<String> lore = new ArrayList<>();
-	            loreTemplate.forEach(s -> {
-	            	String l = s.replace("%claim-amount%", instance.getMain().getNumberSeparate(String.valueOf(claimAmount)));
-	            	lore.add(l);
-	            });
+	            String amount = instance.getMain().getNumberSeparate(String.valueOf(claimAmount));
+	            loreTemplate.forEach(t -> lore.add(t.render("claim-amount", amount)));
 	            lore.add(instance.getLanguage().getMessage("owner-claim-access"));
 	            
 	            // Set owner head item
@@ -217,12 +216,12 @@ public class ClaimsGui implements InventoryHolder {
 	        	}
 	        	if(item.hasItemMeta() && item.getItemMeta() != null) {
 	        		if(item.getItemMeta() instanceof SkullMeta meta) {
-	    	            meta.setDisplayName(instance.getLanguage().getMessage("owner-claim-title").replace("%owner%", owner));
+	    	            meta.setDisplayName(instance.getLanguage().render("owner-claim-title", "owner", owner));
 	    	            meta.setLore(lore);
 	    	            item.setItemMeta(meta);
 	        		} else {
 	        			ItemMeta meta = item.getItemMeta();
-	    	            meta.setDisplayName(instance.getLanguage().getMessage("owner-claim-title").replace("%owner%", owner));
+	    	            meta.setDisplayName(instance.getLanguage().render("owner-claim-title", "owner", owner));
 	    	            meta.setLore(lore);
 	    	            item.setItemMeta(meta);
 	        		}
@@ -264,9 +263,11 @@ public class ClaimsGui implements InventoryHolder {
                     case "sales":
                         return instance.getMultiServerManager().getMongoDBManager().getClaimOwnersWithSales().join();
                     case "online":
-                        return instance.getMultiServerManager().getMongoDBManager().getAllClaimOwners().join();
+                        return instance.getMultiServerManager().getMongoDBManager().getOnlineClaimOwners().join();
                     case "offline":
-                        return instance.getMultiServerManager().getMongoDBManager().getAllClaimOwners().join();
+                        Map<String, Integer> owners = instance.getMultiServerManager().getMongoDBManager().getAllClaimOwners().join();
+                        owners.keySet().removeAll(instance.getMultiServerManager().getAllOnlinePlayerNames());
+                        return owners;
                     default:
                         return instance.getMultiServerManager().getMongoDBManager().getAllClaimOwners().join();
                 }
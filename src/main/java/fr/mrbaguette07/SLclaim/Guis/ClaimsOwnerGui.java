@@ -9,6 +9,7 @@ import org.bukkit.inventory.*;
 import org.bukkit.inventory.meta.SkullMeta;
 
 import fr.mrbaguette07.SLclaim.*;
+import fr.mrbaguette07.SLclaim.API.ClaimSummary;
 import fr.mrbaguette07.SLclaim.Config.ClaimGuis;
 import fr.mrbaguette07.SLclaim.Types.CPlayer;
 import fr.mrbaguette07.SLclaim.Types.Claim;
@@ -241,17 +242,12 @@ public class ClaimsOwnerGui implements InventoryHolder {
      * @return A CompletableFuture with a boolean to check if the gui is correctly initialized.
      */
     private CompletableFuture<Boolean> loadItemsFromMongo(int page, String filter, String owner) {
-        return instance.getMain().getClaimsFromMongoByOwner(owner).thenApply(claimsData -> {
+        GuiSettings pageSettings = ClaimGuis.gui_settings.get("claims_owner");
+        int pageSize = pageSettings.getSlots().size();
+        
+        // Only the claims of the page are read, already sorted by name
+        return instance.getMain().getClaimSummaries(owner, "sales".equals(filter), ClaimSummary.Sort.NAME, (page - 1) * pageSize, pageSize).thenApply(claimPage -> {
             try {
-                if ("sales".equals(filter)) {
-                    claimsData = claimsData.stream()
-                        .filter(c -> Boolean.TRUE.equals(c.get("for_sale")))
-                        .toList();
-                }
-                List<Map<String, Object>> claimList = new ArrayList<>(claimsData);
-                claimList.sort((c1, c2) -> String.valueOf(c1.get("claim_name")).compareTo(String.valueOf(c2.get("claim_name"))));
-                int claimsCount = claimList.size();
-
                 CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
 
                 cPlayer.setOwner(owner);
@@ -279,7 +275,7 @@ public class ClaimsOwnerGui implements InventoryHolder {
                         lore_string = lore_string.replace("%page%", String.valueOf(page-1));
                     }
                     if(key.equals("NextPage")) {
-                        if(claimsCount <= (page*max)) continue;
+                        if(!claimPage.hasMore()) continue;
                         title = title.replace("%page%", String.valueOf(page+1));
                         lore_string = lore_string.replace("%page%", String.valueOf(page+1));
                     }
@@ -323,25 +319,21 @@ public class ClaimsOwnerGui implements InventoryHolder {
                     }
                 }
                 
-                int startItem = (page - 1) * max;
                 List<Integer> slots_i = guiSettings.getSlots();
                 int i = slots_i.get(0);
-                int count = 0;
                 int count2 = 0;
                 
-                for (Map<String, Object> claimData : claimList) {
-                    if (count++ < startItem) continue;
-                    
+                for (ClaimSummary summary : claimPage.getClaims()) {
                     if (count2 > max-1) break;
                     
                     i = slots_i.get(count2);
                     count2++;
                     
-                    String claimName = String.valueOf(claimData.get("claim_name"));
-                    String description = String.valueOf(claimData.get("claim_description"));
-                    String serverOrigin = String.valueOf(claimData.get("server_origin"));
-                    boolean forSale = Boolean.TRUE.equals(claimData.get("for_sale"));
-                    int salePrice = claimData.get("sale_price") != null ? ((Number) claimData.get("sale_price")).intValue() : 0;
+                    String claimName = summary.getName();
+                    String description = summary.getDescription();
+                    String serverOrigin = String.valueOf(summary.getServerOrigin());
+                    boolean forSale = summary.isForSale();
+                    long salePrice = summary.getPrice();
                     
                     List<String> lore = new ArrayList<>();
                     lore.add("§7" + ChatColor.translateAlternateColorCodes('&', description));
@@ -1,9 +1,10 @@
 package fr.mrbaguette07.SLclaim.Listeners;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -12,6 +13,7 @@ import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.WeatherType;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.data.Directional;
@@ -76,6 +78,9 @@ import org.bukkit.potion.PotionEffectType;
 import org.bukkit.projectiles.ProjectileSource;
 import org.bukkit.util.Vector;
 
+import fr.mrbaguette07.SLclaim.Config.SettingsSnapshot;
+import fr.mrbaguette07.SLclaim.ClaimMain;
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.Types.CPlayer;
 import fr.mrbaguette07.SLclaim.Types.Claim;
@@ -162,22 +167,13 @@ public class ClaimEvents implements Listener {
 	 */
     @EventHandler
     public void onPlayerToggleGlide(EntityToggleGlideEvent event) {
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getWorld().getName());
         if (event.getEntity() instanceof Player) {
             if (event.isGliding()) {
             	Player player = (Player) event.getEntity();
             	if (player.hasPermission("slclaim.bypass")) return;
-            	Chunk chunk = player.getLocation().getChunk();
-                Claim claim = instance.getMain().getClaim(chunk);
-                if (claim != null) {
-                    if (!claim.getPermissionForPlayer("Elytra", player)) {
-                    	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("elytra"), instance.getSettings().getSetting("protection-message"));
-                    	event.setCancelled(true);
-                    }
-                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Elytra")) {
-                	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("elytra-mode"), instance.getSettings().getSetting("protection-message"));
-                	event.setCancelled(true);
-                }
+            	if (instance.getProtection().denyAndNotify(player, player.getLocation(), ProtectionEngine.Action.ELYTRA)) {
+            		event.setCancelled(true);
+            	}
             }
         }
     }
@@ -189,7 +185,6 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onFireworkLaunch(ProjectileLaunchEvent event) {
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getWorld().getName());
         if (event.getEntity() instanceof Firework) {
             Firework firework = (Firework) event.getEntity();
             if(firework.getShooter() instanceof Player) {
@@ -197,17 +192,9 @@ public class ClaimEvents implements Listener {
                 if (player == null) return;
                 if (player.hasPermission("slclaim.bypass")) return;
                 if (player.isGliding() || player.getTargetBlockExact(5) == null) {
-                	Chunk chunk = player.getLocation().getChunk();
-                    Claim claim = instance.getMain().getClaim(chunk);
-                    if (claim != null) {
-                        if (!claim.getPermissionForPlayer("Elytra", player)) {
-                        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("elytra"), instance.getSettings().getSetting("protection-message"));
-                        	event.setCancelled(true);
-                        }
-                    } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Elytra")) {
-                    	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("elytra-mode"), instance.getSettings().getSetting("protection-message"));
-                    	event.setCancelled(true);
-                    }
+                	if (instance.getProtection().denyAndNotify(player, player.getLocation(), ProtectionEngine.Action.ELYTRA)) {
+                		event.setCancelled(true);
+                	}
                 }
             }
         }
@@ -219,9 +206,6 @@ public class ClaimEvents implements Listener {
 	 */
 	@EventHandler
 	public void onPotionSplash(PotionSplashEvent event) {
-		
-		WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getWorld().getName());
-
 	    if (event.getEntity() instanceof ThrownPotion) {
 	        ThrownPotion thrownPotion = (ThrownPotion) event.getEntity();
 
@@ -236,16 +220,12 @@ public class ClaimEvents implements Listener {
 	                        if (entity.getType() == EntityType.PLAYER) {
 	                            Player player = (Player) entity;
 	                            if(player == damager) return;
-	                            Chunk chunk = player.getLocation().getChunk();
-	                            Claim claim = instance.getMain().getClaim(chunk);
-
-	                            if (claim != null) {
-	                                if (!claim.getPermission("Pvp", "Natural")) {
-	                                    instance.getMain().sendMessage(damager, instance.getLanguage().getMessage("pvp"), instance.getSettings().getSetting("protection-message"));
-	                                    event.setIntensity(player, 0.0);
-	                                }
-	                            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Pvp")) {
-	                            	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("pvp-mode"), instance.getSettings().getSetting("protection-message"));
+	                            ProtectionEngine.Decision decision = instance.getProtection().decide(player.getLocation(), ProtectionEngine.Action.PVP, null);
+	                            if (decision == ProtectionEngine.Decision.DENY_CLAIM) {
+	                            	instance.getProtection().sendDenied(damager, ProtectionEngine.Action.PVP, decision);
+	                            	event.setIntensity(player, 0.0);
+	                            } else if (decision == ProtectionEngine.Decision.DENY_WORLD) {
+	                            	instance.getProtection().sendDenied(player, ProtectionEngine.Action.PVP, decision);
 	                            	event.setCancelled(true);
 	                            }
 	                        }
@@ -263,12 +243,13 @@ public class ClaimEvents implements Listener {
 	@EventHandler
 	public void onPlayerDamage(EntityDamageEvent event) {
 		if(!(event.getEntity() instanceof Player)) return;
-		if(!instance.getSettings().getBooleanSetting("claim-fly-disabled-on-damage")) return;
+		SettingsSnapshot settings = instance.getSettings().getSnapshot();
+		if(!settings.isClaimFlyDisabledOnDamage()) return;
 		Player player = (Player) event.getEntity();
 		CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
     	if(cPlayer != null && cPlayer.getClaimFly()) {
     		instance.getPlayerMain().removePlayerFly(player);
-    		instance.getMain().sendMessage(player, instance.getLanguage().getMessage("claim-fly-disabled-on-damage"), instance.getSettings().getSetting("protection-message"));
+    		instance.getMain().sendMessage(player, instance.getLanguage().getMessage("claim-fly-disabled-on-damage"), settings.getProtectionMessage());
     	}
 	}
 	
@@ -282,46 +263,21 @@ public class ClaimEvents implements Listener {
 	    if (!(event.getEntity() instanceof Player)) return;
 
 	    Player player = (Player) event.getEntity();
-	    Chunk chunk = player.getLocation().getChunk();
-	    WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
+	    Player damager = null;
+	    if (event.getDamager() instanceof Player) {
+	    	damager = (Player) event.getDamager();
+	    } else if (event.getDamager() instanceof Projectile) {
+	    	ProjectileSource shooter = ((Projectile) event.getDamager()).getShooter();
+	    	if (shooter instanceof Player) damager = (Player) shooter;
+	    }
+	    if (damager == null || player == damager) return;
 	    
-	    if(instance.getMain().checkIfClaimExists(chunk)) {
-	    	Claim claim = instance.getMain().getClaim(chunk);
-	        if (event.getDamager() instanceof Player) {
-	            Player damager = (Player) event.getDamager();
-	            if(player == damager) return;
-	            if(damager.hasPermission("slclaim.bypass")) return;
-	            if(!claim.getPermission("Pvp", "Natural")) {
-	                instance.getMain().sendMessage(damager, instance.getLanguage().getMessage("pvp"), instance.getSettings().getSetting("protection-message"));
-	                event.setCancelled(true);
-	            }
-	        } else if (event.getDamager() instanceof Projectile) {
-	            Projectile projectile = (Projectile) event.getDamager();
-	            ProjectileSource shooter = projectile.getShooter();
-	            if (shooter instanceof Player) {
-	                Player damager = (Player) shooter;
-	                if(player == damager) return;
-	                if(damager.hasPermission("slclaim.bypass")) return;
-	                if(!claim.getPermission("Pvp", "Natural")) {
-	                    instance.getMain().sendMessage(damager, instance.getLanguage().getMessage("pvp"), instance.getSettings().getSetting("protection-message"));
-	                    event.setCancelled(true);
-	                }
-	            }
-	        }
-	    } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Pvp")) {
-	    	if (event.getDamager() instanceof Player damager) {
-    	    	instance.getMain().sendMessage(damager, instance.getLanguage().getMessage("pvp-mode"), instance.getSettings().getSetting("protection-message"));
-            	event.setCancelled(true);
-	        } else if (event.getDamager() instanceof Projectile) {
-	            Projectile projectile = (Projectile) event.getDamager();
-	            ProjectileSource shooter = projectile.getShooter();
-	            if (shooter instanceof Player damager) {
-	    	    	instance.getMain().sendMessage(damager, instance.getLanguage().getMessage("pvp-mode"), instance.getSettings().getSetting("protection-message"));
-	            	event.setCancelled(true);
-	            }
-	        }
-
-        }
+	    ProtectionEngine.Decision decision = instance.getProtection().decide(player.getLocation(), ProtectionEngine.Action.PVP, null);
+	    if (!decision.isDenied()) return;
+	    // The bypass only applies in the claims
+	    if (decision == ProtectionEngine.Decision.DENY_CLAIM && damager.hasPermission("slclaim.bypass")) return;
+	    instance.getProtection().sendDenied(damager, ProtectionEngine.Action.PVP, decision);
+	    event.setCancelled(true);
 	}
 
     /**
@@ -330,23 +286,11 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onCreatureSpawn(CreatureSpawnEvent event) {
-		WorldMode mode = instance.getSettings().getWorldMode(event.getLocation().getWorld().getName());
-		Chunk chunk = event.getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			Entity entity = event.getEntity();
-			if(entity instanceof Monster || entity instanceof Phantom) {
-				if(!claim.getPermission("Monsters", "Natural")) {
-					event.setCancelled(true);
-					return;
-				}
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Monsters")) {
-			Entity entity = event.getEntity();
-			if(entity instanceof Monster || entity instanceof Phantom) {
-				event.setCancelled(true);
-			}
-        }
+		Entity entity = event.getEntity();
+		if(!(entity instanceof Monster || entity instanceof Phantom)) return;
+		if(instance.getProtection().decide(event.getLocation(), ProtectionEngine.Action.MONSTERS, null).isDenied()) {
+			event.setCancelled(true);
+		}
     }
     
     /**
@@ -355,21 +299,11 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerDropItem(PlayerDropItemEvent event) {
-    	Chunk chunk = event.getItemDrop().getLocation().getChunk();
     	Player player = event.getPlayer();
-    	WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
     	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("ItemsDrop", player)) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemsdrop"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("ItemsDrop")) {
-        	event.setCancelled(true);
-        	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemsdrop-mode"), instance.getSettings().getSetting("protection-message"));
-        }
+    	if (instance.getProtection().denyAndNotify(player, event.getItemDrop().getLocation(), ProtectionEngine.Action.ITEMS_DROP)) {
+    		event.setCancelled(true);
+    	}
     }
     
     /**
@@ -379,21 +313,11 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerUsePortal(PlayerPortalEvent event) {
-    	Chunk chunk = event.getFrom().getChunk();
     	Player player = event.getPlayer();
-    	WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
     	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Portals", player)) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("portals"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Portals")) {
-        	event.setCancelled(true);
-        	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("portals-mode"), instance.getSettings().getSetting("protection-message"));
-        }
+    	if (instance.getProtection().denyAndNotify(player, event.getFrom(), ProtectionEngine.Action.PORTALS)) {
+    		event.setCancelled(true);
+    	}
     }
 	
     /**
@@ -403,31 +327,11 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onEntityExplode(EntityExplodeEvent event) {
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getLocation().getWorld().getName());
-        Iterator<Block> blockIterator = event.blockList().iterator();
-        while (blockIterator.hasNext()) {
-            Block block = blockIterator.next();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-                blockIterator.remove();
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-            	blockIterator.remove();
-            }
-        }
+    	filterExplodedBlocks(event.blockList(), event.getLocation().getWorld());
         if (instance.getMinecraftVersion().contains("1.21") && event.getEntityType() == EntityType.WIND_CHARGE) {
         	Projectile wind = (Projectile) event.getEntity();
         	if(wind.getShooter() instanceof Player player) {
-        		Chunk chunk = event.getEntity().getLocation().getChunk();
-        		if(instance.getMain().checkIfClaimExists(chunk)) {
-        			Claim claim = instance.getMain().getClaim(chunk);
-        			if(!claim.getPermissionForPlayer("Windcharges", player)) {
-        				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("windcharges"), instance.getSettings().getSetting("protection-message"));
-                        event.getEntity().getNearbyEntities(5, 5, 5).forEach(entity -> {
-                        	entity.setVelocity(new Vector(0, 0, 0));
-                        });
-        			}
-        		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Windcharges")) {
-    				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("windcharges-mode"), instance.getSettings().getSetting("protection-message"));
+        		if(instance.getProtection().denyAndNotify(player, event.getEntity().getLocation(), ProtectionEngine.Action.WIND_CHARGES)) {
                     event.getEntity().getNearbyEntities(5, 5, 5).forEach(entity -> {
                     	entity.setVelocity(new Vector(0, 0, 0));
                     });
@@ -444,54 +348,27 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onProjectileHit(ProjectileHitEvent event) {
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getWorld().getName());
+    	ProtectionEngine protection = instance.getProtection();
 		if (event.getEntityType() == EntityType.WITHER_SKULL) {
-            if (event.getHitBlock() != null) {
-            	Block block = event.getHitBlock();
-            	Chunk chunk = block.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-                	event.getEntity().remove();
-                	event.setCancelled(true);
-                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-                	event.getEntity().remove();
-                	event.setCancelled(true);
-                }
+            if (event.getHitBlock() != null && protection.decide(event.getHitBlock(), ProtectionEngine.Action.EXPLOSIONS, null).isDenied()) {
+            	event.getEntity().remove();
+            	event.setCancelled(true);
             }
-            if (event.getHitEntity() != null) {
-        		Chunk chunk = event.getHitEntity().getLocation().getChunk();
-        		if(instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-        			event.getEntity().remove();
-        			event.setCancelled(true);
-        		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-        			event.getEntity().remove();
-                	event.setCancelled(true);
-                }
+            if (event.getHitEntity() != null && protection.decide(event.getHitEntity().getLocation(), ProtectionEngine.Action.EXPLOSIONS, null).isDenied()) {
+            	event.getEntity().remove();
+            	event.setCancelled(true);
             }
             event.getEntity().getNearbyEntities(5, 5, 5).forEach(entity -> {
-            	Chunk chunk = entity.getLocation().getChunk();
-            	if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+            	if (protection.decide(entity.getLocation(), ProtectionEngine.Action.EXPLOSIONS, null).isDenied()) {
                     entity.setVelocity(new Vector(0, 0, 0));
-                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-                	entity.setVelocity(new Vector(0, 0, 0));
                 }
             });
         } else if (instance.getMinecraftVersion().contains("1.21") && event.getEntityType() == EntityType.WIND_CHARGE) {
-            if (event.getHitBlock() != null) {
-            	Block block = event.getHitBlock();
-            	Chunk chunk = block.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-                	event.setCancelled(true);
-                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-                	event.setCancelled(true);
-                }
+            if (event.getHitBlock() != null && protection.decide(event.getHitBlock(), ProtectionEngine.Action.EXPLOSIONS, null).isDenied()) {
+            	event.setCancelled(true);
             }
-            if (event.getHitEntity() != null) {
-        		Chunk chunk = event.getHitEntity().getLocation().getChunk();
-        		if(instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-        			event.setCancelled(true);
-        		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-                	event.setCancelled(true);
-                }
+            if (event.getHitEntity() != null && protection.decide(event.getHitEntity().getLocation(), ProtectionEngine.Action.EXPLOSIONS, null).isDenied()) {
+            	event.setCancelled(true);
             }
         } else if (event.getEntityType() == EntityType.ENDER_PEARL && instance.isFolia()) {
             if (event.getEntity().getShooter() instanceof Player player) {
@@ -520,12 +397,12 @@ public class ClaimEvents implements Listener {
         	            return;
         	        }
         	        
-        	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
+        	        if (instance.getProtection().decide(pearlLocation, ProtectionEngine.Action.ENTER, playerId).isDenied() && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
         	            cancelTeleport(event, player, "enter");
         	            return;
         	        }
         	
-        	        if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass") && !claim.getPermissionForPlayer("Teleportations",player)) {
+        	        if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass") && instance.getProtection().decide(pearlLocation, ProtectionEngine.Action.TELEPORTATIONS, playerId).isDenied()) {
         	            cancelTeleport(event, player, "teleportations");
         	            return;
         	        }
@@ -563,17 +440,75 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockExplode(BlockExplodeEvent event) {
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getWorld().getName());
-        Iterator<Block> blockIterator = event.blockList().iterator();
-        while (blockIterator.hasNext()) {
-            Block block = blockIterator.next();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-                blockIterator.remove();
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-            	blockIterator.remove();
-            }
-        }
+    	filterExplodedBlocks(event.blockList(), event.getBlock().getWorld());
+    }
+	
+    /**
+     * Removes the protected blocks from an explosion block list.
+     * The blocks are grouped by chunk, the decision is made once per chunk and the blocks are removed in bulk.
+     * 
+     * @param blocks the exploded blocks.
+     * @param world the world of the explosion.
+     */
+    private void filterExplodedBlocks(List<Block> blocks, World world) {
+    	if (blocks.isEmpty()) return;
+    	boolean denyUnclaimed = instance.getProtection().decideUnclaimed(world.getUID(), ProtectionEngine.Action.EXPLOSIONS).isDenied();
+    	if (denyUnclaimed) {
+    		// Only the chunks of claims allowing explosions keep their blocks
+    		if (!hasClaimInBlastRadius(blocks, world)) {
+    			blocks.clear();
+    			return;
+    		}
+    	} else if (!hasClaimInBlastRadius(blocks, world)) {
+    		return;
+    	}
+    	
+    	UUID worldUID = world.getUID();
+    	Map<Long, Boolean> removedChunks = new HashMap<>();
+    	boolean anyRemoved = false;
+    	for (Block block : blocks) {
+    		int chunkX = block.getX() >> 4;
+    		int chunkZ = block.getZ() >> 4;
+    		long key = ClaimMain.chunkKey(chunkX, chunkZ);
+    		if (removedChunks.containsKey(key)) continue;
+    		boolean remove = instance.getProtection().decide(worldUID, chunkX, chunkZ, ProtectionEngine.Action.EXPLOSIONS, null).isDenied();
+    		removedChunks.put(key, remove);
+    		anyRemoved |= remove;
+    	}
+    	if (!anyRemoved) return;
+    	if (!removedChunks.containsValue(false)) {
+    		blocks.clear();
+    		return;
+    	}
+    	blocks.removeIf(block -> removedChunks.get(ClaimMain.chunkKey(block.getX() >> 4, block.getZ() >> 4)));
+    }
+    
+    /**
+     * Checks if a claim is in the chunks covered by the exploded blocks.
+     * 
+     * @param blocks the exploded blocks.
+     * @param world the world of the explosion.
+     * @return true if a claim is in the blast radius.
+     */
+    private boolean hasClaimInBlastRadius(List<Block> blocks, World world) {
+    	int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+    	for (Block block : blocks) {
+    		int chunkX = block.getX() >> 4;
+    		int chunkZ = block.getZ() >> 4;
+    		if (chunkX < minX) minX = chunkX;
+    		if (chunkX > maxX) maxX = chunkX;
+    		if (chunkZ < minZ) minZ = chunkZ;
+    		if (chunkZ > maxZ) maxZ = chunkZ;
+    	}
+    	// Unusual block lists (added by other plugins) are checked chunk by chunk
+    	if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > 64) return true;
+    	UUID worldUID = world.getUID();
+    	for (int x = minX; x <= maxX; x++) {
+    		for (int z = minZ; z <= maxZ; z++) {
+    			if (instance.getMain().getClaimAt(worldUID, x, z) != null) return true;
+    		}
+    	}
+    	return false;
     }
 	
     /**
@@ -582,13 +517,8 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onEntityChangeBlock(EntityChangeBlockEvent event) {
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
         if (event.getEntityType() == EntityType.WITHER || event.getEntityType() == EntityType.WITHER_SKULL) {
-            Block block = event.getBlock();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-            	event.setCancelled(true);
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
+            if (instance.getProtection().decide(event.getBlock(), ProtectionEngine.Action.EXPLOSIONS, null).isDenied()) {
             	event.setCancelled(true);
             }
         }
@@ -601,33 +531,17 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler(priority = EventPriority.LOWEST)
 	public void onPlayerBreak(BlockBreakEvent event){
+		SettingsSnapshot settings = instance.getSettings().getSnapshot();
 		Player player = event.getPlayer();
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
 		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Destroy", player) && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-			if(instance.getSettings().isSpecialBlock(event.getBlock().getType()) && !claim.getPermissionForPlayer("SpecialBlocks", player)) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("specialblocks"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
-			if(!instance.getSettings().getSettingSRC("Destroy")) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-			if(instance.getSettings().isSpecialBlock(event.getBlock().getType()) && !instance.getSettings().getSettingSRC("SpecialBlocks")) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("specialblocks-mode"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
+		Block block = event.getBlock();
+		Material type = block.getType();
+		if(instance.getProtection().denyAndNotify(player, block, ProtectionEngine.Action.DESTROY, settings.isBreakBlockIgnore(type))) {
+			event.setCancelled(true);
+			return;
+		}
+		if(settings.isSpecialBlock(type) && instance.getProtection().denyAndNotify(player, block, ProtectionEngine.Action.SPECIAL_BLOCKS, false)) {
+			event.setCancelled(true);
 		}
 	}
 	
@@ -639,34 +553,17 @@ public class ClaimEvents implements Listener {
 	public void onVehicleDamage(VehicleDamageEvent event){
 		Entity damager = event.getAttacker();
 		if(damager == null) return;
-		WorldMode mode = instance.getSettings().getWorldMode(damager.getLocation().getWorld().getName());
-		Chunk chunk = event.getVehicle().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			if(damager instanceof Player) {
-				Player player = (Player) damager;
-				if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-				Claim claim = instance.getMain().getClaim(chunk);
-				if(!claim.getPermissionForPlayer("Destroy", player)) {
-					event.setCancelled(true);
-					instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
-					return;
-				}
-				return;
-			}
-			if(!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
-				event.setCancelled(true);
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Destroy")) {
-			if(damager instanceof Player player) {
-				if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
+		Location location = event.getVehicle().getLocation();
+		if(damager instanceof Player player) {
+			if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
+			if(instance.getProtection().denyAndNotify(player, location, ProtectionEngine.Action.DESTROY)) {
 				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
-				return;
 			}
+			return;
+		}
+		if(instance.getProtection().decideAsVisitor(location, ProtectionEngine.Action.DESTROY).isDenied()) {
 			event.setCancelled(true);
 		}
-
 	}
 	
     /**
@@ -675,47 +572,30 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
 	public void onPlayerPlace(BlockPlaceEvent event){
+		SettingsSnapshot settings = instance.getSettings().getSnapshot();
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
 		Block block = event.getBlock();
 		Chunk chunk = block.getLocation().getChunk();
 		
 	    if (block.getBlockData() instanceof Bed bed) {
-	        if (!instance.getSettings().isPlaceBlockIgnore(block.getType())) {
+	        if (!settings.isPlaceBlockIgnore(block.getType())) {
 	            BlockFace facing = bed.getFacing();
 	            Block adjacentBlock = block.getRelative(facing);
 	            Chunk adjacentChunk = adjacentBlock.getChunk();
 
-	            if (!chunk.equals(adjacentChunk)) {
-	                if (instance.getMain().checkIfClaimExists(adjacentChunk) &&
-	                    !instance.getMain().getOwnerInClaim(chunk).equals(instance.getMain().getOwnerInClaim(adjacentChunk))) {
-	                    Claim claim = instance.getMain().getClaim(adjacentChunk);
-	                    if (!claim.getPermissionForPlayer("Build", player)) {
-	                        event.setCancelled(true);
-	                        instance.getMain().sendMessage(player, instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
-	                        return;
-	                    }
-	                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Build")) {
-                        event.setCancelled(true);
-                        instance.getMain().sendMessage(player, instance.getLanguage().getMessage("build-mode"), instance.getSettings().getSetting("protection-message"));
-                        return;
-	                }
+	            // The head of the bed in another claim or outside of the claim
+	            if (!chunk.equals(adjacentChunk)
+	            		&& !instance.getMain().getOwnerInClaim(chunk).equals(instance.getMain().getOwnerInClaim(adjacentChunk))
+	            		&& instance.getProtection().denyAndNotify(player, adjacentBlock, ProtectionEngine.Action.BUILD, false)) {
+	            	event.setCancelled(true);
+	            	return;
 	            }
 	        }
 	    }
 		
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(block.getType())) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Build")) {
-            event.setCancelled(true);
-            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("build-mode"), instance.getSettings().getSetting("protection-message"));
-            return;
+		if(instance.getProtection().denyAndNotify(player, block, ProtectionEngine.Action.BUILD, settings.isPlaceBlockIgnore(block.getType()))) {
+			event.setCancelled(true);
 		}
 	}
 	
@@ -728,18 +608,9 @@ public class ClaimEvents implements Listener {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Build")) {
+		Block block = event.getBlock();
+		if(instance.getProtection().denyAndNotify(player, block, ProtectionEngine.Action.BUILD, instance.getSettings().getSnapshot().isPlaceBlockIgnore(block.getType()))) {
 			event.setCancelled(true);
-			instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build-mode"), instance.getSettings().getSetting("protection-message"));
 		}
 	}
 	
@@ -749,22 +620,16 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
 	public void onHangingBreak(HangingBreakEvent event) {
-		Chunk chunk = event.getEntity().getLocation().getChunk();
-		WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getLocation().getWorld().getName());
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			if(event.getCause() == HangingBreakEvent.RemoveCause.PHYSICS && !instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
-				event.setCancelled(true);
-			} else if (event.getCause() == HangingBreakEvent.RemoveCause.EXPLOSION && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+		Location location = event.getEntity().getLocation();
+		if(event.getCause() == HangingBreakEvent.RemoveCause.PHYSICS) {
+			if(instance.getProtection().decideAsVisitor(location, ProtectionEngine.Action.DESTROY).isDenied()) {
 				event.setCancelled(true);
 			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
-			if(event.getCause() == HangingBreakEvent.RemoveCause.PHYSICS && !instance.getSettings().getSettingSRC("Destroy")) {
-				event.setCancelled(true);
-			} else if (event.getCause() == HangingBreakEvent.RemoveCause.EXPLOSION && !instance.getSettings().getSettingSRC("Explosions")) {
+		} else if (event.getCause() == HangingBreakEvent.RemoveCause.EXPLOSION) {
+			if(instance.getProtection().decide(location, ProtectionEngine.Action.EXPLOSIONS, null).isDenied()) {
 				event.setCancelled(true);
 			}
 		}
-
 	}
 	
     /**
@@ -776,30 +641,15 @@ public class ClaimEvents implements Listener {
         if (event.getEntity().getType() == EntityType.PAINTING
         		|| event.getEntity().getType() == EntityType.ITEM_FRAME 
         		|| event.getEntity().getType() == EntityType.GLOW_ITEM_FRAME) {
-        	WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getLocation().getWorld().getName());
-        	Chunk chunk = event.getEntity().getLocation().getChunk();
-        	if(instance.getMain().checkIfClaimExists(chunk)) {
-                if (event.getRemover() instanceof Player player) {
-                	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-                	Claim claim = instance.getMain().getClaim(chunk);
-                	if(!claim.getPermissionForPlayer("Destroy", player)) {
-                		event.setCancelled(true);
-                		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
-                		return;
-                	}
-                    return;
-                }
-               	if(!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+        	Location location = event.getEntity().getLocation();
+            if (event.getRemover() instanceof Player player) {
+            	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
+            	if(instance.getProtection().denyAndNotify(player, location, ProtectionEngine.Action.DESTROY)) {
             		event.setCancelled(true);
-            		return;
             	}
-        	} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Destroy")) {
-        		if (event.getRemover() instanceof Player player) {
-        			if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-            		event.setCancelled(true);
-            		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
-            		return;
-        		}
+                return;
+            }
+            if(instance.getProtection().decideAsVisitor(location, ProtectionEngine.Action.DESTROY).isDenied()) {
         		event.setCancelled(true);
         	}
         }
@@ -814,18 +664,9 @@ public class ClaimEvents implements Listener {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Build")) {
+		Block block = event.getBlock();
+		if(instance.getProtection().denyAndNotify(player, block, ProtectionEngine.Action.BUILD, instance.getSettings().getSnapshot().isPlaceBlockIgnore(block.getType()))) {
 			event.setCancelled(true);
-			instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build-mode"), instance.getSettings().getSetting("protection-message"));
 		}
     }
 	
@@ -838,18 +679,9 @@ public class ClaimEvents implements Listener {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Destroy", player) && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Destroy")) {
+		Block block = event.getBlock();
+		if(instance.getProtection().denyAndNotify(player, block, ProtectionEngine.Action.DESTROY, instance.getSettings().getSnapshot().isBreakBlockIgnore(block.getType()))) {
 			event.setCancelled(true);
-			instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
 		}
 
     }
@@ -863,25 +695,10 @@ public class ClaimEvents implements Listener {
 	public void onPlayerFish(PlayerFishEvent event) {
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		if(event.getCaught() instanceof Entity) {
-			Entity entity = event.getCaught();
-			if(entity != null) {
-				Chunk chunk = entity.getLocation().getChunk();
-				if(instance.getMain().checkIfClaimExists(chunk)) {
-					Claim claim = instance.getMain().getClaim(chunk);
-					if(!claim.getPermissionForPlayer("Entities", player)) {
-						event.setCancelled(true);
-		        		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
-		        		return;
-					}
-				} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Entities")) {
-					event.setCancelled(true);
-					instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities-mode"), instance.getSettings().getSetting("protection-message"));
-				}
-			}
+		Entity entity = event.getCaught();
+		if(entity != null && instance.getProtection().denyAndNotify(player, entity.getLocation(), ProtectionEngine.Action.ENTITIES)) {
+			event.setCancelled(true);
 		}
-
 	}
 	
     /**
@@ -893,18 +710,8 @@ public class ClaimEvents implements Listener {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player)) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Build")) {
+		if(instance.getProtection().denyAndNotify(player, event.getBlock(), ProtectionEngine.Action.BUILD, false)) {
 			event.setCancelled(true);
-			instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build-mode"), instance.getSettings().getSetting("protection-message"));
 		}
 	}
 	
@@ -914,184 +721,50 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerInteract(PlayerInteractEvent event) {
+		SettingsSnapshot settings = instance.getSettings().getSnapshot();
 		Player player = event.getPlayer();
 		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
 		Block block = event.getClickedBlock();
-		Chunk chunk;
-		if(block == null) {
-			chunk = player.getLocation().getChunk();
-		} else {
-			chunk = block.getLocation().getChunk();
+		if ((event.getAction() == Action.RIGHT_CLICK_BLOCK || event.getAction() == Action.LEFT_CLICK_BLOCK) && block != null) {
+			Material mat = block.getType();
+			String name = mat.name();
+			if (name.contains("BUTTON") && denyInteraction(event, player, block, ProtectionEngine.Action.BUTTONS)) return;
+			if (name.contains("TRAPDOOR") && denyInteraction(event, player, block, ProtectionEngine.Action.TRAPDOORS)) return;
+			if (name.contains("DOOR") && denyInteraction(event, player, block, ProtectionEngine.Action.DOORS)) return;
+			if (name.contains("FENCE_GATE") && denyInteraction(event, player, block, ProtectionEngine.Action.FENCE_GATES)) return;
+			if (mat == Material.LEVER && denyInteraction(event, player, block, ProtectionEngine.Action.LEVERS)) return;
+			if (mat == Material.REPEATER && denyInteraction(event, player, block, ProtectionEngine.Action.REPEATERS_COMPARATORS)) return;
+			if (mat == Material.COMPARATOR && denyInteraction(event, player, block, ProtectionEngine.Action.COMPARATORS)) return;
+			if (mat == Material.BELL && denyInteraction(event, player, block, ProtectionEngine.Action.BELLS)) return;
+			if (settings.isRestrictedContainer(mat) && denyInteraction(event, player, block, ProtectionEngine.Action.INTERACT_BLOCKS)) return;
+		} else if (event.getAction() == Action.PHYSICAL && block != null) {
+			if (block.getType().name().contains("PRESSURE_PLATE") && denyInteraction(event, player, block, ProtectionEngine.Action.PLATES)) return;
+			if (block.getType() == Material.TRIPWIRE && denyInteraction(event, player, block, ProtectionEngine.Action.TRIPWIRES)) return;
 		}
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-	        if ((event.getAction() == Action.RIGHT_CLICK_BLOCK || event.getAction() == Action.LEFT_CLICK_BLOCK)) {
-	            Material mat = event.getClickedBlock().getType();
-	            if (mat.name().contains("BUTTON") && !claim.getPermissionForPlayer("Buttons", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("buttons"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("TRAPDOOR") && !claim.getPermissionForPlayer("Trapdoors", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("trapdoors"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("DOOR") && !claim.getPermissionForPlayer("Doors", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("doors"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("FENCE_GATE") && !claim.getPermissionForPlayer("Fencegates", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("fencegates"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.LEVER) && !claim.getPermissionForPlayer("Levers", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("levers"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.REPEATER) && !claim.getPermissionForPlayer("RepeatersComparators", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("repeaters"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.COMPARATOR) && !claim.getPermissionForPlayer("RepeatersComparators", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("comparators"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.BELL) && !claim.getPermissionForPlayer("Bells", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("bells"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if(!claim.getPermissionForPlayer("InteractBlocks", player)) {
-	            	Material item = block.getType();
-	            	if(instance.getSettings().isRestrictedContainer(item)) {
-                        event.setCancelled(true);
-                        instance.getMain().sendMessage(player,instance.getLanguage().getMessage("interactblocks"), instance.getSettings().getSetting("protection-message"));
-                        return;
-	            	}
-	            }
-	            if(!claim.getPermissionForPlayer("Items", player)) {
-	                Material item = event.getMaterial();
-	                if(instance.getSettings().isRestrictedItem(item)) {
-                        event.setCancelled(true);
-                        instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items"), instance.getSettings().getSetting("protection-message"));
-                        return;
-	                }
-	            }
-	            return;
-	        }
-	        if (event.getAction() == Action.PHYSICAL) {
-	        	if(block != null && block.getType().name().contains("PRESSURE_PLATE") && !claim.getPermissionForPlayer("Plates", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("plates"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	        	}
-	        	if (block.getType() == Material.TRIPWIRE && !claim.getPermissionForPlayer("Tripwires", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("tripwires"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	        }
-	        if(!claim.getPermissionForPlayer("Items", player)) {
-                Material item = event.getMaterial();
-                if(instance.getSettings().isRestrictedItem(item)) {
-                    event.setCancelled(true);
-                    instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items"), instance.getSettings().getSetting("protection-message"));
-                    return;
-                }
-	        }
-	        return;
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
-	        if ((event.getAction() == Action.RIGHT_CLICK_BLOCK || event.getAction() == Action.LEFT_CLICK_BLOCK)) {
-	            Material mat = event.getClickedBlock().getType();
-	            if (mat.name().contains("BUTTON") && !instance.getSettings().getSettingSRC("Buttons")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("buttons-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("TRAPDOOR") && !instance.getSettings().getSettingSRC("Trapdoors")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("trapdoors-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("DOOR") && !instance.getSettings().getSettingSRC("Doors")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("doors-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("FENCE_GATE") && !instance.getSettings().getSettingSRC("Fencegates")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("fencegates-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.LEVER) && !instance.getSettings().getSettingSRC("Levers")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("levers-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.REPEATER) && !instance.getSettings().getSettingSRC("RepeatersComparators")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("repeaters-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.COMPARATOR) && !instance.getSettings().getSettingSRC("RepeatersComparators")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("comparators-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.BELL) && !instance.getSettings().getSettingSRC("Bells")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("bells-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if(!instance.getSettings().getSettingSRC("InteractBlocks")) {
-	            	Material item = block.getType();
-	            	if(instance.getSettings().isRestrictedContainer(item)) {
-                        event.setCancelled(true);
-                        instance.getMain().sendMessage(player,instance.getLanguage().getMessage("interactblocks-mode"), instance.getSettings().getSetting("protection-message"));
-                        return;
-	            	}
-	            }
-	            if(!instance.getSettings().getSettingSRC("Items")) {
-	                Material item = event.getMaterial();
-	                if(instance.getSettings().isRestrictedItem(item)) {
-                        event.setCancelled(true);
-                        instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items-mode"), instance.getSettings().getSetting("protection-message"));
-                        return;
-	                }
-	            }
-	            return;
-	        }
-	        if (event.getAction() == Action.PHYSICAL) {
-	        	if(block != null && block.getType().name().contains("PRESSURE_PLATE") && !instance.getSettings().getSettingSRC("Plates")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("plates-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	        	}
-	        	if (block.getType() == Material.TRIPWIRE && !instance.getSettings().getSettingSRC("Tripwires")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("tripwires-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	        }
-	        if(!instance.getSettings().getSettingSRC("Items")) {
-                Material item = event.getMaterial();
-                if(instance.getSettings().isRestrictedItem(item)) {
-                    event.setCancelled(true);
-                    instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items-mode"), instance.getSettings().getSetting("protection-message"));
-                    return;
-                }
-	        }
-	        return;
+		if (settings.isRestrictedItem(event.getMaterial())) {
+			denyInteraction(event, player, block, ProtectionEngine.Action.ITEMS);
 		}
     }
 	
+    /**
+     * Cancels an interaction if the protection engine denies it, and sends the protection message.
+     * 
+     * @param event the player interact event.
+     * @param player the player.
+     * @param block the clicked block, or null (the location of the player is used).
+     * @param action the protected action.
+     * @return true if the interaction is denied.
+     */
+    private boolean denyInteraction(PlayerInteractEvent event, Player player, Block block, ProtectionEngine.Action action) {
+    	boolean denied = block == null
+    			? instance.getProtection().denyAndNotify(player, player.getLocation(), action)
+    			: instance.getProtection().denyAndNotify(player, block, action, false);
+    	if (denied) {
+    		event.setCancelled(true);
+    	}
+    	return denied;
+    }
+	
     /**
      * Handles player interact entity events to prevent entity interactions in claims.
      * @param event the player interact entity event.
@@ -1100,49 +773,9 @@ public class ClaimEvents implements Listener {
     public void onPlayerInteractEntity(PlayerInteractAtEntityEvent event) {
     	Player player = event.getPlayer();
     	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(event.getRightClicked().getLocation().getWorld().getName());
-		Chunk chunk = event.getRightClicked().getLocation().getChunk();
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-        	Claim claim = instance.getMain().getClaim(chunk);
-        	Entity entity = event.getRightClicked();
-        	EntityType e = event.getRightClicked().getType();
-        	if(!instance.getSettings().isRestrictedEntityType(e)) return;
-        	if(!claim.getPermissionForPlayer("Entities", player)) {
-        		event.setCancelled(true);
-        		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
-        		return;
-        	}
-        	
-            ItemStack itemInHand = player.getInventory().getItem(event.getHand());
-            if (itemInHand != null) {
-            	if(!instance.getSettings().isRestrictedItem(itemInHand.getType())) return;
-            	Claim claim2 = instance.getMain().getClaim(entity.getLocation().getChunk());
-            	if(claim2 == null) return;
-                if (!claim.getPermissionForPlayer("Items", player)) {
-                    event.setCancelled(true);
-                    instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items"), instance.getSettings().getSetting("protection-message"));
-                    return;
-                }
-            }
-        } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
-        	EntityType e = event.getRightClicked().getType();
-        	if(!instance.getSettings().isRestrictedEntityType(e)) return;
-        	if(!instance.getSettings().getSettingSRC("Entities")) {
-        		event.setCancelled(true);
-        		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities-mode"), instance.getSettings().getSetting("protection-message"));
-        		return;
-        	}
-        	
-            ItemStack itemInHand = player.getInventory().getItem(event.getHand());
-            if (itemInHand != null) {
-            	if(!instance.getSettings().isRestrictedItem(itemInHand.getType())) return;
-                if (!instance.getSettings().getSettingSRC("Items")) {
-                    event.setCancelled(true);
-                    instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items-mode"), instance.getSettings().getSetting("protection-message"));
-                    return;
-                }
-            }
-        }
+    	if(denyEntityInteraction(player, event.getRightClicked(), player.getInventory().getItem(event.getHand()))) {
+    		event.setCancelled(true);
+    	}
     }
 	
     /**
@@ -1153,49 +786,27 @@ public class ClaimEvents implements Listener {
     public void onPlayerInteractEntity2(PlayerInteractEntityEvent event) {
     	Player player = event.getPlayer();
     	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(event.getRightClicked().getLocation().getWorld().getName());
-		Chunk chunk = event.getRightClicked().getLocation().getChunk();
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-        	Claim claim = instance.getMain().getClaim(chunk);
-        	Entity entity = event.getRightClicked();
-        	EntityType e = event.getRightClicked().getType();
-        	if(!instance.getSettings().isRestrictedEntityType(e)) return;
-        	if(!claim.getPermissionForPlayer("Entities", player)) {
-        		event.setCancelled(true);
-        		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
-        		return;
-        	}
-        	
-            ItemStack itemInHand = player.getInventory().getItem(event.getHand());
-            if (itemInHand != null) {
-            	if(!instance.getSettings().isRestrictedItem(itemInHand.getType())) return;
-            	Claim claim2 = instance.getMain().getClaim(entity.getLocation().getChunk());
-            	if(claim2 == null) return;
-                if (!claim.getPermissionForPlayer("Items", player)) {
-                    event.setCancelled(true);
-                    instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items"), instance.getSettings().getSetting("protection-message"));
-                    return;
-                }
-            }
-        } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
-        	EntityType e = event.getRightClicked().getType();
-        	if(!instance.getSettings().isRestrictedEntityType(e)) return;
-        	if(!instance.getSettings().getSettingSRC("Entities")) {
-        		event.setCancelled(true);
-        		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities-mode"), instance.getSettings().getSetting("protection-message"));
-        		return;
-        	}
-        	
-            ItemStack itemInHand = player.getInventory().getItem(event.getHand());
-            if (itemInHand != null) {
-            	if(!instance.getSettings().isRestrictedItem(itemInHand.getType())) return;
-                if (!instance.getSettings().getSettingSRC("Items")) {
-                    event.setCancelled(true);
-                    instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items-mode"), instance.getSettings().getSetting("protection-message"));
-                    return;
-                }
-            }
-        }
+    	if(denyEntityInteraction(player, event.getRightClicked(), player.getInventory().getItem(event.getHand()))) {
+    		event.setCancelled(true);
+    	}
+    }
+	
+    /**
+     * Checks an interaction with a restricted entity (and the restricted item in hand), and sends the protection message if denied.
+     * 
+     * @param player the player.
+     * @param entity the entity.
+     * @param itemInHand the item in the hand used, or null.
+     * @return true if the interaction is denied.
+     */
+    private boolean denyEntityInteraction(Player player, Entity entity, ItemStack itemInHand) {
+    	SettingsSnapshot settings = instance.getSettings().getSnapshot();
+    	if(!settings.isRestrictedEntityType(entity.getType())) return false;
+    	Location location = entity.getLocation();
+    	if(instance.getProtection().denyAndNotify(player, location, ProtectionEngine.Action.ENTITIES)) return true;
+    	return itemInHand != null
+    			&& settings.isRestrictedItem(itemInHand.getType())
+    			&& instance.getProtection().denyAndNotify(player, location, ProtectionEngine.Action.ITEMS);
     }
 	
     /**
@@ -1207,59 +818,33 @@ public class ClaimEvents implements Listener {
     	Block block = event.getBlock();
     	Block toBlock = event.getToBlock();
     	Chunk chunk = toBlock.getLocation().getChunk();
-    	WorldMode mode = instance.getSettings().getWorldMode(toBlock.getLocation().getWorld().getName());
-    	if(block.getLocation().getChunk().equals(chunk)) return;
-    	if(instance.getMain().checkIfClaimExists(chunk)) {
-    		if(instance.getMain().getOwnerInClaim(chunk).equals(instance.getMain().getOwnerInClaim(block.getLocation().getChunk()))) return;
-    		if(instance.getMain().canPermCheck(chunk, "Liquids", "Natural")) return;
-            if (block.isLiquid()) {
-                if (toBlock.getBlockData() instanceof Waterlogged) {
-                    Waterlogged waterlogged = (Waterlogged) toBlock.getBlockData();
-                    if (waterlogged.isWaterlogged()) {
-                        event.setCancelled(true);
-                        return;
-                    }
-                }
-                if (toBlock.isEmpty() || toBlock.isPassable()) {
-                    event.setCancelled(true);
-                }
-            } else {
-                if (block.getBlockData() instanceof Waterlogged) {
-                    Waterlogged waterlogged = (Waterlogged) block.getBlockData();
-                    if (waterlogged.isWaterlogged()) {
-                        event.setCancelled(true);
-                        return;
-                    }
-                }
-                if (toBlock.isEmpty() || toBlock.isPassable()) {
+    	Chunk fromChunk = block.getLocation().getChunk();
+    	if(fromChunk.equals(chunk)) return;
+    	if(instance.getMain().checkIfClaimExists(chunk) && instance.getMain().getOwnerInClaim(chunk).equals(instance.getMain().getOwnerInClaim(fromChunk))) return;
+    	if(!instance.getProtection().decide(toBlock, ProtectionEngine.Action.LIQUIDS, null).isDenied()) return;
+        if (block.isLiquid()) {
+            if (toBlock.getBlockData() instanceof Waterlogged) {
+                Waterlogged waterlogged = (Waterlogged) toBlock.getBlockData();
+                if (waterlogged.isWaterlogged()) {
                     event.setCancelled(true);
+                    return;
                 }
             }
-    	} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Liquids")) {
-    		if (block.isLiquid()) {
-                if (toBlock.getBlockData() instanceof Waterlogged) {
-                    Waterlogged waterlogged = (Waterlogged) toBlock.getBlockData();
-                    if (waterlogged.isWaterlogged()) {
-                        event.setCancelled(true);
-                        return;
-                    }
-                }
-                if (toBlock.isEmpty() || toBlock.isPassable()) {
-                    event.setCancelled(true);
-                }
-            } else {
-                if (block.getBlockData() instanceof Waterlogged) {
-                    Waterlogged waterlogged = (Waterlogged) block.getBlockData();
-                    if (waterlogged.isWaterlogged()) {
-                        event.setCancelled(true);
-                        return;
-                    }
-                }
-                if (toBlock.isEmpty() || toBlock.isPassable()) {
+            if (toBlock.isEmpty() || toBlock.isPassable()) {
+                event.setCancelled(true);
+            }
+        } else {
+            if (block.getBlockData() instanceof Waterlogged) {
+                Waterlogged waterlogged = (Waterlogged) block.getBlockData();
+                if (waterlogged.isWaterlogged()) {
                     event.setCancelled(true);
+                    return;
                 }
             }
-    	}
+            if (toBlock.isEmpty() || toBlock.isPassable()) {
+                event.setCancelled(true);
+            }
+        }
     }
     
     /**
@@ -1273,15 +858,11 @@ public class ClaimEvents implements Listener {
     		event.setCancelled(true);
     		return;
     	}
-    	Chunk targetChunk = block.getRelative(((Directional) event.getBlock().getBlockData()).getFacing()).getLocation().getChunk();
+    	Block target = block.getRelative(((Directional) event.getBlock().getBlockData()).getFacing());
+    	Chunk targetChunk = target.getLocation().getChunk();
     	if(block.getLocation().getChunk().equals(targetChunk)) return;
-    	WorldMode mode = instance.getSettings().getWorldMode(block.getLocation().getWorld().getName());
-    	if(instance.getMain().checkIfClaimExists(targetChunk)) {
-    		if(instance.getMain().getOwnerInClaim(block.getLocation().getChunk()).equals(instance.getMain().getOwnerInClaim(targetChunk))) return;
-    		if(!instance.getMain().canPermCheck(targetChunk, "Redstone", "Natural")) {
-    			event.setCancelled(true);
-    		}
-    	} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Redstone")) {
+    	if(instance.getMain().checkIfClaimExists(targetChunk) && instance.getMain().getOwnerInClaim(block.getLocation().getChunk()).equals(instance.getMain().getOwnerInClaim(targetChunk))) return;
+    	if(instance.getProtection().decide(target, ProtectionEngine.Action.REDSTONE, null).isDenied()) {
     		event.setCancelled(true);
     	}
     }
@@ -1291,18 +872,13 @@ public class ClaimEvents implements Listener {
 	    Block targetBlock = event.getBlock();
 	    Chunk targetChunk = targetBlock.getChunk();
 	    if (event.getNewCurrent() <= 0) return;
-	    WorldMode mode = instance.getSettings().getWorldMode(targetBlock.getLocation().getWorld().getName());
 	    BlockFace[] faces = { BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST };
 	    for (BlockFace face : faces) {
 	        Block neighbor = targetBlock.getRelative(face);
 	        if (neighbor.getType() == Material.AIR) continue;
 	        if (!neighbor.getChunk().equals(targetChunk)) {
-                if (instance.getMain().checkIfClaimExists(targetChunk)) {
-                	if(instance.getMain().getOwnerInClaim(neighbor.getChunk()).equals(instance.getMain().getOwnerInClaim(targetChunk))) return;
-                	if(!instance.getMain().canPermCheck(targetChunk, "Redstone", "Natural")) {
-                		event.setNewCurrent(0);
-                	}
-                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Redstone")) {
+                if (instance.getMain().checkIfClaimExists(targetChunk) && instance.getMain().getOwnerInClaim(neighbor.getChunk()).equals(instance.getMain().getOwnerInClaim(targetChunk))) return;
+                if (instance.getProtection().decide(targetBlock, ProtectionEngine.Action.REDSTONE, null).isDenied()) {
                 	event.setNewCurrent(0);
                 }
 	            return;
@@ -1358,38 +934,16 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onFrostWalkerUse(EntityBlockFormEvent event) {
-    	Chunk chunk = event.getBlock().getLocation().getChunk();
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
-    	if(instance.getMain().checkIfClaimExists(chunk)) {
-        	Claim claim = instance.getMain().getClaim(chunk);
-            if (event.getNewState().getType() == Material.FROSTED_ICE) {
-                Entity entity = event.getEntity();
-                if (entity instanceof Player) {
-                    Player player = (Player) entity;
-                    if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-                    if(claim.getPermissionForPlayer("FrostWalker", player)) return;
-                    ItemStack boots = player.getInventory().getBoots();
-                    if (boots != null && boots.containsEnchantment(Enchantment.FROST_WALKER)) {
-                    	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("frostwalker"), instance.getSettings().getSetting("protection-message"));
-                        event.setCancelled(true);
-                    }
-                }
-            }
-    	} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Frostwalker")) {
-            if (event.getNewState().getType() == Material.FROSTED_ICE) {
-                Entity entity = event.getEntity();
-                if (entity instanceof Player) {
-                    Player player = (Player) entity;
-                    if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-                    ItemStack boots = player.getInventory().getBoots();
-                    if (boots != null && boots.containsEnchantment(Enchantment.FROST_WALKER)) {
-                    	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("frostwalker-mode"), instance.getSettings().getSetting("protection-message"));
-                        event.setCancelled(true);
-                    }
-                }
-            }
-    	}
-
+    	if (event.getNewState().getType() != Material.FROSTED_ICE) return;
+    	if (!(event.getEntity() instanceof Player player)) return;
+    	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
+    	ProtectionEngine.Decision decision = instance.getProtection().decide(event.getBlock(), ProtectionEngine.Action.FROST_WALKER, player.getUniqueId());
+    	if (!decision.isDenied()) return;
+        ItemStack boots = player.getInventory().getBoots();
+        if (boots != null && boots.containsEnchantment(Enchantment.FROST_WALKER)) {
+        	instance.getProtection().sendDenied(player, ProtectionEngine.Action.FROST_WALKER, decision);
+            event.setCancelled(true);
+        }
     }
     
     /**
@@ -1398,15 +952,9 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockSpread(BlockSpreadEvent event) {
-        if (event.getNewState().getType() == Material.FIRE) {
-            Chunk chunk = event.getBlock().getLocation().getChunk();
-            WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
-            if(instance.getMain().checkIfClaimExists(chunk)) {
-                if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
-                event.setCancelled(true);
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Firespread")) {
-            	event.setCancelled(true);
-            }
+        if (event.getNewState().getType() == Material.FIRE
+        		&& instance.getProtection().decide(event.getBlock(), ProtectionEngine.Action.FIRE_SPREAD, null).isDenied()) {
+        	event.setCancelled(true);
         }
     }
     
@@ -1416,36 +964,17 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockIgnite(BlockIgniteEvent event) {
-        Chunk chunk = event.getBlock().getLocation().getChunk();
-        WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-            Claim claim = instance.getMain().getClaim(chunk);
-            Player player = event.getPlayer();
-            if(player != null) {
-            	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-    			if(!claim.getPermissionForPlayer("Build", player)) {
-    				event.setCancelled(true);
-    				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
-    				return;
-    			}
-    			return;
-            }
-            if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
-            event.setCancelled(true);
-        } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
-            Player player = event.getPlayer();
-            if(player != null) {
-            	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-    			if(!instance.getSettings().getSettingSRC("Build")) {
-    				event.setCancelled(true);
-    				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build-mode"), instance.getSettings().getSetting("protection-message"));
-    				return;
-    			}
-    			return;
-            }
-            if(!instance.getSettings().getSettingSRC("Firespread")) {
-            	event.setCancelled(true);
-            }
+        Block block = event.getBlock();
+        Player player = event.getPlayer();
+        if(player != null) {
+        	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
+        	if(instance.getProtection().denyAndNotify(player, block, ProtectionEngine.Action.BUILD, false)) {
+        		event.setCancelled(true);
+        	}
+        	return;
+        }
+        if(instance.getProtection().decide(block, ProtectionEngine.Action.FIRE_SPREAD, null).isDenied()) {
+        	event.setCancelled(true);
         }
     }
     
@@ -1455,15 +984,9 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockBurn(BlockBurnEvent event) {
-        Chunk chunk = event.getBlock().getLocation().getChunk();
-        WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-            if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
-            event.setCancelled(true);
-        } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Firespread")) {
+        if(instance.getProtection().decide(event.getBlock(), ProtectionEngine.Action.FIRE_SPREAD, null).isDenied()) {
         	event.setCancelled(true);
         }
-
     }
     
     /**
@@ -1475,35 +998,16 @@ public class ClaimEvents implements Listener {
     	Entity entity = event.getEntity();
     	if(entity instanceof ArmorStand || entity instanceof ItemFrame || entity instanceof GlowItemFrame) {
             Entity damager = event.getDamager();
-            WorldMode mode = instance.getSettings().getWorldMode(damager.getLocation().getWorld().getName());
-            Chunk chunk = entity.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk)) {
-                if (damager instanceof Player) {
-                	Claim claim = instance.getMain().getClaim(chunk);
-                	Player player = (Player) damager;
-                	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-                    if (!claim.getPermissionForPlayer("Destroy", player)) {
-                    	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
-                        event.setCancelled(true);
-                    }
-                	return;
-                }
-                if (!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
-                	event.setCancelled(true);
-                }
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
-                if (damager instanceof Player) {
-                	Player player = (Player) damager;
-                	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-                    if (!instance.getSettings().getSettingSRC("Destroy")) {
-                    	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
-                        event.setCancelled(true);
-                    }
-                	return;
-                }
-                if (!instance.getSettings().getSettingSRC("Destroy")) {
-                	event.setCancelled(true);
+            Location location = entity.getLocation();
+            if (damager instanceof Player player) {
+            	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
+                if (instance.getProtection().denyAndNotify(player, location, ProtectionEngine.Action.DESTROY)) {
+                    event.setCancelled(true);
                 }
+            	return;
+            }
+            if (instance.getProtection().decideAsVisitor(location, ProtectionEngine.Action.DESTROY).isDenied()) {
+            	event.setCancelled(true);
             }
         }
     }
@@ -1515,40 +1019,17 @@ public class ClaimEvents implements Listener {
     @EventHandler
     public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
         Entity entity = event.getEntity();
-        Chunk chunk = entity.getLocation().getChunk();
-        WorldMode mode = instance.getSettings().getWorldMode(entity.getLocation().getWorld().getName());
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-            if (!(entity instanceof Player) && !(entity instanceof Monster) && !(entity instanceof ArmorStand) && !(entity instanceof ItemFrame) ) {
-                Entity damager = event.getDamager();
-
-                if (damager instanceof Player) {
-                    processDamageByPlayer((Player) damager, chunk, event);
-                } else if (damager instanceof Projectile) {
-                    Projectile projectile = (Projectile) damager;
-                    ProjectileSource shooter = projectile.getShooter();
-                    if (shooter instanceof Player) {
-                        processDamageByPlayer((Player) shooter, chunk, event);
-                    }
-                }
-            }
-        } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Damages")) {
-            if (!(entity instanceof Player) && !(entity instanceof Monster) && !(entity instanceof ArmorStand) && !(entity instanceof ItemFrame) ) {
-                Entity damager = event.getDamager();
-                if (damager instanceof Player player) {
-                	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-                    event.setCancelled(true);
-                    instance.getMain().sendMessage(player, instance.getLanguage().getMessage("damages-mode"), instance.getSettings().getSetting("protection-message"));
-                } else if (damager instanceof Projectile) {
-                    Projectile projectile = (Projectile) damager;
-                    ProjectileSource shooter = projectile.getShooter();
-                    if (shooter instanceof Player player) {
-                        event.setCancelled(true);
-                        instance.getMain().sendMessage(player, instance.getLanguage().getMessage("damages-mode"), instance.getSettings().getSetting("protection-message"));
-                    }
-                }
+        if (entity instanceof Player || entity instanceof Monster || entity instanceof ArmorStand || entity instanceof ItemFrame) return;
+        Entity damager = event.getDamager();
+        if (damager instanceof Player) {
+            processDamageByPlayer((Player) damager, entity.getLocation(), event);
+        } else if (damager instanceof Projectile) {
+            Projectile projectile = (Projectile) damager;
+            ProjectileSource shooter = projectile.getShooter();
+            if (shooter instanceof Player) {
+                processDamageByPlayer((Player) shooter, entity.getLocation(), event);
             }
         }
-
     }
     
     /**
@@ -1561,19 +1042,11 @@ public class ClaimEvents implements Listener {
         if (entity instanceof Player) {
             Player player = (Player) entity;
             if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-            WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
             Entity vehicle = event.getVehicle();
             EntityType vehicleType = vehicle.getType();
-            if(!instance.getSettings().isRestrictedEntityType(vehicleType)) return;
-        	Chunk chunk = vehicle.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk)) {
-            	Claim claim = instance.getMain().getClaim(chunk);
-            	if(claim.getPermissionForPlayer("Entities", player)) return;
+            if(!instance.getSettings().getSnapshot().isRestrictedEntityType(vehicleType)) return;
+            if (instance.getProtection().denyAndNotify(player, vehicle.getLocation(), ProtectionEngine.Action.ENTITIES)) {
                 event.setCancelled(true);
-                instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Entities")) {
-                event.setCancelled(true);
-                instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities-mode"), instance.getSettings().getSetting("protection-message"));
             }
         }
     }
@@ -1589,18 +1062,9 @@ public class ClaimEvents implements Listener {
 
         if (entity.getType() == EntityType.PLAYER && block.getType() == Material.FARMLAND) {
             Player player = (Player) entity;
-            Chunk chunk = block.getLocation().getChunk();
-            WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-            if (instance.getMain().checkIfClaimExists(chunk)) {
-            	Claim claim = instance.getMain().getClaim(chunk);
-            	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-                if(!claim.getPermissionForPlayer("Destroy", player)) {
-                	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
-                    event.setCancelled(true);
-                }
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Destroy")) {
+            if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
+            if (instance.getProtection().denyAndNotify(player, block, ProtectionEngine.Action.DESTROY, false)) {
                 event.setCancelled(true);
-                instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
             }
         }
     }
@@ -1624,7 +1088,7 @@ public class ClaimEvents implements Listener {
             Block neighbor = block.getRelative(face);
             if (neighbor.getBlockPower() > 0 && !neighbor.getChunk().equals(currentChunk)) {
             	if(instance.getMain().getOwnerInClaim(neighbor.getChunk()).equals(instance.getMain().getOwnerInClaim(currentChunk))) return false;
-            	if(!instance.getMain().canPermCheck(currentChunk, "Redstone", "Natural")) {
+            	if(instance.getProtection().decide(block, ProtectionEngine.Action.REDSTONE, null) == ProtectionEngine.Decision.DENY_CLAIM) {
             		return true;
             	}
             }
@@ -1642,34 +1106,12 @@ public class ClaimEvents implements Listener {
      * @return true if the piston can move the blocks, false otherwise.
      */
     private boolean canPistonMoveBlock(List<Block> blocks, BlockFace direction, Chunk pistonChunk, boolean retractOrNot) {
-    	WorldMode mode = instance.getSettings().getWorldMode(pistonChunk.getWorld().getName());
-    	if(retractOrNot) {
-	        for (Block block : blocks) {
-	        	Chunk chunk = block.getLocation().getChunk();
-	            if (!chunk.equals(pistonChunk)) {
-	                if (instance.getMain().checkIfClaimExists(chunk)) {
-	                	if(instance.getMain().getOwnerInClaim(pistonChunk).equals(instance.getMain().getOwnerInClaim(chunk))) return true;
-	                	if(!instance.getMain().canPermCheck(chunk, "Redstone", "Natural")) {
-	                		return false;
-	                	}
-	                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Redstone")) {
-	                	return false;
-	                }
-	            }
-	        }
-	        return true;
-    	}
         for (Block block : blocks) {
-            Chunk chunk = block.getRelative(direction).getLocation().getChunk();
+        	Block target = retractOrNot ? block : block.getRelative(direction);
+        	Chunk chunk = target.getLocation().getChunk();
             if (!chunk.equals(pistonChunk)) {
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	if(instance.getMain().getOwnerInClaim(pistonChunk).equals(instance.getMain().getOwnerInClaim(chunk))) return true;
-                	if(!instance.getMain().canPermCheck(chunk, "Redstone", "Natural")) {
-                		return false;
-                	}
-                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Redstone")) {
-                	return false;
-                }
+                if (instance.getMain().checkIfClaimExists(chunk) && instance.getMain().getOwnerInClaim(pistonChunk).equals(instance.getMain().getOwnerInClaim(chunk))) return true;
+                if (instance.getProtection().decide(target, ProtectionEngine.Action.REDSTONE, null).isDenied()) return false;
             }
         }
         return true;
@@ -1678,15 +1120,13 @@ public class ClaimEvents implements Listener {
     /**
      * Processes damage by a player to prevent unauthorized damage in claims.
      * @param player the player causing the damage.
-     * @param chunk the chunk where the damage occurs.
+     * @param location the location of the damaged entity.
      * @param event the entity damage by entity event.
      */
-    private void processDamageByPlayer(Player player, Chunk chunk, EntityDamageByEntityEvent event) {
+    private void processDamageByPlayer(Player player, Location location, EntityDamageByEntityEvent event) {
         if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-        Claim claim = instance.getMain().getClaim(chunk);
-        if(!claim.getPermissionForPlayer("Damages", player)) {
+        if(instance.getProtection().denyAndNotify(player, location, ProtectionEngine.Action.DAMAGES)) {
             event.setCancelled(true);
-            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("damages"), instance.getSettings().getSetting("protection-message"));
         }
     }
     
@@ -1697,11 +1137,11 @@ public class ClaimEvents implements Listener {
      * @param chunk  The chunk.
      */
     private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
-    	Claim claimTo = instance.getMain().getClaim(to);
-    	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+    	ProtectionEngine protection = instance.getProtection();
+    	UUID playerId = player.getUniqueId();
+        if (protection.decide(to.getWorld().getUID(), to.getX(), to.getZ(), ProtectionEngine.Action.WEATHER, playerId).isDenied()) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (protection.decide(from.getWorld().getUID(), from.getX(), from.getZ(), ProtectionEngine.Action.WEATHER, playerId).isDenied()) {
             player.resetPlayerWeather();
         }
     }
@@ -1715,15 +1155,18 @@ public class ClaimEvents implements Listener {
      * @param owner   The owner of the chunk.
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
-    	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+    	SettingsSnapshot settings = instance.getSettings().getSnapshot();
+    	// The fly is only given in the claims, the owner included
+    	boolean claimed = instance.getMain().checkIfClaimExists(chunk);
+    	boolean canFly = claimed && !instance.getProtection().decide(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ(), ProtectionEngine.Action.FLY, player.getUniqueId()).isDenied();
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || canFly) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claimed && !canFly && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
             }
         }
@@ -1738,7 +1181,7 @@ public class ClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoDelChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autodelchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -1783,7 +1226,8 @@ public class ClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoAddChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoaddchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -1832,8 +1276,8 @@ public class ClaimEvents implements Listener {
             	.thenAccept(successs -> {
             		if (successs) {
             			double[] price = {0};
-                        if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                        if (settings.isEconomy() && settings.getBoolean("chunk-cost")) {
+                            price[0] = settings.getBoolean("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
                             double balance = instance.getVault().getPlayerBalance(playerName);
 
                             if (balance < price[0]) {
@@ -1849,7 +1293,7 @@ public class ClaimEvents implements Listener {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                         					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                         					.replace("%claim-name%", claim.getName())));
-                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                        			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
                         			return;
                         		} else {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -1880,7 +1324,7 @@ public class ClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoUnclaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autounclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -1938,7 +1382,8 @@ public class ClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoClaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -1962,8 +1407,8 @@ public class ClaimEvents implements Listener {
             }
             
             // Check if the player can pay
-            if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("claim-cost")) {
-                double price = instance.getSettings().getBooleanSetting("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
+            if (settings.isEconomy() && settings.getBoolean("claim-cost")) {
+                double price = settings.getBoolean("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
                 double balance = instance.getVault().getPlayerBalance(playerName);
 
                 if (balance < price) {
@@ -1981,7 +1426,7 @@ public class ClaimEvents implements Listener {
             		if (success) {
             			int remainingClaims = cPlayer.getMaxClaims() - cPlayer.getClaimsCount();
             			player.sendMessage(instance.getLanguage().getMessage("create-claim-success").replace("%remaining-claims%", instance.getMain().getNumberSeparate(String.valueOf(remainingClaims))));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
+            			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
             		} else {
             			player.sendMessage(instance.getLanguage().getMessage("error"));
             		}
@@ -2002,7 +1447,7 @@ public class ClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoMap(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("automap-world-disabled").replace("%world%", world));
             cPlayer.setClaimAutomap(false);
         } else {
@@ -2020,13 +1465,14 @@ public class ClaimEvents implements Listener {
      * @param ownerFROM The owner of the chunk the player is moving from.
      */
     private void handleEnterLeaveMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
-        if (instance.getSettings().getBooleanSetting("enter-leave-messages")) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.isEnterLeaveMessages()) {
             enterleaveMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-chat-messages")) {
+        if (settings.isEnterLeaveChatMessages()) {
             enterleaveChatMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-title-messages")) {
+        if (settings.isEnterLeaveTitleMessages()) {
             enterleavetitleMessages(player, to, from, ownerTO, ownerFROM);
         }
     }
@@ -2048,7 +1494,7 @@ public class ClaimEvents implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.chat")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.chat")) {
                 message = ownerTO.equals("*")
                         ? instance.getLanguage().getMessage("enter-protected-area-for-sale-chat")
                         		.replace("%name%", toName)
@@ -2102,7 +1548,7 @@ public class ClaimEvents implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.actionbar")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.actionbar")) {
         		message = ownerTO.equals("*")
                     ? instance.getLanguage().getMessage("enter-protected-area-for-sale")
                     		.replace("%name%", toName)
@@ -2155,7 +1601,7 @@ public class ClaimEvents implements Listener {
         	Claim claim = instance.getMain().getClaim(to);
         	String toTitleKey;
         	String toSubtitleKey;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.title")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.title")) {
             	toTitleKey = ownerTO.equals("*") ? instance.getLanguage().getMessage("enter-protected-area-for-sale-title")
             	        .replace("%name%", toName)
             	        .replace("%owner%", ownerTO)
@@ -2229,7 +1675,7 @@ public class ClaimEvents implements Listener {
     private void cancelTeleport(ProjectileHitEvent event, Player player, String message) {
     	event.getEntity().remove();
     	event.setCancelled(true);
-        instance.getMain().sendMessage(player, instance.getLanguage().getMessage(message), instance.getSettings().getSetting("protection-message"));
+        instance.getMain().sendMessage(player, instance.getLanguage().getMessage(message), instance.getSettings().getSnapshot().getProtectionMessage());
     }
     
 }
@@ -20,6 +20,8 @@ import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.vehicle.VehicleMoveEvent;
 import org.bukkit.util.Vector;
 
+import fr.mrbaguette07.SLclaim.Config.SettingsSnapshot;
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.MultiServer.MultiServerManager;
 import fr.mrbaguette07.SLclaim.MultiServer.ServerType;
@@ -72,11 +74,12 @@ public class ClaimEventsEnterLeave implements Listener {
      */
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
         Player player = event.getPlayer();
         instance.getPlayerMain().addPlayerPermSetting(player);
         instance.getPlayerMain().checkPlayer(player);
-        if (player.hasPermission("slclaim.admin") && instance.getSettings().getBooleanSetting("check-for-updates")
-        		&& instance.getSettings().getBooleanSetting("updates-notifications")) {
+        if (player.hasPermission("slclaim.admin") && settings.getBoolean("check-for-updates")
+        		&& settings.getBoolean("updates-notifications")) {
         	instance.checkForUpdatesAsync().thenAccept(update -> {
         		if(instance.isUpdateAvailable()) {
         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getUpdateMessage()));
@@ -90,8 +93,9 @@ public class ClaimEventsEnterLeave implements Listener {
             ServerType serverType = multiManager.getConfig().getServerType();
             // Seulement sur les serveurs SURVIVAL
             if (serverType == ServerType.SURVIVAL) {
-                // Attendre un peu pour que le joueur soit complètement connecté
-                instance.executeSyncLater(() -> {
+                // Charger la téléportation enregistrée dans Redis (le message pub/sub a pu être perdu),
+                // puis attendre un peu pour que le joueur soit complètement connecté
+                multiManager.loadPendingHandoff(player.getUniqueId()).thenRun(() -> instance.executeSyncLater(() -> {
                     // Vérifier d'abord si c'est un pending claim TP
                     MultiServerManager.ClaimTeleportData claimTpData = multiManager.consumePendingClaimTp(player.getUniqueId());
                     if (claimTpData != null) {
@@ -150,7 +154,7 @@ public class ClaimEventsEnterLeave implements Listener {
                         // Exécuter le RTP via la commande
                         player.performCommand("rtp");
                     }
-                }, 40); // 2 secondes de délai
+                }, 40)); // 2 secondes de délai
             }
         }
         
@@ -166,7 +170,7 @@ public class ClaimEventsEnterLeave implements Listener {
                 return;
             }
             
-            if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
+            if (!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.ENTER, player.getUniqueId()) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
             	instance.executeAsyncLater(() -> instance.getMain().teleportPlayerToExpulsion(player), 250);
                 return;
             }
@@ -188,6 +192,7 @@ public class ClaimEventsEnterLeave implements Listener {
         instance.getPlayerMain().removeCPlayer(player.getUniqueId());
         instance.getMain().clearDataForPlayer(player);
         instance.getBossBars().removePlayer(player);
+        instance.getLanguage().clearPlayerCache(player.getUniqueId());
     }
     
     /**
@@ -198,6 +203,7 @@ public class ClaimEventsEnterLeave implements Listener {
     @EventHandler
     public void onVehicleMove(VehicleMoveEvent event) {
     	if (!hasChangedChunk(event)) return;
+    	SettingsSnapshot settings = instance.getSettings().getSnapshot();
     	Vehicle vehicle = event.getVehicle();
     	if(vehicle == null) return;
         if (vehicle instanceof Boat || vehicle instanceof Minecart) {
@@ -210,7 +216,7 @@ public class ClaimEventsEnterLeave implements Listener {
                 	if(claimFrom != null && claim.getOwner().equals(claimFrom.getOwner())) {
                 		return;
                 	}
-        	        if (!instance.getMain().canPermCheck(to, "Enter", "Visitors")) {
+        	        if (instance.getProtection().decideAsVisitor(event.getTo(), ProtectionEngine.Action.ENTER).isDenied()) {
         	        	Vector velocity = vehicle.getVelocity();
         	        	vehicle.setVelocity(velocity.multiply(-1));
         	        	return;
@@ -238,33 +244,33 @@ public class ClaimEventsEnterLeave implements Listener {
             	            Location newLocation = player.getLocation().add(direction.normalize().multiply(3));
             	            instance.getMain().teleportPlayer(player, newLocation);
             	        	vehicle.remove();
-            	            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), instance.getSettings().getSetting("protection-message"));
-            	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
+            	            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), settings.getProtectionMessage());
+            	        	if(settings.isClaimParticlesNotEnter()) {
             	        		instance.getMain().displayChunksNotEnter(player, new CustomSet<>(claim.getChunks()));
             	        	}
             	            return;
             	        }
-            	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
+            	        if (!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.ENTER, player.getUniqueId()) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
             	            Vector direction = player.getLocation().getDirection();
             	            direction.multiply(-1);
             	            Location newLocation = player.getLocation().add(direction.normalize().multiply(3));
             	            instance.getMain().teleportPlayer(player, newLocation);
             	        	vehicle.remove();
-            	        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), instance.getSettings().getSetting("protection-message"));
-            	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
+            	        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), settings.getProtectionMessage());
+            	        	if(settings.isClaimParticlesNotEnter()) {
             	        		instance.getMain().displayChunksNotEnter(player, new CustomSet<>(claim.getChunks()));
             	        	}
             	        	return;
             	        }
             	        
-            	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || claim.getPermissionForPlayer("Fly",player)) && !instance.isFolia()) {
+            	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId())) && !instance.isFolia()) {
             	            instance.getPlayerMain().activePlayerFly(player);
-            	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            	            if (settings.isClaimFlyMessageAutoFly()) {
             	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             	            }
-            	        } else if (!claim.getPermissionForPlayer("Fly",player) && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
+            	        } else if (!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId()) && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
             	            instance.getPlayerMain().removePlayerFly(player);
-            	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            	            if (settings.isClaimFlyMessageAutoFly()) {
             	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
             	            }
             	        }
@@ -308,6 +314,7 @@ public class ClaimEventsEnterLeave implements Listener {
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
         if (!hasChangedChunk(event)) return;
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
 
         Chunk to = event.getTo().getChunk();
         Chunk from = event.getFrom().getChunk();
@@ -342,13 +349,13 @@ public class ClaimEventsEnterLeave implements Listener {
 	        	playerLocation.setY(player.getLocation().getY());
 	        	
 	            instance.getMain().teleportPlayer(player, playerLocation);
-	            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), instance.getSettings().getSetting("protection-message"));
-	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
+	            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), settings.getProtectionMessage());
+	        	if(settings.isClaimParticlesNotEnter()) {
 	        		instance.getMain().displayChunksNotEnter(player, new CustomSet<>(claim.getChunks()));
 	        	}
 	            return;
 	        }
-	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
+	        if (!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.ENTER, player.getUniqueId()) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
 
 	        	Location toLoc = event.getTo();
 	        	Location fromLoc = event.getFrom();
@@ -369,21 +376,21 @@ public class ClaimEventsEnterLeave implements Listener {
 	        	playerLocation.setY(player.getLocation().getY());
 	        	
 	            instance.getMain().teleportPlayer(player, playerLocation);
-	        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), instance.getSettings().getSetting("protection-message"));
-	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
+	        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), settings.getProtectionMessage());
+	        	if(settings.isClaimParticlesNotEnter()) {
 	        		instance.getMain().displayChunksNotEnter(player, new CustomSet<>(claim.getChunks()));
 	        	}
 	        	return;
 	        }
 	        
-	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || claim.getPermissionForPlayer("Fly",player)) && !instance.isFolia()) {
+	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId())) && !instance.isFolia()) {
 	            instance.getPlayerMain().activePlayerFly(player);
-	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+	            if (settings.isClaimFlyMessageAutoFly()) {
 	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
 	            }
-	        } else if (!claim.getPermissionForPlayer("Fly",player) && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
+	        } else if (!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId()) && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
 	            instance.getPlayerMain().removePlayerFly(player);
-	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+	            if (settings.isClaimFlyMessageAutoFly()) {
 	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
 	            }
 	        }
@@ -431,9 +438,9 @@ public class ClaimEventsEnterLeave implements Listener {
     private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
     	Claim claimTo = instance.getMain().getClaim(to);
     	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+        if (instance.getMain().checkIfClaimExists(to) && !instance.getProtection().isAllowed(claimTo, ProtectionEngine.Action.WEATHER, player.getUniqueId())) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (instance.getMain().checkIfClaimExists(from) && !instance.getProtection().isAllowed(claimFrom, ProtectionEngine.Action.WEATHER, player.getUniqueId())) {
             player.resetPlayerWeather();
         }
     }
@@ -447,15 +454,16 @@ public class ClaimEventsEnterLeave implements Listener {
      * @param owner   The owner of the chunk.
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
+    	SettingsSnapshot settings = instance.getSettings().getSnapshot();
     	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId())) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claim != null && !instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId()) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
             }
         }
@@ -470,7 +478,7 @@ public class ClaimEventsEnterLeave implements Listener {
      * @param world The world name.
      */
     private void handleAutoDelChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autodelchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -515,11 +523,12 @@ public class ClaimEventsEnterLeave implements Listener {
      * @param world The world name.
      */
     private void handleAutoAddChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoaddchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
-            if (instance.getSettings().getBooleanSetting("worldguard") && !instance.getWorldGuard().checkFlagClaim(player)) {
+            if (settings.isWorldguard() && !instance.getWorldGuard().checkFlagClaim(player)) {
                 player.sendMessage(instance.getLanguage().getMessage("worldguard-cannot-claim-in-region"));
                 return;
             }
@@ -568,8 +577,8 @@ public class ClaimEventsEnterLeave implements Listener {
             	.thenAccept(successs -> {
             		if (successs) {
             			double[] price = {0};
-                        if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                        if (settings.isEconomy() && settings.getBoolean("chunk-cost")) {
+                            price[0] = settings.getBoolean("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
                             double balance = instance.getVault().getPlayerBalance(playerName);
 
                             if (balance < price[0]) {
@@ -585,7 +594,7 @@ public class ClaimEventsEnterLeave implements Listener {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                         					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                         					.replace("%claim-name%", claim.getName())));
-                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                        			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
                         			return;
                         		} else {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -616,7 +625,7 @@ public class ClaimEventsEnterLeave implements Listener {
      * @param world The world name.
      */
     private void handleAutoUnclaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autounclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -674,13 +683,14 @@ public class ClaimEventsEnterLeave implements Listener {
      * @param world The world name.
      */
     private void handleAutoClaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
         	String playerName = player.getName();
         	
-            if (instance.getSettings().getBooleanSetting("worldguard") && !instance.getWorldGuard().checkFlagClaim(player)) {
+            if (settings.isWorldguard() && !instance.getWorldGuard().checkFlagClaim(player)) {
                 player.sendMessage(instance.getLanguage().getMessage("worldguard-cannot-claim-in-region"));
                 return;
             }
@@ -704,8 +714,8 @@ public class ClaimEventsEnterLeave implements Listener {
             }
             
             // Check if the player can pay
-            if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("claim-cost")) {
-                double price = instance.getSettings().getBooleanSetting("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
+            if (settings.isEconomy() && settings.getBoolean("claim-cost")) {
+                double price = settings.getBoolean("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
                 double balance = instance.getVault().getPlayerBalance(playerName);
 
                 if (balance < price) {
@@ -723,7 +733,7 @@ public class ClaimEventsEnterLeave implements Listener {
             		if (success) {
             			int remainingClaims = cPlayer.getMaxClaims() - cPlayer.getClaimsCount();
             			player.sendMessage(instance.getLanguage().getMessage("create-claim-success").replace("%remaining-claims%", instance.getMain().getNumberSeparate(String.valueOf(remainingClaims))));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
+            			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
             		} else {
             			player.sendMessage(instance.getLanguage().getMessage("error"));
             		}
@@ -744,7 +754,7 @@ public class ClaimEventsEnterLeave implements Listener {
      * @param world The world name.
      */
     private void handleAutoMap(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("automap-world-disabled").replace("%world%", world));
             cPlayer.setClaimAutomap(false);
         } else {
@@ -762,13 +772,14 @@ public class ClaimEventsEnterLeave implements Listener {
      * @param ownerFROM The owner of the chunk the player is moving from.
      */
     private void handleEnterLeaveMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
-        if (instance.getSettings().getBooleanSetting("enter-leave-messages")) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.isEnterLeaveMessages()) {
             enterleaveMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-chat-messages")) {
+        if (settings.isEnterLeaveChatMessages()) {
             enterleaveChatMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-title-messages")) {
+        if (settings.isEnterLeaveTitleMessages()) {
             enterleavetitleMessages(player, to, from, ownerTO, ownerFROM);
         }
     }
@@ -790,7 +801,7 @@ public class ClaimEventsEnterLeave implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.chat")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.chat")) {
                 message = ownerTO.equals("*")
                         ? instance.getLanguage().getMessage("enter-protected-area-for-sale-chat")
                         		.replace("%name%", toName)
@@ -844,7 +855,7 @@ public class ClaimEventsEnterLeave implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.actionbar")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.actionbar")) {
         		message = ownerTO.equals("*")
                     ? instance.getLanguage().getMessage("enter-protected-area-for-sale")
                     		.replace("%name%", toName)
@@ -897,7 +908,7 @@ public class ClaimEventsEnterLeave implements Listener {
         	Claim claim = instance.getMain().getClaim(to);
         	String toTitleKey;
         	String toSubtitleKey;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.title")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.title")) {
             	toTitleKey = ownerTO.equals("*") ? instance.getLanguage().getMessage("enter-protected-area-for-sale-title")
             	        .replace("%name%", toName)
             	        .replace("%owner%", ownerTO)
@@ -15,6 +15,7 @@ import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.Commands.ClaimCommand;
 import fr.mrbaguette07.SLclaim.Commands.UnclaimCommand;
@@ -860,7 +861,7 @@ public class ClaimGuiEvents implements Listener {
             	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.command.claim.tp")) {
             		Claim claim = cPlayer.getMapClaim(clickedSlot);
             		if(claim == null) return;
-            		if(!claim.getPermissionForPlayer("GuiTeleport",player) && !claim.getOwner().equals(player.getName())) return;
+            		if(!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.GUI_TELEPORT, player.getUniqueId()) && !claim.getOwner().equals(player.getName())) return;
             		player.closeInventory();
 		        	instance.getMain().goClaim(player, cPlayer.getMapLoc(clickedSlot));
 		        	return;
@@ -1017,7 +1018,7 @@ public class ClaimGuiEvents implements Listener {
         	
         	if(event.getClick() == ClickType.LEFT) {
         		if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.command.claim.tp")) {
-		            if(!claim.getPermissionForPlayer("GuiTeleport",player) && !claim.getOwner().equals(player.getName()) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.guiteleport")) return;
+		            if(!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.GUI_TELEPORT, player.getUniqueId()) && !claim.getOwner().equals(player.getName()) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.guiteleport")) return;
 		            instance.executeEntitySync(player, () -> player.closeInventory());
 		        	instance.getMain().goClaim(player, cPlayer.getMapLoc(clickedSlot));
 		        	return;
@@ -1025,7 +1026,7 @@ public class ClaimGuiEvents implements Listener {
         		return;
         	}
         	if(event.getClick() == ClickType.SHIFT_LEFT) {
-        		if(instance.getSettings().getBooleanSetting("economy")) {
+        		if(instance.getSettings().getSnapshot().isEconomy()) {
                 	if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.command.claim.buy")) return;
         			if(claim.getOwner().equals(player.getName())) {
         				player.sendMessage(instance.getLanguage().getMessage("cant-buy-your-own-claim"));
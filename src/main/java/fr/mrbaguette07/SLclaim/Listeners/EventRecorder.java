@@ -0,0 +1,239 @@
+package fr.mrbaguette07.SLclaim.Listeners;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+import fr.mrbaguette07.SLclaim.SLclaim;
+import fr.mrbaguette07.SLclaim.Types.EventTrace;
+
+/**
+ * This class records the events handled by the protection listeners into a trace file
+ * (see {@link EventTrace}), to replay them offline. The claims are exported at the start.
+ * The events are encoded in memory on the server threads and written to the file by a
+ * background thread every second.
+ * They are captured at the lowest priority, before the protection listeners change them
+ * (exploded blocks removed, redstone current set to 0), so the replay gets the same input.
+ */
+public class EventRecorder implements Listener {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Instance of SLclaim */
+	private final SLclaim instance;
+
+	/** The file writer thread */
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "SLclaim-EventRecorder");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/** The current trace, or null if not recording */
+	private volatile EventTrace.Writer writer;
+
+	/** The current file and its stream */
+	private File file;
+	private volatile OutputStream output;
+
+	/** The periodic flush and the automatic stop */
+	private ScheduledFuture<?> flushTask;
+	private ScheduledFuture<?> stopTask;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Constructor for EventRecorder.
+	 *
+	 * @param instance The instance of the SLclaim plugin.
+	 */
+	public EventRecorder(SLclaim instance) {
+		this.instance = instance;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Checks if a trace is being recorded.
+	 *
+	 * @return True if recording
+	 */
+	public boolean isRecording() {
+		return writer != null;
+	}
+
+	/**
+	 * Starts recording into a new file of the traces folder.
+	 *
+	 * @param maxSeconds The duration after which the recording stops, or 0 for no limit
+	 * @return The file, or null if the recording could not start
+	 */
+	public synchronized File start(int maxSeconds) {
+		if (writer != null) return null;
+		File folder = new File(instance.getDataFolder(), "traces");
+		if (!folder.exists() && !folder.mkdirs()) return null;
+		File traceFile = new File(folder, "trace-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".sltrace");
+		try {
+			output = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(traceFile), 1 << 16), 1 << 16);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+		file = traceFile;
+		EventTrace.Writer traceWriter = new EventTrace.Writer(System.currentTimeMillis());
+		instance.getMain().getAllClaims().forEach(traceWriter::claim);
+		writer = traceWriter;
+		Bukkit.getPluginManager().registerEvents(this, instance);
+		flushTask = executor.scheduleAtFixedRate(this::flush, 1, 1, TimeUnit.SECONDS);
+		if (maxSeconds > 0) {
+			stopTask = executor.schedule(() -> instance.executeSync(this::stop), maxSeconds, TimeUnit.SECONDS);
+		}
+		return traceFile;
+	}
+
+	/**
+	 * Stops the recording and closes the file.
+	 *
+	 * @return The file, or null if not recording
+	 */
+	public synchronized File stop() {
+		EventTrace.Writer traceWriter = writer;
+		if (traceWriter == null) return null;
+		HandlerList.unregisterAll(this);
+		writer = null;
+		if (flushTask != null) flushTask.cancel(false);
+		if (stopTask != null) stopTask.cancel(false);
+		traceWriter.end();
+		OutputStream stream = output;
+		File traceFile = file;
+		executor.execute(() -> {
+			try {
+				stream.write(traceWriter.drain());
+				stream.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		});
+		output = null;
+		file = null;
+		return traceFile;
+	}
+
+	/**
+	 * Writes the buffered events to the file (writer thread).
+	 */
+	private void flush() {
+		EventTrace.Writer traceWriter = writer;
+		OutputStream stream = output;
+		if (traceWriter == null || stream == null) return;
+		try {
+			stream.write(traceWriter.drain());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Stops the recording and the writer thread (plugin disable).
+	 */
+	public void shutdown() {
+		stop();
+		executor.shutdown();
+		try {
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+    // ************
+    // *  Events  *
+    // ************
+
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onBlockBreak(BlockBreakEvent event) {
+		EventTrace.Writer w = writer;
+		if (w != null) w.playerBlock(EventTrace.BLOCK_BREAK, event.getPlayer(), event.getBlock(), event.getBlock().getType().name());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onBlockPlace(BlockPlaceEvent event) {
+		EventTrace.Writer w = writer;
+		if (w != null) w.playerBlock(EventTrace.BLOCK_PLACE, event.getPlayer(), event.getBlock(), event.getBlockPlaced().getType().name());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onPlayerMove(PlayerMoveEvent event) {
+		EventTrace.Writer w = writer;
+		if (w != null) w.move(event.getPlayer(), event.getFrom(), event.getTo());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onBlockFromTo(BlockFromToEvent event) {
+		EventTrace.Writer w = writer;
+		if (w != null) w.fromTo(event.getBlock(), event.getFace().ordinal(), event.getBlock().getType().name());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onBlockRedstone(BlockRedstoneEvent event) {
+		EventTrace.Writer w = writer;
+		if (w != null) w.redstone(event.getBlock(), event.getOldCurrent(), event.getNewCurrent());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onEntityExplode(EntityExplodeEvent event) {
+		EventTrace.Writer w = writer;
+		if (w != null) w.explosion(EventTrace.ENTITY_EXPLODE, event.getLocation(), event.getEntityType().name(), event.blockList());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onBlockExplode(BlockExplodeEvent event) {
+		EventTrace.Writer w = writer;
+		if (w == null) return;
+		String source = event.getExplodedBlockState() == null ? event.getBlock().getType().name() : event.getExplodedBlockState().getType().name();
+		w.explosion(EventTrace.BLOCK_EXPLODE, event.getBlock().getLocation(), source, event.blockList());
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onPlayerInteract(PlayerInteractEvent event) {
+		EventTrace.Writer w = writer;
+		if (w != null) w.interact(event.getPlayer(), event.getAction().ordinal(), event.getClickedBlock(), event.getMaterial().name());
+	}
+}
@@ -3,23 +3,21 @@ package fr.mrbaguette07.SLclaim.Listeners;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
-import org.bukkit.Location;
 import org.bukkit.WeatherType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.PlayerAttemptPickupItemEvent;
-import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 
 import com.destroystokyo.paper.event.player.PlayerPostRespawnEvent;
 
+import fr.mrbaguette07.SLclaim.Config.SettingsSnapshot;
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.Types.CPlayer;
 import fr.mrbaguette07.SLclaim.Types.Claim;
@@ -62,66 +60,54 @@ public class FoliaClaimEvents implements Listener {
     
     /**
      * Handles the player post respawn event.
+     * Fired once per respawn, once the player is placed in the world; the work runs
+     * on the region thread owning the player.
      * 
      * @param event The PlayerPostRespawnEvent event.
      */
     @EventHandler
-    public void onPlayerRespawn(PlayerRespawnEvent event) {
-    	if(instance.isFolia()) {
-        	Player player = event.getPlayer();
-            
-        	Bukkit.getRegionScheduler().run(instance, event.getRespawnLocation(), task -> {
-                Chunk to = event.getRespawnLocation().getChunk();
-                
-                instance.executeSync(() -> {
-                    String ownerTO = instance.getMain().getOwnerInClaim(to);
-                    
-                    CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
-                    if(cPlayer == null) return;
-                    
-                    String world = player.getWorld().getName();
-                    
-                    handleWeatherSettings(player, to, null);
-                    instance.getBossBars().activeBossBar(player, to);
-                    handleAutoFly(player, cPlayer, to, ownerTO);
-
-                    if (cPlayer.getClaimAuto().equals("addchunk")) {
-                        handleAutoAddChunk(player, cPlayer, to, world);
-                    } else if (cPlayer.getClaimAuto().equals("delchunk")) {
-                        handleAutoDelChunk(player, cPlayer, to, world);
-                    } else if (cPlayer.getClaimAuto().equals("claim")) {
-                        handleAutoClaim(player, cPlayer, to, world);
-                    } else if (cPlayer.getClaimAuto().equals("unclaim")) {
-                        handleAutoUnclaim(player, cPlayer, to, world);
-                    }
-
-                    if (cPlayer.getClaimAutomap()) {
-                        handleAutoMap(player, cPlayer, to, world);
-                    }
-                });
-
-        	});
-
+    public void onPlayerPostRespawn(PlayerPostRespawnEvent event) {
+    	Player player = event.getPlayer();
+    	if (Bukkit.isOwnedByCurrentRegion(player)) {
+    		handleRespawn(player);
+    	} else {
+    		player.getScheduler().run(instance, task -> handleRespawn(player), null);
     	}
     }
     
-    @EventHandler
-    public void onPlayerDeath(PlayerDeathEvent event) {
-		Player player = event.getPlayer();
-		Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> {
-			if(player != null && player.isOnline()) {
-				if(!player.isDead()) {
-					instance.executeSync(() -> {
-                        Location currentLocation = player.getLocation();
-                        PlayerRespawnEvent e = new PlayerRespawnEvent(player, currentLocation, false);
-			    		Bukkit.getPluginManager().callEvent(e);
-					});
-					task.cancel();
-				}
-			} else {
-				task.cancel();
-			}
-		}, 250, 250, TimeUnit.MILLISECONDS);
+    /**
+     * Re-evaluates the claim of a respawned player (weather, bossbar, autofly, auto modes).
+     * Must be called on the region thread owning the player.
+     * 
+     * @param player The respawned player.
+     */
+    private void handleRespawn(Player player) {
+    	if (!player.isOnline()) return;
+    	
+        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
+        if(cPlayer == null) return;
+        
+        Chunk to = player.getLocation().getChunk();
+        String ownerTO = instance.getMain().getOwnerInClaim(to);
+        String world = player.getWorld().getName();
+        
+        handleWeatherSettings(player, to, null);
+        instance.getBossBars().activeBossBar(player, to);
+        handleAutoFly(player, cPlayer, to, ownerTO);
+
+        if (cPlayer.getClaimAuto().equals("addchunk")) {
+            handleAutoAddChunk(player, cPlayer, to, world);
+        } else if (cPlayer.getClaimAuto().equals("delchunk")) {
+            handleAutoDelChunk(player, cPlayer, to, world);
+        } else if (cPlayer.getClaimAuto().equals("claim")) {
+            handleAutoClaim(player, cPlayer, to, world);
+        } else if (cPlayer.getClaimAuto().equals("unclaim")) {
+            handleAutoUnclaim(player, cPlayer, to, world);
+        }
+
+        if (cPlayer.getClaimAutomap()) {
+            handleAutoMap(player, cPlayer, to, world);
+        }
     }
     
 	/**
@@ -157,21 +143,11 @@ public class FoliaClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerPickupItem(PlayerAttemptPickupItemEvent event) {
-    	Chunk chunk = event.getItem().getLocation().getChunk();
     	Player player = event.getPlayer();
-    	WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
     	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("ItemsPickup", player)) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemspickup"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("ItemsPickup")) {
-        	event.setCancelled(true);
-        	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemspickup-mode"), instance.getSettings().getSetting("protection-message"));
-        }
+    	if (instance.getProtection().denyAndNotify(player, event.getItem().getLocation(), ProtectionEngine.Action.ITEMS_PICKUP)) {
+    		event.setCancelled(true);
+    	}
     }
     
     /**
@@ -206,7 +182,7 @@ public class FoliaClaimEvents implements Listener {
             	            return;
             	        }
             	        
-            	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
+            	        if (!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.ENTER, player.getUniqueId()) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
             	            cancelTeleport(event, player, "enter");
             	            return;
             	        }
@@ -261,7 +237,7 @@ public class FoliaClaimEvents implements Listener {
      */
     private void cancelTeleport(PlayerTeleportEvent event, Player player, String message) {
     	instance.executeAsyncLater(() -> instance.getMain().teleportPlayer(player, event.getFrom()), 50);
-        instance.getMain().sendMessage(player, instance.getLanguage().getMessage(message), instance.getSettings().getSetting("protection-message"));
+        instance.getMain().sendMessage(player, instance.getLanguage().getMessage(message), instance.getSettings().getSnapshot().getProtectionMessage());
     }
 
     /**
@@ -273,7 +249,7 @@ public class FoliaClaimEvents implements Listener {
      * @return True if the teleport is blocked, false otherwise.
      */
     private boolean isTeleportBlocked(PlayerTeleportEvent event, Player player, Claim claim) {
-        if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass") && !claim.getPermissionForPlayer("Teleportations",player)) {
+        if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass") && !instance.getProtection().isAllowed(claim, ProtectionEngine.Action.TELEPORTATIONS, player.getUniqueId())) {
             switch (event.getCause()) {
                 case ENDER_PEARL:
                 case CHORUS_FRUIT:
@@ -294,9 +270,9 @@ public class FoliaClaimEvents implements Listener {
     private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
     	Claim claimTo = instance.getMain().getClaim(to);
     	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+        if (instance.getMain().checkIfClaimExists(to) && !instance.getProtection().isAllowed(claimTo, ProtectionEngine.Action.WEATHER, player.getUniqueId())) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (instance.getMain().checkIfClaimExists(from) && !instance.getProtection().isAllowed(claimFrom, ProtectionEngine.Action.WEATHER, player.getUniqueId())) {
             player.resetPlayerWeather();
         }
     }
@@ -310,15 +286,16 @@ public class FoliaClaimEvents implements Listener {
      * @param owner   The owner of the chunk.
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
+    	SettingsSnapshot settings = instance.getSettings().getSnapshot();
     	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId())) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claim != null && !instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId()) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
             }
         }
@@ -333,7 +310,7 @@ public class FoliaClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoDelChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autodelchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -378,12 +355,13 @@ public class FoliaClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoAddChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoaddchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
         	
-            if (instance.getSettings().getBooleanSetting("worldguard") && !instance.getWorldGuard().checkFlagClaim(player)) {
+            if (settings.isWorldguard() && !instance.getWorldGuard().checkFlagClaim(player)) {
                 player.sendMessage(instance.getLanguage().getMessage("worldguard-cannot-claim-in-region"));
                 return;
             }
@@ -433,8 +411,8 @@ public class FoliaClaimEvents implements Listener {
             	.thenAccept(successs -> {
             		if (successs) {
             			double[] price = {0};
-                        if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                        if (settings.isEconomy() && settings.getBoolean("chunk-cost")) {
+                            price[0] = settings.getBoolean("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
                             double balance = instance.getVault().getPlayerBalance(playerName);
 
                             if (balance < price[0]) {
@@ -450,7 +428,7 @@ public class FoliaClaimEvents implements Listener {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                         					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                         					.replace("%claim-name%", claim.getName())));
-                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                        			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
                         			return;
                         		} else {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -481,7 +459,7 @@ public class FoliaClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoUnclaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autounclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -539,12 +517,13 @@ public class FoliaClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoClaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
         	
-            if (instance.getSettings().getBooleanSetting("worldguard") && !instance.getWorldGuard().checkFlagClaim(player)) {
+            if (settings.isWorldguard() && !instance.getWorldGuard().checkFlagClaim(player)) {
                 player.sendMessage(instance.getLanguage().getMessage("worldguard-cannot-claim-in-region"));
                 return;
             }
@@ -569,8 +548,8 @@ public class FoliaClaimEvents implements Listener {
             }
             
             // Check if the player can pay
-            if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("claim-cost")) {
-                double price = instance.getSettings().getBooleanSetting("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
+            if (settings.isEconomy() && settings.getBoolean("claim-cost")) {
+                double price = settings.getBoolean("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
                 double balance = instance.getVault().getPlayerBalance(playerName);
 
                 if (balance < price) {
@@ -588,7 +567,7 @@ public class FoliaClaimEvents implements Listener {
             		if (success) {
             			int remainingClaims = cPlayer.getMaxClaims() - cPlayer.getClaimsCount();
             			player.sendMessage(instance.getLanguage().getMessage("create-claim-success").replace("%remaining-claims%", instance.getMain().getNumberSeparate(String.valueOf(remainingClaims))));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
+            			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
             		} else {
             			player.sendMessage(instance.getLanguage().getMessage("error"));
             		}
@@ -609,7 +588,7 @@ public class FoliaClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoMap(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("automap-world-disabled").replace("%world%", world));
             cPlayer.setClaimAutomap(false);
         } else {
@@ -627,13 +606,14 @@ public class FoliaClaimEvents implements Listener {
      * @param ownerFROM The owner of the chunk the player is moving from.
      */
     private void handleEnterLeaveMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
-        if (instance.getSettings().getBooleanSetting("enter-leave-messages")) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.isEnterLeaveMessages()) {
             enterleaveMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-chat-messages")) {
+        if (settings.isEnterLeaveChatMessages()) {
             enterleaveChatMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-title-messages")) {
+        if (settings.isEnterLeaveTitleMessages()) {
             enterleavetitleMessages(player, to, from, ownerTO, ownerFROM);
         }
     }
@@ -655,7 +635,7 @@ public class FoliaClaimEvents implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.chat")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.chat")) {
                 message = ownerTO.equals("*")
                         ? instance.getLanguage().getMessage("enter-protected-area-for-sale-chat")
                         		.replace("%name%", toName)
@@ -709,7 +689,7 @@ public class FoliaClaimEvents implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.actionbar")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.actionbar")) {
         		message = ownerTO.equals("*")
                     ? instance.getLanguage().getMessage("enter-protected-area-for-sale")
                     		.replace("%name%", toName)
@@ -762,7 +742,7 @@ public class FoliaClaimEvents implements Listener {
         	Claim claim = instance.getMain().getClaim(to);
         	String toTitleKey;
         	String toSubtitleKey;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.title")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.title")) {
             	toTitleKey = ownerTO.equals("*") ? instance.getLanguage().getMessage("enter-protected-area-for-sale-title")
             	        .replace("%name%", toName)
             	        .replace("%owner%", ownerTO)
@@ -17,6 +17,8 @@ import org.bukkit.event.player.PlayerTeleportEvent;
 
 import com.destroystokyo.paper.event.player.PlayerPostRespawnEvent;
 
+import fr.mrbaguette07.SLclaim.Config.SettingsSnapshot;
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.Types.CPlayer;
 import fr.mrbaguette07.SLclaim.Types.Claim;
@@ -126,21 +128,11 @@ public class PaperClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerPickupItem(PlayerAttemptPickupItemEvent event) {
-    	Chunk chunk = event.getItem().getLocation().getChunk();
     	Player player = event.getPlayer();
-    	WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
     	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("ItemsPickup", player)) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemspickup"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("ItemsPickup")) {
-        	event.setCancelled(true);
-        	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemspickup-mode"), instance.getSettings().getSetting("protection-message"));
-        }
+    	if (instance.getProtection().denyAndNotify(player, event.getItem().getLocation(), ProtectionEngine.Action.ITEMS_PICKUP)) {
+    		event.setCancelled(true);
+    	}
     }
     
     /**
@@ -172,7 +164,7 @@ public class PaperClaimEvents implements Listener {
 	            return;
 	        }
 	        
-	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
+	        if (!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.ENTER, player.getUniqueId()) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
 	            cancelTeleport(event, player, "enter");
 	            return;
 	        }
@@ -226,7 +218,7 @@ public class PaperClaimEvents implements Listener {
     	} else {
     		event.setCancelled(true);
     	}
-        instance.getMain().sendMessage(player, instance.getLanguage().getMessage(message), instance.getSettings().getSetting("protection-message"));
+        instance.getMain().sendMessage(player, instance.getLanguage().getMessage(message), instance.getSettings().getSnapshot().getProtectionMessage());
     }
 
     /**
@@ -238,7 +230,7 @@ public class PaperClaimEvents implements Listener {
      * @return True if the teleport is blocked, false otherwise.
      */
     private boolean isTeleportBlocked(PlayerTeleportEvent event, Player player, Claim claim) {
-        if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass") && !claim.getPermissionForPlayer("Teleportations",player)) {
+        if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass") && !instance.getProtection().isAllowed(claim, ProtectionEngine.Action.TELEPORTATIONS, player.getUniqueId())) {
             switch (event.getCause()) {
                 case ENDER_PEARL:
                 case CHORUS_FRUIT:
@@ -259,9 +251,9 @@ public class PaperClaimEvents implements Listener {
     private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
     	Claim claimTo = instance.getMain().getClaim(to);
     	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+        if (instance.getMain().checkIfClaimExists(to) && !instance.getProtection().isAllowed(claimTo, ProtectionEngine.Action.WEATHER, player.getUniqueId())) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (instance.getMain().checkIfClaimExists(from) && !instance.getProtection().isAllowed(claimFrom, ProtectionEngine.Action.WEATHER, player.getUniqueId())) {
             player.resetPlayerWeather();
         }
     }
@@ -275,15 +267,16 @@ public class PaperClaimEvents implements Listener {
      * @param owner   The owner of the chunk.
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
+    	SettingsSnapshot settings = instance.getSettings().getSnapshot();
     	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId())) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claim != null && !instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId()) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
             }
         }
@@ -298,7 +291,7 @@ public class PaperClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoDelChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autodelchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -343,12 +336,13 @@ public class PaperClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoAddChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoaddchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
         	
-            if (instance.getSettings().getBooleanSetting("worldguard") && !instance.getWorldGuard().checkFlagClaim(player)) {
+            if (settings.isWorldguard() && !instance.getWorldGuard().checkFlagClaim(player)) {
                 player.sendMessage(instance.getLanguage().getMessage("worldguard-cannot-claim-in-region"));
                 return;
             }
@@ -398,8 +392,8 @@ public class PaperClaimEvents implements Listener {
             	.thenAccept(successs -> {
             		if (successs) {
             			double[] price = {0};
-                        if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                        if (settings.isEconomy() && settings.getBoolean("chunk-cost")) {
+                            price[0] = settings.getBoolean("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
                             double balance = instance.getVault().getPlayerBalance(playerName);
 
                             if (balance < price[0]) {
@@ -415,7 +409,7 @@ public class PaperClaimEvents implements Listener {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                         					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                         					.replace("%claim-name%", claim.getName())));
-                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                        			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
                         			return;
                         		} else {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -446,7 +440,7 @@ public class PaperClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoUnclaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autounclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -504,13 +498,14 @@ public class PaperClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoClaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
         	String playerName = player.getName();
         	
-            if (instance.getSettings().getBooleanSetting("worldguard") && !instance.getWorldGuard().checkFlagClaim(player)) {
+            if (settings.isWorldguard() && !instance.getWorldGuard().checkFlagClaim(player)) {
                 player.sendMessage(instance.getLanguage().getMessage("worldguard-cannot-claim-in-region"));
                 return;
             }
@@ -534,8 +529,8 @@ public class PaperClaimEvents implements Listener {
             }
             
             // Check if the player can pay
-            if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("claim-cost")) {
-                double price = instance.getSettings().getBooleanSetting("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
+            if (settings.isEconomy() && settings.getBoolean("claim-cost")) {
+                double price = settings.getBoolean("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
                 double balance = instance.getVault().getPlayerBalance(playerName);
 
                 if (balance < price) {
@@ -553,7 +548,7 @@ public class PaperClaimEvents implements Listener {
             		if (success) {
             			int remainingClaims = cPlayer.getMaxClaims() - cPlayer.getClaimsCount();
             			player.sendMessage(instance.getLanguage().getMessage("create-claim-success").replace("%remaining-claims%", instance.getMain().getNumberSeparate(String.valueOf(remainingClaims))));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
+            			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
             		} else {
             			player.sendMessage(instance.getLanguage().getMessage("error"));
             		}
@@ -574,7 +569,7 @@ public class PaperClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoMap(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("automap-world-disabled").replace("%world%", world));
             cPlayer.setClaimAutomap(false);
         } else {
@@ -592,13 +587,14 @@ public class PaperClaimEvents implements Listener {
      * @param ownerFROM The owner of the chunk the player is moving from.
      */
     private void handleEnterLeaveMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
-        if (instance.getSettings().getBooleanSetting("enter-leave-messages")) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.isEnterLeaveMessages()) {
             enterleaveMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-chat-messages")) {
+        if (settings.isEnterLeaveChatMessages()) {
             enterleaveChatMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-title-messages")) {
+        if (settings.isEnterLeaveTitleMessages()) {
             enterleavetitleMessages(player, to, from, ownerTO, ownerFROM);
         }
     }
@@ -620,7 +616,7 @@ public class PaperClaimEvents implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.chat")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.chat")) {
                 message = ownerTO.equals("*")
                         ? instance.getLanguage().getMessage("enter-protected-area-for-sale-chat")
                         		.replace("%name%", toName)
@@ -674,7 +670,7 @@ public class PaperClaimEvents implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.actionbar")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.actionbar")) {
         		message = ownerTO.equals("*")
                     ? instance.getLanguage().getMessage("enter-protected-area-for-sale")
                     		.replace("%name%", toName)
@@ -727,7 +723,7 @@ public class PaperClaimEvents implements Listener {
         	Claim claim = instance.getMain().getClaim(to);
         	String toTitleKey;
         	String toSubtitleKey;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.title")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.title")) {
             	toTitleKey = ownerTO.equals("*") ? instance.getLanguage().getMessage("enter-protected-area-for-sale-title")
             	        .replace("%name%", toName)
             	        .replace("%owner%", ownerTO)
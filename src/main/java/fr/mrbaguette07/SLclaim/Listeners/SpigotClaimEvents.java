@@ -17,6 +17,8 @@ import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.jetbrains.annotations.NotNull;
 
+import fr.mrbaguette07.SLclaim.Config.SettingsSnapshot;
+import fr.mrbaguette07.SLclaim.ProtectionEngine;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.Types.CPlayer;
 import fr.mrbaguette07.SLclaim.Types.Claim;
@@ -87,21 +89,11 @@ public class SpigotClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerPickupItem(PlayerPickupItemEvent event) {
-    	Chunk chunk = event.getItem().getLocation().getChunk();
     	Player player = event.getPlayer();
-    	WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
     	if(instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("ItemsPickup", player)) {
-				event.setCancelled(true);
-				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemspickup"), instance.getSettings().getSetting("protection-message"));
-				return;
-			}
-		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("ItemsPickup")) {
-        	event.setCancelled(true);
-        	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemspickup-mode"), instance.getSettings().getSetting("protection-message"));
-        }
+    	if (instance.getProtection().denyAndNotify(player, event.getItem().getLocation(), ProtectionEngine.Action.ITEMS_PICKUP)) {
+    		event.setCancelled(true);
+    	}
     }
     
     /**
@@ -169,7 +161,7 @@ public class SpigotClaimEvents implements Listener {
 	            return;
 	        }
 	        
-	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
+	        if (!instance.getProtection().isAllowed(claim, ProtectionEngine.Action.ENTER, player.getUniqueId()) && !instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass.enter")) {
 	            cancelTeleport(event, player, "enter");
 	            return;
 	        }
@@ -223,7 +215,7 @@ public class SpigotClaimEvents implements Listener {
     	} else {
     		event.setCancelled(true);
     	}
-        instance.getMain().sendMessage(player, instance.getLanguage().getMessage(message), instance.getSettings().getSetting("protection-message"));
+        instance.getMain().sendMessage(player, instance.getLanguage().getMessage(message), instance.getSettings().getSnapshot().getProtectionMessage());
     }
 
     /**
@@ -235,7 +227,7 @@ public class SpigotClaimEvents implements Listener {
      * @return True if the teleport is blocked, false otherwise.
      */
     private boolean isTeleportBlocked(PlayerTeleportEvent event, Player player, Claim claim) {
-        if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass") && !claim.getPermissionForPlayer("Teleportations",player)) {
+        if (!instance.getPlayerMain().checkPermPlayer(player, "slclaim.bypass") && !instance.getProtection().isAllowed(claim, ProtectionEngine.Action.TELEPORTATIONS, player.getUniqueId())) {
             switch (event.getCause()) {
                 case ENDER_PEARL:
                 case CHORUS_FRUIT:
@@ -256,9 +248,9 @@ public class SpigotClaimEvents implements Listener {
     private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
     	Claim claimTo = instance.getMain().getClaim(to);
     	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+        if (instance.getMain().checkIfClaimExists(to) && !instance.getProtection().isAllowed(claimTo, ProtectionEngine.Action.WEATHER, player.getUniqueId())) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (instance.getMain().checkIfClaimExists(from) && !instance.getProtection().isAllowed(claimFrom, ProtectionEngine.Action.WEATHER, player.getUniqueId())) {
             player.resetPlayerWeather();
         }
     }
@@ -272,15 +264,16 @@ public class SpigotClaimEvents implements Listener {
      * @param owner   The owner of the chunk.
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
+    	SettingsSnapshot settings = instance.getSettings().getSnapshot();
     	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId())) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claim != null && !instance.getProtection().isAllowed(claim, ProtectionEngine.Action.FLY, player.getUniqueId()) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
-            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+            if (settings.isClaimFlyMessageAutoFly()) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
             }
         }
@@ -295,7 +288,7 @@ public class SpigotClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoDelChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autodelchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -340,7 +333,8 @@ public class SpigotClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoAddChunk(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoaddchunk-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -389,8 +383,8 @@ public class SpigotClaimEvents implements Listener {
             	.thenAccept(successs -> {
             		if (successs) {
             			double[] price = {0};
-                        if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                        if (settings.isEconomy() && settings.getBoolean("chunk-cost")) {
+                            price[0] = settings.getBoolean("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
                             double balance = instance.getVault().getPlayerBalance(playerName);
 
                             if (balance < price[0]) {
@@ -406,7 +400,7 @@ public class SpigotClaimEvents implements Listener {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                         					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                         					.replace("%claim-name%", claim.getName())));
-                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                        			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
                         			return;
                         		} else {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -437,7 +431,7 @@ public class SpigotClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoUnclaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autounclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -495,7 +489,8 @@ public class SpigotClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoClaim(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("autoclaim-world-disabled").replace("%world%", world));
             cPlayer.setClaimAuto("");
         } else {
@@ -519,8 +514,8 @@ public class SpigotClaimEvents implements Listener {
             }
             
             // Check if the player can pay
-            if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("claim-cost")) {
-                double price = instance.getSettings().getBooleanSetting("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
+            if (settings.isEconomy() && settings.getBoolean("claim-cost")) {
+                double price = settings.getBoolean("claim-cost-multiplier") ? cPlayer.getMultipliedCost() : cPlayer.getCost();
                 double balance = instance.getVault().getPlayerBalance(playerName);
 
                 if (balance < price) {
@@ -538,7 +533,7 @@ public class SpigotClaimEvents implements Listener {
             		if (success) {
             			int remainingClaims = cPlayer.getMaxClaims() - cPlayer.getClaimsCount();
             			player.sendMessage(instance.getLanguage().getMessage("create-claim-success").replace("%remaining-claims%", instance.getMain().getNumberSeparate(String.valueOf(remainingClaims))));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
+            			if (settings.isClaimParticles()) instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), true, false);
             		} else {
             			player.sendMessage(instance.getLanguage().getMessage("error"));
             		}
@@ -559,7 +554,7 @@ public class SpigotClaimEvents implements Listener {
      * @param world The world name.
      */
     private void handleAutoMap(Player player, CPlayer cPlayer, Chunk chunk, String world) {
-        if (instance.getSettings().getWorldMode(world) == WorldMode.DISABLED) {
+        if (instance.getSettings().getSnapshot().getWorldMode(world) == WorldMode.DISABLED) {
             player.sendMessage(instance.getLanguage().getMessage("automap-world-disabled").replace("%world%", world));
             cPlayer.setClaimAutomap(false);
         } else {
@@ -577,13 +572,14 @@ public class SpigotClaimEvents implements Listener {
      * @param ownerFROM The owner of the chunk the player is moving from.
      */
     private void handleEnterLeaveMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
-        if (instance.getSettings().getBooleanSetting("enter-leave-messages")) {
+        SettingsSnapshot settings = instance.getSettings().getSnapshot();
+        if (settings.isEnterLeaveMessages()) {
             enterleaveMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-chat-messages")) {
+        if (settings.isEnterLeaveChatMessages()) {
             enterleaveChatMessages(player, to, from, ownerTO, ownerFROM);
         }
-        if (instance.getSettings().getBooleanSetting("enter-leave-title-messages")) {
+        if (settings.isEnterLeaveTitleMessages()) {
             enterleavetitleMessages(player, to, from, ownerTO, ownerFROM);
         }
     }
@@ -605,7 +601,7 @@ public class SpigotClaimEvents implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.chat")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.chat")) {
                 message = ownerTO.equals("*")
                         ? instance.getLanguage().getMessage("enter-protected-area-for-sale-chat")
                         		.replace("%name%", toName)
@@ -659,7 +655,7 @@ public class SpigotClaimEvents implements Listener {
         if (instance.getMain().checkIfClaimExists(to)) {
         	Claim claim = instance.getMain().getClaim(to);
         	String message;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.actionbar")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.actionbar")) {
         		message = ownerTO.equals("*")
                     ? instance.getLanguage().getMessage("enter-protected-area-for-sale")
                     		.replace("%name%", toName)
@@ -712,7 +708,7 @@ public class SpigotClaimEvents implements Listener {
         	Claim claim = instance.getMain().getClaim(to);
         	String toTitleKey;
         	String toSubtitleKey;
-        	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.title")) {
+        	if(claim.getSale() && instance.getSettings().getSnapshot().getBoolean("announce-sale.title")) {
             	toTitleKey = ownerTO.equals("*") ? instance.getLanguage().getMessage("enter-protected-area-for-sale-title")
             	        .replace("%name%", toName)
             	        .replace("%owner%", ownerTO)
@@ -0,0 +1,154 @@
+package fr.mrbaguette07.SLclaim.MultiServer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bson.Document;
+import org.bukkit.Chunk;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+
+/**
+ * Layout of the claim documents in MongoDB.
+ * <p>
+ * Version 2 stores the members and the bans as arrays of UUID strings, and the chunks as an
+ * array of packed chunk keys (see {@link ClaimMain#chunkKey(int, int)}) in the world of the
+ * claim, so they can be served by multikey indexes. Version 1 stored them as strings
+ * ("uuid;uuid" and "world,x,z;world,x,z"); the readers accept both layouts.
+ */
+public final class ClaimDocuments {
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+    /** Current version of the claim documents */
+    public static final int SCHEMA_VERSION = 2;
+
+    /** Field holding the version of a document (absent in version 1) */
+    public static final String SCHEMA_FIELD = "schema_version";
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+    /**
+     * Private constructor, static helpers only.
+     */
+    private ClaimDocuments() {}
+
+    // ********************
+    // *  Public Methods  *
+    // ********************
+
+    /**
+     * Converts UUIDs to the array stored in the documents.
+     *
+     * @param uuids The UUIDs
+     * @return The UUID strings
+     */
+    public static List<String> toUUIDArray(Collection<UUID> uuids) {
+        List<String> values = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            values.add(uuid.toString());
+        }
+        return values;
+    }
+
+    /**
+     * Converts chunks to the array of packed keys stored in the documents.
+     *
+     * @param chunks The chunks
+     * @return The chunk keys
+     */
+    public static List<Long> toChunkArray(Collection<Chunk> chunks) {
+        List<Long> keys = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            keys.add(ClaimMain.chunkKey(chunk.getX(), chunk.getZ()));
+        }
+        return keys;
+    }
+
+    /**
+     * Reads a set of UUIDs (members or bans) from a document of any version.
+     *
+     * @param doc The document
+     * @param field The field
+     * @return The UUIDs, invalid values are skipped
+     */
+    public static Set<UUID> readUUIDs(Document doc, String field) {
+        Set<UUID> uuids = new HashSet<>();
+        Object value = doc.get(field);
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                addUUID(uuids, String.valueOf(element));
+            }
+        } else if (value instanceof String str && !str.isEmpty()) {
+            for (String uuidStr : str.split(";")) {
+                addUUID(uuids, uuidStr);
+            }
+        }
+        return uuids;
+    }
+
+    /**
+     * Reads the chunk keys of a document of any version, by world name.
+     * The worlds are not touched.
+     *
+     * @param doc The document
+     * @return The chunk keys (see ClaimMain#chunkKey), by world name
+     */
+    public static Map<String, Set<Long>> readChunkKeys(Document doc) {
+        Map<String, Set<Long>> keys = new HashMap<>();
+        Object value = doc.get("chunks");
+        if (value instanceof List<?> list) {
+            Set<Long> worldKeys = new HashSet<>(list.size() * 2);
+            for (Object element : list) {
+                if (element instanceof Number number) worldKeys.add(number.longValue());
+            }
+            if (!worldKeys.isEmpty()) keys.put(doc.getString("world_name"), worldKeys);
+        } else if (value instanceof String str && !str.isEmpty()) {
+            for (String chunkStr : str.split(";")) {
+                String[] parts = chunkStr.split(",");
+                if (parts.length != 3) continue;
+                try {
+                    keys.computeIfAbsent(parts[0], k -> new HashSet<>())
+                        .add(ClaimMain.chunkKey(Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+                } catch (NumberFormatException ignored) {}
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Builds the fields to set to move a version 1 document to the current layout.
+     * The chunks of other worlds than the claim world are dropped, as claims cannot span worlds.
+     *
+     * @param doc The version 1 document
+     * @return The fields to set
+     */
+    public static Document migrationOf(Document doc) {
+        Set<Long> chunkKeys = readChunkKeys(doc).getOrDefault(doc.getString("world_name"), Set.of());
+        return new Document()
+            .append("members", toUUIDArray(readUUIDs(doc, "members")))
+            .append("bans", toUUIDArray(readUUIDs(doc, "bans")))
+            .append("chunks", new ArrayList<>(chunkKeys))
+            .append(SCHEMA_FIELD, SCHEMA_VERSION);
+    }
+
+    // *********************
+    // *  Private Methods  *
+    // *********************
+
+    private static void addUUID(Set<UUID> uuids, String value) {
+        try {
+            uuids.add(UUID.fromString(value));
+        } catch (IllegalArgumentException ignored) {}
+    }
+}
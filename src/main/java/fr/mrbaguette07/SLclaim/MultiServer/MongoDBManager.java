@@ -2,6 +2,7 @@ package fr.mrbaguette07.SLclaim.MultiServer;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -15,6 +16,8 @@ import com.mongodb.client.model.*;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
+import fr.mrbaguette07.SLclaim.API.ClaimPage;
+import fr.mrbaguette07.SLclaim.API.ClaimSummary;
 import fr.mrbaguette07.SLclaim.ClaimMain;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.Types.Claim;
@@ -43,11 +46,23 @@ public class MongoDBManager {
     /** Players collection */
     private MongoCollection<Document> playersCollection;
     
+    /** Player settings collection */
+    private MongoCollection<Document> playerSettingsCollection;
+    
     /** Executor for async operations */
     private final ExecutorService executor;
     
-    /** Whether MongoDB is connected */
-    private boolean connected;
+    /** Whether MongoDB is connected (read by the startup of the other backends) */
+    private volatile boolean connected;
+    
+    /** Fields read for the claim summaries */
+    private static final Bson SUMMARY_PROJECTION = Projections.fields(
+        Projections.include("id_claim", "owner_name", "claim_name", "claim_description", "location", "for_sale", "sale_price", "server_origin"),
+        Projections.excludeId()
+    );
+    
+    /** Number of claims per bulk write */
+    private static final int BULK_BATCH_SIZE = 500;
     
     // ******************
     // *  Constructors  *
@@ -88,8 +103,10 @@ public class MongoDBManager {
                 
                 claimsCollection = database.getCollection(config.getMongoClaimsCollection());
                 playersCollection = database.getCollection(config.getMongoPlayersCollection());
+                playerSettingsCollection = database.getCollection(config.getMongoPlayerSettingsCollection());
                 
-                // Create indexes
+                // Migrate the claims stored with the previous layout, then create indexes
+                migrateClaims();
                 createIndexes();
                 
                 // Test connection
@@ -166,6 +183,35 @@ public class MongoDBManager {
         }, executor);
     }
     
+    /**
+     * Saves several claims to MongoDB, with bulk upserts.
+     *
+     * @param claims The claims to save
+     * @return CompletableFuture with the number of claims saved
+     */
+    public CompletableFuture<Integer> saveClaims(Collection<Claim> claims) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!connected) return 0;
+            
+            int saved = 0;
+            List<WriteModel<Document>> batch = new ArrayList<>(BULK_BATCH_SIZE);
+            ReplaceOptions options = new ReplaceOptions().upsert(true);
+            for (Claim claim : claims) {
+                Bson filter = Filters.and(
+                    Filters.eq("owner_uuid", claim.getUUID().toString()),
+                    Filters.eq("id_claim", claim.getId())
+                );
+                batch.add(new ReplaceOneModel<>(filter, claimToDocument(claim, claim.getUUID()), options));
+                if (batch.size() == BULK_BATCH_SIZE) {
+                    saved += writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) saved += writeBatch(batch);
+            return saved;
+        }, executor);
+    }
+    
     /**
      * Deletes a claim from MongoDB.
      *
@@ -220,11 +266,12 @@ public class MongoDBManager {
      *
      * @param ownerUUID The owner's UUID
      * @param claimId The claim ID
-     * @return CompletableFuture with the claim document (or null)
+     * @return CompletableFuture with the claim document, or null if the claim does not exist;
+     *         completed exceptionally if MongoDB is not connected or the query failed
      */
     public CompletableFuture<Document> getClaim(UUID ownerUUID, int claimId) {
         return CompletableFuture.supplyAsync(() -> {
-            if (!connected) return null;
+            if (!connected) throw new IllegalStateException("MongoDB is not connected");
             
             try {
                 Bson filter = Filters.and(
@@ -235,8 +282,7 @@ public class MongoDBManager {
                 return claimsCollection.find(filter).first();
             } catch (Exception e) {
                 instance.info("§cFailed to get claim from MongoDB: " + e.getMessage());
-                e.printStackTrace();
-                return null;
+                throw new CompletionException(e);
             }
         }, executor);
     }
@@ -266,11 +312,12 @@ public class MongoDBManager {
      * Gets all claims for an owner from MongoDB.
      *
      * @param ownerUUID The owner's UUID
-     * @return CompletableFuture with list of claim documents
+     * @return CompletableFuture with list of claim documents (empty if none);
+     *         completed exceptionally if MongoDB is not connected or the query failed
      */
     public CompletableFuture<List<Document>> getPlayerClaims(UUID ownerUUID) {
         return CompletableFuture.supplyAsync(() -> {
-            if (!connected) return new ArrayList<>();
+            if (!connected) throw new IllegalStateException("MongoDB is not connected");
             
             try {
                 List<Document> claims = new ArrayList<>();
@@ -279,8 +326,30 @@ public class MongoDBManager {
                 return claims;
             } catch (Exception e) {
                 instance.info("§cFailed to get player claims from MongoDB: " + e.getMessage());
-                e.printStackTrace();
-                return new ArrayList<>();
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+    
+    /**
+     * Gets all claims of a world from MongoDB.
+     *
+     * @param worldName The world name
+     * @return CompletableFuture with list of claim documents (empty if none);
+     *         completed exceptionally if MongoDB is not connected or the query failed
+     */
+    public CompletableFuture<List<Document>> getWorldClaims(String worldName) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!connected) throw new IllegalStateException("MongoDB is not connected");
+            
+            try {
+                List<Document> claims = new ArrayList<>();
+                Bson filter = Filters.eq("world_name", worldName);
+                claimsCollection.find(filter).into(claims);
+                return claims;
+            } catch (Exception e) {
+                instance.info("§cFailed to get world claims from MongoDB: " + e.getMessage());
+                throw new CompletionException(e);
             }
         }, executor);
     }
@@ -396,6 +465,65 @@ public class MongoDBManager {
         }, executor);
     }
     
+    /**
+     * Saves a player setting to MongoDB.
+     *
+     * @param uuid The player's UUID
+     * @param key The key of the setting
+     * @param value The value of the setting
+     * @return CompletableFuture that completes when saved
+     */
+    public CompletableFuture<Boolean> savePlayerSetting(UUID uuid, String key, double value) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!connected) return false;
+            
+            try {
+                Bson filter = Filters.eq("uuid_server", uuid.toString());
+                Bson update = Updates.combine(
+                    Updates.set("settings." + key, value),
+                    Updates.set("last_updated", System.currentTimeMillis())
+                );
+                playerSettingsCollection.updateOne(filter, update, new UpdateOptions().upsert(true));
+                
+                return true;
+            } catch (Exception e) {
+                instance.info("§cFailed to save player setting to MongoDB: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+        }, executor);
+    }
+    
+    /**
+     * Gets all player settings from MongoDB.
+     *
+     * @return CompletableFuture with the settings of each player
+     */
+    public CompletableFuture<Map<UUID, Map<String, Double>>> getAllPlayerSettings() {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, Map<String, Double>> result = new HashMap<>();
+            if (!connected) return result;
+            
+            try {
+                for (Document doc : playerSettingsCollection.find()) {
+                    Document settings = doc.get("settings", Document.class);
+                    if (settings == null) continue;
+                    Map<String, Double> playerSettings = new HashMap<>();
+                    settings.forEach((key, value) -> {
+                        if (value instanceof Number) {
+                            playerSettings.put(key, ((Number) value).doubleValue());
+                        }
+                    });
+                    result.put(UUID.fromString(doc.getString("uuid_server")), playerSettings);
+                }
+            } catch (Exception e) {
+                instance.info("§cFailed to get player settings from MongoDB: " + e.getMessage());
+                e.printStackTrace();
+            }
+            return result;
+        }, executor);
+    }
+    
     /**
      * Gets all claim owners with their claim counts from MongoDB.
      *
@@ -459,6 +587,44 @@ public class MongoDBManager {
         }, executor);
     }
     
+    /**
+     * Gets a page of claim summaries of an owner from MongoDB.
+     * The query is served by the (owner_name, sort key) indexes and only the listed fields are read.
+     *
+     * @param ownerName The owner's name
+     * @param forSaleOnly Whether only the claims for sale are listed
+     * @param sort The sort key
+     * @param offset The number of claims to skip
+     * @param limit The size of the page
+     * @return CompletableFuture with the page
+     */
+    public CompletableFuture<ClaimPage> getClaimSummaries(String ownerName, boolean forSaleOnly, ClaimSummary.Sort sort, int offset, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!connected) return new ClaimPage(List.of(), offset, false);
+            
+            try {
+                Bson filter = forSaleOnly
+                    ? Filters.and(Filters.eq("owner_name", ownerName), Filters.eq("for_sale", true))
+                    : Filters.eq("owner_name", ownerName);
+                String sortField = sort == ClaimSummary.Sort.NAME ? "claim_name" : "id_claim";
+                
+                List<ClaimSummary> claims = new ArrayList<>(limit + 1);
+                for (Document doc : claimsCollection.find(filter)
+                        .projection(SUMMARY_PROJECTION)
+                        .sort(Sorts.ascending(sortField, "id_claim"))
+                        .skip(offset)
+                        .limit(limit + 1)) {
+                    claims.add(documentToSummary(doc));
+                }
+                return ClaimPage.of(claims, offset, limit);
+            } catch (Exception e) {
+                instance.info("§cFailed to get claim summaries from MongoDB: " + e.getMessage());
+                e.printStackTrace();
+                return new ClaimPage(List.of(), offset, false);
+            }
+        }, executor);
+    }
+    
     /**
      * Gets a claim by owner name and claim name from MongoDB.
      *
@@ -496,15 +662,9 @@ public class MongoDBManager {
             
             try {
                 List<Document> claims = new ArrayList<>();
-                String uuidStr = playerUUID.toString();
                 
-                // Find claims where the player is in members list
-                for (Document doc : claimsCollection.find()) {
-                    String members = doc.getString("members");
-                    if (members != null && members.contains(uuidStr)) {
-                        claims.add(doc);
-                    }
-                }
+                // Index seek on the members array (multikey index)
+                claimsCollection.find(Filters.eq("members", playerUUID.toString())).into(claims);
                 
                 return claims;
             } catch (Exception e) {
@@ -515,6 +675,34 @@ public class MongoDBManager {
         }, executor);
     }
     
+    /**
+     * Gets the claim owning a chunk on a server from MongoDB.
+     *
+     * @param serverName The server name
+     * @param worldName The world name
+     * @param chunkX The chunk X
+     * @param chunkZ The chunk Z
+     * @return CompletableFuture with the claim document (or null)
+     */
+    public CompletableFuture<Document> getClaimAtChunk(String serverName, String worldName, int chunkX, int chunkZ) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!connected) return null;
+            
+            try {
+                Bson filter = Filters.and(
+                    Filters.eq("server_origin", serverName),
+                    Filters.eq("world_name", worldName),
+                    Filters.eq("chunks", ClaimMain.chunkKey(chunkX, chunkZ))
+                );
+                return claimsCollection.find(filter).first();
+            } catch (Exception e) {
+                instance.info("§cFailed to get claim at chunk from MongoDB: " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            }
+        }, executor);
+    }
+    
     /**
      * Gets all claims with sale enabled from MongoDB.
      *
@@ -556,14 +744,14 @@ public class MongoDBManager {
             try {
                 Map<String, Integer> owners = new HashMap<>();
                 
-                Set<String> onlinePlayers = new HashSet<>();
-                org.bukkit.Bukkit.getOnlinePlayers().forEach(p -> onlinePlayers.add(p.getName()));
+                // Joueurs en ligne sur tout le réseau, recherchés par l'index owner_name
+                Set<String> onlinePlayers = instance.getMultiServerManager().getAllOnlinePlayerNames();
+                onlinePlayers.remove("*");
+                if (onlinePlayers.isEmpty()) return owners;
                 
-                for (Document doc : claimsCollection.find()) {
-                    String ownerName = doc.getString("owner_name");
-                    if (ownerName != null && !ownerName.equals("*") && onlinePlayers.contains(ownerName)) {
-                        owners.merge(ownerName, 1, Integer::sum);
-                    }
+                Bson filter = Filters.in("owner_name", onlinePlayers);
+                for (Document doc : claimsCollection.find(filter).projection(Projections.include("owner_name"))) {
+                    owners.merge(doc.getString("owner_name"), 1, Integer::sum);
                 }
                 
                 return owners;
@@ -579,6 +767,47 @@ public class MongoDBManager {
     // *  Private Methods  *
     // *********************
     
+    /**
+     * Writes a batch of bulk operations.
+     *
+     * @param batch The operations
+     * @return The number of operations applied, 0 on failure
+     */
+    private int writeBatch(List<WriteModel<Document>> batch) {
+        try {
+            claimsCollection.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+            return batch.size();
+        } catch (Exception e) {
+            instance.info("§cÉchec de l'écriture groupée de " + batch.size() + " claims dans MongoDB : " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Moves the claim documents of the previous layout (strings) to the current one (arrays).
+     * The update only applies to documents still in the old layout, so several servers can
+     * run it at the same time, and it does nothing once the collection is migrated.
+     */
+    private void migrateClaims() {
+        Bson outdated = Filters.ne(ClaimDocuments.SCHEMA_FIELD, ClaimDocuments.SCHEMA_VERSION);
+        List<WriteModel<Document>> batch = new ArrayList<>(BULK_BATCH_SIZE);
+        int migrated = 0;
+        for (Document doc : claimsCollection.find(outdated)) {
+            batch.add(new UpdateOneModel<>(
+                Filters.and(Filters.eq("_id", doc.get("_id")), outdated),
+                new Document("$set", ClaimDocuments.migrationOf(doc))
+            ));
+            if (batch.size() == BULK_BATCH_SIZE) {
+                migrated += writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) migrated += writeBatch(batch);
+        if (migrated > 0) {
+            instance.info("§a" + migrated + " claims MongoDB migrés vers le format " + ClaimDocuments.SCHEMA_VERSION + ".");
+        }
+    }
+    
     /**
      * Creates indexes for collections.
      */
@@ -587,12 +816,20 @@ public class MongoDBManager {
         claimsCollection.createIndex(Indexes.ascending("owner_uuid"));
         claimsCollection.createIndex(Indexes.ascending("owner_uuid", "id_claim"));
         claimsCollection.createIndex(Indexes.ascending("claim_name"));
+        claimsCollection.createIndex(Indexes.ascending("owner_name", "claim_name", "id_claim"));
+        claimsCollection.createIndex(Indexes.ascending("owner_name", "id_claim"));
         claimsCollection.createIndex(Indexes.ascending("world_name"));
         claimsCollection.createIndex(Indexes.ascending("for_sale"));
+        claimsCollection.createIndex(Indexes.ascending("members"));
+        claimsCollection.createIndex(Indexes.ascending("bans"));
+        claimsCollection.createIndex(Indexes.ascending("server_origin", "world_name", "chunks"));
         
         // Players indexes
         playersCollection.createIndex(Indexes.ascending("uuid_server"));
         playersCollection.createIndex(Indexes.ascending("player_name"));
+        
+        // Player settings indexes
+        playerSettingsCollection.createIndex(Indexes.ascending("uuid_server"), new IndexOptions().unique(true));
     }
     
     /**
@@ -603,31 +840,6 @@ public class MongoDBManager {
      * @return The MongoDB Document
      */
     private Document claimToDocument(Claim claim, UUID ownerUUID) {
-        // Serialize chunks
-        StringBuilder chunksBuilder = new StringBuilder();
-        claim.getChunks().forEach(chunk -> {
-            if (chunksBuilder.length() > 0) chunksBuilder.append(";");
-            chunksBuilder.append(chunk.getWorld().getName())
-                        .append(",")
-                        .append(chunk.getX())
-                        .append(",")
-                        .append(chunk.getZ());
-        });
-        
-        // Serialize members
-        StringBuilder membersBuilder = new StringBuilder();
-        claim.getMembers().forEach(uuid -> {
-            if (membersBuilder.length() > 0) membersBuilder.append(";");
-            membersBuilder.append(uuid.toString());
-        });
-        
-        // Serialize bans
-        StringBuilder bansBuilder = new StringBuilder();
-        claim.getBans().forEach(uuid -> {
-            if (bansBuilder.length() > 0) bansBuilder.append(";");
-            bansBuilder.append(uuid.toString());
-        });
-        
         // Serialize permissions
         String permissions = instance.getMain().serializePermissions(claim.getPermissions());
         
@@ -645,16 +857,44 @@ public class MongoDBManager {
             .append("owner_name", claim.getOwner())
             .append("claim_name", claim.getName())
             .append("claim_description", claim.getDescription())
-            .append("chunks", chunksBuilder.toString())
+            .append("chunks", ClaimDocuments.toChunkArray(claim.getChunks()))
             .append("world_name", claim.getLocation().getWorld().getName())
             .append("location", location)
-            .append("members", membersBuilder.toString())
+            .append("members", ClaimDocuments.toUUIDArray(claim.getMembers()))
             .append("permissions", permissions)
             .append("for_sale", claim.getSale())
             .append("sale_price", claim.getPrice())
-            .append("bans", bansBuilder.toString())
+            .append("bans", ClaimDocuments.toUUIDArray(claim.getBans()))
             .append("last_updated", System.currentTimeMillis())
-            .append("server_origin", instance.getMultiServerManager().getConfig().getServerName());
+            .append("server_origin", instance.getMultiServerManager().getConfig().getServerName())
+            .append(ClaimDocuments.SCHEMA_FIELD, ClaimDocuments.SCHEMA_VERSION);
+    }
+    
+    /**
+     * Converts a projected claim document to a summary.
+     *
+     * @param doc The document
+     * @return The summary
+     */
+    private ClaimSummary documentToSummary(Document doc) {
+        String[] loc = String.valueOf(doc.getString("location")).split(";");
+        boolean hasLocation = loc.length == 6;
+        Long price = doc.getLong("sale_price");
+        return new ClaimSummary(
+            doc.getInteger("id_claim", 0),
+            doc.getString("owner_name"),
+            doc.getString("claim_name"),
+            doc.getString("claim_description"),
+            hasLocation ? loc[0] : null,
+            hasLocation ? Double.parseDouble(loc[1]) : 0,
+            hasLocation ? Double.parseDouble(loc[2]) : 0,
+            hasLocation ? Double.parseDouble(loc[3]) : 0,
+            hasLocation ? Float.parseFloat(loc[4]) : 0,
+            hasLocation ? Float.parseFloat(loc[5]) : 0,
+            doc.getBoolean("for_sale", false),
+            price != null ? price : 0,
+            doc.getString("server_origin")
+        );
     }
     
     /**
@@ -41,6 +41,10 @@ public class MultiServerConfig {
     private String mongoDatabaseName;
     private String mongoClaimsCollection;
     private String mongoPlayersCollection;
+    private String mongoPlayerSettingsCollection;
+    
+    // Sync configuration
+    private int syncReplayLogSize;
     
     // Expulsion configuration
     private boolean expulsionTeleportToLobby;
@@ -73,6 +77,10 @@ public class MultiServerConfig {
         this.mongoDatabaseName = "SLclaim";
         this.mongoClaimsCollection = "claims";
         this.mongoPlayersCollection = "players";
+        this.mongoPlayerSettingsCollection = "player_settings";
+        
+        // Default sync config
+        this.syncReplayLogSize = 2048;
         
         // Default expulsion config
         this.expulsionTeleportToLobby = false;
@@ -128,6 +136,12 @@ public class MultiServerConfig {
     public String getMongoPlayersCollection() { return mongoPlayersCollection; }
     public void setMongoPlayersCollection(String mongoPlayersCollection) { this.mongoPlayersCollection = mongoPlayersCollection; }
     
+    public String getMongoPlayerSettingsCollection() { return mongoPlayerSettingsCollection; }
+    public void setMongoPlayerSettingsCollection(String mongoPlayerSettingsCollection) { this.mongoPlayerSettingsCollection = mongoPlayerSettingsCollection; }
+    
+    public int getSyncReplayLogSize() { return syncReplayLogSize; }
+    public void setSyncReplayLogSize(int syncReplayLogSize) { this.syncReplayLogSize = syncReplayLogSize; }
+    
     public boolean isExpulsionTeleportToLobby() { return expulsionTeleportToLobby; }
     public void setExpulsionTeleportToLobby(boolean expulsionTeleportToLobby) { this.expulsionTeleportToLobby = expulsionTeleportToLobby; }
     
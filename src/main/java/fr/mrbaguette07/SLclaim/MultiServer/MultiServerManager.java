@@ -3,6 +3,10 @@ package fr.mrbaguette07.SLclaim.MultiServer;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.bson.Document;
 import org.bukkit.*;
@@ -10,12 +14,19 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.scheduler.BukkitTask;
 
 import fr.mrbaguette07.SLclaim.ClaimMain;
+import fr.mrbaguette07.SLclaim.API.Listeners.ServerStatusChangeEvent;
 import fr.mrbaguette07.SLclaim.SLclaim;
 import fr.mrbaguette07.SLclaim.MultiServer.RedisMessage.MessageType;
 import fr.mrbaguette07.SLclaim.Types.Claim;
-import fr.mrbaguette07.SLclaim.Types.CustomSet;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 
 import java.io.File;
 
@@ -41,11 +52,33 @@ public class MultiServerManager {
     /** MongoDB manager */
     private MongoDBManager mongoDBManager;
     
+    /** Creators of the backends, called by {@link #initialize()} (replaced by fakes in tests) */
+    private final Supplier<MongoDBManager> mongoFactory;
+    private final Supplier<RedisManager> redisFactory;
+    
     /** Whether multi-server is initialized */
-    private boolean initialized;
+    private volatile boolean initialized;
+    
+    /** Readiness of the startup phases */
+    private StartupStatus startupStatus = new StartupStatus();
+    
+    /** Whether claim messages were received before MongoDB was ready */
+    private volatile boolean missedBeforeMongo;
+    
+    /** État des serveurs du réseau, d'après leurs heartbeats */
+    private ServerLiveness liveness;
+    
+    /** Tâche d'expiration des serveurs (Bukkit) */
+    private BukkitTask bukkitSweeper;
+    
+    /** Tâche d'expiration des serveurs (Folia) */
+    private ScheduledTask scheduledSweeper;
+    
+    /** Transferts en cours des joueurs de ce serveur vers un autre serveur */
+    private final Map<UUID, PendingTransfer> pendingTransfers = new ConcurrentHashMap<>();
     
-    /** Map des serveurs en ligne et leur dernier heartbeat */
-    private final Map<String, Long> onlineServers = new ConcurrentHashMap<>();
+    /** Joueurs en ligne sur le réseau (expirent avec le heartbeat de leur serveur) */
+    private final PresenceRegistry presence = new PresenceRegistry(this::isServerOnline, HEARTBEAT_TIMEOUT);
     
     /** Map des joueurs en attente de RTP après connexion */
     private final Map<UUID, Long> pendingRtpPlayers = new ConcurrentHashMap<>();
@@ -56,6 +89,59 @@ public class MultiServerManager {
     /** Délai maximum pour considérer un serveur comme hors ligne (30 secondes) */
     private static final long HEARTBEAT_TIMEOUT = 30000;
     
+    /** Intervalle de vérification des heartbeats (5 secondes) */
+    private static final long SWEEP_INTERVAL = 5;
+    
+    /** Durée de validité d'une téléportation en attente (60 secondes) */
+    private static final long PENDING_TIMEOUT = 60000;
+    
+    /** Délai d'attente de la réponse du proxy à une demande de routage (2 secondes) */
+    private static final long ROUTE_TIMEOUT = 2000;
+    
+    /** Téléportations à un claim en attente de la réponse du proxy (joueur -> recherche de repli) */
+    private final Map<UUID, Runnable> pendingRoutes = new ConcurrentHashMap<>();
+    
+    /** Joueurs transférés par le proxy, dont la connexion peut encore échouer */
+    private final Set<UUID> routedPlayers = ConcurrentHashMap.newKeySet();
+    
+    /** Fenêtre de regroupement des invalidations de cache (500 ms) */
+    private static final long INVALIDATE_COALESCE_DELAY = 500;
+    
+    /** Invalidations de cache en attente, par portée (SCOPE:valeur) */
+    private final Set<String> pendingInvalidations = ConcurrentHashMap.newKeySet();
+    
+    /** Délai avant une nouvelle tentative de rechargement après une erreur MongoDB (5 secondes) */
+    private static final long INVALIDATE_RETRY_DELAY = 5000;
+    
+    /** Whether a flush of the pending invalidations is scheduled */
+    private final AtomicBoolean invalidationFlushScheduled = new AtomicBoolean();
+    
+    /** Claims reçus pour des mondes non chargés, créés au chargement du monde (monde -> clé du claim -> document) */
+    private final Map<String, Map<String, Document>> deferredClaims = new ConcurrentHashMap<>();
+    
+    /** Délai d'attente des réponses à une demande de rattrapage (5 secondes) */
+    private static final long CATCH_UP_TIMEOUT = 5000;
+    
+    /** Journal des messages de claims séquencés, pour le rattrapage */
+    private SyncLog syncLog = new SyncLog(1);
+    
+    /** Séquence après laquelle un rattrapage est en cours, -1 si aucun */
+    private volatile long catchUpAfter = -1;
+    
+    /**
+     * Scope of a cache invalidation.
+     */
+    public enum InvalidateScope {
+        /** A single claim (owner uuid and claim id) */
+        CLAIM,
+        /** All the claims of an owner */
+        OWNER,
+        /** All the claims of a world */
+        WORLD,
+        /** All the claims */
+        ALL
+    }
+    
     /**
      * Data class for pending claim teleport.
      */
@@ -71,6 +157,22 @@ public class MultiServerManager {
         }
     }
     
+    /**
+     * Transfer of a player of this server waiting for the target server.
+     */
+    private static class PendingTransfer {
+        final String targetServer;
+        /** Message sent to the player if the target server goes down */
+        final String failureMessage;
+        final long timestamp;
+        
+        PendingTransfer(String targetServer, String failureMessage) {
+            this.targetServer = targetServer;
+            this.failureMessage = failureMessage;
+            this.timestamp = System.currentTimeMillis();
+        }
+    }
+    
     // ******************
     // *  Constructors  *
     // ******************
@@ -81,8 +183,23 @@ public class MultiServerManager {
      * @param instance The SLclaim instance.
      */
     public MultiServerManager(SLclaim instance) {
+        this(instance, () -> new MongoDBManager(instance), () -> new RedisManager(instance));
+    }
+    
+    /**
+     * Constructor for MultiServerManager with the backends to connect, so the startup
+     * phases can run against in-process fake backends.
+     *
+     * @param instance The SLclaim instance.
+     * @param mongoFactory Creates the MongoDB manager at each initialization.
+     * @param redisFactory Creates the Redis manager at each initialization.
+     */
+    public MultiServerManager(SLclaim instance, Supplier<MongoDBManager> mongoFactory, Supplier<RedisManager> redisFactory) {
         this.instance = instance;
+        this.mongoFactory = mongoFactory;
+        this.redisFactory = redisFactory;
         this.config = new MultiServerConfig();
+        this.liveness = newLiveness();
         this.initialized = false;
     }
     
@@ -92,65 +209,107 @@ public class MultiServerManager {
     
     /**
      * Initializes the multi-server system.
+     * The configuration is read synchronously; MongoDB and Redis then connect in parallel,
+     * off the main thread, each phase reporting its progress in {@link #getStartupStatus()}.
      *
-     * @return CompletableFuture that completes when initialized
+     * @return CompletableFuture that completes when both backends are ready (true), or when
+     *         the multi-server mode is disabled or failed to start (false when failed)
      */
     public CompletableFuture<Boolean> initialize() {
-        return CompletableFuture.supplyAsync(() -> {
-            // Load configuration
+        startupStatus = new StartupStatus();
+        
+        // Load configuration
+        startupStatus.start(StartupStatus.Phase.CONFIG);
+        try {
             loadConfig();
-            
-            if (!config.isEnabled()) {
-                instance.info("Le mode multi-serveur est désactivé.");
-                initialized = true;
-                return true;
-            }
-            
-            instance.info("Initialisation du mode multi-serveur...");
-            instance.info("Nom du serveur : " + config.getServerName());
-            instance.info("Type de serveur : " + config.getServerType().name());
-            
-            // Initialize MongoDB
-            mongoDBManager = new MongoDBManager(instance);
-            boolean mongoConnected = mongoDBManager.connect().join();
-            
-            if (!mongoConnected) {
-                instance.info("§cÉchec de la connexion à MongoDB. Mode multi-serveur désactivé.");
-                config.setEnabled(false);
-                return false;
-            }
-            
-            // Initialize Redis
-            redisManager = new RedisManager(instance);
-            boolean redisConnected = redisManager.connect().join();
-            
-            if (!redisConnected) {
-                instance.info("§cÉchec de la connexion à Redis. Mode multi-serveur désactivé.");
-                mongoDBManager.disconnect();
+            startupStatus.ready(StartupStatus.Phase.CONFIG);
+        } catch (Exception e) {
+            instance.info("§cÉchec du chargement de multiserver.yml : " + e.getMessage());
+            startupStatus.fail(StartupStatus.Phase.CONFIG, e.getMessage());
+            config.setEnabled(false);
+        }
+        liveness = newLiveness();
+        
+        if (!config.isEnabled()) {
+            instance.info("Le mode multi-serveur est désactivé.");
+            startupStatus.skip(StartupStatus.Phase.MONGODB);
+            startupStatus.skip(StartupStatus.Phase.REDIS);
+            startupStatus.skip(StartupStatus.Phase.CLAIMS_SYNC);
+            initialized = true;
+            return CompletableFuture.completedFuture(true);
+        }
+        
+        instance.info("Initialisation du mode multi-serveur...");
+        instance.info("Nom du serveur : " + config.getServerName());
+        instance.info("Type de serveur : " + config.getServerType().name());
+        
+        // Les deux connexions sont lancées en parallèle
+        mongoDBManager = mongoFactory.get();
+        CompletableFuture<Boolean> mongo = track(StartupStatus.Phase.MONGODB, mongoDBManager.connect());
+        
+        // Initialize Redis (handlers set before the subscription, which requests the catch-up)
+        syncLog = new SyncLog(config.getSyncReplayLogSize());
+        redisManager = redisFactory.get();
+        redisManager.setMessageHandler(this::handleMessage);
+        redisManager.setSequenceFilter(this::filterSequenced);
+        redisManager.setSubscribeHandler(this::onSubscribed);
+        CompletableFuture<Boolean> redis = track(StartupStatus.Phase.REDIS, redisManager.connect());
+        
+        return mongo.thenCombine(redis, (mongoConnected, redisConnected) -> {
+            if (!mongoConnected || !redisConnected) {
+                instance.info("§cÉchec de la connexion à " + (!mongoConnected ? "MongoDB" : "Redis") + ". Mode multi-serveur désactivé.");
+                if (mongoConnected) mongoDBManager.disconnect();
+                if (redisConnected) redisManager.disconnect();
+                startupStatus.skip(StartupStatus.Phase.CLAIMS_SYNC);
                 config.setEnabled(false);
                 return false;
             }
             
-            // Set up message handler
-            redisManager.setMessageHandler(this::handleMessage);
-            
-            // Send sync request to other servers
-            sendSyncRequest();
-            
             // Note: Server status is now managed by Velocity via SERVER_HEARTBEAT messages
             
+            // Claims des mondes non chargés, et présence des joueurs de ce serveur
+            instance.executeSync(() -> {
+                Bukkit.getPluginManager().registerEvents(new WorldLoadListener(), instance);
+                Bukkit.getPluginManager().registerEvents(new PresenceListener(), instance);
+                Bukkit.getOnlinePlayers().forEach(p -> presence.update(p.getUniqueId(), p.getName(), config.getServerName()));
+            });
+            
+            startSweeper();
             initialized = true;
             instance.info("Mode multi-serveur initialisé avec succès !");
             
+            // Messages reçus par Redis avant que MongoDB ne soit prêt
+            if (missedBeforeMongo) {
+                missedBeforeMongo = false;
+                resyncClaimsFromMongo();
+            }
+            
             return true;
         });
     }
     
+    /**
+     * Gets the readiness and timing of the startup phases.
+     *
+     * @return The startup status
+     */
+    public StartupStatus getStartupStatus() {
+        return startupStatus;
+    }
+    
     /**
      * Shuts down the multi-server system.
      */
     public void shutdown() {
+        if (bukkitSweeper != null) {
+            bukkitSweeper.cancel();
+        }
+        if (scheduledSweeper != null) {
+            scheduledSweeper.cancel();
+        }
+        
         if (redisManager != null) {
+            redisManager.saveLastSeenSequence(config.getServerName(), syncLog.getLastSequence());
             redisManager.disconnect();
         }
         
@@ -226,73 +385,40 @@ public class MultiServerManager {
      * @param isOnline Whether the server is online
      */
     public void updateServerStatus(String serverName, boolean isOnline) {
-        boolean wasOnline = onlineServers.containsKey(serverName);
-        
         if (isOnline) {
-            onlineServers.put(serverName, System.currentTimeMillis());
-            // Only log if status changed from offline to online
-            if (!wasOnline) {
-                instance.info("§aServeur " + serverName + " est maintenant EN LIGNE");
-            }
+            liveness.heartbeat(serverName);
         } else {
-            if (onlineServers.remove(serverName) != null) {
-                instance.info("§cServeur " + serverName + " est maintenant HORS LIGNE");
-            }
+            liveness.markDown(serverName);
         }
     }
     
     /**
      * Checks if a server is online (based on Velocity status).
+     * A server without heartbeat for 30 seconds is put offline by the sweeper.
      *
      * @param serverName The server name to check
      * @return true if the server is online
      */
     public boolean isServerOnline(String serverName) {
-        if (serverName.equals(config.getServerName())) {
-            return true; // Ce serveur est toujours en ligne
-        }
-        Long lastUpdate = onlineServers.get(serverName);
-        if (lastUpdate == null) {
-            return false;
-        }
-        // Si pas de mise à jour depuis plus de 30 secondes, considérer hors ligne
-        return (System.currentTimeMillis() - lastUpdate) < HEARTBEAT_TIMEOUT;
+        return liveness.isOnline(serverName);
     }
     
     /**
      * Gets a list of online survival servers.
      *
-     * @return List of online survival server names
+     * @return Immutable list of online survival server names
      */
     public List<String> getOnlineSurvivalServers() {
-        List<String> survivalServers = config.getSurvivalServers();
-        List<String> onlineSurvival = new ArrayList<>();
-        
-        for (String server : survivalServers) {
-            if (isServerOnline(server)) {
-                onlineSurvival.add(server);
-            }
-        }
-        
-        return onlineSurvival;
+        return liveness.getOnlineSurvivalServers();
     }
     
     /**
      * Gets a list of online lobby servers.
      *
-     * @return List of online lobby server names
+     * @return Immutable list of online lobby server names
      */
     public List<String> getOnlineLobbyServers() {
-        List<String> lobbyServers = config.getLobbyServers();
-        List<String> onlineLobbies = new ArrayList<>();
-        
-        for (String server : lobbyServers) {
-            if (isServerOnline(server)) {
-                onlineLobbies.add(server);
-            }
-        }
-        
-        return onlineLobbies;
+        return liveness.getOnlineLobbyServers();
     }
     
     /**
@@ -301,7 +427,7 @@ public class MultiServerManager {
      * @return Map of server name to last update timestamp
      */
     public Map<String, Long> getOnlineServers() {
-        return new HashMap<>(onlineServers);
+        return liveness.getLastSeen();
     }
     
     /**
@@ -311,33 +437,77 @@ public class MultiServerManager {
      * @return Set of online player names across all servers
      */
     public Set<String> getAllOnlinePlayerNames() {
-        Set<String> onlinePlayerNames = new HashSet<>();
+        Set<String> onlinePlayerNames = presence.getOnlineNames();
         
         Bukkit.getOnlinePlayers().forEach(p -> onlinePlayerNames.add(p.getName()));
 
         return onlinePlayerNames;
     }
     
+    /**
+     * Gets the registry of the players online on the network.
+     *
+     * @return The presence registry
+     */
+    public PresenceRegistry getPresence() {
+        return presence;
+    }
+    
+    /**
+     * Checks if a player is online on any server of the network.
+     *
+     * @param playerUUID The player's UUID
+     * @return true if online
+     */
+    public boolean isPlayerOnline(UUID playerUUID) {
+        return presence.isOnline(playerUUID) || Bukkit.getPlayer(playerUUID) != null;
+    }
+    
     // ************************
     // *  Pending RTP System  *
     // ************************
     
     /**
-     * Marks a player for RTP after they connect to this server.
+     * Marks a player for RTP after they connect to the target server.
      *
      * @param playerUUID The player's UUID
      * @param targetServer The server name where the player will be sent
+     * @return false if the target server is offline, the player must not be transferred
      */
-    public void sendPendingRtp(UUID playerUUID, String targetServer) {
-        if (!isEnabled()) return;
+    public boolean sendPendingRtp(UUID playerUUID, String targetServer) {
+        if (!isEnabled() || !isServerOnline(targetServer)) return false;
         
         RedisMessage message = new RedisMessage(MessageType.PLAYER_RTP_PENDING, config.getServerName())
             .playerUUID(playerUUID)
             .targetServer(targetServer)
             .addData("timestamp", System.currentTimeMillis());
         
+        // Enregistrement durable, lu par le serveur cible à la connexion si le message est perdu
+        redisManager.storeHandoff(targetServer, playerUUID, message, PENDING_TIMEOUT / 1000);
         redisManager.publish(message);
+        pendingTransfers.put(playerUUID, new PendingTransfer(targetServer, "rtp-no-survival-server-available"));
         instance.info("RTP: Envoi de pending RTP pour " + playerUUID + " vers " + targetServer);
+        return true;
+    }
+    
+    /**
+     * Loads the pending teleport stored for a player joining this server, and deletes it.
+     * This covers the pub/sub messages published before this server was subscribed;
+     * call it before consuming the pending RTP or claim teleport.
+     *
+     * @param playerUUID The player's UUID
+     * @return CompletableFuture that completes when the pending teleport, if any, is loaded
+     */
+    public CompletableFuture<Void> loadPendingHandoff(UUID playerUUID) {
+        if (!isEnabled()) return CompletableFuture.completedFuture(null);
+        return redisManager.takeHandoff(config.getServerName(), playerUUID).thenAccept(message -> {
+            if (message == null) return;
+            if (message.getType() == MessageType.PLAYER_RTP_PENDING) {
+                handlePendingRtp(message);
+            } else if (message.getType() == MessageType.PLAYER_CLAIM_TP_PENDING) {
+                handlePendingClaimTp(message);
+            }
+        });
     }
     
     /**
@@ -352,7 +522,7 @@ public class MultiServerManager {
             return false;
         }
         // Le pending RTP expire après 60 secondes
-        if (System.currentTimeMillis() - timestamp > 60000) {
+        if (System.currentTimeMillis() - timestamp > PENDING_TIMEOUT) {
             pendingRtpPlayers.remove(playerUUID);
             return false;
         }
@@ -390,9 +560,10 @@ public class MultiServerManager {
      * @param targetServer The server name where the player will be sent
      * @param ownerName The claim owner's name
      * @param claimName The claim's name
+     * @return false if the target server is offline, the player must not be transferred
      */
-    public void sendPendingClaimTp(UUID playerUUID, String targetServer, String ownerName, String claimName) {
-        if (!isEnabled()) return;
+    public boolean sendPendingClaimTp(UUID playerUUID, String targetServer, String ownerName, String claimName) {
+        if (!isEnabled() || !isServerOnline(targetServer)) return false;
         
         RedisMessage message = new RedisMessage(MessageType.PLAYER_CLAIM_TP_PENDING, config.getServerName())
             .playerUUID(playerUUID)
@@ -401,8 +572,12 @@ public class MultiServerManager {
             .addData("owner_name", ownerName)
             .addData("timestamp", System.currentTimeMillis());
         
+        // Enregistrement durable, lu par le serveur cible à la connexion si le message est perdu
+        redisManager.storeHandoff(targetServer, playerUUID, message, PENDING_TIMEOUT / 1000);
         redisManager.publish(message);
+        pendingTransfers.put(playerUUID, new PendingTransfer(targetServer, "server-offline"));
         instance.info("ClaimTP: Envoi de pending claim TP pour " + playerUUID + " vers " + targetServer + " (claim: " + claimName + ")");
+        return true;
     }
     
     /**
@@ -417,7 +592,7 @@ public class MultiServerManager {
             return false;
         }
         // Le pending claim TP expire après 60 secondes
-        if (System.currentTimeMillis() - data.timestamp > 60000) {
+        if (System.currentTimeMillis() - data.timestamp > PENDING_TIMEOUT) {
             pendingClaimTpPlayers.remove(playerUUID);
             return false;
         }
@@ -446,6 +621,40 @@ public class MultiServerManager {
         instance.info("ClaimTP: Pending claim TP ajouté pour " + playerUUID + " (claim: " + claimName + " de " + ownerName + ")");
     }
 
+    /**
+     * Asks the Velocity proxy to send a player to the server holding a claim, found in the
+     * claim directory of the proxy instead of MongoDB. The proxy records the pending claim
+     * teleport itself. The fallback runs if the proxy does not know the claim or does not
+     * answer in time.
+     *
+     * @param player The player to teleport
+     * @param ownerName The claim owner's name
+     * @param claimName The claim's name
+     * @param fallback The lookup to run if the proxy cannot route the player
+     */
+    public void routeClaimTp(Player player, String ownerName, String claimName, Runnable fallback) {
+        if (!isEnabled()) {
+            fallback.run();
+            return;
+        }
+        
+        UUID playerUUID = player.getUniqueId();
+        pendingRoutes.put(playerUUID, fallback);
+        RedisMessage message = new RedisMessage(MessageType.CLAIM_TP_ROUTE_REQUEST, config.getServerName())
+            .playerUUID(playerUUID)
+            .targetServer("velocity-proxy")
+            .claimName(claimName)
+            .addData("owner_name", ownerName);
+        redisManager.publish(message);
+        
+        // Pas de réponse du proxy (proxy absent ou ancienne version) : recherche de repli
+        instance.executeAsyncLater(() -> {
+            if (pendingRoutes.remove(playerUUID, fallback) && player.isOnline()) {
+                fallback.run();
+            }
+        }, ROUTE_TIMEOUT);
+    }
+
     // *************************
     // *  Synchronization API  *
     // *************************
@@ -519,7 +728,8 @@ public class MultiServerManager {
         RedisMessage message = new RedisMessage(MessageType.CLAIM_UPDATE, config.getServerName())
             .playerUUID(ownerUUID)
             .claimName(claim.getName())
-            .addData("id_claim", claim.getId());
+            .addData("id_claim", claim.getId())
+            .addData("owner_name", claim.getOwner());
         
         redisManager.publish(message);
     }
@@ -688,12 +898,121 @@ public class MultiServerManager {
     }
     
     /**
-     * Requests a cache invalidation on other servers.
+     * Saves the claims changed by an admin bulk operation to MongoDB, then invalidates
+     * the claims of their owner on other servers.
+     *
+     * @param ownerUUID The owner's UUID
+     * @param claims The changed claims of the owner
+     */
+    public void broadcastOwnerClaimsUpdate(UUID ownerUUID, Collection<Claim> claims) {
+        if (!isEnabled()) return;
+        
+        List<Claim> copy = new ArrayList<>(claims);
+        mongoDBManager.saveClaims(copy).whenComplete((count, e) -> {
+            if (e != null || count < copy.size()) {
+                instance.info("§cÉchec de la sauvegarde des claims de " + ownerUUID + " dans MongoDB");
+                return;
+            }
+            broadcastOwnerCacheInvalidate(ownerUUID);
+        });
+    }
+    
+    /**
+     * Saves the claims changed by an admin operation on every claim to MongoDB, then
+     * invalidates all the claims on other servers.
+     *
+     * @param claims The changed claims
+     */
+    public void broadcastAllClaimsUpdate(Collection<Claim> claims) {
+        if (!isEnabled()) return;
+        
+        List<Claim> copy = new ArrayList<>(claims);
+        mongoDBManager.saveClaims(copy).whenComplete((count, e) -> {
+            if (e != null || count < copy.size()) {
+                instance.info("§cÉchec de la sauvegarde des claims dans MongoDB");
+                return;
+            }
+            broadcastCacheInvalidate();
+        });
+    }
+    
+    /**
+     * Moves a claim to its new owner in MongoDB (new owner uuid and id), then invalidates
+     * the old and the new claim on other servers.
+     *
+     * @param oldOwnerUUID The previous owner's UUID
+     * @param oldClaimId The previous claim ID
+     * @param claim The claim, with its new owner and ID
+     */
+    public void broadcastClaimTransfer(UUID oldOwnerUUID, int oldClaimId, Claim claim) {
+        if (!isEnabled()) return;
+        
+        UUID newOwnerUUID = claim.getUUID();
+        int newClaimId = claim.getId();
+        mongoDBManager.deleteClaim(oldOwnerUUID, oldClaimId)
+            .thenCompose(deleted -> mongoDBManager.saveClaim(claim, newOwnerUUID))
+            .whenComplete((saved, e) -> {
+                if (e != null || !Boolean.TRUE.equals(saved)) {
+                    instance.info("§cÉchec du transfert du claim " + claim.getName() + " dans MongoDB");
+                    return;
+                }
+                broadcastClaimCacheInvalidate(oldOwnerUUID, oldClaimId);
+                broadcastClaimCacheInvalidate(newOwnerUUID, newClaimId);
+            });
+    }
+    
+    /**
+     * Requests a cache invalidation of all the claims on other servers.
      */
     public void broadcastCacheInvalidate() {
         if (!isEnabled()) return;
         
-        RedisMessage message = new RedisMessage(MessageType.CACHE_INVALIDATE, config.getServerName());
+        RedisMessage message = new RedisMessage(MessageType.CACHE_INVALIDATE, config.getServerName())
+            .addData("scope", InvalidateScope.ALL.name());
+        redisManager.publish(message);
+    }
+    
+    /**
+     * Requests a cache invalidation of a claim on other servers.
+     *
+     * @param ownerUUID The owner's UUID
+     * @param claimId The claim ID
+     */
+    public void broadcastClaimCacheInvalidate(UUID ownerUUID, int claimId) {
+        if (!isEnabled()) return;
+        
+        RedisMessage message = new RedisMessage(MessageType.CACHE_INVALIDATE, config.getServerName())
+            .playerUUID(ownerUUID)
+            .addData("scope", InvalidateScope.CLAIM.name())
+            .addData("id_claim", claimId);
+        redisManager.publish(message);
+    }
+    
+    /**
+     * Requests a cache invalidation of the claims of an owner on other servers.
+     *
+     * @param ownerUUID The owner's UUID
+     */
+    public void broadcastOwnerCacheInvalidate(UUID ownerUUID) {
+        if (!isEnabled()) return;
+        
+        RedisMessage message = new RedisMessage(MessageType.CACHE_INVALIDATE, config.getServerName())
+            .playerUUID(ownerUUID)
+            .addData("scope", InvalidateScope.OWNER.name());
+        redisManager.publish(message);
+    }
+    
+    /**
+     * Requests a cache invalidation of the claims of a world on other servers.
+     *
+     * @param worldName The world name
+     */
+    public void broadcastWorldCacheInvalidate(String worldName) {
+        if (!isEnabled()) return;
+        
+        RedisMessage message = new RedisMessage(MessageType.CACHE_INVALIDATE, config.getServerName())
+            .addData("scope", InvalidateScope.WORLD.name())
+            .addData("world", worldName);
         redisManager.publish(message);
     }
     
@@ -701,6 +1020,94 @@ public class MultiServerManager {
     // *  Private Methods  *
     // *********************
     
+    /**
+     * Creates the liveness tracker of the servers of the configuration.
+     *
+     * @return The tracker, with every other server offline
+     */
+    private ServerLiveness newLiveness() {
+        return new ServerLiveness(config.getServerName(), config.getSurvivalServers(), config.getLobbyServers(),
+            HEARTBEAT_TIMEOUT, this::onServerStatusChange);
+    }
+    
+    /**
+     * Starts the periodic expiry of the servers without heartbeat and of the pending transfers.
+     */
+    private void startSweeper() {
+        if (instance.isFolia()) {
+            scheduledSweeper = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> {
+                sweep();
+            }, SWEEP_INTERVAL, SWEEP_INTERVAL, TimeUnit.SECONDS);
+        } else {
+            long ticks = SWEEP_INTERVAL * 20;
+            bukkitSweeper = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, this::sweep, ticks, ticks);
+        }
+    }
+    
+    /**
+     * Expires the servers without heartbeat and the transfers which never completed.
+     */
+    private void sweep() {
+        liveness.sweep();
+        long now = System.currentTimeMillis();
+        pendingTransfers.values().removeIf(transfer -> now - transfer.timestamp > PENDING_TIMEOUT);
+    }
+    
+    /**
+     * Called once each time a server comes up or goes down.
+     *
+     * @param serverName The server
+     * @param online Whether the server is now online
+     */
+    private void onServerStatusChange(String serverName, boolean online) {
+        if (online) {
+            instance.info("§aServeur " + serverName + " est maintenant EN LIGNE");
+        } else {
+            instance.info("§cServeur " + serverName + " est maintenant HORS LIGNE");
+            presence.removeServer(serverName);
+            failTransfersTo(serverName);
+        }
+        instance.executeSync(() -> Bukkit.getPluginManager().callEvent(new ServerStatusChangeEvent(serverName, online)));
+    }
+    
+    /**
+     * Cancels the pending transfers of the players of this server to a server which went down,
+     * deletes their stored records and tells the players still here.
+     *
+     * @param serverName The server which went down
+     */
+    private void failTransfersTo(String serverName) {
+        pendingTransfers.entrySet().removeIf(entry -> {
+            if (!entry.getValue().targetServer.equals(serverName)) return false;
+            redisManager.deleteHandoff(serverName, entry.getKey());
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player != null) {
+                String failureMessage = entry.getValue().failureMessage;
+                instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage(failureMessage)));
+            }
+            return true;
+        });
+    }
+    
+    /**
+     * Reports the result of a connection in a startup phase.
+     *
+     * @param phase The phase
+     * @param connection The connection
+     * @return The connection, completed with false if it failed exceptionally
+     */
+    private CompletableFuture<Boolean> track(StartupStatus.Phase phase, CompletableFuture<Boolean> connection) {
+        startupStatus.start(phase);
+        return connection.exceptionally(e -> false).thenApply(connected -> {
+            if (connected) {
+                startupStatus.ready(phase);
+            } else {
+                startupStatus.fail(phase, "connexion impossible");
+            }
+            return connected;
+        });
+    }
+    
     /**
      * Loads the multi-server configuration from file.
      */
@@ -744,6 +1151,10 @@ public class MultiServerManager {
         config.setMongoDatabaseName(fileConfig.getString("mongodb.database", "SLclaim"));
         config.setMongoClaimsCollection(fileConfig.getString("mongodb.collections.claims", "claims"));
         config.setMongoPlayersCollection(fileConfig.getString("mongodb.collections.players", "players"));
+        config.setMongoPlayerSettingsCollection(fileConfig.getString("mongodb.collections.player-settings", "player_settings"));
+        
+        // Load sync configuration
+        config.setSyncReplayLogSize(fileConfig.getInt("sync.replay-log-size", 2048));
         
         // Load expulsion configuration
         config.setExpulsionTeleportToLobby(fileConfig.getBoolean("expulsion.teleport-to-lobby", false));
@@ -751,11 +1162,68 @@ public class MultiServerManager {
     }
     
     /**
-     * Sends a sync request to other servers.
+     * Called each time the Redis subscription is established (startup and reconnections).
+     * Loads the last sequence seen before the restart, then asks the other servers for the missed messages.
+     */
+    private void onSubscribed() {
+        if (syncLog.getLastSequence() == 0) {
+            long lastSeen = redisManager.getLastSeenSequence(config.getServerName());
+            if (lastSeen == 0) {
+                // Premier démarrage : rien à rattraper
+                syncLog.setLastSequence(redisManager.getCurrentSequence());
+                return;
+            }
+            syncLog.setLastSequence(lastSeen);
+        }
+        sendSyncRequest(syncLog.getLastSequence());
+    }
+    
+    /**
+     * Records a sequenced message (subscriber thread, in sequence order, own messages included).
+     * A jump in the sequence means messages were missed, a catch-up is requested.
+     *
+     * @param message The message
+     * @return true if the message must be handled
+     */
+    private boolean filterSequenced(RedisMessage message) {
+        long previous = syncLog.getLastSequence();
+        boolean fresh = syncLog.record(message);
+        if (previous > 0 && message.getSequence() > previous + 1 && catchUpAfter < 0) {
+            instance.info("§eMessages manqués (séquence " + previous + " -> " + message.getSequence() + "), demande de rattrapage...");
+            sendSyncRequest(previous);
+        }
+        if (message.getSequence() % 64 == 0) {
+            long sequence = syncLog.getLastSequence();
+            instance.executeAsync(() -> redisManager.saveLastSeenSequence(config.getServerName(), sequence));
+        }
+        return fresh;
+    }
+    
+    /**
+     * Sends a sync request to other servers, for the messages after a sequence.
+     *
+     * @param after The last sequence seen
      */
-    private void sendSyncRequest() {
-        RedisMessage message = new RedisMessage(MessageType.SERVER_SYNC_REQUEST, config.getServerName());
+    private void sendSyncRequest(long after) {
+        catchUpAfter = after;
+        RedisMessage message = new RedisMessage(MessageType.SERVER_SYNC_REQUEST, config.getServerName())
+            .addData("after_sequence", after);
         redisManager.publish(message);
+        instance.executeAsyncLater(this::checkCatchUp, CATCH_UP_TIMEOUT);
+    }
+    
+    /**
+     * Ends the current catch-up: if the other servers could not send all the missed messages,
+     * the claims are reloaded from MongoDB.
+     */
+    private void checkCatchUp() {
+        long after = catchUpAfter;
+        if (after < 0) return;
+        catchUpAfter = -1;
+        if (syncLog.hasAllAfter(after)) return;
+        
+        instance.info("§eRattrapage incomplet depuis la séquence " + after + ", rechargement des claims depuis MongoDB...");
+        resyncClaimsFromMongo();
     }
     
     /**
@@ -816,9 +1284,18 @@ public class MultiServerManager {
             case SERVER_SYNC_REQUEST:
                 handleSyncRequest(message);
                 break;
+            case SERVER_SYNC_RESPONSE:
+                handleSyncResponse(message);
+                break;
             case CACHE_INVALIDATE:
                 handleCacheInvalidate(message);
                 break;
+            case PLAYER_DATA_UPDATE:
+                handlePlayerDataUpdate(message);
+                break;
+            case CLAIM_TP_ROUTE_RESPONSE:
+                handleClaimTpRoute(message);
+                break;
             default:
                 break;
         }
@@ -841,7 +1318,37 @@ public class MultiServerManager {
             }
         } else {
             // Legacy heartbeat from another server
-            onlineServers.put(sourceServer, System.currentTimeMillis());
+            liveness.heartbeat(sourceServer);
+        }
+    }
+    
+    /**
+     * Handles a player connection, disconnection or server change sent by Velocity.
+     */
+    private void handlePlayerDataUpdate(RedisMessage message) {
+        UUID playerUUID = message.getPlayerUUIDAsUUID();
+        Object event = message.getData("event");
+        Object playerName = message.getData("player_name");
+        if (playerUUID == null || event == null || playerName == null) return;
+        
+        switch (event.toString()) {
+            case "login":
+                if (!presence.isOnline(playerUUID)) {
+                    presence.update(playerUUID, playerName.toString(), null);
+                }
+                break;
+            case "server_change":
+                Object currentServer = message.getData("current_server");
+                if (currentServer != null) {
+                    presence.update(playerUUID, playerName.toString(), currentServer.toString());
+                    pendingTransfers.remove(playerUUID);
+                }
+                break;
+            case "logout":
+                presence.remove(playerUUID, null);
+                break;
+            default:
+                break;
         }
     }
     
@@ -880,6 +1387,49 @@ public class MultiServerManager {
         }
     }
     
+    /**
+     * Handles the answer of the proxy to a claim teleport routing request.
+     */
+    private void handleClaimTpRoute(RedisMessage message) {
+        UUID playerUUID = message.getPlayerUUIDAsUUID();
+        if (playerUUID == null) return;
+        
+        Player player = Bukkit.getPlayer(playerUUID);
+        String targetServer = message.getData("server");
+        String status = message.getData("status", "unknown");
+        if ("failed".equals(status)) {
+            // Le serveur du claim a refusé la connexion, seulement après un "routed" accepté
+            if (!routedPlayers.remove(playerUUID)) return;
+            pendingTransfers.remove(playerUUID);
+            if (player != null) {
+                instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("server-offline")));
+            }
+            return;
+        }
+        
+        // La réponse ou le délai d'attente agit, jamais les deux
+        Runnable fallback = pendingRoutes.remove(playerUUID);
+        if (fallback == null) return;
+        switch (status) {
+            case "routed":
+                // Le proxy a enregistré la téléportation et transfère le joueur
+                if (targetServer == null) return;
+                routedPlayers.add(playerUUID);
+                pendingTransfers.put(playerUUID, new PendingTransfer(targetServer, "server-offline"));
+                if (player != null) {
+                    instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage()
+                        .getMessage("teleportation-to-other-server").replace("%server%", targetServer)));
+                }
+                break;
+            default:
+                // Claim inconnu du proxy
+                if (player != null) {
+                    fallback.run();
+                }
+                break;
+        }
+    }
+    
     /**
      * Handles a claim creation message.
      */
@@ -978,18 +1528,179 @@ public class MultiServerManager {
      * Handles a sync request message.
      */
     private void handleSyncRequest(RedisMessage message) {
-        // Another server is starting up and requesting sync
-        // We can send our data or acknowledge the request
         instance.info("Demande de synchronisation reçue du serveur : " + message.getSourceServer());
+        long after = message.getDataAsLong("after_sequence", -1);
+        
+        // Rien à envoyer si le serveur est à jour par rapport à ce journal
+        if (after < 0 || syncLog.getLastSequence() <= after) return;
+        
+        List<RedisMessage> missed = syncLog.after(after);
+        RedisMessage response = new RedisMessage(MessageType.SERVER_SYNC_RESPONSE, config.getServerName())
+            .targetServer(message.getSourceServer())
+            .addData("after_sequence", after)
+            .addData("messages", redisManager.getGson().toJson(missed));
+        redisManager.publish(response);
+    }
+    
+    /**
+     * Handles a sync response message: applies the missed messages in sequence order.
+     */
+    private void handleSyncResponse(RedisMessage message) {
+        if (catchUpAfter < 0 || message.getDataAsLong("after_sequence", -1) != catchUpAfter) return;
+        
+        String json = message.getData("messages");
+        RedisMessage[] missed = json != null ? redisManager.getGson().fromJson(json, RedisMessage[].class) : new RedisMessage[0];
+        int applied = 0;
+        for (RedisMessage m : missed) {
+            if (syncLog.record(m) && !config.getServerName().equals(m.getSourceServer())) {
+                handleMessage(m);
+                applied++;
+            }
+        }
+        instance.info("Rattrapage depuis " + message.getSourceServer() + " : " + applied + "/" + missed.length + " messages appliqués.");
     }
     
     /**
      * Handles a cache invalidation message.
      */
     private void handleCacheInvalidate(RedisMessage message) {
-        // Reload all claims from MongoDB
-        instance.info("Invalidation du cache reçue du serveur : " + message.getSourceServer());
-        reloadAllClaimsFromMongo();
+        // Les messages sans portée (anciennes versions) invalident tout
+        InvalidateScope scope;
+        try {
+            scope = InvalidateScope.valueOf(message.getData("scope", InvalidateScope.ALL.name()));
+        } catch (IllegalArgumentException e) {
+            scope = InvalidateScope.ALL;
+        }
+        
+        String key;
+        switch (scope) {
+            case CLAIM:
+                if (message.getPlayerUUID() == null || message.getDataAsInt("id_claim", -1) == -1) return;
+                key = scope.name() + ":" + message.getPlayerUUID() + ":" + message.getDataAsInt("id_claim", -1);
+                break;
+            case OWNER:
+                if (message.getPlayerUUID() == null) return;
+                key = scope.name() + ":" + message.getPlayerUUID();
+                break;
+            case WORLD:
+                if (message.getData("world") == null) return;
+                key = scope.name() + ":" + message.getData("world");
+                break;
+            default:
+                key = InvalidateScope.ALL.name();
+                break;
+        }
+        instance.info("Invalidation du cache (" + key + ") reçue du serveur : " + message.getSourceServer());
+        
+        queueInvalidation(key, INVALIDATE_COALESCE_DELAY);
+    }
+    
+    /**
+     * Adds a scope to the pending invalidations, and schedules their flush if none is scheduled.
+     *
+     * @param key The scope (SCOPE:value)
+     * @param delay The delay before the flush, in milliseconds
+     */
+    private void queueInvalidation(String key, long delay) {
+        // Regroupement : la première invalidation de la fenêtre programme le rechargement
+        pendingInvalidations.add(key);
+        if (invalidationFlushScheduled.compareAndSet(false, true)) {
+            instance.executeSyncLater(this::flushInvalidations, delay);
+        }
+    }
+    
+    /**
+     * Reloads the scopes invalidated during the coalescing window, once each.
+     * A scope included in a wider one (a claim of an invalidated owner or world) is skipped.
+     */
+    private void flushInvalidations() {
+        // Le drapeau est levé avant la vidange : une invalidation ajoutée pendant la vidange
+        // est soit vidée ici, soit suivie d'un nouveau rechargement
+        invalidationFlushScheduled.set(false);
+        Set<String> keys = new HashSet<>();
+        for (Iterator<String> it = pendingInvalidations.iterator(); it.hasNext();) {
+            keys.add(it.next());
+            it.remove();
+        }
+        if (keys.isEmpty()) return;
+        
+        if (keys.contains(InvalidateScope.ALL.name())) {
+            resyncClaimsFromMongo();
+            return;
+        }
+        
+        Set<String> owners = new HashSet<>();
+        Set<String> worlds = new HashSet<>();
+        for (String key : keys) {
+            if (key.startsWith(InvalidateScope.OWNER.name() + ":")) owners.add(key.substring(InvalidateScope.OWNER.name().length() + 1));
+            else if (key.startsWith(InvalidateScope.WORLD.name() + ":")) worlds.add(key.substring(InvalidateScope.WORLD.name().length() + 1));
+        }
+        
+        // En cas d'erreur MongoDB, l'état local est conservé et le rechargement est retenté
+        for (String world : worlds) {
+            mongoDBManager.getWorldClaims(world).whenComplete((docs, e) -> {
+                if (e != null) {
+                    queueInvalidation(InvalidateScope.WORLD.name() + ":" + world, INVALIDATE_RETRY_DELAY);
+                    return;
+                }
+                reconcileClaims(docs, claim -> claim.getLocation() != null && claim.getLocation().getWorld() != null
+                    && claim.getLocation().getWorld().getName().equals(world));
+            });
+        }
+        for (String owner : owners) {
+            UUID ownerUUID = UUID.fromString(owner);
+            mongoDBManager.getPlayerClaims(ownerUUID).whenComplete((docs, e) -> {
+                if (e != null) {
+                    queueInvalidation(InvalidateScope.OWNER.name() + ":" + owner, INVALIDATE_RETRY_DELAY);
+                    return;
+                }
+                reconcileClaims(docs, claim -> ownerUUID.equals(claim.getUUID()));
+            });
+        }
+        for (String key : keys) {
+            if (!key.startsWith(InvalidateScope.CLAIM.name() + ":")) continue;
+            String[] parts = key.split(":");
+            if (owners.contains(parts[1])) continue;
+            UUID ownerUUID = UUID.fromString(parts[1]);
+            int claimId = Integer.parseInt(parts[2]);
+            Claim claim = instance.getMain().getClaimById(ownerUUID, claimId);
+            if (claim != null && claim.getLocation() != null && claim.getLocation().getWorld() != null
+                    && worlds.contains(claim.getLocation().getWorld().getName())) continue;
+            reloadClaimFromMongo(ownerUUID, claimId);
+        }
+    }
+    
+    /**
+     * Replaces the local claims of a scope by the MongoDB documents of this scope:
+     * updates or creates the claims of the documents, removes the local claims without document.
+     * Only called with the result of a successful query, so an empty list means no claim.
+     *
+     * @param docs The documents of the scope
+     * @param inScope The filter of the local claims of the scope
+     */
+    private void reconcileClaims(List<Document> docs, Predicate<Claim> inScope) {
+        instance.executeSync(() -> {
+            Set<Claim> kept = new HashSet<>();
+            for (Document doc : docs) {
+                try {
+                    UUID ownerUUID = UUID.fromString(doc.getString("owner_uuid"));
+                    Claim existingClaim = instance.getMain().getClaimById(ownerUUID, doc.getInteger("id_claim"));
+                    if (existingClaim != null) {
+                        updateClaimFromDocument(existingClaim, doc);
+                        kept.add(existingClaim);
+                    } else {
+                        createClaimFromDocument(doc);
+                    }
+                } catch (Exception e) {
+                    instance.info("§cÉchec du rechargement d'un claim depuis MongoDB : " + e.getMessage());
+                }
+            }
+            for (Claim claim : new ArrayList<>(instance.getMain().getAllClaims())) {
+                if (inScope.test(claim) && !kept.contains(claim)) {
+                    instance.getMain().removeClaimFromCache(claim);
+                }
+            }
+        });
     }
     
     /**
@@ -999,8 +1710,28 @@ public class MultiServerManager {
      * @param claimId The claim ID
      */
     private void reloadClaimFromMongo(UUID ownerUUID, int claimId) {
-        mongoDBManager.getClaim(ownerUUID, claimId).thenAccept(doc -> {
-            if (doc == null) return;
+        if (!mongoDBManager.isConnected()) {
+            // Rechargement complet une fois MongoDB prêt
+            missedBeforeMongo = true;
+            return;
+        }
+        mongoDBManager.getClaim(ownerUUID, claimId).whenComplete((doc, e) -> {
+            if (e != null) {
+                // Erreur MongoDB : le claim local est conservé, nouvelle tentative plus tard
+                queueInvalidation(InvalidateScope.CLAIM.name() + ":" + ownerUUID + ":" + claimId, INVALIDATE_RETRY_DELAY);
+                return;
+            }
+            if (doc == null) {
+                // Le claim n'existe plus dans MongoDB (absence confirmée)
+                instance.executeSync(() -> {
+                    deferredClaims.values().forEach(docs -> docs.remove(ownerUUID + ":" + claimId));
+                    Claim existingClaim = instance.getMain().getClaimById(ownerUUID, claimId);
+                    if (existingClaim != null) {
+                        instance.getMain().removeClaimFromCache(existingClaim);
+                    }
+                });
+                return;
+            }
             
             instance.executeSync(() -> {
                 try {
@@ -1027,6 +1758,7 @@ public class MultiServerManager {
      */
     public void reloadAllClaimsFromMongo() {
         if (config.isLobbyServer()) {
+            startupStatus.skip(StartupStatus.Phase.CLAIMS_SYNC);
             mongoDBManager.getAllClaims().thenAccept(docs -> {
                 instance.executeSync(() -> {
                     instance.info(docs.size() + " claims disponibles dans MongoDB.");
@@ -1039,27 +1771,37 @@ public class MultiServerManager {
     }
     
     /**
-     * Synchronizes all local claims to MongoDB.
+     * Replaces every local claim by the claims of MongoDB (catch-up fallback and ALL invalidation).
+     * In case of MongoDB error, the local claims are kept and the reload is retried.
+     */
+    private void resyncClaimsFromMongo() {
+        mongoDBManager.getAllClaims().whenComplete((docs, e) -> {
+            if (e != null) {
+                queueInvalidation(InvalidateScope.ALL.name(), INVALIDATE_RETRY_DELAY);
+                return;
+            }
+            reconcileClaims(docs, claim -> true);
+            instance.executeSync(() -> instance.info("§a" + docs.size() + " claims rechargés depuis MongoDB."));
+        });
+    }
+    
+    /**
+     * Synchronizes all local claims to MongoDB, with bulk upserts.
      * This is called at startup for survival servers.
      */
     public void syncLocalClaimsToMongo() {
-        instance.executeAsync(() -> {
-            CustomSet<Claim> allClaims = instance.getMain().getAllClaims();
-            int count = 0;
-            
-            for (Claim claim : allClaims) {
-                try {
-                    UUID ownerUUID = claim.getUUID();
-                    mongoDBManager.saveClaim(claim, ownerUUID).join();
-                    count++;
-                } catch (Exception e) {
-                    instance.info("§cÉchec de la synchronisation du claim " + claim.getName() + " : " + e.getMessage());
-                }
+        List<Claim> claims = new ArrayList<>(instance.getMain().getAllClaims());
+        startupStatus.start(StartupStatus.Phase.CLAIMS_SYNC);
+        mongoDBManager.saveClaims(claims).whenComplete((count, e) -> {
+            if (e != null || count < claims.size()) {
+                String error = e != null ? e.getMessage() : (claims.size() - count) + " claims non synchronisés";
+                startupStatus.fail(StartupStatus.Phase.CLAIMS_SYNC, error);
+                instance.executeSync(() -> instance.info("§cSynchronisation des claims vers MongoDB incomplète : " + error));
+                return;
             }
-            
-            int finalCount = count;
+            startupStatus.ready(StartupStatus.Phase.CLAIMS_SYNC);
             instance.executeSync(() -> {
-                instance.info("§a" + finalCount + " claims synchronisés vers MongoDB.");
+                instance.info("§a" + count + " claims synchronisés vers MongoDB.");
             });
         });
     }
@@ -1076,35 +1818,60 @@ public class MultiServerManager {
         claim.setSale(doc.getBoolean("for_sale", false));
         claim.setPrice(doc.getLong("sale_price"));
         
-        // Update members
-        String membersStr = doc.getString("members");
-        Set<UUID> members = new HashSet<>();
-        if (membersStr != null && !membersStr.isEmpty()) {
-            for (String uuidStr : membersStr.split(";")) {
-                try {
-                    members.add(UUID.fromString(uuidStr));
-                } catch (IllegalArgumentException ignored) {}
-            }
-        }
-        claim.setMembers(members);
-        
-        // Update bans
-        String bansStr = doc.getString("bans");
-        Set<UUID> bans = new HashSet<>();
-        if (bansStr != null && !bansStr.isEmpty()) {
-            for (String uuidStr : bansStr.split(";")) {
-                try {
-                    bans.add(UUID.fromString(uuidStr));
-                } catch (IllegalArgumentException ignored) {}
-            }
-        }
-        claim.setBans(bans);
+        // Update members and bans
+        claim.setMembers(ClaimDocuments.readUUIDs(doc, "members"));
+        claim.setBans(ClaimDocuments.readUUIDs(doc, "bans"));
         
         // Update permissions
         String permissionsStr = doc.getString("permissions");
         if (permissionsStr != null) {
             claim.setPermissions(instance.getMain().deserializePermissions(permissionsStr));
         }
+        
+        // Update chunks, compared by coordinates so an unchanged claim creates no chunk
+        Map<String, Set<Long>> chunkKeys = ClaimDocuments.readChunkKeys(doc);
+        if (!chunkKeys.isEmpty() && !hasSameChunks(claim, chunkKeys)) {
+            Set<Chunk> chunks = resolveChunks(chunkKeys);
+            if (chunks != null) {
+                instance.getMain().setClaimChunks(claim, chunks);
+            }
+        }
+    }
+    
+    /**
+     * Resolves chunk keys into chunk references, without loading the chunks (see ClaimMain#getChunkReference).
+     *
+     * @param keys The chunk keys, by world name
+     * @return The chunks, or null if a world is not loaded
+     */
+    private Set<Chunk> resolveChunks(Map<String, Set<Long>> keys) {
+        Set<Chunk> chunks = new HashSet<>();
+        for (Map.Entry<String, Set<Long>> entry : keys.entrySet()) {
+            World world = Bukkit.getWorld(entry.getKey());
+            if (world == null) return null;
+            for (long key : entry.getValue()) {
+                chunks.add(instance.getMain().getChunkReference(world, (int) (key >> 32), (int) key));
+            }
+        }
+        return chunks;
+    }
+    
+    /**
+     * Checks if a claim has exactly the given chunks.
+     *
+     * @param claim The claim
+     * @param keys The chunk keys, by world name
+     * @return true if same chunks
+     */
+    private boolean hasSameChunks(Claim claim, Map<String, Set<Long>> keys) {
+        int count = 0;
+        for (Set<Long> worldKeys : keys.values()) count += worldKeys.size();
+        if (count != claim.getChunks().size()) return false;
+        for (Chunk chunk : claim.getChunks()) {
+            Set<Long> worldKeys = keys.get(chunk.getWorld().getName());
+            if (worldKeys == null || !worldKeys.contains(ClaimMain.chunkKey(chunk.getX(), chunk.getZ()))) return false;
+        }
+        return true;
     }
     
     /**
@@ -1116,30 +1883,13 @@ public class MultiServerManager {
         String worldName = doc.getString("world_name");
         World world = Bukkit.getWorld(worldName);
         
-        if (world == null) {
-            // Try to create the world
-            world = Bukkit.createWorld(new WorldCreator(worldName));
-            if (world == null) {
-                instance.info("§cImpossible de charger le claim : le monde " + worldName + " n'existe pas.");
-                return;
-            }
-        }
-        
-        // Parse chunks
-        String chunksStr = doc.getString("chunks");
-        Set<Chunk> chunks = new HashSet<>();
-        if (chunksStr != null && !chunksStr.isEmpty()) {
-            for (String chunkStr : chunksStr.split(";")) {
-                String[] parts = chunkStr.split(",");
-                if (parts.length == 3) {
-                    World chunkWorld = Bukkit.getWorld(parts[0]);
-                    if (chunkWorld != null) {
-                        int x = Integer.parseInt(parts[1]);
-                        int z = Integer.parseInt(parts[2]);
-                        chunks.add(chunkWorld.getChunkAt(x, z));
-                    }
-                }
-            }
+        // Parse chunks as references, without loading them
+        Set<Chunk> chunks = world == null ? null : resolveChunks(ClaimDocuments.readChunkKeys(doc));
+        if (chunks == null) {
+            // Monde non chargé : le claim sera créé au chargement du monde (pas de création de monde ici)
+            deferredClaims.computeIfAbsent(worldName, k -> new ConcurrentHashMap<>())
+                .put(doc.getString("owner_uuid") + ":" + doc.getInteger("id_claim"), doc);
+            return;
         }
         
         if (chunks.isEmpty()) return;
@@ -1156,27 +1906,9 @@ public class MultiServerManager {
             Float.parseFloat(locParts[5])
         );
         
-        // Parse members
-        String membersStr = doc.getString("members");
-        Set<UUID> members = new HashSet<>();
-        if (membersStr != null && !membersStr.isEmpty()) {
-            for (String uuidStr : membersStr.split(";")) {
-                try {
-                    members.add(UUID.fromString(uuidStr));
-                } catch (IllegalArgumentException ignored) {}
-            }
-        }
-        
-        // Parse bans
-        String bansStr = doc.getString("bans");
-        Set<UUID> bans = new HashSet<>();
-        if (bansStr != null && !bansStr.isEmpty()) {
-            for (String uuidStr : bansStr.split(";")) {
-                try {
-                    bans.add(UUID.fromString(uuidStr));
-                } catch (IllegalArgumentException ignored) {}
-            }
-        }
+        // Parse members and bans
+        Set<UUID> members = ClaimDocuments.readUUIDs(doc, "members");
+        Set<UUID> bans = ClaimDocuments.readUUIDs(doc, "bans");
         
         // Parse permissions
         String permissionsStr = doc.getString("permissions");
@@ -1204,6 +1936,63 @@ public class MultiServerManager {
         instance.getMain().addClaimToCache(claim);
     }
     
+    /**
+     * Creates or updates the claims received for a world which was not loaded.
+     *
+     * @param world The loaded world
+     */
+    private void materializeDeferredClaims(World world) {
+        Map<String, Document> docs = deferredClaims.remove(world.getName());
+        if (docs == null) return;
+        
+        for (Document doc : docs.values()) {
+            try {
+                UUID ownerUUID = UUID.fromString(doc.getString("owner_uuid"));
+                Claim existingClaim = instance.getMain().getClaimById(ownerUUID, doc.getInteger("id_claim"));
+                if (existingClaim != null) {
+                    updateClaimFromDocument(existingClaim, doc);
+                } else {
+                    createClaimFromDocument(doc);
+                }
+            } catch (Exception e) {
+                instance.info("§cÉchec de la création d'un claim du monde " + world.getName() + " : " + e.getMessage());
+            }
+        }
+        instance.info(docs.size() + " claims créés pour le monde " + world.getName() + ".");
+    }
+    
+    /**
+     * Listener creating the deferred claims when their world loads.
+     */
+    public class WorldLoadListener implements Listener {
+        
+        @EventHandler
+        public void onWorldLoad(WorldLoadEvent event) {
+            materializeDeferredClaims(event.getWorld());
+        }
+    }
+    
+    /**
+     * Listener recording the joins and quits of this server in the presence registry,
+     * without waiting for Velocity.
+     */
+    public class PresenceListener implements Listener {
+        
+        @EventHandler
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            Player player = event.getPlayer();
+            presence.update(player.getUniqueId(), player.getName(), config.getServerName());
+        }
+        
+        @EventHandler
+        public void onPlayerQuit(PlayerQuitEvent event) {
+            presence.remove(event.getPlayer().getUniqueId(), config.getServerName());
+            pendingTransfers.remove(event.getPlayer().getUniqueId());
+            pendingRoutes.remove(event.getPlayer().getUniqueId());
+            routedPlayers.remove(event.getPlayer().getUniqueId());
+        }
+    }
+    
     /**
      * Updates the multiserver.yml config file with missing keys from default.
      * This ensures new config options are added without overwriting user settings.
@@ -0,0 +1,185 @@
+package fr.mrbaguette07.SLclaim.MultiServer;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Network-wide registry of the online players: the server each player is on.
+ * Fed by the Velocity PLAYER_DATA_UPDATE messages and by the joins and quits of this server.
+ * A player is only considered online while the heartbeat of its server is fresh, so the
+ * players of a server which stopped without notice expire with it.
+ * The lookups are constant time and can be done from any thread.
+ */
+public class PresenceRegistry {
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+    /** Where a player is */
+    private static final class Presence {
+        final String name;
+        /** The server, or null between the proxy login and the server connection */
+        final String server;
+        final long since;
+
+        Presence(String name, String server) {
+            this.name = name;
+            this.server = server;
+            this.since = System.currentTimeMillis();
+        }
+    }
+
+    /** The players by uuid */
+    private final Map<UUID, Presence> players = new ConcurrentHashMap<>();
+
+    /** The uuids by lowercase name */
+    private final Map<String, UUID> names = new ConcurrentHashMap<>();
+
+    /** Whether the heartbeat of a server is fresh */
+    private final Predicate<String> serverAlive;
+
+    /** How long a player may stay logged in without server */
+    private final long loginTimeout;
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+    /**
+     * Constructor for PresenceRegistry.
+     *
+     * @param serverAlive Whether the heartbeat of a server is fresh
+     * @param loginTimeout How long a player may stay logged in on the proxy without server, in milliseconds
+     */
+    public PresenceRegistry(Predicate<String> serverAlive, long loginTimeout) {
+        this.serverAlive = serverAlive;
+        this.loginTimeout = loginTimeout;
+    }
+
+    // ********************
+    // *  Public Methods  *
+    // ********************
+
+    /**
+     * Records that a player is on a server.
+     *
+     * @param uuid The player uuid
+     * @param name The player name
+     * @param server The server, or null if only logged in on the proxy
+     */
+    public void update(UUID uuid, String name, String server) {
+        Presence previous = players.put(uuid, new Presence(name, server));
+        if (previous != null && !previous.name.equalsIgnoreCase(name)) {
+            names.remove(previous.name.toLowerCase(Locale.ROOT), uuid);
+        }
+        names.put(name.toLowerCase(Locale.ROOT), uuid);
+    }
+
+    /**
+     * Records that a player left a server. Ignored if the player is already on another server.
+     *
+     * @param uuid The player uuid
+     * @param server The server left, or null if the player left the network
+     */
+    public void remove(UUID uuid, String server) {
+        Presence presence = players.get(uuid);
+        if (presence == null) return;
+        if (server != null && presence.server != null && !server.equals(presence.server)) return;
+        if (players.remove(uuid, presence)) {
+            names.remove(presence.name.toLowerCase(Locale.ROOT), uuid);
+        }
+    }
+
+    /**
+     * Forgets the players of a server (server reported offline).
+     *
+     * @param server The server
+     */
+    public void removeServer(String server) {
+        players.forEach((uuid, presence) -> {
+            if (server.equals(presence.server)) remove(uuid, server);
+        });
+    }
+
+    /**
+     * Gets the server a player is on.
+     *
+     * @param uuid The player uuid
+     * @return The server, or null if offline (or only logged in on the proxy)
+     */
+    public String getServer(UUID uuid) {
+        Presence presence = players.get(uuid);
+        return presence != null && isAlive(presence) ? presence.server : null;
+    }
+
+    /**
+     * Gets the server a player is on.
+     *
+     * @param name The player name, any case
+     * @return The server, or null if offline (or only logged in on the proxy)
+     */
+    public String getServer(String name) {
+        UUID uuid = names.get(name.toLowerCase(Locale.ROOT));
+        return uuid == null ? null : getServer(uuid);
+    }
+
+    /**
+     * Checks if a player is online on any server.
+     *
+     * @param uuid The player uuid
+     * @return true if online
+     */
+    public boolean isOnline(UUID uuid) {
+        Presence presence = players.get(uuid);
+        return presence != null && isAlive(presence);
+    }
+
+    /**
+     * Checks if a player is online on any server.
+     *
+     * @param name The player name, any case
+     * @return true if online
+     */
+    public boolean isOnline(String name) {
+        UUID uuid = names.get(name.toLowerCase(Locale.ROOT));
+        return uuid != null && isOnline(uuid);
+    }
+
+    /**
+     * Gets the names of the online players.
+     *
+     * @return The names
+     */
+    public Set<String> getOnlineNames() {
+        Set<String> online = new HashSet<>();
+        players.values().forEach(presence -> {
+            if (isAlive(presence)) online.add(presence.name);
+        });
+        return online;
+    }
+
+    /**
+     * Gets the number of players known, expired ones included.
+     *
+     * @return The size
+     */
+    public int size() {
+        return players.size();
+    }
+
+    // *********************
+    // *  Private Methods  *
+    // *********************
+
+    private boolean isAlive(Presence presence) {
+        return presence.server == null
+            ? System.currentTimeMillis() - presence.since < loginTimeout
+            : serverAlive.test(presence.server);
+    }
+}
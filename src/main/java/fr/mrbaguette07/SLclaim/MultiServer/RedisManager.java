@@ -1,9 +1,13 @@
 package fr.mrbaguette07.SLclaim.MultiServer;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -44,9 +48,39 @@ public class RedisManager {
     /** Message handler for incoming messages */
     private Consumer<RedisMessage> messageHandler;
     
+    /** Filter of the sequenced messages, called on the subscriber thread (also for own messages) */
+    private Predicate<RedisMessage> sequenceFilter;
+    
+    /** Handler called each time the subscription is established */
+    private Runnable subscribeHandler;
+    
     /** Whether the Redis connection is active */
     private boolean connected;
     
+    /**
+     * Publishes a claim mutation with the next network sequence and the next version of its claim,
+     * atomically, so the messages are received in sequence order.
+     * KEYS: sequence counter, claim versions hash, channel. ARGV: message json, claim key (or empty).
+     */
+    private static final String PUBLISH_SEQUENCED_SCRIPT =
+        "local sequence = redis.call('INCR', KEYS[1]) " +
+        "local version = 0 " +
+        "if ARGV[2] ~= '' then version = redis.call('HINCRBY', KEYS[2], ARGV[2], 1) end " +
+        "local message = cjson.decode(ARGV[1]) " +
+        "message['sequence'] = sequence " +
+        "message['version'] = version " +
+        "redis.call('PUBLISH', KEYS[3], cjson.encode(message)) " +
+        "return sequence";
+    
+    /**
+     * Reads and deletes a handoff record atomically, so it is applied once.
+     * KEYS: handoff key.
+     */
+    private static final String TAKE_HANDOFF_SCRIPT =
+        "local value = redis.call('GET', KEYS[1]) " +
+        "if value then redis.call('DEL', KEYS[1]) end " +
+        "return value";
+    
     // ******************
     // *  Constructors  *
     // ******************
@@ -166,13 +200,78 @@ public class RedisManager {
             try (Jedis jedis = jedisPool.getResource()) {
                 String channel = instance.getMultiServerManager().getConfig().getRedisChannel();
                 String json = gson.toJson(message);
-                jedis.publish(channel, json);
+                if (message.isClaimMutation()) {
+                    String claimKey = message.getClaimKey();
+                    jedis.eval(PUBLISH_SEQUENCED_SCRIPT,
+                        Arrays.asList(channel + ":sequence", channel + ":versions", channel),
+                        Arrays.asList(json, claimKey != null ? claimKey : ""));
+                } else {
+                    jedis.publish(channel, json);
+                }
             } catch (Exception e) {
                 instance.info("§cFailed to publish Redis message: " + e.getMessage());
             }
         }, executor);
     }
     
+    /**
+     * Stores the pending teleport of a player for a target server, which reads it when
+     * the player joins even if the pub/sub message was missed.
+     *
+     * @param targetServer The server the player is sent to
+     * @param playerUUID The player's UUID
+     * @param message The pending teleport message
+     * @param ttlSeconds Lifetime of the record, in seconds
+     * @return CompletableFuture that completes when stored
+     */
+    public CompletableFuture<Void> storeHandoff(String targetServer, UUID playerUUID, RedisMessage message, long ttlSeconds) {
+        return CompletableFuture.runAsync(() -> {
+            if (!connected || jedisPool == null) return;
+            try (Jedis jedis = jedisPool.getResource()) {
+                jedis.setex(getHandoffKey(targetServer, playerUUID), ttlSeconds, gson.toJson(message));
+            } catch (Exception e) {
+                instance.info("§cFailed to store the pending teleport: " + e.getMessage());
+            }
+        }, executor);
+    }
+    
+    /**
+     * Reads and deletes the pending teleport of a player for a server.
+     *
+     * @param targetServer The server the player joined
+     * @param playerUUID The player's UUID
+     * @return CompletableFuture with the pending teleport message, or null if none
+     */
+    public CompletableFuture<RedisMessage> takeHandoff(String targetServer, UUID playerUUID) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!connected || jedisPool == null) return null;
+            try (Jedis jedis = jedisPool.getResource()) {
+                Object json = jedis.eval(TAKE_HANDOFF_SCRIPT, Arrays.asList(getHandoffKey(targetServer, playerUUID)), Collections.emptyList());
+                return json != null ? gson.fromJson(json.toString(), RedisMessage.class) : null;
+            } catch (Exception e) {
+                instance.info("§cFailed to read the pending teleport: " + e.getMessage());
+                return null;
+            }
+        }, executor);
+    }
+    
+    /**
+     * Deletes the pending teleport of a player for a server.
+     *
+     * @param targetServer The server the player was sent to
+     * @param playerUUID The player's UUID
+     */
+    public void deleteHandoff(String targetServer, UUID playerUUID) {
+        CompletableFuture.runAsync(() -> {
+            if (!connected || jedisPool == null) return;
+            try (Jedis jedis = jedisPool.getResource()) {
+                jedis.del(getHandoffKey(targetServer, playerUUID));
+            } catch (Exception e) {
+                instance.info("§cFailed to delete the pending teleport: " + e.getMessage());
+            }
+        }, executor);
+    }
+    
     /**
      * Sets the message handler for incoming messages.
      *
@@ -182,6 +281,83 @@ public class RedisManager {
         this.messageHandler = handler;
     }
     
+    /**
+     * Sets the filter of the sequenced messages. It is called on the subscriber thread, in
+     * sequence order, for all the sequenced messages including the own ones, and returns
+     * false for the messages which must not be handled.
+     *
+     * @param filter The filter
+     */
+    public void setSequenceFilter(Predicate<RedisMessage> filter) {
+        this.sequenceFilter = filter;
+    }
+    
+    /**
+     * Sets the handler called each time the subscription is established (startup and reconnections).
+     *
+     * @param handler The handler, run on the executor
+     */
+    public void setSubscribeHandler(Runnable handler) {
+        this.subscribeHandler = handler;
+    }
+    
+    /**
+     * Gets the current network sequence (blocking).
+     *
+     * @return The sequence, 0 if none or on error
+     */
+    public long getCurrentSequence() {
+        if (!connected || jedisPool == null) return 0;
+        try (Jedis jedis = jedisPool.getResource()) {
+            String value = jedis.get(instance.getMultiServerManager().getConfig().getRedisChannel() + ":sequence");
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (Exception e) {
+            instance.info("§cFailed to read the Redis sequence: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Gets the last sequence seen by a server, saved at its last shutdown (blocking).
+     *
+     * @param serverName The server name
+     * @return The sequence, 0 if none or on error
+     */
+    public long getLastSeenSequence(String serverName) {
+        if (!connected || jedisPool == null) return 0;
+        try (Jedis jedis = jedisPool.getResource()) {
+            String value = jedis.hget(instance.getMultiServerManager().getConfig().getRedisChannel() + ":last-seen", serverName);
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (Exception e) {
+            instance.info("§cFailed to read the last seen sequence: " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Saves the last sequence seen by a server (blocking).
+     *
+     * @param serverName The server name
+     * @param sequence The sequence
+     */
+    public void saveLastSeenSequence(String serverName, long sequence) {
+        if (!connected || jedisPool == null || sequence <= 0) return;
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.hset(instance.getMultiServerManager().getConfig().getRedisChannel() + ":last-seen", serverName, String.valueOf(sequence));
+        } catch (Exception e) {
+            instance.info("§cFailed to save the last seen sequence: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Gets the Gson instance, configured for the Redis messages.
+     *
+     * @return The Gson instance
+     */
+    public Gson getGson() {
+        return gson;
+    }
+    
     /**
      * Checks if Redis is connected.
      *
@@ -204,6 +380,13 @@ public class RedisManager {
     // *  Private Methods  *
     // *********************
     
+    /**
+     * Gets the key of the pending teleport of a player for a server.
+     */
+    private String getHandoffKey(String targetServer, UUID playerUUID) {
+        return RedisMessage.handoffKey(instance.getMultiServerManager().getConfig().getRedisChannel(), targetServer, playerUUID.toString());
+    }
+    
     /**
      * Starts the pub/sub subscriber.
      */
@@ -217,6 +400,11 @@ public class RedisManager {
                 try {
                     RedisMessage redisMessage = gson.fromJson(message, RedisMessage.class);
                     
+                    // Sequenced messages are recorded in order, own messages included
+                    if (redisMessage.getSequence() > 0 && sequenceFilter != null && !sequenceFilter.test(redisMessage)) {
+                        return;
+                    }
+                    
                     // Ignore messages from self
                     if (redisMessage.getSourceServer().equals(serverName)) {
                         return;
@@ -234,6 +422,9 @@ public class RedisManager {
             @Override
             public void onSubscribe(String channel, int subscribedChannels) {
                 instance.info("Abonné au canal Redis : " + channel);
+                if (subscribeHandler != null) {
+                    executor.execute(subscribeHandler);
+                }
             }
             
             @Override
@@ -34,6 +34,12 @@ public class RedisMessage {
     /** Timestamp of when the message was created */
     private long timestamp;
     
+    /** Network-wide sequence number, set by Redis when published (0 if not sequenced) */
+    private long sequence;
+    
+    /** Version of the claim after this change, set by Redis when published (0 if not sequenced) */
+    private long version;
+    
     // ******************
     // *  Message Types *
     // ******************
@@ -62,6 +68,8 @@ public class RedisMessage {
         PLAYER_TELEPORT_REQUEST,
         PLAYER_RTP_PENDING,           // RTP en attente après transfert de serveur
         PLAYER_CLAIM_TP_PENDING,      // Téléportation à un claim en attente après transfert
+        CLAIM_TP_ROUTE_REQUEST,       // Demande au proxy le serveur d'un claim pour y envoyer le joueur
+        CLAIM_TP_ROUTE_RESPONSE,      // Réponse du proxy (routed, unknown ou failed)
         
         // Server operations
         SERVER_SYNC_REQUEST,
@@ -231,6 +239,52 @@ public class RedisMessage {
     public long getTimestamp() { return timestamp; }
     public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
     
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
+    /**
+     * Checks if this message is a claim mutation (sequenced and versioned when published).
+     *
+     * @return true if claim mutation
+     */
+    public boolean isClaimMutation() {
+        if (type == null) return false;
+        switch (type) {
+            case CLAIM_CREATE:
+            case CLAIM_DELETE:
+            case CLAIM_UPDATE:
+            case CLAIM_ADD_CHUNK:
+            case CLAIM_REMOVE_CHUNK:
+            case CLAIM_TRANSFER:
+            case CLAIM_MERGE:
+            case MEMBER_ADD:
+            case MEMBER_REMOVE:
+            case MEMBER_BAN:
+            case MEMBER_UNBAN:
+            case SETTING_UPDATE:
+            case CLAIM_SALE_START:
+            case CLAIM_SALE_CANCEL:
+            case CLAIM_SALE_COMPLETE:
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Gets the key of the claim involved, used for its version.
+     *
+     * @return The key (owner uuid:claim id), or null if no claim
+     */
+    public String getClaimKey() {
+        String claimId = data != null ? data.get("id_claim") : null;
+        if (playerUUID == null || claimId == null) return null;
+        return playerUUID + ":" + claimId;
+    }
+    
     /**
      * Checks if this message is targeted at a specific server.
      *
@@ -241,6 +295,19 @@ public class RedisMessage {
         return targetServer == null || targetServer.equals(serverName);
     }
     
+    /**
+     * Gets the Redis key of the pending teleport of a player for a target server,
+     * shared by the servers and the proxy.
+     *
+     * @param channel The Redis channel
+     * @param targetServer The server the player is sent to
+     * @param playerUUID The player's UUID
+     * @return The key
+     */
+    public static String handoffKey(String channel, String targetServer, String playerUUID) {
+        return channel + ":handoff:" + targetServer + ":" + playerUUID;
+    }
+    
     @Override
     public String toString() {
         return "RedisMessage{" +
@@ -251,6 +318,8 @@ public class RedisMessage {
                 ", claimName='" + claimName + '\'' +
                 ", data=" + data +
                 ", timestamp=" + timestamp +
+                ", sequence=" + sequence +
+                ", version=" + version +
                 '}';
     }
 }
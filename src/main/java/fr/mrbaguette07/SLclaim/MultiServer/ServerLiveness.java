@@ -0,0 +1,179 @@
+package fr.mrbaguette07.SLclaim.MultiServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Liveness of the servers of the network, fed by the heartbeats relayed by Velocity.
+ * A server is up from its first heartbeat until it is reported offline or until its
+ * heartbeat expires, which is detected by {@link #sweep()}. Each change of state is
+ * reported once to the transition listener.
+ * The lookups are constant time, and the online survival and lobby servers are kept as
+ * immutable snapshots rebuilt on the transitions only.
+ */
+public class ServerLiveness {
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+    /** The name of this server, always online */
+    private final String localServer;
+
+    /** The survival servers of the configuration */
+    private final List<String> survivalServers;
+
+    /** The lobby servers of the configuration */
+    private final List<String> lobbyServers;
+
+    /** Delay after which a server without heartbeat is down */
+    private final long timeout;
+
+    /** Called with the server name and its new state on each transition */
+    private final BiConsumer<String, Boolean> listener;
+
+    /** The last heartbeat of each server */
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+
+    /** The servers currently up */
+    private final Set<String> online = ConcurrentHashMap.newKeySet();
+
+    /** Snapshot of the online survival servers */
+    private volatile List<String> onlineSurvival;
+
+    /** Snapshot of the online lobby servers */
+    private volatile List<String> onlineLobbies;
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+    /**
+     * Constructor for ServerLiveness.
+     *
+     * @param localServer The name of this server
+     * @param survivalServers The survival servers of the configuration
+     * @param lobbyServers The lobby servers of the configuration
+     * @param timeout Delay after which a server without heartbeat is down, in milliseconds
+     * @param listener Called with the server name and its new state on each transition
+     */
+    public ServerLiveness(String localServer, List<String> survivalServers, List<String> lobbyServers,
+            long timeout, BiConsumer<String, Boolean> listener) {
+        this.localServer = localServer;
+        this.survivalServers = List.copyOf(survivalServers);
+        this.lobbyServers = List.copyOf(lobbyServers);
+        this.timeout = timeout;
+        this.listener = listener;
+        refreshSnapshots();
+    }
+
+    // ********************
+    // *  Public Methods  *
+    // ********************
+
+    /**
+     * Records a heartbeat of a server, which comes up if it was down.
+     *
+     * @param server The server
+     */
+    public void heartbeat(String server) {
+        lastSeen.put(server, System.currentTimeMillis());
+        transition(server, true);
+    }
+
+    /**
+     * Records that a server was reported offline.
+     *
+     * @param server The server
+     */
+    public void markDown(String server) {
+        lastSeen.remove(server);
+        transition(server, false);
+    }
+
+    /**
+     * Puts down the servers whose heartbeat expired.
+     */
+    public void sweep() {
+        for (String server : online) {
+            if (isExpired(server)) {
+                transition(server, false);
+            }
+        }
+    }
+
+    /**
+     * Checks if a server is up. This server is always up.
+     *
+     * @param server The server
+     * @return true if up
+     */
+    public boolean isOnline(String server) {
+        return server.equals(localServer) || online.contains(server);
+    }
+
+    /**
+     * Gets the online survival servers.
+     *
+     * @return The immutable snapshot, in configuration order
+     */
+    public List<String> getOnlineSurvivalServers() {
+        return onlineSurvival;
+    }
+
+    /**
+     * Gets the online lobby servers.
+     *
+     * @return The immutable snapshot, in configuration order
+     */
+    public List<String> getOnlineLobbyServers() {
+        return onlineLobbies;
+    }
+
+    /**
+     * Gets the last heartbeat of each server.
+     *
+     * @return A copy, server name to timestamp
+     */
+    public Map<String, Long> getLastSeen() {
+        return new HashMap<>(lastSeen);
+    }
+
+    // *********************
+    // *  Private Methods  *
+    // *********************
+
+    private boolean isExpired(String server) {
+        Long seen = lastSeen.get(server);
+        return seen == null || System.currentTimeMillis() - seen >= timeout;
+    }
+
+    private void transition(String server, boolean up) {
+        if (online.contains(server) == up) return;
+        synchronized (this) {
+            // A heartbeat may have arrived meanwhile
+            if (!up && !isExpired(server)) return;
+            if (up ? !online.add(server) : !online.remove(server)) return;
+            refreshSnapshots();
+        }
+        listener.accept(server, up);
+    }
+
+    private void refreshSnapshots() {
+        onlineSurvival = filterOnline(survivalServers);
+        onlineLobbies = filterOnline(lobbyServers);
+    }
+
+    private List<String> filterOnline(List<String> servers) {
+        List<String> result = new ArrayList<>(servers.size());
+        for (String server : servers) {
+            if (isOnline(server)) result.add(server);
+        }
+        return List.copyOf(result);
+    }
+}
@@ -0,0 +1,174 @@
+package fr.mrbaguette07.SLclaim.MultiServer;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Readiness and timing of the multi-server startup phases.
+ * The backends start in parallel; each phase reports its own state, so the cross-server
+ * features can switch on as soon as what they need is ready.
+ */
+public class StartupStatus {
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+    /** The startup phases */
+    public enum Phase {
+        /** Reading of multiserver.yml */
+        CONFIG,
+        /** Connection to MongoDB */
+        MONGODB,
+        /** Connection and subscription to Redis */
+        REDIS,
+        /** Upload of the local claims to MongoDB (survival servers) */
+        CLAIMS_SYNC
+    }
+
+    /** The states of a phase */
+    public enum State {
+        PENDING,
+        RUNNING,
+        READY,
+        FAILED,
+        SKIPPED
+    }
+
+    /** The status of each phase */
+    private final Map<Phase, PhaseStatus> phases = new EnumMap<>(Phase.class);
+
+    /**
+     * Status of a phase.
+     */
+    public static class PhaseStatus {
+        private volatile State state = State.PENDING;
+        private volatile long startMillis;
+        private volatile long endMillis;
+        private volatile String error;
+
+        public State getState() { return state; }
+        public long getStartMillis() { return startMillis; }
+        public long getEndMillis() { return endMillis; }
+        public String getError() { return error; }
+
+        /**
+         * Gets the duration of the phase, up to now if still running.
+         *
+         * @return The duration in milliseconds, 0 if not started
+         */
+        public long getDurationMillis() {
+            if (startMillis == 0) return 0;
+            return (endMillis == 0 ? System.currentTimeMillis() : endMillis) - startMillis;
+        }
+    }
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+    /**
+     * Constructor for StartupStatus, all phases pending.
+     */
+    public StartupStatus() {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new PhaseStatus());
+        }
+    }
+
+    // ********************
+    // *  Public Methods  *
+    // ********************
+
+    /**
+     * Marks a phase as running.
+     *
+     * @param phase The phase
+     */
+    public void start(Phase phase) {
+        PhaseStatus status = phases.get(phase);
+        status.startMillis = System.currentTimeMillis();
+        status.endMillis = 0;
+        status.error = null;
+        status.state = State.RUNNING;
+    }
+
+    /**
+     * Marks a phase as ready.
+     *
+     * @param phase The phase
+     */
+    public void ready(Phase phase) {
+        end(phase, State.READY, null);
+    }
+
+    /**
+     * Marks a phase as failed.
+     *
+     * @param phase The phase
+     * @param error The reason
+     */
+    public void fail(Phase phase, String error) {
+        end(phase, State.FAILED, error);
+    }
+
+    /**
+     * Marks a phase as skipped (not needed with this configuration).
+     *
+     * @param phase The phase
+     */
+    public void skip(Phase phase) {
+        end(phase, State.SKIPPED, null);
+    }
+
+    /**
+     * Checks if a phase is ready.
+     *
+     * @param phase The phase
+     * @return true if ready
+     */
+    public boolean isReady(Phase phase) {
+        return phases.get(phase).state == State.READY;
+    }
+
+    /**
+     * Gets the status of a phase.
+     *
+     * @param phase The phase
+     * @return The status
+     */
+    public PhaseStatus get(Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * Describes the phases, one line each.
+     *
+     * @return The lines
+     */
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Phase, PhaseStatus> entry : phases.entrySet()) {
+            PhaseStatus status = entry.getValue();
+            String color = status.state == State.READY ? "§a" : status.state == State.FAILED ? "§c" : status.state == State.RUNNING ? "§e" : "§7";
+            lines.add("§f" + entry.getKey().name() + " : " + color + status.state.name()
+                + (status.startMillis != 0 ? " §7(" + status.getDurationMillis() + " ms)" : "")
+                + (status.error != null ? " §c" + status.error : ""));
+        }
+        return lines;
+    }
+
+    // *********************
+    // *  Private Methods  *
+    // *********************
+
+    private void end(Phase phase, State state, String error) {
+        PhaseStatus status = phases.get(phase);
+        if (status.startMillis == 0) status.startMillis = System.currentTimeMillis();
+        status.endMillis = System.currentTimeMillis();
+        status.error = error;
+        status.state = state;
+    }
+}
@@ -0,0 +1,121 @@
+package fr.mrbaguette07.SLclaim.MultiServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded replay log of the sequenced claim messages, used to answer the catch-up
+ * requests of the servers which missed some messages.
+ * Also keeps the last network sequence seen and the last version seen of each claim,
+ * so a message received twice (live and through a catch-up) is only applied once.
+ * This class does not depend on Redis.
+ */
+public class SyncLog {
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+    /** Maximum number of messages kept */
+    private final int capacity;
+
+    /** The messages, by sequence */
+    private final TreeMap<Long, RedisMessage> messages = new TreeMap<>();
+
+    /** Last version seen of each claim (owner uuid:claim id) */
+    private final Map<String, Long> claimVersions = new HashMap<>();
+
+    /** Highest sequence seen */
+    private long lastSequence;
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+    /**
+     * Constructor for SyncLog.
+     *
+     * @param capacity The maximum number of messages kept
+     */
+    public SyncLog(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    // ********************
+    // *  Public Methods  *
+    // ********************
+
+    /**
+     * Records a sequenced message.
+     *
+     * @param message The message
+     * @return true if the message is newer than the last version seen of its claim (it must be applied)
+     */
+    public synchronized boolean record(RedisMessage message) {
+        long sequence = message.getSequence();
+        if (sequence <= 0) return true;
+        if (sequence > lastSequence) lastSequence = sequence;
+
+        if (messages.putIfAbsent(sequence, message) == null && messages.size() > capacity) {
+            messages.pollFirstEntry();
+        }
+
+        String key = message.getClaimKey();
+        if (key == null || message.getVersion() <= 0) return true;
+        Long known = claimVersions.get(key);
+        if (known != null && known >= message.getVersion()) return false;
+        claimVersions.put(key, message.getVersion());
+        return true;
+    }
+    
+    /**
+     * Checks if the log holds all the messages after a sequence, without gap.
+     *
+     * @param after The sequence
+     * @return true if nothing is missing after this sequence
+     */
+    public synchronized boolean hasAllAfter(long after) {
+        if (after >= lastSequence) return true;
+        return messages.tailMap(after, false).size() == lastSequence - after;
+    }
+    
+    /**
+     * Gets the messages after a sequence, in order.
+     *
+     * @param after The sequence
+     * @return The messages
+     */
+    public synchronized List<RedisMessage> after(long after) {
+        return new ArrayList<>(messages.tailMap(after, false).values());
+    }
+    
+    /**
+     * Gets the highest sequence seen.
+     *
+     * @return The sequence, 0 if none
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+    
+    /**
+     * Sets the highest sequence seen (at startup, from the saved value).
+     *
+     * @param sequence The sequence
+     */
+    public synchronized void setLastSequence(long sequence) {
+        lastSequence = Math.max(lastSequence, sequence);
+    }
+    
+    /**
+     * Gets the number of messages kept.
+     *
+     * @return The size
+     */
+    public synchronized int size() {
+        return messages.size();
+    }
+}
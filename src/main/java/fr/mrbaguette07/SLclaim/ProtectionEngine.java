@@ -0,0 +1,263 @@
+package fr.mrbaguette07.SLclaim;
+
+import java.util.UUID;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+import fr.mrbaguette07.SLclaim.Config.SettingsSnapshot;
+import fr.mrbaguette07.SLclaim.Types.Claim;
+import fr.mrbaguette07.SLclaim.Types.WorldMode;
+
+/**
+ * This class makes the protection decisions shared by all the listeners (Spigot, Paper and Folia).
+ * A decision combines the claim permissions for the role of the actor with the world mode defaults.
+ */
+public class ProtectionEngine {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Instance of SLclaim */
+	private final SLclaim instance;
+
+	/**
+	 * The result of a protection decision.
+	 */
+	public enum Decision {
+		/** The action is allowed */
+		ALLOW,
+		/** The action is denied by the claim */
+		DENY_CLAIM,
+		/** The action is denied by the world mode (SURVIVAL_REQUIRING_CLAIMS, outside of a claim) */
+		DENY_WORLD;
+
+		public boolean isDenied() {
+			return this != ALLOW;
+		}
+	}
+
+	/**
+	 * The protected actions, with their permission key, SurvivalRequiringClaims key and message key.
+	 */
+	public enum Action {
+		BUILD("Build", "Build", "build"),
+		DESTROY("Destroy", "Destroy", "destroy"),
+		SPECIAL_BLOCKS("SpecialBlocks", "SpecialBlocks", "specialblocks"),
+		BUTTONS("Buttons", "Buttons", "buttons"),
+		TRAPDOORS("Trapdoors", "Trapdoors", "trapdoors"),
+		DOORS("Doors", "Doors", "doors"),
+		FENCE_GATES("Fencegates", "Fencegates", "fencegates"),
+		LEVERS("Levers", "Levers", "levers"),
+		REPEATERS_COMPARATORS("RepeatersComparators", "RepeatersComparators", "repeaters"),
+		COMPARATORS("RepeatersComparators", "RepeatersComparators", "comparators"),
+		BELLS("Bells", "Bells", "bells"),
+		INTERACT_BLOCKS("InteractBlocks", "InteractBlocks", "interactblocks"),
+		ITEMS("Items", "Items", "items"),
+		PLATES("Plates", "Plates", "plates"),
+		TRIPWIRES("Tripwires", "Tripwires", "tripwires"),
+		ENTITIES("Entities", "Entities", "entities"),
+		DAMAGES("Damages", "Damages", "damages"),
+		PVP("Pvp", "Pvp", "pvp"),
+		TELEPORTATIONS("Teleportations", "Teleportations", "teleportations"),
+		PORTALS("Portals", "Portals", "portals"),
+		ITEMS_PICKUP("ItemsPickup", "ItemsPickup", "itemspickup"),
+		ITEMS_DROP("ItemsDrop", "ItemsDrop", "itemsdrop"),
+		ELYTRA("Elytra", "Elytra", "elytra"),
+		WIND_CHARGES("Windcharges", "Windcharges", "windcharges"),
+		FROST_WALKER("FrostWalker", "Frostwalker", "frostwalker"),
+		ENTER("Enter", null, "enter"),
+		FLY("Fly", null, null),
+		GUI_TELEPORT("GuiTeleport", null, "guiteleport"),
+		WEATHER("Weather", null, null),
+		EXPLOSIONS("Explosions", "Explosions", null),
+		LIQUIDS("Liquids", "Liquids", null),
+		REDSTONE("Redstone", "Redstone", null),
+		FIRE_SPREAD("Firespread", "Firespread", null),
+		MONSTERS("Monsters", "Monsters", null);
+
+		/** The permission key in the claims */
+		private final String permission;
+
+		/** The SurvivalRequiringClaims key, or null if the world mode does not apply */
+		private final String survivalKey;
+
+		/** The message key, or null if the action has no message */
+		private final String messageKey;
+
+		Action(String permission, String survivalKey, String messageKey) {
+			this.permission = permission;
+			this.survivalKey = survivalKey;
+			this.messageKey = messageKey;
+		}
+
+		public String getPermission() { return permission; }
+		public String getSurvivalKey() { return survivalKey; }
+		public String getMessageKey() { return messageKey; }
+	}
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Constructor for ProtectionEngine.
+	 *
+	 * @param instance The instance of the SLclaim plugin.
+	 */
+	public ProtectionEngine(SLclaim instance) {
+		this.instance = instance;
+	}
+
+
+    // ********************
+    // *  Others Methods  *
+    // ********************
+
+
+	/**
+	 * Decides whether an action is allowed in a chunk.
+	 * The role of the actor is the owner, a member or a visitor of the claim, or "natural" without actor.
+	 * The owner is allowed for all the actions except the weather.
+	 *
+	 * @param worldUid The uuid of the world
+	 * @param chunkX The chunk X
+	 * @param chunkZ The chunk Z
+	 * @param action The action
+	 * @param actorUuid The uuid of the player doing the action, or null for a natural action
+	 * @return The decision
+	 */
+	public Decision decide(UUID worldUid, int chunkX, int chunkZ, Action action, UUID actorUuid) {
+		Claim claim = instance.getMain().getClaimAt(worldUid, chunkX, chunkZ);
+		if (claim != null) {
+			return isAllowed(claim, action, actorUuid) ? Decision.ALLOW : Decision.DENY_CLAIM;
+		}
+		return decideUnclaimed(worldUid, action);
+	}
+
+	/**
+	 * Decides whether an entity that is not a player can do an action at a location.
+	 * In the claims, the entity has the permissions of the visitors.
+	 *
+	 * @param location The location
+	 * @param action The action
+	 * @return The decision
+	 */
+	public Decision decideAsVisitor(Location location, Action action) {
+		UUID worldUid = location.getWorld().getUID();
+		Claim claim = instance.getMain().getClaimAt(worldUid, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+		if (claim != null) {
+			return claim.getPermission(action.permission, "visitors") ? Decision.ALLOW : Decision.DENY_CLAIM;
+		}
+		return decideUnclaimed(worldUid, action);
+	}
+
+	/**
+	 * Decides whether an action is allowed at a location.
+	 *
+	 * @param location The location
+	 * @param action The action
+	 * @param actorUuid The uuid of the player doing the action, or null for a natural action
+	 * @return The decision
+	 */
+	public Decision decide(Location location, Action action, UUID actorUuid) {
+		World world = location.getWorld();
+		return decide(world.getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4, action, actorUuid);
+	}
+
+	/**
+	 * Decides whether an action is allowed on a block.
+	 *
+	 * @param block The block
+	 * @param action The action
+	 * @param actorUuid The uuid of the player doing the action, or null for a natural action
+	 * @return The decision
+	 */
+	public Decision decide(Block block, Action action, UUID actorUuid) {
+		return decide(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4, action, actorUuid);
+	}
+
+	/**
+	 * Decides whether a player can do an action at a location, and sends the protection message if denied.
+	 * The bypass permission is checked by the caller.
+	 *
+	 * @param player The player
+	 * @param location The location
+	 * @param action The action
+	 * @return True if the action is denied
+	 */
+	public boolean denyAndNotify(Player player, Location location, Action action) {
+		Decision decision = decide(location, action, player.getUniqueId());
+		if (!decision.isDenied()) return false;
+		sendDenied(player, action, decision);
+		return true;
+	}
+
+	/**
+	 * Decides whether a player can do an action on a block, and sends the protection message if denied.
+	 * The bypass permission is checked by the caller.
+	 *
+	 * @param player The player
+	 * @param block The block
+	 * @param action The action
+	 * @param ignoredInClaims Whether the block is ignored by the claims (ignored-break-blocks, ignored-place-blocks)
+	 * @return True if the action is denied
+	 */
+	public boolean denyAndNotify(Player player, Block block, Action action, boolean ignoredInClaims) {
+		Decision decision = decide(block, action, player.getUniqueId());
+		if (!decision.isDenied() || decision == Decision.DENY_CLAIM && ignoredInClaims) return false;
+		sendDenied(player, action, decision);
+		return true;
+	}
+
+	/**
+	 * Sends the protection message of a denied action.
+	 *
+	 * @param player The player
+	 * @param action The action
+	 * @param decision The decision
+	 */
+	public void sendDenied(Player player, Action action, Decision decision) {
+		if (action.messageKey == null || !decision.isDenied()) return;
+		String key = decision == Decision.DENY_WORLD ? action.messageKey + "-mode" : action.messageKey;
+		instance.getMain().sendMessage(player, instance.getLanguage().getMessage(key), instance.getSettings().getSnapshot().getProtectionMessage());
+	}
+
+	/**
+	 * Decides whether an action is allowed outside of the claims, from the world mode.
+	 *
+	 * @param worldUid The uuid of the world
+	 * @param action The action
+	 * @return The decision
+	 */
+	public Decision decideUnclaimed(UUID worldUid, Action action) {
+		if (action.survivalKey == null) return Decision.ALLOW;
+		SettingsSnapshot settings = instance.getSettings().getSnapshot();
+		if (settings.getWorldMode(worldUid) == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !settings.getSettingSRC(action.survivalKey)) {
+			return Decision.DENY_WORLD;
+		}
+		return Decision.ALLOW;
+	}
+
+	/**
+	 * Checks the permission of a claim for the role of an actor.
+	 * Used by the handlers which already have the claim, the world mode is not checked.
+	 *
+	 * @param claim The claim
+	 * @param action The action
+	 * @param actorUuid The uuid of the actor, or null for a natural action
+	 * @return True if the action is allowed
+	 */
+	public boolean isAllowed(Claim claim, Action action, UUID actorUuid) {
+		if (actorUuid == null) return claim.getPermission(action.permission, "natural");
+		if (action != Action.WEATHER && actorUuid.equals(claim.getUUID())) return true;
+		return claim.getPermission(action.permission, claim.isMember(actorUuid) ? "members" : "visitors");
+	}
+}
@@ -100,11 +100,20 @@ public class SLclaim extends JavaPlugin {
     /** Instance de ClaimBossBar pour la bossbar des joueurs */
     private ClaimBossBar claimBossBarInstance;
     
+    /** Instance de ProtectionEngine pour les décisions de protection */
+    private ProtectionEngine protectionEngine;
+    
+    /** Instance de EventRecorder pour l'enregistrement des événements */
+    private EventRecorder eventRecorder;
+    
     /** Instance de SLclaim pour les méthodes utiles */
     private SLclaim instance;
     
     /** Instance de MultiServerManager pour le support multi-serveur */
     private MultiServerManager multiServerManager;
+    
+    /** Instance de RtpCommand pour la téléportation aléatoire */
+    private RtpCommand rtpCommandInstance;
 
     /** Version du plugin */
     private String Version = "1.12.3.3";
@@ -167,6 +176,21 @@ public class SLclaim extends JavaPlugin {
             multiServerManager.shutdown();
         }
         
+        // Arrêter la résolution des profils Mojang
+        if (cPlayerMainInstance != null) {
+            cPlayerMainInstance.shutdown();
+        }
+        
+        // Arrêter l'enregistrement des événements
+        if (eventRecorder != null) {
+            eventRecorder.shutdown();
+        }
+        
+        // Arrêter la réserve d'emplacements RTP
+        if (rtpCommandInstance != null) {
+            rtpCommandInstance.shutdown();
+        }
+        
         if (dataSource != null) {
             dataSource.close();
         }
@@ -241,6 +265,8 @@ public class SLclaim extends JavaPlugin {
             	cPlayerMainInstance = new CPlayerMain(this);
             	claimLanguageInstance = new ClaimLanguage(this);
             	claimBossBarInstance = new ClaimBossBar(this);
+            	protectionEngine = new ProtectionEngine(this);
+            	eventRecorder = new EventRecorder(this);
             	multiServerManager = new MultiServerManager(this);
             }
             
@@ -403,6 +429,18 @@ public class SLclaim extends JavaPlugin {
                     		    + "player_head TEXT NOT NULL, "
                     		    + "player_textures TEXT NOT NULL)";
                     		stmt.executeUpdate(sql);
+                    		sql = "CREATE TABLE IF NOT EXISTS scs_profiles ("
+                    		    + "player_name VARCHAR(36) NOT NULL PRIMARY KEY, "
+                    		    + "uuid_mojang VARCHAR(36) NOT NULL, "
+                    		    + "player_textures TEXT NOT NULL, "
+                    		    + "fetched_at BIGINT NOT NULL)";
+                    		stmt.executeUpdate(sql);
+                    		sql = "CREATE TABLE IF NOT EXISTS scs_player_settings ("
+                    		    + "uuid_server VARCHAR(36) NOT NULL, "
+                    		    + "setting_key VARCHAR(64) NOT NULL, "
+                    		    + "setting_value DOUBLE NOT NULL, "
+                    		    + "PRIMARY KEY (uuid_server, setting_key))";
+                    		stmt.executeUpdate(sql);
                     		
                     		sql = "UPDATE scs_claims_1 SET owner_uuid = '" + ClaimMain.SERVER_UUID.toString() + "' WHERE owner_uuid = 'none';";
                     		stmt.executeUpdate(sql);
@@ -459,6 +497,18 @@ public class SLclaim extends JavaPlugin {
                     		    "player_name VARCHAR(36) NOT NULL, " +
                     		    "player_head TEXT NOT NULL, " +
                     		    "player_textures TEXT NOT NULL)";
+                        stmt.executeUpdate(sql);
+                        sql = "CREATE TABLE IF NOT EXISTS scs_profiles ("
+                            + "player_name VARCHAR(36) NOT NULL PRIMARY KEY, "
+                            + "uuid_mojang VARCHAR(36) NOT NULL, "
+                            + "player_textures TEXT NOT NULL, "
+                            + "fetched_at BIGINT NOT NULL)";
+                        stmt.executeUpdate(sql);
+                        sql = "CREATE TABLE IF NOT EXISTS scs_player_settings ("
+                            + "uuid_server VARCHAR(36) NOT NULL, "
+                            + "setting_key VARCHAR(64) NOT NULL, "
+                            + "setting_value DOUBLE NOT NULL, "
+                            + "PRIMARY KEY (uuid_server, setting_key))";
                         stmt.executeUpdate(sql);
                 		sql = "UPDATE scs_claims_1 SET owner_uuid = '" + ClaimMain.SERVER_UUID.toString() + "' WHERE owner_uuid = 'none';";
                 		stmt.executeUpdate(sql);
@@ -844,6 +894,7 @@ public class SLclaim extends JavaPlugin {
             
             // Add ignored place blocks
             claimSettingsInstance.setPlaceBlocksIgnore(getConfig().getStringList("ignored-place-blocks"));
+            claimSettingsInstance.publishSnapshot();
             
             // Register protection listener
             getServer().getPluginManager().registerEvents(new ClaimEvents(this), this);
@@ -854,7 +905,11 @@ public class SLclaim extends JavaPlugin {
             getCommand("scs").setExecutor(new ScsCommand(this));
             getCommand("claims").setExecutor(new ClaimsCommand(this));
             getCommand("protectedarea").setExecutor(new ProtectedAreaCommand(this));
-            getCommand("rtp").setExecutor(new RtpCommand(this));
+            if (rtpCommandInstance != null) {
+            	rtpCommandInstance.shutdown();
+            }
+            rtpCommandInstance = new RtpCommand(this);
+            getCommand("rtp").setExecutor(rtpCommandInstance);
             
             // Save config
             saveConfig();
@@ -868,9 +923,17 @@ public class SLclaim extends JavaPlugin {
                 getServer().getMessenger().registerOutgoingPluginChannel(this, "BungeeCord");
             }
 
-            // Initialize multi-server system (must be before loading claims)
+            // Initialize multi-server system (configuration lue tout de suite, MongoDB et Redis en arrière-plan)
             if (!reload) {
-                multiServerManager.initialize().thenAccept(success -> {
+                CompletableFuture<Boolean> startup = multiServerManager.initialize();
+                boolean lobby = multiServerManager.getConfig().isEnabled() && multiServerManager.isLobbyServer();
+                
+                // La protection locale est active sans attendre les connexions
+                if (!lobby) {
+                    claimInstance.loadClaims();
+                }
+                
+                startup.thenAccept(success -> {
                     if (success && multiServerManager.isEnabled()) {
                         info("Mode multi-serveur : " + multiServerManager.getConfig().getServerType().name());
                         if (multiServerManager.isLobbyServer()) {
@@ -882,11 +945,11 @@ public class SLclaim extends JavaPlugin {
                                 String.join(", ", multiServerManager.getConfig().getLobbyServers()));
                         }
                         
-                        if (!multiServerManager.isLobbyServer()) {
-                            claimInstance.loadClaims();
-                        }
                         multiServerManager.reloadAllClaimsFromMongo();
-                    } else {
+                        
+                        // Envoi des paramètres modifiés pendant le démarrage et fusion de ceux des autres serveurs
+                        cPlayerMainInstance.syncPlayersSettingsWithMongo();
+                    } else if (lobby) {
                         // Load claims from local database
                         claimInstance.loadClaims();
                     }
@@ -902,37 +965,11 @@ public class SLclaim extends JavaPlugin {
                 }
             }
             
-            // If multi-server is not enabled, load claims normally
-            if (!multiServerManager.getConfig().isEnabled()) {
-                claimInstance.loadClaims();
-            }
-            
             // Load players
             cPlayerMainInstance.loadPlayers();
             
-            // Add player settings
-            ConfigurationSection playersSection = getConfig().getConfigurationSection("players");
-            Map<UUID, Map<String, Double>> playersSettings = new HashMap<>();
-            for (String key : playersSection.getKeys(false)) {
-                Map<String, Double> settings = new HashMap<>();
-                if (getConfig().isSet("players." + key + ".max-claims")) settings.put("max-claims", getConfig().getDouble("players." + key + ".max-claims"));
-                if (getConfig().isSet("players." + key + ".max-radius-claims")) settings.put("max-radius-claims", getConfig().getDouble("players." + key + ".max-radius-claims"));
-                if (getConfig().isSet("players." + key + ".teleportation-delay")) settings.put("teleportation-delay", getConfig().getDouble("players." + key + ".teleportation-delay"));
-                if (getConfig().isSet("players." + key + ".claim-cost")) settings.put("claim-cost", getConfig().getDouble("players." + key + ".claim-cost"));
-                if (getConfig().isSet("players." + key + ".claim-cost-multiplier")) settings.put("claim-cost-multiplier", getConfig().getDouble("players." + key + ".claim-cost-multiplier"));
-                if (getConfig().isSet("players." + key + ".max-chunks-per-claim")) settings.put("max-chunks-per-claim", getConfig().getDouble("players." + key + ".max-chunks-per-claim"));
-                if (getConfig().isSet("players." + key + ".claim-distance")) settings.put("claim-distance", getConfig().getDouble("players." + key + ".claim-distance"));
-                if (getConfig().isSet("players." + key + ".max-chunks-total")) settings.put("max-chunks-total", getConfig().getDouble("players." + key + ".max-chunks-total"));
-                if (getConfig().isSet("players." + key + ".chunk-cost")) settings.put("chunk-cost", getConfig().getDouble("players." + key + ".chunk-cost"));
-                if (getConfig().isSet("players." + key + ".chunk-cost-multiplier")) settings.put("chunk-cost-multiplier", getConfig().getDouble("players." + key + ".chunk-cost-multiplier"));
-                if (!settings.isEmpty()) {
-                	UUID uuid = cPlayerMainInstance.getPlayerUUID(key);
-                	if(uuid != null) {
-                		playersSettings.put(uuid, settings);
-                	}
-                }
-            }
-            cPlayerMainInstance.setPlayersConfigSettings(playersSettings);
+            // Add player settings (the legacy "players" section is imported into the database once)
+            cPlayerMainInstance.loadPlayersSettings(getConfig().getConfigurationSection("players"));
             
             // Add players setting and active their bossbar (/reload prevention)
             if(isFolia) {
@@ -1108,6 +1145,18 @@ public class SLclaim extends JavaPlugin {
                     		    "player_head TEXT NOT NULL, " +
                     		    "player_textures TEXT NOT NULL)";
                         stmt.executeUpdate(sql);
+                        sql = "CREATE TABLE IF NOT EXISTS scs_profiles ("
+                            + "player_name VARCHAR(36) NOT NULL PRIMARY KEY, "
+                            + "uuid_mojang VARCHAR(36) NOT NULL, "
+                            + "player_textures TEXT NOT NULL, "
+                            + "fetched_at BIGINT NOT NULL)";
+                        stmt.executeUpdate(sql);
+                        sql = "CREATE TABLE IF NOT EXISTS scs_player_settings ("
+                            + "uuid_server VARCHAR(36) NOT NULL, "
+                            + "setting_key VARCHAR(64) NOT NULL, "
+                            + "setting_value DOUBLE NOT NULL, "
+                            + "PRIMARY KEY (uuid_server, setting_key))";
+                        stmt.executeUpdate(sql);
                     } catch (SQLException e) {
                         info(ChatColor.RED + "Erreur lors de la création des tables, utilisation de la base locale.");
                         configC = "false";
@@ -1161,6 +1210,18 @@ public class SLclaim extends JavaPlugin {
                     		    "player_name VARCHAR(36) NOT NULL, " +
                     		    "player_head TEXT NOT NULL, " +
                     		    "player_textures TEXT NOT NULL)";
+                        stmt.executeUpdate(sql);
+                        sql = "CREATE TABLE IF NOT EXISTS scs_profiles ("
+                            + "player_name VARCHAR(36) NOT NULL PRIMARY KEY, "
+                            + "uuid_mojang VARCHAR(36) NOT NULL, "
+                            + "player_textures TEXT NOT NULL, "
+                            + "fetched_at BIGINT NOT NULL)";
+                        stmt.executeUpdate(sql);
+                        sql = "CREATE TABLE IF NOT EXISTS scs_player_settings ("
+                            + "uuid_server VARCHAR(36) NOT NULL, "
+                            + "setting_key VARCHAR(64) NOT NULL, "
+                            + "setting_value DOUBLE NOT NULL, "
+                            + "PRIMARY KEY (uuid_server, setting_key))";
                         stmt.executeUpdate(sql);
                 		sql = "UPDATE scs_claims_1 SET owner_uuid = '" + ClaimMain.SERVER_UUID.toString() + "' WHERE owner_uuid = 'none';";
                 		stmt.executeUpdate(sql);
@@ -1466,29 +1527,8 @@ public class SLclaim extends JavaPlugin {
             claimSettingsInstance.setGroups(groups);
             claimSettingsInstance.setGroupsSettings(groupsSettings);
             
-            // Add player settings
-            ConfigurationSection playersSection = getConfig().getConfigurationSection("players");
-            Map<UUID, Map<String, Double>> playersSettings = new HashMap<>();
-            for (String key : playersSection.getKeys(false)) {
-                Map<String, Double> settings = new HashMap<>();
-                if (getConfig().isSet("players." + key + ".max-claims")) settings.put("max-claims", getConfig().getDouble("players." + key + ".max-claims"));
-                if (getConfig().isSet("players." + key + ".max-radius-claims")) settings.put("max-radius-claims", getConfig().getDouble("players." + key + ".max-radius-claims"));
-                if (getConfig().isSet("players." + key + ".teleportation-delay")) settings.put("teleportation-delay", getConfig().getDouble("players." + key + ".teleportation-delay"));
-                if (getConfig().isSet("players." + key + ".claim-cost")) settings.put("claim-cost", getConfig().getDouble("players." + key + ".claim-cost"));
-                if (getConfig().isSet("players." + key + ".claim-cost-multiplier")) settings.put("claim-cost-multiplier", getConfig().getDouble("players." + key + ".claim-cost-multiplier"));
-                if (getConfig().isSet("players." + key + ".max-chunks-per-claim")) settings.put("max-chunks-per-claim", getConfig().getDouble("players." + key + ".max-chunks-per-claim"));
-                if (getConfig().isSet("players." + key + ".claim-distance")) settings.put("claim-distance", getConfig().getDouble("players." + key + ".claim-distance"));
-                if (getConfig().isSet("players." + key + ".max-chunks-total")) settings.put("max-chunks-total", getConfig().getDouble("players." + key + ".max-chunks-total"));
-                if (getConfig().isSet("players." + key + ".chunk-cost")) settings.put("chunk-cost", getConfig().getDouble("players." + key + ".chunk-cost"));
-                if (getConfig().isSet("players." + key + ".chunk-cost-multiplier")) settings.put("chunk-cost-multiplier", getConfig().getDouble("players." + key + ".chunk-cost-multiplier"));
-                if (!settings.isEmpty() && cPlayerMainInstance != null) {
-                	UUID uuid = cPlayerMainInstance.getPlayerUUID(key);
-                	if(uuid != null) {
-                		playersSettings.put(uuid, settings);
-                	}
-                }
-            }
-            cPlayerMainInstance.setPlayersConfigSettings(playersSettings);
+            // Add player settings (the legacy "players" section is imported into the database once)
+            cPlayerMainInstance.loadPlayersSettings(getConfig().getConfigurationSection("players"));
             
             // Add enabled/disabled settings
             v = new LinkedHashMap<>();
@@ -1524,6 +1564,7 @@ public class SLclaim extends JavaPlugin {
             
             // Add ignored place blocks
             claimSettingsInstance.setPlaceBlocksIgnore(getConfig().getStringList("ignored-place-blocks"));
+            claimSettingsInstance.publishSnapshot();
 
             // Save config
             saveConfig();
@@ -1755,6 +1796,7 @@ public class SLclaim extends JavaPlugin {
             updateLangFileWithMissingKeys(lang);
         }
         claimSettingsInstance.addSetting("lang", lang);
+        claimSettingsInstance.publishSnapshot();
         
         // Load selected language file
         File lang_final = new File(getDataFolder() + File.separator + "langs", lang);
@@ -2077,6 +2119,24 @@ public class SLclaim extends JavaPlugin {
         return claimBossBarInstance;
     }
     
+    /**
+     * Returns the ProtectionEngine instance.
+     * 
+     * @return The ProtectionEngine instance
+     */
+    public ProtectionEngine getProtection() {
+        return protectionEngine;
+    }
+    
+    /**
+     * Returns the EventRecorder instance.
+     * 
+     * @return The EventRecorder instance
+     */
+    public EventRecorder getEventRecorder() {
+        return eventRecorder;
+    }
+    
     /**
      * Retourne l'instance de MultiServerManager.
      * 
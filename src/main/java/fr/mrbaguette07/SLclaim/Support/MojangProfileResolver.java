@@ -0,0 +1,495 @@
+package fr.mrbaguette07.SLclaim.Support;
+
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import fr.mrbaguette07.SLclaim.SLclaim;
+
+/**
+ * This class resolves Mojang profiles (uuid and skin texture) by player name.
+ * Results are cached in memory and in the database with a time to live,
+ * concurrent lookups of the same name share one request, name to uuid
+ * lookups are batched and every request goes through a token bucket.
+ */
+public class MojangProfileResolver {
+
+
+	// ***************
+	// *  Variables  *
+	// ***************
+
+
+	/** Maximum number of names in one bulk request (Mojang limit) */
+	private static final int BULK_SIZE = 10;
+
+	/** Delay before a partial batch is sent, in milliseconds */
+	private static final long BATCH_DELAY = 100;
+
+	/** Names accepted by the bulk endpoint, one other name makes the whole request fail (HTTP 400) */
+	private static final Pattern VALID_NAME = Pattern.compile("^[A-Za-z0-9_]{1,16}$");
+
+	/** Maximum number of retries after a 429 response */
+	private static final int MAX_RETRIES = 3;
+
+	/** Instance of SLclaim */
+	private final SLclaim instance;
+
+	/** URL of the bulk name to uuid endpoint */
+	private final String bulkUrl;
+
+	/** URL of the session profile endpoint */
+	private final String sessionUrl;
+
+	/** Time to live of a cached profile, in milliseconds */
+	private final long ttl;
+
+	/** Rate limiter shared by all requests */
+	private final TokenBucket bucket;
+
+	/** Executor of the HTTP and database requests */
+	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, r -> {
+		Thread thread = new Thread(r, "SLclaim-ProfileResolver");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/** Cached profiles by lowercase name */
+	private final Map<String, Profile> cache = new ConcurrentHashMap<>();
+
+	/** Lookups in progress by lowercase name */
+	private final Map<String, CompletableFuture<Profile>> inFlight = new ConcurrentHashMap<>();
+
+	/** Names waiting for the next bulk request, by lowercase name */
+	private final Map<String, CompletableFuture<String>> pendingBatch = new LinkedHashMap<>();
+
+	/** Scheduled flush of the pending batch */
+	private ScheduledFuture<?> batchFlush;
+
+
+	// ******************
+	// *  Constructors  *
+	// ******************
+
+
+	/**
+	 * Constructor for MojangProfileResolver.
+	 *
+	 * @param instance The instance of the SLclaim plugin.
+	 * @param bulkUrl The URL of the bulk name to uuid endpoint.
+	 * @param sessionUrl The URL of the session profile endpoint (the uuid is appended).
+	 * @param requestsPerSecond The maximum number of requests per second.
+	 * @param ttl The time to live of a cached profile, in milliseconds.
+	 */
+	public MojangProfileResolver(SLclaim instance, String bulkUrl, String sessionUrl, double requestsPerSecond, long ttl) {
+		this.instance = instance;
+		this.bulkUrl = bulkUrl;
+		this.sessionUrl = sessionUrl;
+		this.ttl = ttl;
+		this.bucket = new TokenBucket(Math.max(1, (int) Math.ceil(requestsPerSecond)), Math.max(0.1, requestsPerSecond));
+	}
+
+
+	// ********************
+	// *  Others Methods  *
+	// ********************
+
+
+	/**
+	 * Resolves the profile of a player.
+	 *
+	 * @param playerName The name of the player.
+	 * @return A future completed with the profile (never null, see {@link Profile#isFound()}).
+	 */
+	public CompletableFuture<Profile> resolve(String playerName) {
+		String key = playerName.toLowerCase(Locale.ROOT);
+		Profile cached = cache.get(key);
+		if (cached != null && !isExpired(cached)) {
+			return CompletableFuture.completedFuture(cached);
+		}
+
+		CompletableFuture<Profile> created = new CompletableFuture<>();
+		CompletableFuture<Profile> existing = inFlight.putIfAbsent(key, created);
+		if (existing != null) return existing;
+
+		created.whenComplete((p, ex) -> inFlight.remove(key, created));
+		executor.execute(() -> load(key, created));
+		return created;
+	}
+
+	/**
+	 * Fetches the skin texture URL of a Mojang uuid, without cache.
+	 *
+	 * @param uuid The Mojang uuid of the player.
+	 * @return A future completed with the texture URL, or null if not found.
+	 */
+	public CompletableFuture<String> fetchTextures(String uuid) {
+		return CompletableFuture.supplyAsync(() -> requestTextures(uuid), executor);
+	}
+
+	/**
+	 * Stops the resolver.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Loads a profile from the database, then from Mojang if it is missing or expired.
+	 */
+	private void load(String key, CompletableFuture<Profile> future) {
+		Profile stored = cache.get(key);
+		if (stored == null || isExpired(stored)) {
+			Profile fromDb = loadFromDatabase(key);
+			if (fromDb != null) {
+				stored = fromDb;
+				cache.put(key, fromDb);
+			}
+		}
+		if (stored != null && !isExpired(stored)) {
+			future.complete(stored);
+			return;
+		}
+
+		final Profile stale = stored;
+		enqueueUuidLookup(key)
+			.thenApplyAsync(uuid -> new Profile(uuid, uuid == null ? null : requestTextures(uuid), System.currentTimeMillis()), executor)
+			.whenComplete((profile, ex) -> {
+				if (ex != null || profile == null) {
+					// Keep serving the old data rather than nothing
+					future.complete(stale != null ? stale : new Profile(null, null, 0));
+					return;
+				}
+				cache.put(key, profile);
+				saveToDatabase(key, profile);
+				future.complete(profile);
+			});
+	}
+
+	/**
+	 * Adds a name to the next bulk request.
+	 * A name which cannot be a Mojang account (Floodgate prefix, too long, other characters)
+	 * is not sent and is not found.
+	 */
+	private CompletableFuture<String> enqueueUuidLookup(String key) {
+		if (!VALID_NAME.matcher(key).matches()) {
+			return CompletableFuture.completedFuture(null);
+		}
+		synchronized (pendingBatch) {
+			CompletableFuture<String> future = pendingBatch.get(key);
+			if (future != null) return future;
+			future = new CompletableFuture<>();
+			pendingBatch.put(key, future);
+			if (pendingBatch.size() >= BULK_SIZE) {
+				if (batchFlush != null) batchFlush.cancel(false);
+				batchFlush = null;
+				executor.execute(this::flushBatch);
+			} else if (batchFlush == null) {
+				batchFlush = executor.schedule(this::flushBatch, BATCH_DELAY, TimeUnit.MILLISECONDS);
+			}
+			return future;
+		}
+	}
+
+	/**
+	 * Sends the pending names, BULK_SIZE at a time.
+	 */
+	private void flushBatch() {
+		while (true) {
+			Map<String, CompletableFuture<String>> batch = new LinkedHashMap<>();
+			synchronized (pendingBatch) {
+				batchFlush = null;
+				Iterator<Map.Entry<String, CompletableFuture<String>>> it = pendingBatch.entrySet().iterator();
+				while (it.hasNext() && batch.size() < BULK_SIZE) {
+					Map.Entry<String, CompletableFuture<String>> entry = it.next();
+					batch.put(entry.getKey(), entry.getValue());
+					it.remove();
+				}
+			}
+			if (batch.isEmpty()) return;
+
+			try {
+				Map<String, String> ids = requestUuids(new ArrayList<>(batch.keySet()));
+				batch.forEach((name, future) -> future.complete(ids.get(name)));
+			} catch (Exception e) {
+				instance.getLogger().warning("Mojang bulk lookup failed: " + e.getMessage());
+				batch.values().forEach(future -> future.completeExceptionally(e));
+			}
+		}
+	}
+
+	/**
+	 * Requests the uuids of several names in one call.
+	 *
+	 * @return The dashed uuids by lowercase name (missing names are not found).
+	 */
+	private Map<String, String> requestUuids(List<String> names) throws Exception {
+		JsonArray body = new JsonArray();
+		names.forEach(body::add);
+
+		for (int attempt = 0; ; attempt++) {
+			bucket.acquire();
+			HttpURLConnection connection = (HttpURLConnection) URI.create(bulkUrl).toURL().openConnection();
+			connection.setRequestMethod("POST");
+			connection.setConnectTimeout(5000);
+			connection.setReadTimeout(5000);
+			connection.setDoOutput(true);
+			connection.setRequestProperty("Content-Type", "application/json");
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(body.toString().getBytes(StandardCharsets.UTF_8));
+			}
+
+			int code = connection.getResponseCode();
+			if (code == 429 && attempt < MAX_RETRIES) {
+				bucket.pause(retryAfter(connection));
+				continue;
+			}
+			if (code != 200) {
+				throw new IllegalStateException("HTTP " + code);
+			}
+
+			Map<String, String> ids = new HashMap<>();
+			try (Reader reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+				for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+					JsonObject profile = element.getAsJsonObject();
+					ids.put(profile.get("name").getAsString().toLowerCase(Locale.ROOT), addDashesToUUID(profile.get("id").getAsString()));
+				}
+			}
+			return ids;
+		}
+	}
+
+	/**
+	 * Requests the skin texture URL of a Mojang uuid.
+	 *
+	 * @return The texture URL, or null if not found or on error.
+	 */
+	private String requestTextures(String uuid) {
+		try {
+			for (int attempt = 0; ; attempt++) {
+				bucket.acquire();
+				HttpURLConnection connection = (HttpURLConnection) URI.create(sessionUrl + uuid).toURL().openConnection();
+				connection.setRequestMethod("GET");
+				connection.setConnectTimeout(5000);
+				connection.setReadTimeout(5000);
+
+				int code = connection.getResponseCode();
+				if (code == 429 && attempt < MAX_RETRIES) {
+					bucket.pause(retryAfter(connection));
+					continue;
+				}
+				if (code != 200) return null;
+
+				try (Reader reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+					JsonObject response = JsonParser.parseReader(reader).getAsJsonObject();
+					JsonObject properties = response.getAsJsonArray("properties").get(0).getAsJsonObject();
+					String value = properties.get("value").getAsString();
+					String decodedValue = new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+					JsonObject textureProperty = JsonParser.parseString(decodedValue).getAsJsonObject();
+					return textureProperty.getAsJsonObject("textures").getAsJsonObject("SKIN").get("url").getAsString();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the Retry-After delay of a response, in milliseconds.
+	 */
+	private long retryAfter(HttpURLConnection connection) {
+		try {
+			return Long.parseLong(connection.getHeaderField("Retry-After")) * 1000L;
+		} catch (NumberFormatException e) {
+			return 1000L;
+		}
+	}
+
+	/**
+	 * Loads a cached profile from the database.
+	 */
+	private Profile loadFromDatabase(String key) {
+		try (Connection connection = instance.getDataSource().getConnection();
+				PreparedStatement preparedStatement = connection.prepareStatement("SELECT uuid_mojang, player_textures, fetched_at FROM scs_profiles WHERE player_name = ?")) {
+			preparedStatement.setString(1, key);
+			try (ResultSet resultSet = preparedStatement.executeQuery()) {
+				if (resultSet.next()) {
+					String uuid = resultSet.getString("uuid_mojang");
+					String textures = resultSet.getString("player_textures");
+					return new Profile(uuid.equals("none") ? null : uuid, textures.equals("none") ? null : textures, resultSet.getLong("fetched_at"));
+				}
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/**
+	 * Saves a profile in the database.
+	 */
+	private void saveToDatabase(String key, Profile profile) {
+		try (Connection connection = instance.getDataSource().getConnection()) {
+			String dbProductName = connection.getMetaData().getDatabaseProductName().toLowerCase();
+			String updateQuery;
+			if (dbProductName.contains("sqlite")) {
+				updateQuery = "INSERT INTO scs_profiles(player_name, uuid_mojang, player_textures, fetched_at) VALUES(?, ?, ?, ?) ON CONFLICT(player_name) DO UPDATE SET uuid_mojang = excluded.uuid_mojang, player_textures = excluded.player_textures, fetched_at = excluded.fetched_at";
+			} else {
+				updateQuery = "INSERT INTO scs_profiles(player_name, uuid_mojang, player_textures, fetched_at) VALUES(?, ?, ?, ?) ON DUPLICATE KEY UPDATE uuid_mojang = VALUES(uuid_mojang), player_textures = VALUES(player_textures), fetched_at = VALUES(fetched_at)";
+			}
+			try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
+				preparedStatement.setString(1, key);
+				preparedStatement.setString(2, profile.getUuid() == null ? "none" : profile.getUuid());
+				preparedStatement.setString(3, profile.getTextures() == null ? "none" : profile.getTextures());
+				preparedStatement.setLong(4, profile.getFetchedAt());
+				preparedStatement.executeUpdate();
+			}
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Checks if a profile must be fetched again.
+	 */
+	private boolean isExpired(Profile profile) {
+		return System.currentTimeMillis() - profile.getFetchedAt() > ttl;
+	}
+
+	/**
+	 * Adds dashes to a UUID string if they are missing.
+	 */
+	private static String addDashesToUUID(String uuid) {
+		if (uuid.length() == 32) {
+			return uuid.replaceFirst(
+					"([0-9a-fA-F]{8})([0-9a-fA-F]{4})([0-9a-fA-F]{4})([0-9a-fA-F]{4})([0-9a-fA-F]{12})",
+					"$1-$2-$3-$4-$5"
+			);
+		}
+		return uuid;
+	}
+
+
+	// *******************
+	// *  Inner classes  *
+	// *******************
+
+
+	/**
+	 * A resolved Mojang profile.
+	 */
+	public static final class Profile {
+
+		/** The dashed Mojang uuid, or null if the name is not a premium account */
+		private final String uuid;
+
+		/** The skin texture URL, or null */
+		private final String textures;
+
+		/** When the profile was fetched */
+		private final long fetchedAt;
+
+		private Profile(String uuid, String textures, long fetchedAt) {
+			this.uuid = uuid;
+			this.textures = textures;
+			this.fetchedAt = fetchedAt;
+		}
+
+		/** @return The dashed Mojang uuid, or null */
+		public String getUuid() { return uuid; }
+
+		/** @return The skin texture URL, or null */
+		public String getTextures() { return textures; }
+
+		/** @return When the profile was fetched, in epoch milliseconds */
+		public long getFetchedAt() { return fetchedAt; }
+
+		/** @return True if the name belongs to a Mojang account */
+		public boolean isFound() { return uuid != null; }
+	}
+
+	/**
+	 * A blocking token bucket.
+	 */
+	private static final class TokenBucket {
+
+		/** Maximum number of tokens */
+		private final int capacity;
+
+		/** Tokens added per nanosecond */
+		private final double refillPerNano;
+
+		/** Current number of tokens */
+		private double tokens;
+
+		/** Last refill time */
+		private long lastRefill = System.nanoTime();
+
+		/** No token is given before this time */
+		private long pausedUntil = System.nanoTime();
+
+		private TokenBucket(int capacity, double perSecond) {
+			this.capacity = capacity;
+			this.refillPerNano = perSecond / 1_000_000_000d;
+			this.tokens = capacity;
+		}
+
+		/**
+		 * Waits until a token is available, then takes it.
+		 */
+		private void acquire() throws InterruptedException {
+			while (true) {
+				long waitNanos;
+				synchronized (this) {
+					long now = System.nanoTime();
+					tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+					lastRefill = now;
+					if (now - pausedUntil >= 0 && tokens >= 1) {
+						tokens -= 1;
+						return;
+					}
+					waitNanos = Math.max(pausedUntil - now, (long) ((1 - tokens) / refillPerNano));
+				}
+				TimeUnit.NANOSECONDS.sleep(Math.max(1_000_000L, waitNanos));
+			}
+		}
+
+		/**
+		 * Stops giving tokens for a while (after a 429 response).
+		 */
+		private synchronized void pause(long millis) {
+			pausedUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+			tokens = 0;
+		}
+	}
+}
@@ -259,7 +259,8 @@ public class Claim {
      * @return The permission value
      */
     public boolean getPermission(String permission, String role) {
-    	return this.permissions.getOrDefault(role == null ? "natural" : role.toLowerCase(), new LinkedHashMap<>()).getOrDefault(permission, false);
+    	Map<String, Boolean> values = this.permissions.get(role == null ? "natural" : role.toLowerCase());
+    	return values != null && values.getOrDefault(permission, false);
     }
     
     /**
@@ -271,7 +272,8 @@ public class Claim {
      */
     public boolean getPermissionForPlayer(String permission, Player player) {
     	if (this.owner.equals(player.getName()) && !permission.equalsIgnoreCase("weather")) return true;
-    	return this.permissions.getOrDefault(isMember(player.getUniqueId()) ? "members" : "visitors", new LinkedHashMap<>()).getOrDefault(permission, false);
+    	Map<String, Boolean> values = this.permissions.get(isMember(player.getUniqueId()) ? "members" : "visitors");
+    	return values != null && values.getOrDefault(permission, false);
     }
     
     /**
@@ -1,27 +1,95 @@
 package fr.mrbaguette07.SLclaim.Types;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
 
 public class CustomSet<T> extends HashSet<T> {
-	
+
     private static final long serialVersionUID = 1L;
-    
+
+    // Number of strings by lowercase value, for case-insensitive contains (created on the first string added).
+    // No initializer: HashSet(Collection) calls add before the fields of this class are initialized.
+    private HashMap<String, Integer> lowerCounts;
+
     // Constructor accepting a Collection
     public CustomSet(Collection<? extends T> c) {
         super(c);
     }
-    
+
     public CustomSet() {
-    	
+
     }
 
+    // Exact match first, then the lowercase index for strings
     @Override
     public boolean contains(Object o) {
-        if (o instanceof String && this.iterator().next() instanceof String) {
-            String str = (String) o;
-            return this.stream().anyMatch(s -> ((String) s).equalsIgnoreCase(str));
+        if (super.contains(o)) return true;
+        return o instanceof String && lowerCounts != null && lowerCounts.containsKey(((String) o).toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public boolean add(T e) {
+        if (!super.add(e)) return false;
+        if (e instanceof String) {
+            if (lowerCounts == null) lowerCounts = new HashMap<>();
+            lowerCounts.merge(((String) e).toLowerCase(Locale.ROOT), 1, Integer::sum);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!super.remove(o)) return false;
+        unindex(o);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        lowerCounts = null;
+    }
+
+    // Keeps the index up to date with iterator removals (removeIf, retainAll, removeAll)
+    @Override
+    public Iterator<T> iterator() {
+        Iterator<T> it = super.iterator();
+        return new Iterator<T>() {
+            private T last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return last = it.next();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+                unindex(last);
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        CustomSet<T> copy = (CustomSet<T>) super.clone();
+        if (lowerCounts != null) copy.lowerCounts = new HashMap<>(lowerCounts);
+        return copy;
+    }
+
+    // Removes a string from the lowercase index
+    private void unindex(Object o) {
+        if (o instanceof String && lowerCounts != null) {
+            lowerCounts.computeIfPresent(((String) o).toLowerCase(Locale.ROOT), (k, n) -> n > 1 ? n - 1 : null);
         }
-        return super.contains(o);
     }
 }
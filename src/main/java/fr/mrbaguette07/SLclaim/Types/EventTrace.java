@@ -0,0 +1,674 @@
+package fr.mrbaguette07.SLclaim.Types;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+
+import fr.mrbaguette07.SLclaim.ClaimMain;
+
+/**
+ * This class defines the compact format of the event traces recorded on a live server
+ * (see {@link fr.mrbaguette07.SLclaim.Listeners.EventRecorder}) and replayed offline.
+ * <p>
+ * A trace starts with the magic, the version and the start time, then a list of records.
+ * Each record starts with its type. Strings (worlds, materials, entity types, names) and
+ * players are defined once by a record and then referenced by index. The claims are
+ * exported at the start of the trace. Integers are written as (zigzag) varints and the
+ * event times as the delta, in nanoseconds, from the previous event.
+ */
+public final class EventTrace {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Magic of the trace files */
+	public static final int MAGIC = 0x534C5452; // "SLTR"
+
+	/** Version of the format */
+	public static final int VERSION = 1;
+
+	/** Record types */
+	public static final byte END = 0;
+	public static final byte STRING = 1;
+	public static final byte PLAYER = 2;
+	public static final byte CLAIM = 3;
+	public static final byte BLOCK_BREAK = 10;
+	public static final byte BLOCK_PLACE = 11;
+	public static final byte PLAYER_MOVE = 12;
+	public static final byte BLOCK_FROM_TO = 13;
+	public static final byte BLOCK_REDSTONE = 14;
+	public static final byte ENTITY_EXPLODE = 15;
+	public static final byte BLOCK_EXPLODE = 16;
+	public static final byte PLAYER_INTERACT = 17;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+	/**
+	 * Private constructor, the format is used through {@link Writer} and {@link Reader}.
+	 */
+	private EventTrace() {}
+
+
+    // ************
+    // *  Writer  *
+    // ************
+
+
+	/**
+	 * Encodes the records into an in-memory buffer, drained by the caller to a file.
+	 * The methods are synchronized, the events may come from several region threads on Folia.
+	 */
+	public static final class Writer {
+
+		/** The buffer and its stream */
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 16);
+		private final DataOutputStream out = new DataOutputStream(buffer);
+
+		/** The indexes of the strings and players already defined */
+		private final Map<String, Integer> strings = new HashMap<>();
+		private final Map<UUID, Integer> players = new HashMap<>();
+
+		/** The time of the last event */
+		private long lastNanos;
+
+		/**
+		 * Main constructor, writing the header.
+		 *
+		 * @param startEpochMillis The start time of the trace
+		 */
+		public Writer(long startEpochMillis) {
+			this.lastNanos = System.nanoTime();
+			try {
+				out.writeInt(MAGIC);
+				out.writeByte(VERSION);
+				out.writeLong(startEpochMillis);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Exports a claim.
+		 *
+		 * @param claim The claim
+		 */
+		public synchronized void claim(Claim claim) {
+			try {
+				Location location = claim.getLocation();
+				int owner = player(claim.getUUID(), claim.getOwner());
+				int name = string(claim.getName());
+				int world = string(location == null || location.getWorld() == null ? "" : location.getWorld().getName());
+				List<Integer> members = new ArrayList<>();
+				for (UUID member : claim.getMembers()) members.add(player(member, ""));
+				Map<String, Integer> keys = new LinkedHashMap<>();
+				claim.getPermissions().forEach((role, values) -> {
+					keys.computeIfAbsent(role, this::stringUnchecked);
+					values.keySet().forEach(key -> keys.computeIfAbsent(key, this::stringUnchecked));
+				});
+
+				out.writeByte(CLAIM);
+				writeVarInt(out, owner);
+				writeVarInt(out, name);
+				writeVarInt(out, world);
+				writeVarInt(out, claim.getId());
+				out.writeBoolean(claim.getSale());
+				writeVarLong(out, claim.getPrice());
+				writeVarInt(out, members.size());
+				for (int member : members) writeVarInt(out, member);
+				writeVarInt(out, claim.getPermissions().size());
+				for (Map.Entry<String, LinkedHashMap<String, Boolean>> role : claim.getPermissions().entrySet()) {
+					writeVarInt(out, keys.get(role.getKey()));
+					writeVarInt(out, role.getValue().size());
+					for (Map.Entry<String, Boolean> value : role.getValue().entrySet()) {
+						writeVarInt(out, keys.get(value.getKey()));
+						out.writeBoolean(Boolean.TRUE.equals(value.getValue()));
+					}
+				}
+				writeVarInt(out, claim.getChunks().size());
+				for (Chunk chunk : claim.getChunks()) {
+					writeSignedVarInt(out, chunk.getX());
+					writeSignedVarInt(out, chunk.getZ());
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Records a block event of a player (break or place).
+		 *
+		 * @param type BLOCK_BREAK or BLOCK_PLACE
+		 * @param player The player
+		 * @param block The block
+		 * @param material The material of the block
+		 */
+		public synchronized void playerBlock(byte type, Player player, Block block, String material) {
+			try {
+				int p = player(player.getUniqueId(), player.getName());
+				int world = string(block.getWorld().getName());
+				int mat = string(material);
+				header(type);
+				writeVarInt(out, p);
+				writeVarInt(out, world);
+				writeBlock(block.getX(), block.getY(), block.getZ());
+				writeVarInt(out, mat);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Records a move of a player, with block coordinates.
+		 *
+		 * @param player The player
+		 * @param from The origin
+		 * @param to The destination
+		 */
+		public synchronized void move(Player player, Location from, Location to) {
+			try {
+				int p = player(player.getUniqueId(), player.getName());
+				int world = string(to.getWorld().getName());
+				header(PLAYER_MOVE);
+				writeVarInt(out, p);
+				writeVarInt(out, world);
+				writeBlock(from.getBlockX(), from.getBlockY(), from.getBlockZ());
+				writeBlock(to.getBlockX(), to.getBlockY(), to.getBlockZ());
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Records a liquid flow (or dragon egg teleport).
+		 *
+		 * @param block The source block
+		 * @param face The ordinal of the face
+		 * @param material The material of the source block
+		 */
+		public synchronized void fromTo(Block block, int face, String material) {
+			try {
+				int world = string(block.getWorld().getName());
+				int mat = string(material);
+				header(BLOCK_FROM_TO);
+				writeVarInt(out, world);
+				writeBlock(block.getX(), block.getY(), block.getZ());
+				writeVarInt(out, face);
+				writeVarInt(out, mat);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Records a redstone current change.
+		 *
+		 * @param block The block
+		 * @param oldCurrent The old current
+		 * @param newCurrent The new current
+		 */
+		public synchronized void redstone(Block block, int oldCurrent, int newCurrent) {
+			try {
+				int world = string(block.getWorld().getName());
+				header(BLOCK_REDSTONE);
+				writeVarInt(out, world);
+				writeBlock(block.getX(), block.getY(), block.getZ());
+				writeVarInt(out, oldCurrent);
+				writeVarInt(out, newCurrent);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Records an explosion, with the blocks relative to its location.
+		 *
+		 * @param type ENTITY_EXPLODE or BLOCK_EXPLODE
+		 * @param location The location of the explosion
+		 * @param source The entity type or the material of the source
+		 * @param blocks The exploded blocks
+		 */
+		public synchronized void explosion(byte type, Location location, String source, List<Block> blocks) {
+			try {
+				int world = string(location.getWorld().getName());
+				int src = string(source);
+				int x = location.getBlockX(), y = location.getBlockY(), z = location.getBlockZ();
+				header(type);
+				writeVarInt(out, world);
+				writeBlock(x, y, z);
+				writeVarInt(out, src);
+				writeVarInt(out, blocks.size());
+				for (Block block : blocks) {
+					writeBlock(block.getX() - x, block.getY() - y, block.getZ() - z);
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Records an interaction of a player.
+		 *
+		 * @param player The player
+		 * @param action The ordinal of the action
+		 * @param block The clicked block, or null
+		 * @param item The material of the item in hand
+		 */
+		public synchronized void interact(Player player, int action, Block block, String item) {
+			try {
+				int p = player(player.getUniqueId(), player.getName());
+				Location location = block == null ? player.getLocation() : block.getLocation();
+				int world = string(location.getWorld().getName());
+				int mat = string(block == null ? "" : block.getType().name());
+				int it = string(item);
+				header(PLAYER_INTERACT);
+				writeVarInt(out, p);
+				writeVarInt(out, world);
+				writeBlock(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+				writeVarInt(out, action);
+				out.writeBoolean(block != null);
+				writeVarInt(out, mat);
+				writeVarInt(out, it);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Writes the end of the trace.
+		 */
+		public synchronized void end() {
+			try {
+				out.writeByte(END);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+
+		/**
+		 * Gets the size of the buffered records.
+		 *
+		 * @return The size, in bytes
+		 */
+		public synchronized int size() {
+			return buffer.size();
+		}
+
+		/**
+		 * Gets and clears the buffered records.
+		 *
+		 * @return The encoded records
+		 */
+		public synchronized byte[] drain() {
+			byte[] bytes = buffer.toByteArray();
+			buffer.reset();
+			return bytes;
+		}
+
+		private void header(byte type) throws IOException {
+			long now = System.nanoTime();
+			out.writeByte(type);
+			writeVarLong(out, Math.max(0, now - lastNanos));
+			lastNanos = now;
+		}
+
+		private void writeBlock(int x, int y, int z) throws IOException {
+			writeSignedVarInt(out, x);
+			writeSignedVarInt(out, y);
+			writeSignedVarInt(out, z);
+		}
+
+		private int string(String value) throws IOException {
+			Integer index = strings.get(value);
+			if (index != null) return index;
+			index = strings.size();
+			strings.put(value, index);
+			out.writeByte(STRING);
+			out.writeUTF(value);
+			return index;
+		}
+
+		private Integer stringUnchecked(String value) {
+			try {
+				return string(value);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		private int player(UUID uuid, String name) throws IOException {
+			Integer index = players.get(uuid);
+			if (index != null) return index;
+			int nameIndex = string(name == null ? "" : name);
+			index = players.size();
+			players.put(uuid, index);
+			out.writeByte(PLAYER);
+			out.writeLong(uuid.getMostSignificantBits());
+			out.writeLong(uuid.getLeastSignificantBits());
+			writeVarInt(out, nameIndex);
+			return index;
+		}
+	}
+
+
+    // ************
+    // *  Reader  *
+    // ************
+
+
+	/**
+	 * Decodes a trace, record by record.
+	 */
+	public static final class Reader implements Closeable {
+
+		/** The stream */
+		private final DataInputStream in;
+
+		/** The start time of the trace */
+		private final long startEpochMillis;
+
+		/** The strings and players defined so far */
+		private final List<String> strings = new ArrayList<>();
+		private final List<UUID> players = new ArrayList<>();
+		private final List<String> playerNames = new ArrayList<>();
+
+		/** The time of the last event, from the start of the trace */
+		private long nanos;
+
+		/**
+		 * Main constructor, reading the header.
+		 *
+		 * @param input The stream (not buffered)
+		 * @throws IOException If the stream is not a trace
+		 */
+		public Reader(InputStream input) throws IOException {
+			this.in = new DataInputStream(new BufferedInputStream(input, 1 << 16));
+			if (in.readInt() != MAGIC) throw new IOException("Not an event trace");
+			int version = in.readUnsignedByte();
+			if (version != VERSION) throw new IOException("Unsupported trace version " + version);
+			this.startEpochMillis = in.readLong();
+		}
+
+		public long getStartEpochMillis() { return startEpochMillis; }
+
+		/**
+		 * Reads the next claim or event.
+		 *
+		 * @return The record, or null at the end of the trace
+		 * @throws IOException If the trace is corrupted
+		 */
+		public Record next() throws IOException {
+			while (true) {
+				int type;
+				try {
+					type = in.readByte();
+				} catch (EOFException e) {
+					return null;
+				}
+				switch (type) {
+					case END:
+						return null;
+					case STRING:
+						strings.add(in.readUTF());
+						break;
+					case PLAYER: {
+						players.add(new UUID(in.readLong(), in.readLong()));
+						playerNames.add(strings.get(readVarInt(in)));
+						break;
+					}
+					case CLAIM:
+						return readClaim();
+					default:
+						return readEvent((byte) type);
+				}
+			}
+		}
+
+		private Record readClaim() throws IOException {
+			Record r = new Record(CLAIM, nanos);
+			int owner = readVarInt(in);
+			r.playerUUID = players.get(owner);
+			r.playerName = playerName(owner);
+			r.claimName = strings.get(readVarInt(in));
+			r.world = strings.get(readVarInt(in));
+			r.claimId = readVarInt(in);
+			r.sale = in.readBoolean();
+			r.price = readVarLong(in);
+			int members = readVarInt(in);
+			r.members = new HashSet<>();
+			for (int i = 0; i < members; i++) r.members.add(players.get(readVarInt(in)));
+			int roles = readVarInt(in);
+			r.permissions = new LinkedHashMap<>();
+			for (int i = 0; i < roles; i++) {
+				String role = strings.get(readVarInt(in));
+				int count = readVarInt(in);
+				LinkedHashMap<String, Boolean> values = new LinkedHashMap<>();
+				for (int j = 0; j < count; j++) values.put(strings.get(readVarInt(in)), in.readBoolean());
+				r.permissions.put(role, values);
+			}
+			int chunks = readVarInt(in);
+			r.chunkKeys = new long[chunks];
+			for (int i = 0; i < chunks; i++) r.chunkKeys[i] = ClaimMain.chunkKey(readSignedVarInt(in), readSignedVarInt(in));
+			return r;
+		}
+
+		private Record readEvent(byte type) throws IOException {
+			nanos += readVarLong(in);
+			Record r = new Record(type, nanos);
+			switch (type) {
+				case BLOCK_BREAK:
+				case BLOCK_PLACE: {
+					int p = readVarInt(in);
+					r.playerUUID = players.get(p);
+					r.playerName = playerName(p);
+					r.world = strings.get(readVarInt(in));
+					readBlock(r);
+					r.material = strings.get(readVarInt(in));
+					return r;
+				}
+				case PLAYER_MOVE: {
+					int p = readVarInt(in);
+					r.playerUUID = players.get(p);
+					r.playerName = playerName(p);
+					r.world = strings.get(readVarInt(in));
+					readBlock(r);
+					r.toX = readSignedVarInt(in);
+					r.toY = readSignedVarInt(in);
+					r.toZ = readSignedVarInt(in);
+					return r;
+				}
+				case BLOCK_FROM_TO:
+					r.world = strings.get(readVarInt(in));
+					readBlock(r);
+					r.a = readVarInt(in);
+					r.material = strings.get(readVarInt(in));
+					return r;
+				case BLOCK_REDSTONE:
+					r.world = strings.get(readVarInt(in));
+					readBlock(r);
+					r.a = readVarInt(in);
+					r.b = readVarInt(in);
+					return r;
+				case ENTITY_EXPLODE:
+				case BLOCK_EXPLODE: {
+					r.world = strings.get(readVarInt(in));
+					readBlock(r);
+					r.material = strings.get(readVarInt(in));
+					int count = readVarInt(in);
+					r.offsets = new int[count * 3];
+					for (int i = 0; i < r.offsets.length; i++) r.offsets[i] = readSignedVarInt(in);
+					return r;
+				}
+				case PLAYER_INTERACT: {
+					int p = readVarInt(in);
+					r.playerUUID = players.get(p);
+					r.playerName = playerName(p);
+					r.world = strings.get(readVarInt(in));
+					readBlock(r);
+					r.a = readVarInt(in);
+					r.b = in.readBoolean() ? 1 : 0;
+					r.material = strings.get(readVarInt(in));
+					r.item = strings.get(readVarInt(in));
+					return r;
+				}
+				default:
+					throw new IOException("Unknown record type " + type);
+			}
+		}
+
+		private void readBlock(Record r) throws IOException {
+			r.x = readSignedVarInt(in);
+			r.y = readSignedVarInt(in);
+			r.z = readSignedVarInt(in);
+		}
+
+		private String playerName(int index) {
+			return playerNames.get(index);
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+
+
+    // ************
+    // *  Record  *
+    // ************
+
+
+	/**
+	 * A decoded claim or event. The meaning of the fields depends on the type:
+	 * {@code a} is the face (BLOCK_FROM_TO), the old current (BLOCK_REDSTONE) or the action (PLAYER_INTERACT),
+	 * {@code b} is the new current (BLOCK_REDSTONE) or 1 if a block was clicked (PLAYER_INTERACT),
+	 * {@code material} is the block material, or the entity type of an ENTITY_EXPLODE.
+	 */
+	public static final class Record {
+
+		private final byte type;
+		private final long nanos;
+		UUID playerUUID;
+		String playerName;
+		String world;
+		int x, y, z;
+		int toX, toY, toZ;
+		int a, b;
+		String material;
+		String item;
+		int[] offsets;
+
+		// CLAIM
+		String claimName;
+		int claimId;
+		boolean sale;
+		long price;
+		Set<UUID> members;
+		Map<String, LinkedHashMap<String, Boolean>> permissions;
+		long[] chunkKeys;
+
+		private Record(byte type, long nanos) {
+			this.type = type;
+			this.nanos = nanos;
+		}
+
+		public byte getType() { return type; }
+		public long getNanos() { return nanos; }
+		public UUID getPlayerUUID() { return playerUUID; }
+		public String getPlayerName() { return playerName; }
+		public String getWorld() { return world; }
+		public int getX() { return x; }
+		public int getY() { return y; }
+		public int getZ() { return z; }
+		public int getToX() { return toX; }
+		public int getToY() { return toY; }
+		public int getToZ() { return toZ; }
+		public int getA() { return a; }
+		public int getB() { return b; }
+		public String getMaterial() { return material; }
+		public String getItem() { return item; }
+		public int[] getOffsets() { return offsets; }
+		public String getClaimName() { return claimName; }
+		public int getClaimId() { return claimId; }
+		public boolean getSale() { return sale; }
+		public long getPrice() { return price; }
+		public Set<UUID> getMembers() { return members; }
+		public Map<String, LinkedHashMap<String, Boolean>> getPermissions() { return permissions; }
+		public long[] getChunkKeys() { return chunkKeys; }
+	}
+
+
+    // *************
+    // *  Varints  *
+    // *************
+
+
+	public static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	public static void writeSignedVarInt(DataOutputStream out, int value) throws IOException {
+		writeVarInt(out, (value << 1) ^ (value >> 31));
+	}
+
+	public static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	public static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IOException("Malformed varint");
+	}
+
+	public static int readSignedVarInt(DataInputStream in) throws IOException {
+		int value = readVarInt(in);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	public static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 70; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IOException("Malformed varlong");
+	}
+}
@@ -0,0 +1,160 @@
+package fr.mrbaguette07.SLclaim.Types;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * This class handles a size- and time-bounded LRU cache.
+ */
+public class ExpiringLruCache<K, V> {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** The maximum number of entries */
+	private final int maxSize;
+
+	/** The time to live of an entry, in milliseconds */
+	private final long ttlMillis;
+
+	/** The entries, in access order */
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor initializing all fields.
+     *
+     * @param maxSize The maximum number of entries
+     * @param ttlMillis The time to live of an entry, in milliseconds
+     */
+    public ExpiringLruCache(int maxSize, long ttlMillis) {
+    	this.maxSize = maxSize;
+    	this.ttlMillis = ttlMillis;
+    	this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+    		protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+    			return size() > ExpiringLruCache.this.maxSize;
+    		}
+    	};
+    }
+
+
+    // ********************
+    // *  Other methods   *
+    // ********************
+
+
+    /**
+     * Gets the value of a key, loading it if it is absent or expired.
+     *
+     * @param key The key
+     * @param loader The loader used when the value is absent or expired
+     * @return The value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+    	long now = System.currentTimeMillis();
+    	synchronized (entries) {
+    		Entry<V> entry = entries.get(key);
+    		if (entry != null && now - entry.createdAt < ttlMillis) {
+    			return entry.value;
+    		}
+    	}
+    	V value = loader.apply(key);
+    	if (value != null) {
+    		synchronized (entries) {
+    			entries.put(key, new Entry<>(value, now));
+    		}
+    	}
+    	return value;
+    }
+
+    /**
+     * Gets the value of a key if it is present and not expired.
+     *
+     * @param key The key
+     * @return The value, or null
+     */
+    public V getIfPresent(K key) {
+    	long now = System.currentTimeMillis();
+    	synchronized (entries) {
+    		Entry<V> entry = entries.get(key);
+    		if (entry == null) return null;
+    		if (now - entry.createdAt >= ttlMillis) {
+    			entries.remove(key);
+    			return null;
+    		}
+    		return entry.value;
+    	}
+    }
+
+    /**
+     * Puts a value.
+     *
+     * @param key The key
+     * @param value The value
+     */
+    public void put(K key, V value) {
+    	synchronized (entries) {
+    		entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+    	}
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key The key
+     */
+    public void invalidate(K key) {
+    	synchronized (entries) {
+    		entries.remove(key);
+    	}
+    }
+
+    /**
+     * Removes all the keys.
+     */
+    public void clear() {
+    	synchronized (entries) {
+    		entries.clear();
+    	}
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+    	synchronized (entries) {
+    		return entries.size();
+    	}
+    }
+
+    /**
+     * A cached value and its creation time.
+     */
+    private static final class Entry<V> {
+
+    	/** The value */
+    	private final V value;
+
+    	/** The creation time */
+    	private final long createdAt;
+
+    	private Entry(V value, long createdAt) {
+    		this.value = value;
+    		this.createdAt = createdAt;
+    	}
+    }
+}
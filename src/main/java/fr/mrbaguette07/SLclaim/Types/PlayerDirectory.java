@@ -0,0 +1,164 @@
+package fr.mrbaguette07.SLclaim.Types;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * This class handles the directory of known players (name <-> uuid),
+ * with case-insensitive lookups and the previous names of renamed players.
+ */
+public class PlayerDirectory {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+	/** Map of lowercase current names to uuid */
+	private final Map<String, UUID> uuidByName = new ConcurrentHashMap<>();
+
+	/** Map of uuid to current names (with the real case) */
+	private final Map<UUID, String> nameByUuid = new ConcurrentHashMap<>();
+
+	/** Map of lowercase previous names to uuid, used until another player takes the name */
+	private final Map<String, UUID> uuidByPreviousName = new ConcurrentHashMap<>();
+
+	/** Sorted lowercase current names, for prefix completions */
+	private final NavigableSet<String> sortedNames = new ConcurrentSkipListSet<>();
+
+
+    // ********************
+    // *  Other methods   *
+    // ********************
+
+
+    /**
+     * Registers a player or updates their name.
+     * The old name of a renamed player is kept in the name history.
+     *
+     * @param uuid The uuid of the player
+     * @param name The current name of the player
+     * @return The previous name of the player if it changed, null otherwise
+     */
+    public synchronized String put(UUID uuid, String name) {
+    	String key = key(name);
+    	String oldName = nameByUuid.put(uuid, name);
+    	if (oldName != null && !oldName.equals(name)) {
+    		String oldKey = key(oldName);
+    		if (!oldKey.equals(key) && uuid.equals(uuidByName.get(oldKey))) {
+    			uuidByName.remove(oldKey);
+    			sortedNames.remove(oldKey);
+    			uuidByPreviousName.put(oldKey, uuid);
+    		}
+    	}
+
+    	// The name may belong to another player who renamed since
+    	UUID previousOwner = uuidByName.put(key, uuid);
+    	if (previousOwner != null && !previousOwner.equals(uuid) && key.equals(key(nameByUuid.getOrDefault(previousOwner, "")))) {
+    		nameByUuid.remove(previousOwner);
+    	}
+    	uuidByPreviousName.remove(key);
+    	sortedNames.add(key);
+    	return oldName == null || oldName.equals(name) ? null : oldName;
+    }
+
+    /**
+     * Gets the uuid of a player by their current name, case-insensitively.
+     * Falls back on the previous names.
+     *
+     * @param name The name of the player
+     * @return The uuid, or null if the name is unknown
+     */
+    public UUID getUUID(String name) {
+    	if (name == null) return null;
+    	String key = key(name);
+    	UUID uuid = uuidByName.get(key);
+    	return uuid != null ? uuid : uuidByPreviousName.get(key);
+    }
+
+    /**
+     * Gets the current name of a player.
+     *
+     * @param uuid The uuid of the player
+     * @return The name, or null if the player is unknown
+     */
+    public String getName(UUID uuid) {
+    	return uuid == null ? null : nameByUuid.get(uuid);
+    }
+
+    /**
+     * Gets the current name of a player with the real case.
+     *
+     * @param name The name of the player (any case, or a previous name)
+     * @return The current name, or null if the name is unknown
+     */
+    public String getRealName(String name) {
+    	UUID uuid = getUUID(name);
+    	return uuid == null ? null : nameByUuid.get(uuid);
+    }
+
+    /**
+     * Checks if a player is known.
+     *
+     * @param uuid The uuid of the player
+     * @return True if the player is known
+     */
+    public boolean contains(UUID uuid) {
+    	return nameByUuid.containsKey(uuid);
+    }
+
+    /**
+     * Gets the current names starting with a prefix, case-insensitively.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum number of names
+     * @return The names with the real case, in alphabetical order
+     */
+    public List<String> complete(String prefix, int limit) {
+    	String from = key(prefix == null ? "" : prefix);
+    	List<String> result = new ArrayList<>();
+    	for (String key : sortedNames.tailSet(from, true)) {
+    		if (!key.startsWith(from) || result.size() >= limit) break;
+    		UUID uuid = uuidByName.get(key);
+    		String name = uuid == null ? null : nameByUuid.get(uuid);
+    		if (name != null) result.add(name);
+    	}
+    	return result;
+    }
+
+    /**
+     * Gets the number of known players.
+     *
+     * @return The number of known players
+     */
+    public int size() {
+    	return nameByUuid.size();
+    }
+
+    /**
+     * Removes all the players.
+     */
+    public synchronized void clear() {
+    	uuidByName.clear();
+    	nameByUuid.clear();
+    	uuidByPreviousName.clear();
+    	sortedNames.clear();
+    }
+
+    /**
+     * Gets the lookup key of a name.
+     *
+     * @param name The name
+     * @return The lowercase name
+     */
+    private static String key(String name) {
+    	return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,102 @@
+package fr.mrbaguette07.SLclaim.Velocity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directory of the claims of the network kept by the proxy: the server holding each claim,
+ * by owner name and claim name. It is built from the claim messages relayed by Redis
+ * (creation, update, deletion), so it only knows the claims changed since the proxy
+ * started; the servers look the other claims up in MongoDB. A transferred or sold claim
+ * gets a new key, it is known again once updated by its new owner.
+ */
+public class ClaimDirectory {
+
+    /** Where a claim is */
+    private static final class Entry {
+        final String ownerName;
+        final String claimName;
+        final String server;
+
+        Entry(String ownerName, String claimName, String server) {
+            this.ownerName = ownerName;
+            this.claimName = claimName;
+            this.server = server;
+        }
+    }
+
+    /** The claims by claim key (owner uuid:claim id) */
+    private final Map<String, Entry> claims = new ConcurrentHashMap<>();
+
+    /** The claim keys by owner name and claim name */
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Records the server of a claim, replacing its previous name or owner.
+     *
+     * @param claimKey The claim key (owner uuid:claim id)
+     * @param ownerName The owner name
+     * @param claimName The claim name
+     * @param server The server holding the claim
+     */
+    public synchronized void put(String claimKey, String ownerName, String claimName, String server) {
+        Entry previous = claims.put(claimKey, new Entry(ownerName, claimName, server));
+        if (previous != null) {
+            names.remove(nameKey(previous.ownerName, previous.claimName), claimKey);
+        }
+        names.put(nameKey(ownerName, claimName), claimKey);
+    }
+
+    /**
+     * Records the new name of a known claim, on the same server.
+     * The changes can be made from another server than the one holding the claim.
+     *
+     * @param claimKey The claim key (owner uuid:claim id)
+     * @param ownerName The owner name
+     * @param claimName The claim name
+     */
+    public synchronized void rename(String claimKey, String ownerName, String claimName) {
+        Entry previous = claims.get(claimKey);
+        if (previous != null) {
+            put(claimKey, ownerName, claimName, previous.server);
+        }
+    }
+
+    /**
+     * Forgets a deleted claim.
+     *
+     * @param claimKey The claim key (owner uuid:claim id)
+     */
+    public synchronized void remove(String claimKey) {
+        Entry previous = claims.remove(claimKey);
+        if (previous != null) {
+            names.remove(nameKey(previous.ownerName, previous.claimName), claimKey);
+        }
+    }
+
+    /**
+     * Gets the server holding a claim.
+     *
+     * @param ownerName The owner name
+     * @param claimName The claim name
+     * @return The server, or null if the claim is unknown
+     */
+    public String getServer(String ownerName, String claimName) {
+        String claimKey = names.get(nameKey(ownerName, claimName));
+        Entry entry = claimKey != null ? claims.get(claimKey) : null;
+        return entry != null ? entry.server : null;
+    }
+
+    /**
+     * Gets the number of claims known.
+     *
+     * @return The size
+     */
+    public int size() {
+        return claims.size();
+    }
+
+    private static String nameKey(String ownerName, String claimName) {
+        return ownerName + ":" + claimName;
+    }
+}
@@ -81,6 +81,10 @@ public class VelocityCommands implements SimpleCommand {
         
         source.sendMessage(Component.text("Survival servers: " + plugin.getConfig().getSurvivalServers().size()).color(NamedTextColor.YELLOW));
         source.sendMessage(Component.text("Lobby servers: " + plugin.getConfig().getLobbyServers().size()).color(NamedTextColor.YELLOW));
+        
+        if (redisConnected) {
+            source.sendMessage(Component.text("Claim directory: " + plugin.getRedisManager().getClaimDirectory().size() + " claims").color(NamedTextColor.YELLOW));
+        }
     }
     
     private void sendServerList(CommandSource source) {
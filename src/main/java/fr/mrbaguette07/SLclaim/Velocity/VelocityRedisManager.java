@@ -2,13 +2,19 @@ package fr.mrbaguette07.SLclaim.Velocity;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
 
 import fr.mrbaguette07.SLclaim.MultiServer.RedisMessage;
+import fr.mrbaguette07.SLclaim.MultiServer.RedisMessage.MessageType;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
 import redis.clients.jedis.JedisPubSub;
 
+import java.util.Optional;
+import java.util.UUID;
+
 /**
  * Manages Redis connections for the Velocity plugin.
  */
@@ -17,12 +23,16 @@ public class VelocityRedisManager {
     private final SCSVelocityPlugin plugin;
     private final VelocityConfig config;
     private final Gson gson;
+    private final ClaimDirectory claimDirectory = new ClaimDirectory();
     
     private JedisPool jedisPool;
     private JedisPubSub subscriber;
     private Thread subscriberThread;
     private boolean connected;
     
+    /** Lifetime of a pending teleport record, the same as on the servers (60 seconds) */
+    private static final long HANDOFF_TTL = 60;
+    
     public VelocityRedisManager(SCSVelocityPlugin plugin, VelocityConfig config) {
         this.plugin = plugin;
         this.config = config;
@@ -143,9 +153,109 @@ public class VelocityRedisManager {
     }
     
     private void handleMessage(RedisMessage message) {
-        // Handle teleportation requests
-        if (message.getType() == RedisMessage.MessageType.PLAYER_TELEPORT_REQUEST) {
-            handleTeleportRequest(message);
+        if (message.getType() == null) return;
+        
+        switch (message.getType()) {
+            // Handle teleportation requests
+            case PLAYER_TELEPORT_REQUEST:
+                handleTeleportRequest(message);
+                break;
+            // Keep the claim directory up to date
+            case CLAIM_CREATE:
+            case CLAIM_UPDATE:
+                handleClaimChange(message);
+                break;
+            case CLAIM_DELETE:
+                if (message.getClaimKey() != null) {
+                    claimDirectory.remove(message.getClaimKey());
+                }
+                break;
+            case CLAIM_TP_ROUTE_REQUEST:
+                handleClaimTpRoute(message);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private void handleClaimChange(RedisMessage message) {
+        String claimKey = message.getClaimKey();
+        String ownerName = message.getData("owner_name");
+        if (claimKey == null || ownerName == null || message.getClaimName() == null) return;
+        
+        if (message.getType() == MessageType.CLAIM_CREATE) {
+            claimDirectory.put(claimKey, ownerName, message.getClaimName(), message.getSourceServer());
+        } else {
+            claimDirectory.rename(claimKey, ownerName, message.getClaimName());
+        }
+    }
+    
+    /**
+     * Sends a player to the server of a claim found in the directory, with the pending claim
+     * teleport the source server would have sent, so the server does not query MongoDB.
+     */
+    private void handleClaimTpRoute(RedisMessage message) {
+        String playerUUID = message.getPlayerUUID();
+        String ownerName = message.getData("owner_name");
+        String claimName = message.getClaimName();
+        if (playerUUID == null || ownerName == null || claimName == null) return;
+        
+        String targetServer = claimDirectory.getServer(ownerName, claimName);
+        Optional<Player> player = plugin.getServer().getPlayer(UUID.fromString(playerUUID));
+        Optional<RegisteredServer> server = targetServer != null ? plugin.getServer().getServer(targetServer) : Optional.empty();
+        if (player.isEmpty() || server.isEmpty() || targetServer.equals(message.getSourceServer())) {
+            // Claim inconnu : le serveur source le cherche dans MongoDB
+            publish(routeResponse(message, "unknown", null));
+            return;
+        }
+        
+        RedisMessage pending = new RedisMessage(MessageType.PLAYER_CLAIM_TP_PENDING, "velocity-proxy")
+            .playerUUID(playerUUID)
+            .targetServer(targetServer)
+            .claimName(claimName)
+            .addData("owner_name", ownerName)
+            .addData("timestamp", System.currentTimeMillis());
+        String handoffKey = RedisMessage.handoffKey(config.getRedisChannel(), targetServer, playerUUID);
+        setex(handoffKey, gson.toJson(pending));
+        publish(pending);
+        publish(routeResponse(message, "routed", targetServer));
+        
+        player.get().createConnectionRequest(server.get()).connect().whenComplete((result, error) -> {
+            if (error != null || result == null || !result.isSuccessful()) {
+                del(handoffKey);
+                publish(routeResponse(message, "failed", targetServer));
+            } else {
+                plugin.getLogger().info("Téléportation de " + player.get().getUsername() + " vers le claim " + claimName + " sur " + targetServer);
+            }
+        });
+    }
+    
+    private RedisMessage routeResponse(RedisMessage request, String status, String targetServer) {
+        RedisMessage response = new RedisMessage(MessageType.CLAIM_TP_ROUTE_RESPONSE, "velocity-proxy")
+            .playerUUID(request.getPlayerUUID())
+            .targetServer(request.getSourceServer())
+            .claimName(request.getClaimName())
+            .addData("status", status);
+        return targetServer != null ? response.addData("server", targetServer) : response;
+    }
+    
+    private void setex(String key, String value) {
+        if (!connected || jedisPool == null) return;
+        
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.setex(key, HANDOFF_TTL, value);
+        } catch (Exception e) {
+            plugin.getLogger().error("Échec de l'enregistrement de la téléportation en attente", e);
+        }
+    }
+    
+    private void del(String key) {
+        if (!connected || jedisPool == null) return;
+        
+        try (Jedis jedis = jedisPool.getResource()) {
+            jedis.del(key);
+        } catch (Exception e) {
+            plugin.getLogger().error("Échec de la suppression de la téléportation en attente", e);
         }
     }
     
@@ -166,4 +276,8 @@ public class VelocityRedisManager {
     public boolean isConnected() {
         return connected;
     }
+    
+    public ClaimDirectory getClaimDirectory() {
+        return claimDirectory;
+    }
 }